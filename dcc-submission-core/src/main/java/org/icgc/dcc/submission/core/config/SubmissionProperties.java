@@ -35,6 +35,39 @@ public class SubmissionProperties {
    */
   private static final int DEFAULT_MAX_VALIDATING = 1;
 
+  /**
+   * Default value for the number of key validation threads.
+   */
+  private static final int DEFAULT_KEY_PARALLELISM = 1;
+
+  /**
+   * Default values for the number of first-pass validation threads and the number of files they may read at once.
+   */
+  private static final int DEFAULT_FIRST_PARALLELISM = 1;
+  private static final int DEFAULT_FIRST_MAX_OPEN_STREAMS = 4;
+
+  /**
+   * Default value for the number of reference genome validation threads.
+   */
+  private static final int DEFAULT_REFERENCE_PARALLELISM = 1;
+
+  /**
+   * Default values for the number of concurrent EGA lookups and how long found file accessions are trusted.
+   */
+  private static final int DEFAULT_EGA_PARALLELISM = 4;
+  private static final long DEFAULT_EGA_CACHE_TTL_HOURS = 24 * 7;
+
+  /**
+   * Default codec of the normalization output.
+   */
+  private static final String DEFAULT_NORMALIZER_OUTPUT_CODEC = "none";
+
+  /**
+   * Default values for collecting SFTP submission events before they are applied.
+   */
+  private static final long DEFAULT_SFTP_EVENT_DELAY = 1000;
+  private static final int DEFAULT_SFTP_EVENT_CAPACITY = 1000;
+
   FileSystemProperties fs = new FileSystemProperties();
   AuthProperties auth = new AuthProperties();
   HttpProperties http = new HttpProperties();
@@ -45,6 +78,9 @@ public class SubmissionProperties {
   MongoProperties mongo = new MongoProperties();
   PCAWGProperties pcawg = new PCAWGProperties();
   ReferenceProperties reference = new ReferenceProperties();
+  FirstProperties first = new FirstProperties();
+  KeyProperties key = new KeyProperties();
+  PrimaryProperties primary = new PrimaryProperties();
   NormalizerProperties normalizer = new NormalizerProperties();
   AccessionProperties accession = new AccessionProperties();
   EGAProperties ega = new EGAProperties();
@@ -89,10 +125,40 @@ public class SubmissionProperties {
 
   }
 
+  @Data
+  public static class FirstProperties {
+
+    int parallelism = DEFAULT_FIRST_PARALLELISM;
+
+    /**
+     * Cap on the number of submission files read concurrently, independent of the parallelism.
+     */
+    int maxOpenStreams = DEFAULT_FIRST_MAX_OPEN_STREAMS;
+
+  }
+
+  @Data
+  public static class KeyProperties {
+
+    int parallelism = DEFAULT_KEY_PARALLELISM;
+
+  }
+
+  @Data
+  public static class PrimaryProperties {
+
+    /**
+     * Whether to evaluate all row based restrictions of a file in a single pass.
+     */
+    boolean fused = false;
+
+  }
+
   @Data
   public static class ReferenceProperties {
 
     String fasta;
+    int parallelism = DEFAULT_REFERENCE_PARALLELISM;
 
   }
 
@@ -109,6 +175,14 @@ public class SubmissionProperties {
     String username;
     String password;
 
+    int parallelism = DEFAULT_EGA_PARALLELISM;
+
+    /**
+     * Local file persisting found file accessions across restarts, in memory only if not set.
+     */
+    String cacheFile;
+    long cacheTtlHours = DEFAULT_EGA_CACHE_TTL_HOURS;
+
   }
 
   @Data
@@ -142,6 +216,11 @@ public class SubmissionProperties {
 
     Map<String, String> steps = newHashMap();
 
+    /**
+     * Either {@code none} or {@code bgzip} for block compressed output that readers can inflate in parallel.
+     */
+    String outputCodec = DEFAULT_NORMALIZER_OUTPUT_CODEC;
+
   }
 
   @Data
@@ -152,6 +231,16 @@ public class SubmissionProperties {
     Integer port;
     Integer nioWorkers;
 
+    /**
+     * Milliseconds a project's file events are collected for before its submission is updated once for all of them.
+     */
+    long eventDelay = DEFAULT_SFTP_EVENT_DELAY;
+
+    /**
+     * Maximum number of file events waiting to be applied. SFTP operations block when it is reached.
+     */
+    int eventCapacity = DEFAULT_SFTP_EVENT_CAPACITY;
+
   }
 
   @Data
@@ -63,6 +63,13 @@ public class Project {
   @JsonView(Digest.class)
   private String alias;
 
+  /**
+   * Validation scheduling. Queued projects with a higher priority are validated first. Emergency projects go before
+   * all others and may preempt running validations of non-emergency projects.
+   */
+  private int priority;
+  private boolean emergency;
+
   @NonNull
   private Set<String> users = Sets.newHashSet();
 
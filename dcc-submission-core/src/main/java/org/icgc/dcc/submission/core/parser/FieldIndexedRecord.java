@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Schema bound view of a tab separated line whose fields are addressed by column index.
+ * <p>
+ * Only the field boundaries are computed when parsing. Field values are materialized on access, either as a
+ * non-copying {@link CharSequence} view or as a {@link String}.
+ * <p>
+ * Records produced by {@link FieldIndexedRecordParser} are reused per thread and are only valid until the next line is
+ * parsed on the same thread. Use {@link #copy()} to retain a record.
+ */
+public final class FieldIndexedRecord {
+
+  /**
+   * Schema.
+   */
+  private final List<String> fieldNames;
+  private final Map<String, Integer> fieldIndexes;
+
+  /**
+   * State.
+   * <p>
+   * {@code ends[i]} is the exclusive end offset of field {@code i} in {@code line}.
+   */
+  private final int[] ends;
+  private String line;
+
+  FieldIndexedRecord(@NonNull List<String> fieldNames, @NonNull Map<String, Integer> fieldIndexes, int[] ends) {
+    this.fieldNames = fieldNames;
+    this.fieldIndexes = fieldIndexes;
+    this.ends = ends;
+  }
+
+  public String getLine() {
+    return line;
+  }
+
+  public int getFieldCount() {
+    return ends.length;
+  }
+
+  public List<String> getFieldNames() {
+    return fieldNames;
+  }
+
+  /**
+   * @return the column index of {@code fieldName}, or {@code -1} if not part of the schema
+   */
+  public int indexOf(String fieldName) {
+    val index = fieldIndexes.get(fieldName);
+
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * @return a view of the field value that does not copy characters
+   */
+  public CharSequence get(int index) {
+    checkElementIndex(index, ends.length);
+
+    return CharBuffer.wrap(line, start(index), ends[index]);
+  }
+
+  public String getString(int index) {
+    checkElementIndex(index, ends.length);
+
+    return line.substring(start(index), ends[index]);
+  }
+
+  /**
+   * @return the field value, or {@code null} if {@code fieldName} is not part of the schema
+   */
+  public String getString(String fieldName) {
+    val index = indexOf(fieldName);
+
+    return index == -1 ? null : getString(index);
+  }
+
+  /**
+   * @return whether the field value equals {@code value}, without materializing the field
+   */
+  public boolean contentEquals(int index, @NonNull CharSequence value) {
+    checkElementIndex(index, ends.length);
+    val start = start(index);
+    val length = ends[index] - start;
+    if (length != value.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      if (line.charAt(start + i) != value.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @return a record that is independent of the parser's reused state
+   */
+  public FieldIndexedRecord copy() {
+    val copy = new FieldIndexedRecord(fieldNames, fieldIndexes, ends.clone());
+    copy.line = line;
+
+    return copy;
+  }
+
+  /**
+   * @return an unmodifiable map view in schema field order, backed by this record
+   */
+  public Map<String, String> asMap() {
+    return new FieldIndexedMap(this);
+  }
+
+  @Override
+  public String toString() {
+    return line;
+  }
+
+  /**
+   * Records the field boundaries of {@code line}.
+   * 
+   * @return the actual number of fields in {@code line}, which may exceed the capacity of this record
+   */
+  int set(@NonNull String line) {
+    this.line = line;
+
+    int count = 0;
+    int from = 0;
+    while (true) {
+      int end = line.indexOf('\t', from);
+      if (end == -1) {
+        end = line.length();
+      }
+
+      if (count < ends.length) {
+        ends[count] = end;
+      }
+      count++;
+
+      if (end == line.length()) {
+        return count;
+      }
+
+      from = end + 1;
+    }
+  }
+
+  private int start(int index) {
+    return index == 0 ? 0 : ends[index - 1] + 1;
+  }
+
+}
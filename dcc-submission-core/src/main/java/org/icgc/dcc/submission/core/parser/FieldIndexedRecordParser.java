@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.common.hadoop.parser.AbstractFileLineParser;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * Parser that binds lines to the field order of a {@link FileSchema} without building a field map per line.
+ * <p>
+ * Column indexes are computed once per schema. Parsing a line only records the tab offsets in a {@link
+ * FieldIndexedRecord} that is reused by each thread, so callers that retain records must {@link
+ * FieldIndexedRecord#copy()} them.
+ */
+@ToString(of = "fieldNames")
+public class FieldIndexedRecordParser extends AbstractFileLineParser<FieldIndexedRecord> {
+
+  /**
+   * Configuration.
+   */
+  private final List<String> fieldNames;
+  private final Map<String, Integer> fieldIndexes;
+
+  /**
+   * State.
+   */
+  private final ThreadLocal<FieldIndexedRecord> records = new ThreadLocal<FieldIndexedRecord>() {
+
+    @Override
+    protected FieldIndexedRecord initialValue() {
+      return new FieldIndexedRecord(fieldNames, fieldIndexes, new int[fieldNames.size()]);
+    }
+
+  };
+
+  public FieldIndexedRecordParser(@NonNull FileSchema schema) {
+    this(schema.getFieldNames());
+  }
+
+  public FieldIndexedRecordParser(@NonNull List<String> fieldNames) {
+    this.fieldNames = ImmutableList.copyOf(fieldNames);
+
+    val fieldIndexes = ImmutableMap.<String, Integer> builder();
+    for (int i = 0; i < fieldNames.size(); i++) {
+      fieldIndexes.put(fieldNames.get(i), i);
+    }
+    this.fieldIndexes = fieldIndexes.build();
+  }
+
+  /**
+   * @return the column index of {@code fieldName}
+   */
+  public int indexOf(@NonNull String fieldName) {
+    val index = fieldIndexes.get(fieldName);
+    checkState(index != null, "Missing field '%s' in %s", fieldName, fieldNames);
+
+    return index;
+  }
+
+  @Override
+  public FieldIndexedRecord parse(String line) {
+    val record = records.get();
+    val actualCount = record.set(line);
+
+    val expectedCount = fieldNames.size();
+    if (actualCount != expectedCount) {
+      val message = String.format(
+          "Mismatched actual number of fields (%s) with expected number of fields (%s) with expected fields %s",
+          actualCount, expectedCount, fieldNames);
+
+      throw new IllegalStateException("Failed to parse line: " + line, new IllegalStateException(message));
+    }
+
+    return record;
+  }
+
+}
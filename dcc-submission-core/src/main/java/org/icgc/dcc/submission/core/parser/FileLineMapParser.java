@@ -17,29 +17,21 @@
  */
 package org.icgc.dcc.submission.core.parser;
 
-import static com.google.common.base.Preconditions.checkState;
-
-import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
 
 import org.icgc.dcc.common.hadoop.parser.AbstractFileLineParser;
-import org.icgc.dcc.submission.core.util.FieldNameComparator;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 
-import com.google.common.collect.ImmutableSortedMap;
-
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
-import lombok.val;
 
 /**
  * Parser that guarantees {@link FileSchema} defined field ordering of its parsed {@code Map<String, String>} field map.
+ * <p>
+ * Thin adapter of {@link FieldIndexedRecordParser} for callers that need a map. Each returned map owns a copy of the
+ * field offsets and may be retained.
  */
 @ToString
-@RequiredArgsConstructor
 public class FileLineMapParser extends AbstractFileLineParser<Map<String, String>> {
 
   /**
@@ -48,50 +40,16 @@ public class FileLineMapParser extends AbstractFileLineParser<Map<String, String
   @NonNull
   protected final FileSchema schema;
   @NonNull
-  protected final Comparator<String> fieldNameComparator;
+  private final FieldIndexedRecordParser recordParser;
 
   public FileLineMapParser(@NonNull FileSchema schema) {
     this.schema = schema;
-    this.fieldNameComparator = new FieldNameComparator(schema.getFieldNames());
+    this.recordParser = new FieldIndexedRecordParser(schema);
   }
 
   @Override
   public Map<String, String> parse(String line) {
-    try {
-      val fieldNames = schema.getFieldNames();
-      val fieldValues = split(line);
-
-      val actualCount = fieldValues.size();
-      val expectedCount = fieldNames.size();
-      checkState(actualCount == expectedCount,
-          "Mismatched actual number of fields (%s) with expected number of fields (%s) parsing actual values %s with expected %s fields %s",
-          actualCount, expectedCount, fieldValues, schema.getName(), fieldNames);
-
-      return createRecord(fieldNames, fieldValues);
-    } catch (Exception e) {
-      throw new IllegalStateException("Failed to parse line: " + line, e);
-    }
-  }
-
-  private SortedMap<String, String> createRecord(List<String> fieldNames, List<String> fieldValues) {
-    val record = createFieldOrderMapBuilder();
-
-    for (int i = 0; i < fieldNames.size(); i++) {
-      val fieldName = fieldNames.get(i);
-      val fieldValue = fieldValues.get(i);
-
-      record.put(fieldName, fieldValue);
-    }
-
-    return record.build();
-  }
-
-  private ImmutableSortedMap.Builder<String, String> createFieldOrderMapBuilder() {
-    return ImmutableSortedMap.<String, String> orderedBy(fieldNameComparator);
-  }
-
-  protected static List<String> split(String line) {
-    return FIELD_SPLITTER.splitToList(line);
+    return recordParser.parse(line).copy().asMap();
   }
 
 }
@@ -44,4 +44,13 @@ public class SubmissionFileParsers {
     return new FileParser<Map<String, String>>(fileSystem, new FileLineMapParser(fileSchema), processHeader);
   }
 
+  public static FileParser<FieldIndexedRecord> newRecordFileParser(FileSystem fileSystem, FileSchema fileSchema) {
+    return newRecordFileParser(fileSystem, fileSchema, false);
+  }
+
+  public static FileParser<FieldIndexedRecord> newRecordFileParser(FileSystem fileSystem, FileSchema fileSchema,
+      boolean processHeader) {
+    return new FileParser<FieldIndexedRecord>(fileSystem, new FieldIndexedRecordParser(fileSchema), processHeader);
+  }
+
 }
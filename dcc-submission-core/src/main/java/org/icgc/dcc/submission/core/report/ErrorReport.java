@@ -18,17 +18,24 @@
 package org.icgc.dcc.submission.core.report;
 
 import static com.google.common.collect.ComparisonChain.start;
+import static com.google.common.collect.Maps.newHashMap;
+import static lombok.AccessLevel.NONE;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.mongodb.morphia.annotations.Embedded;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.Sets;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.val;
 
 /**
@@ -57,6 +64,7 @@ import lombok.val;
 @Embedded
 @NoArgsConstructor
 @EqualsAndHashCode(of = { "errorType", "number" })
+@ToString(exclude = "fieldErrorReportIndex")
 public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
 
   /**
@@ -69,6 +77,14 @@ public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
 
   private final Set<FieldErrorReport> fieldErrorReports = Sets.newLinkedHashSet();
 
+  /**
+   * Index of {@link #fieldErrorReports} by field names. Not persisted, it is rebuilt whenever it is out of sync with
+   * {@link #fieldErrorReports} (e.g. after being loaded).
+   */
+  @JsonIgnore
+  @Getter(NONE)
+  private final transient Map<List<String>, FieldErrorReport> fieldErrorReportIndex = newHashMap();
+
   /**
    * Temporary band-aid to fix the issue of bite offsets being converted twice (see DCC-1908).
    */
@@ -119,19 +135,21 @@ public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
       fieldErrorReport = new FieldErrorReport(error.getFieldNames(), error.getType().build(error.getParams()));
 
       fieldErrorReports.add(fieldErrorReport);
+      fieldErrorReportIndex.put(fieldErrorReport.getFieldNames(), fieldErrorReport);
     }
 
     return fieldErrorReport;
   }
 
   private FieldErrorReport getFieldErrorReport(@NonNull Error error) {
-    for (val fieldErrorReport : fieldErrorReports) {
-      if (fieldErrorReport.reportsOn(error)) {
-        return fieldErrorReport;
+    if (fieldErrorReportIndex.size() != fieldErrorReports.size()) {
+      fieldErrorReportIndex.clear();
+      for (val fieldErrorReport : fieldErrorReports) {
+        fieldErrorReportIndex.put(fieldErrorReport.getFieldNames(), fieldErrorReport);
       }
     }
 
-    return null;
+    return fieldErrorReportIndex.get(error.getFieldNames());
   }
 
 }
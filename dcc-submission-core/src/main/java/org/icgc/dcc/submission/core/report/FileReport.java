@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.core.report;
 
 import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Sets.newTreeSet;
+import static lombok.AccessLevel.NONE;
 import static org.icgc.dcc.submission.core.report.FileState.getDefaultState;
 
 import java.util.List;
@@ -29,14 +30,19 @@ import org.icgc.dcc.submission.core.util.Serdes.FileTypeDeserializer;
 import org.icgc.dcc.submission.core.util.Serdes.FileTypeSerializer;
 import org.mongodb.morphia.annotations.Embedded;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.val;
 
 /**
@@ -65,6 +71,7 @@ import lombok.val;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "fileName")
+@ToString(exclude = "errorReportIndex")
 public class FileReport implements ReportElement, Comparable<FileReport> {
 
   /**
@@ -103,6 +110,14 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
    */
   Set<ErrorReport> errorReports = newTreeSet();
 
+  /**
+   * Index of {@link #errorReports} by error type and number. Not persisted, it is rebuilt whenever it is out of sync
+   * with {@link #errorReports} (e.g. after being loaded or reset).
+   */
+  @JsonIgnore
+  @Getter(NONE)
+  final transient Table<ErrorType, Integer, ErrorReport> errorReportIndex = HashBasedTable.create();
+
   public FileReport(@NonNull String fileName, @NonNull FileType fileType) {
     this.fileName = fileName;
     this.fileType = fileType;
@@ -162,19 +177,21 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
       errorReport = new ErrorReport(error.getType(), error.getNumber(), error.getMessage());
 
       errorReports.add(errorReport);
+      errorReportIndex.put(errorReport.getErrorType(), errorReport.getNumber(), errorReport);
     }
 
     return errorReport;
   }
 
   private ErrorReport getErrorReport(@NonNull Error error) {
-    for (val errorReport : errorReports) {
-      if (errorReport.reportsOn(error)) {
-        return errorReport;
+    if (errorReportIndex.size() != errorReports.size()) {
+      errorReportIndex.clear();
+      for (val errorReport : errorReports) {
+        errorReportIndex.put(errorReport.getErrorType(), errorReport.getNumber(), errorReport);
       }
     }
 
-    return null;
+    return errorReportIndex.get(error.getType(), error.getNumber());
   }
 
 }
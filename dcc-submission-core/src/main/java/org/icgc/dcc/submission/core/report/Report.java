@@ -22,20 +22,18 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.difference;
+import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newTreeSet;
+import static lombok.AccessLevel.NONE;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.visitor.AbortVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddFieldVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddFileVisitor;
-import org.icgc.dcc.submission.core.report.visitor.AddSummaryVisitor;
-import org.icgc.dcc.submission.core.report.visitor.ErrorCountVisitor;
-import org.icgc.dcc.submission.core.report.visitor.GetFileReportVisitor;
 import org.icgc.dcc.submission.core.report.visitor.GetFilesVisitor;
 import org.icgc.dcc.submission.core.report.visitor.InheritStateVisitor;
 import org.icgc.dcc.submission.core.report.visitor.IsValidVisitor;
@@ -50,6 +48,7 @@ import org.mongodb.morphia.annotations.Converters;
 import org.mongodb.morphia.annotations.Embedded;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableMap;
@@ -57,8 +56,11 @@ import com.google.common.collect.Iterables;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -83,11 +85,20 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 @JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE, setterVisibility = NONE)
 @Converters({ FileTypeConverter.class, DataTypeConverter.class })
+@ToString(exclude = "fileReportIndex")
 @Slf4j
 public class Report implements ReportElement {
 
   private Set<DataTypeReport> dataTypeReports = newTreeSet();
 
+  /**
+   * Index of the file reports (and their ancestors) by file name. Not persisted, it is rebuilt lazily after being
+   * cleared by structural changes or when the report was just loaded.
+   */
+  @JsonIgnore
+  @Getter(NONE)
+  private final transient Map<String, FileReportPath> fileReportIndex = newHashMap();
+
   public Report(@NonNull Iterable<SubmissionFile> submissionFiles) {
     this(transformFiles(submissionFiles));
   }
@@ -113,24 +124,69 @@ public class Report implements ReportElement {
     visitor.visit(this);
   }
 
+  public void setDataTypeReports(@NonNull Set<DataTypeReport> dataTypeReports) {
+    this.dataTypeReports = dataTypeReports;
+    fileReportIndex.clear();
+  }
+
   public void addDataTypeReport(@NonNull DataTypeReport dataTypeReport) {
     dataTypeReports.add(dataTypeReport);
+    fileReportIndex.clear();
   }
 
   public void removeDataTypeReport(@NonNull DataTypeReport dataTypeReport) {
     dataTypeReports.remove(dataTypeReport);
+    fileReportIndex.clear();
   }
 
+  /**
+   * Adds a summary to the report of {@code fileName}, if any.
+   */
   public void addSummary(@NonNull String fileName, @NonNull String name, @NonNull String value) {
-    executeVisitor(new AddSummaryVisitor(fileName, name, value));
+    val path = getFileReportPath(fileName);
+    if (path != null) {
+      path.getFileReport().addSummaryReport(new SummaryReport(name, value));
+    }
   }
 
+  /**
+   * Adds {@code fieldReport} to the report of {@code fileName}, if any.
+   */
   public void addFieldReport(@NonNull String fileName, @NonNull FieldReport fieldReport) {
-    executeVisitor(new AddFieldVisitor(fileName, fieldReport));
+    val path = getFileReportPath(fileName);
+    if (path != null) {
+      path.getFileReport().addFieldReport(fieldReport);
+    }
   }
 
+  /**
+   * Adds {@code error} to the report of the file it refers to, if any.
+   * <p>
+   * Equivalent to visiting the report with an
+   * {@link org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor AddErrorVisitor}, without walking the report.
+   */
   public void addError(@NonNull Error error) {
-    executeVisitor(new AddErrorVisitor(error));
+    val path = getFileReportPath(error.getFileName());
+    if (path != null) {
+      path.addError(error);
+    }
+  }
+
+  /**
+   * Adds {@code errors} in iteration order, as if by {@link #addError(Error)}.
+   */
+  public void addErrors(@NonNull Iterable<Error> errors) {
+    FileReportPath path = null;
+    for (val error : errors) {
+      // Errors typically come in runs for the same file
+      if (path == null || !path.isFor(error.getFileName())) {
+        path = getFileReportPath(error.getFileName());
+      }
+
+      if (path != null) {
+        path.addError(error);
+      }
+    }
   }
 
   public Map<String, FileType> getFiles() {
@@ -162,22 +218,45 @@ public class Report implements ReportElement {
 
   public void addFile(@NonNull FileType fileType, @NonNull String fileName) {
     executeVisitor(new AddFileVisitor(fileName, fileType));
+    fileReportIndex.clear();
   }
 
   public void removeFile(@NonNull FileType fileType, @NonNull String fileName) {
     executeVisitor(new RemoveFileVisitor(fileName, fileType));
+    fileReportIndex.clear();
   }
 
   public Optional<FileReport> getFileReport(@NonNull String fileName) {
-    return executeVisitor(new GetFileReportVisitor(fileName)).getFileReport();
+    val path = getFileReportPath(fileName);
+
+    return path == null ? Optional.<FileReport> absent() : Optional.of(path.getFileReport());
   }
 
   public int getErrorCount() {
-    return executeVisitor(new ErrorCountVisitor()).getErrorCount();
+    int errorCount = 0;
+    for (val path : getFileReportPaths()) {
+      for (val errorReport : path.getFileReport().getErrorReports()) {
+        for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
+          errorCount += fieldErrorReport.getCount();
+        }
+      }
+    }
+
+    return errorCount;
   }
 
   public boolean hasErrors() {
-    return getErrorCount() > 0;
+    for (val path : getFileReportPaths()) {
+      for (val errorReport : path.getFileReport().getErrorReports()) {
+        for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
+          if (fieldErrorReport.getCount() > 0) {
+            return true;
+          }
+        }
+      }
+    }
+
+    return false;
   }
 
   public boolean isValid() {
@@ -224,6 +303,29 @@ public class Report implements ReportElement {
     return files.build();
   }
 
+  private FileReportPath getFileReportPath(@NonNull String fileName) {
+    return getFileReportIndex().get(fileName);
+  }
+
+  private Collection<FileReportPath> getFileReportPaths() {
+    return getFileReportIndex().values();
+  }
+
+  private Map<String, FileReportPath> getFileReportIndex() {
+    if (fileReportIndex.isEmpty()) {
+      for (val dataTypeReport : dataTypeReports) {
+        for (val fileTypeReport : dataTypeReport.getFileTypeReports()) {
+          for (val fileReport : fileTypeReport.getFileReports()) {
+            fileReportIndex.put(fileReport.getFileName(),
+                new FileReportPath(dataTypeReport, fileTypeReport, fileReport));
+          }
+        }
+      }
+    }
+
+    return fileReportIndex;
+  }
+
   /**
    * Allows chaining for client ease of use.
    * 
@@ -271,4 +373,31 @@ public class Report implements ReportElement {
 
   }
 
+  /**
+   * A file report along with the ancestors whose state depends on it.
+   */
+  @Value
+  private static class FileReportPath {
+
+    DataTypeReport dataTypeReport;
+    FileTypeReport fileTypeReport;
+    FileReport fileReport;
+
+    boolean isFor(String fileName) {
+      return fileReport.getFileName().equals(fileName);
+    }
+
+    /**
+     * Same effect as {@link org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor AddErrorVisitor}.
+     */
+    void addError(Error error) {
+      fileReport.setFileState(FileState.INVALID);
+      fileReport.addError(error);
+
+      fileTypeReport.setFileTypeState(FileTypeState.INVALID);
+      dataTypeReport.setDataTypeState(DataTypeState.INVALID);
+    }
+
+  }
+
 }
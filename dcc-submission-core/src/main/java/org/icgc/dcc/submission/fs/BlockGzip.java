@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Block compressed gzip format, laid out like the BGZF format of {@code bgzip}: a file is a series of independent gzip
+ * members of at most {@link #MAX_BLOCK_SIZE} bytes, each of which records its own compressed size in a {@code BC} extra
+ * subfield of its header, followed by an empty end-of-file member.
+ * <p>
+ * Plain gzip readers see a regular multi-member gzip file, whereas {@link BlockGzipInputStream} uses the recorded sizes
+ * to locate blocks without decompressing them and inflates them in parallel. The sizes act as an inline block index,
+ * so no sidecar index file is needed.
+ * <p>
+ * Files are not split across map-reduce tasks: Hadoop resolves the {@code .gz} extension to its own non-splittable
+ * {@code GzipCodec}, so a file is always read whole by a single task.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BlockGzip {
+
+  /**
+   * Size of a block header: fixed gzip header (10 bytes), extra length (2 bytes) and {@code BC} subfield (6 bytes).
+   */
+  public static final int HEADER_SIZE = 18;
+
+  /**
+   * Size of a block trailer: CRC32 (4 bytes) and uncompressed size (4 bytes).
+   */
+  public static final int TRAILER_SIZE = 8;
+
+  /**
+   * Maximum size of a block, header and trailer included, as it must fit the 16-bit {@code BC} subfield.
+   */
+  public static final int MAX_BLOCK_SIZE = 1 << 16;
+
+  /**
+   * Maximum number of uncompressed bytes per block, small enough that even incompressible data fits a block.
+   */
+  public static final int MAX_BLOCK_INPUT_SIZE = 0xff00;
+
+  /**
+   * Offset of the {@code BC} subfield value (total block size minus one) in the header.
+   */
+  static final int BLOCK_SIZE_OFFSET = 16;
+
+  private static final int ID1 = 0x1f;
+  private static final int ID2 = 0x8b;
+  private static final int CM_DEFLATE = 8;
+  private static final int FLG_FEXTRA = 4;
+  private static final int OS_UNKNOWN = 0xff;
+  private static final int XLEN = 6;
+  private static final int SI1 = 'B';
+  private static final int SI2 = 'C';
+  private static final int SLEN = 2;
+
+  /**
+   * Returns whether the file starts with a block compressed gzip member.
+   */
+  @SneakyThrows
+  public static boolean isBlockGzip(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    @Cleanup
+    val in = fileSystem.open(file);
+    val header = new byte[HEADER_SIZE];
+
+    return readFully(in, header, 0, HEADER_SIZE) == HEADER_SIZE && isBlockGzip(header);
+  }
+
+  /**
+   * Returns whether the bytes are those of a block compressed gzip member header.
+   */
+  public static boolean isBlockGzip(byte[] header) {
+    return header != null
+        && header.length >= HEADER_SIZE
+        && (header[0] & 0xff) == ID1
+        && (header[1] & 0xff) == ID2
+        && (header[2] & 0xff) == CM_DEFLATE
+        && (header[3] & FLG_FEXTRA) != 0
+        && getUnsignedShort(header, 10) == XLEN
+        && (header[12] & 0xff) == SI1
+        && (header[13] & 0xff) == SI2
+        && getUnsignedShort(header, 14) == SLEN;
+  }
+
+  /**
+   * Writes the header of a block of {@code blockSize} bytes in total.
+   */
+  static void writeHeader(byte[] block, int blockSize) {
+    block[0] = (byte) ID1;
+    block[1] = (byte) ID2;
+    block[2] = (byte) CM_DEFLATE;
+    block[3] = (byte) FLG_FEXTRA;
+    putInt(block, 4, 0); // No modification time
+    block[8] = 0; // Extra flags
+    block[9] = (byte) OS_UNKNOWN;
+    putShort(block, 10, XLEN);
+    block[12] = (byte) SI1;
+    block[13] = (byte) SI2;
+    putShort(block, 14, SLEN);
+    putShort(block, BLOCK_SIZE_OFFSET, blockSize - 1);
+  }
+
+  /**
+   * Returns the total size of the block the header belongs to.
+   */
+  static int getBlockSize(byte[] header) {
+    return getUnsignedShort(header, BLOCK_SIZE_OFFSET) + 1;
+  }
+
+  /**
+   * Reads a block header, returning {@code null} at the end of the stream.
+   */
+  static byte[] readHeader(InputStream in) throws IOException {
+    val header = new byte[HEADER_SIZE];
+    val read = readFully(in, header, 0, HEADER_SIZE);
+    if (read == 0) {
+      return null;
+    }
+    if (read < HEADER_SIZE) {
+      throw new IOException("Truncated block compressed gzip header");
+    }
+
+    return header;
+  }
+
+  static int readFully(InputStream in, byte[] buffer, int offset, int length) throws IOException {
+    int total = 0;
+    while (total < length) {
+      val read = in.read(buffer, offset + total, length - total);
+      if (read < 0) {
+        break;
+      }
+      total += read;
+    }
+
+    return total;
+  }
+
+  static int getUnsignedShort(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+  }
+
+  static int getInt(byte[] bytes, int offset) {
+    return getUnsignedShort(bytes, offset) | getUnsignedShort(bytes, offset + 2) << 16;
+  }
+
+  static void putShort(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) value;
+    bytes[offset + 1] = (byte) (value >>> 8);
+  }
+
+  static void putInt(byte[] bytes, int offset, int value) {
+    putShort(bytes, offset, value);
+    putShort(bytes, offset + 2, value >>> 16);
+  }
+
+}
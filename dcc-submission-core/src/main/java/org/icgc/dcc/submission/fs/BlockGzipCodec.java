@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+
+/**
+ * Hadoop {@link CompressionCodec} for the {@link BlockGzip} format, so that map-reduce output can be written block
+ * compressed. Files keep the {@code .gz} extension since any gzip reader can read them.
+ * <p>
+ * This is not a {@code SplittableCompressionCodec}: on the read side Hadoop picks {@code GzipCodec} from the extension,
+ * which reads the blocks as plain gzip members without splitting the file.
+ * <p>
+ * No pooled {@link Compressor}s or {@link Decompressor}s are involved: streams manage their own deflaters and
+ * inflaters.
+ */
+public class BlockGzipCodec implements CompressionCodec {
+
+  public static final String DEFAULT_EXTENSION = ".gz";
+
+  @Override
+  public CompressionOutputStream createOutputStream(OutputStream out) throws IOException {
+    return new BlockGzipCompressionOutputStream(out);
+  }
+
+  @Override
+  public CompressionOutputStream createOutputStream(OutputStream out, Compressor compressor) throws IOException {
+    return createOutputStream(out);
+  }
+
+  @Override
+  public Class<? extends Compressor> getCompressorType() {
+    return null;
+  }
+
+  @Override
+  public Compressor createCompressor() {
+    return null;
+  }
+
+  @Override
+  public CompressionInputStream createInputStream(InputStream in) throws IOException {
+    return new BlockGzipCompressionInputStream(in);
+  }
+
+  @Override
+  public CompressionInputStream createInputStream(InputStream in, Decompressor decompressor) throws IOException {
+    return createInputStream(in);
+  }
+
+  @Override
+  public Class<? extends Decompressor> getDecompressorType() {
+    return null;
+  }
+
+  @Override
+  public Decompressor createDecompressor() {
+    return null;
+  }
+
+  @Override
+  public String getDefaultExtension() {
+    return DEFAULT_EXTENSION;
+  }
+
+  private static class BlockGzipCompressionOutputStream extends CompressionOutputStream {
+
+    private final BlockGzipOutputStream delegate;
+
+    private BlockGzipCompressionOutputStream(OutputStream out) {
+      super(out);
+      this.delegate = new BlockGzipOutputStream(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      delegate.write(bytes, offset, length);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      delegate.finish();
+    }
+
+    @Override
+    public void resetState() throws IOException {
+      // Blocks are independent, nothing to reset
+    }
+
+  }
+
+  private static class BlockGzipCompressionInputStream extends CompressionInputStream {
+
+    private final BlockGzipInputStream delegate;
+
+    private BlockGzipCompressionInputStream(InputStream in) throws IOException {
+      super(in);
+      this.delegate = new BlockGzipInputStream(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      return delegate.read();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      return delegate.read(bytes, offset, length);
+    }
+
+    @Override
+    public void resetState() throws IOException {
+      // Blocks are independent, nothing to reset
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+  }
+
+}
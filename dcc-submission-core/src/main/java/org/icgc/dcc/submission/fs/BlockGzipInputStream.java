@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.icgc.dcc.submission.fs.BlockGzip.HEADER_SIZE;
+import static org.icgc.dcc.submission.fs.BlockGzip.TRAILER_SIZE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Reads the {@link BlockGzip} format, inflating blocks in parallel.
+ * <p>
+ * The underlying stream is read sequentially, block headers giving the size of each block, and groups of
+ * {@link #BLOCKS_PER_TASK} blocks are inflated on a pool of daemon threads shared by all streams. At most two groups
+ * per unit of {@code parallelism} are in flight so memory stays bounded, and bytes are returned in file order. Idle
+ * pool threads expire, so a stream that is never closed holds no thread once its pending groups are done.
+ */
+public class BlockGzipInputStream extends InputStream {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+  private static final int BLOCKS_PER_TASK = 16;
+  private static final byte[] EMPTY = new byte[0];
+  private static final ExecutorService EXECUTOR =
+      newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("bgzip-%s").setDaemon(true).build());
+
+  /**
+   * Dependencies.
+   */
+  private final InputStream in;
+
+  /**
+   * Configuration.
+   */
+  private final int maxPendingTasks;
+
+  /**
+   * State.
+   */
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+  private byte[] buffer = EMPTY;
+  private int position;
+  private boolean endOfInput;
+  private boolean closed;
+
+  public BlockGzipInputStream(@NonNull InputStream in) {
+    this(in, DEFAULT_PARALLELISM);
+  }
+
+  public BlockGzipInputStream(@NonNull InputStream in, int parallelism) {
+    checkArgument(parallelism > 0, "Parallelism must be positive: %s", parallelism);
+    this.in = in;
+    this.maxPendingTasks = 2 * parallelism;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fill()) {
+      return -1;
+    }
+
+    return buffer[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fill()) {
+      return -1;
+    }
+
+    val count = Math.min(length, buffer.length - position);
+    System.arraycopy(buffer, position, bytes, offset, count);
+    position += count;
+
+    return count;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return buffer.length - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    for (val future : pending) {
+      future.cancel(true);
+    }
+    pending.clear();
+    in.close();
+  }
+
+  /**
+   * Makes sure there is something left to read in the buffer, returning {@code false} at the end of the stream.
+   */
+  private boolean fill() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+
+    while (position == buffer.length) {
+      schedule();
+      if (pending.isEmpty()) {
+        return false;
+      }
+
+      buffer = await(pending.poll());
+      position = 0;
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads compressed blocks ahead and submits them for inflation.
+   */
+  private void schedule() throws IOException {
+    while (!endOfInput && pending.size() < maxPendingTasks) {
+      List<byte[]> blocks = readBlocks();
+      if (blocks.isEmpty()) {
+        endOfInput = true;
+      } else {
+        pending.add(EXECUTOR.submit(() -> inflate(blocks)));
+      }
+    }
+  }
+
+  private List<byte[]> readBlocks() throws IOException {
+    val blocks = new ArrayList<byte[]>(BLOCKS_PER_TASK);
+    while (blocks.size() < BLOCKS_PER_TASK) {
+      val header = BlockGzip.readHeader(in);
+      if (header == null) {
+        break;
+      }
+      if (!BlockGzip.isBlockGzip(header)) {
+        throw new IOException("Not a block compressed gzip member");
+      }
+
+      val blockSize = BlockGzip.getBlockSize(header);
+      if (blockSize < HEADER_SIZE + TRAILER_SIZE) {
+        throw new IOException("Invalid block compressed gzip block size: " + blockSize);
+      }
+
+      val block = new byte[blockSize];
+      System.arraycopy(header, 0, block, 0, HEADER_SIZE);
+      if (BlockGzip.readFully(in, block, HEADER_SIZE, blockSize - HEADER_SIZE) < blockSize - HEADER_SIZE) {
+        throw new IOException("Truncated block compressed gzip block");
+      }
+
+      blocks.add(block);
+    }
+
+    return blocks;
+  }
+
+  private static byte[] inflate(List<byte[]> blocks) throws IOException, DataFormatException {
+    int size = 0;
+    for (byte[] block : blocks) {
+      size += getUncompressedSize(block);
+    }
+
+    val inflater = new Inflater(true);
+    val crc = new CRC32();
+    val result = new byte[size];
+    try {
+      int offset = 0;
+      for (byte[] block : blocks) {
+        int uncompressedSize = getUncompressedSize(block);
+
+        inflater.reset();
+        inflater.setInput(block, HEADER_SIZE, block.length - HEADER_SIZE - TRAILER_SIZE);
+        int inflated = 0;
+        while (inflated < uncompressedSize) {
+          int count = inflater.inflate(result, offset + inflated, uncompressedSize - inflated);
+          if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+            break;
+          }
+          inflated += count;
+        }
+
+        crc.reset();
+        crc.update(result, offset, inflated);
+        val expectedCrc = BlockGzip.getInt(block, block.length - TRAILER_SIZE);
+        if (inflated != uncompressedSize || (int) crc.getValue() != expectedCrc) {
+          throw new IOException("Corrupt block compressed gzip block");
+        }
+
+        offset += uncompressedSize;
+      }
+    } finally {
+      inflater.end();
+    }
+
+    return result;
+  }
+
+  private static int getUncompressedSize(byte[] block) {
+    return BlockGzip.getInt(block, block.length - TRAILER_SIZE + 4);
+  }
+
+  private static byte[] await(Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while inflating blocks", e);
+    } catch (ExecutionException e) {
+      val cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+
+      throw new IOException("Failed to inflate blocks", cause);
+    }
+  }
+
+}
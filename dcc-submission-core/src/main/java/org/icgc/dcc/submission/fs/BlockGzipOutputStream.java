@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.submission.fs.BlockGzip.HEADER_SIZE;
+import static org.icgc.dcc.submission.fs.BlockGzip.MAX_BLOCK_INPUT_SIZE;
+import static org.icgc.dcc.submission.fs.BlockGzip.MAX_BLOCK_SIZE;
+import static org.icgc.dcc.submission.fs.BlockGzip.TRAILER_SIZE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Writes the {@link BlockGzip} format.
+ */
+public class BlockGzipOutputStream extends OutputStream {
+
+  /**
+   * Dependencies.
+   */
+  private final OutputStream out;
+
+  /**
+   * State.
+   */
+  private final byte[] buffer = new byte[MAX_BLOCK_INPUT_SIZE];
+  private final byte[] block = new byte[MAX_BLOCK_SIZE];
+  private final Deflater deflater;
+  private final CRC32 crc = new CRC32();
+  private int count;
+  private boolean finished;
+
+  public BlockGzipOutputStream(@NonNull OutputStream out) {
+    this(out, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  public BlockGzipOutputStream(@NonNull OutputStream out, int level) {
+    this.out = out;
+    this.deflater = new Deflater(level, true);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkState(!finished, "Stream already finished");
+    buffer[count++] = (byte) b;
+    if (count == buffer.length) {
+      writeBlock();
+    }
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    checkState(!finished, "Stream already finished");
+    while (length > 0) {
+      int chunk = Math.min(length, buffer.length - count);
+      System.arraycopy(bytes, offset, buffer, count, chunk);
+      count += chunk;
+      offset += chunk;
+      length -= chunk;
+
+      if (count == buffer.length) {
+        writeBlock();
+      }
+    }
+  }
+
+  /**
+   * Ends the current block, if any, so that everything written so far can be read back.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (count > 0) {
+      writeBlock();
+    }
+    out.flush();
+  }
+
+  /**
+   * Writes the last block and the end-of-file marker without closing the underlying stream.
+   */
+  public void finish() throws IOException {
+    if (finished) {
+      return;
+    }
+
+    if (count > 0) {
+      writeBlock();
+    }
+
+    // Empty block marking the end of the file
+    writeBlock();
+    finished = true;
+    deflater.end();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      finish();
+    } finally {
+      out.close();
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    deflater.reset();
+    deflater.setInput(buffer, 0, count);
+    deflater.finish();
+
+    int compressedSize = 0;
+    val maxCompressedSize = block.length - HEADER_SIZE - TRAILER_SIZE;
+    while (!deflater.finished()) {
+      checkState(compressedSize < maxCompressedSize, "Block of %s bytes does not compress within %s bytes",
+          count, maxCompressedSize);
+      compressedSize += deflater.deflate(block, HEADER_SIZE + compressedSize, maxCompressedSize - compressedSize);
+    }
+
+    crc.reset();
+    crc.update(buffer, 0, count);
+
+    val blockSize = HEADER_SIZE + compressedSize + TRAILER_SIZE;
+    BlockGzip.writeHeader(block, blockSize);
+    BlockGzip.putInt(block, blockSize - TRAILER_SIZE, (int) crc.getValue());
+    BlockGzip.putInt(block, blockSize - TRAILER_SIZE + 4, count);
+
+    out.write(block, 0, blockSize);
+    count = 0;
+  }
+
+}
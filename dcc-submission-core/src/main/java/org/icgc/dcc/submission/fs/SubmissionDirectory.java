@@ -39,6 +39,7 @@ import java.util.regex.Pattern;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.GzipCodec;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.release.model.Release;
@@ -197,12 +198,19 @@ public class SubmissionDirectory {
   /**
    * Must close stream after usage. The extension is expected to match the actual encoding at this point. The client
    * code can read data from this stream without having to worry about what compression is used.
+   * <p>
+   * {@link BlockGzip} files (which have a gzip extension) are inflated in parallel.
    */
   @SneakyThrows
   public InputStream getDecompressingInputStream(String fileName) {
-    val in = open(fileName);
+    val path = new Path(getDataFilePath(fileName));
     val codec = new CompressionCodecFactory(submissionFileSystem.getFileSystemConfiguration())
-        .getCodec(new Path(getDataFilePath(fileName)));
+        .getCodec(path);
+    if (codec instanceof GzipCodec && BlockGzip.isBlockGzip(submissionFileSystem.getFileSystem(), path)) {
+      return new BlockGzipInputStream(open(fileName));
+    }
+
+    val in = open(fileName);
     return codec == null ?
         in : // This is assumed to be PLAIN_TEXT
         codec.createInputStream(in);
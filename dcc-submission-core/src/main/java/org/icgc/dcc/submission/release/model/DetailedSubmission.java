@@ -51,7 +51,7 @@ public class DetailedSubmission extends Submission {
     this.projectAlias = project.getAlias();
 
     this.state = submission.state;
-    this.report = submission.report;
+    this.report = submission.getReport();
     this.lastUpdated = submission.lastUpdated;
     this.submissionFiles = new ArrayList<SubmissionFile>();
   }
@@ -273,6 +273,22 @@ public class Release extends BaseEntity implements HasName {
     return queue.remove(0);
   }
 
+  /**
+   * Dequeues {@code projectKey} wherever it is in the queue, expecting it to be queued.<br>
+   * <br>
+   * This method is <b>not</b> thread-safe.
+   */
+  public QueuedProject dequeueProject(@NonNull String projectKey) {
+    log.info("Dequeuing '{}' from current queue state {}...", projectKey, queue);
+    for (int i = 0; i < queue.size(); i++) {
+      if (queue.get(i).getKey().equals(projectKey)) {
+        return queue.remove(i);
+      }
+    }
+
+    throw new ReleaseException("Project '%s' is not in queue: '%s'", projectKey, queue);
+  }
+
   public void emptyQueue() {
     log.info("Emptying from current queue state {}...", queue);
     queue.clear();
@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.release.model;
 
 import static com.google.common.base.Throwables.propagate;
 import static com.google.common.collect.Iterables.transform;
+import static lombok.AccessLevel.NONE;
 import static org.icgc.dcc.submission.release.model.SubmissionState.getDefaultState;
 
 import java.io.Serializable;
@@ -39,12 +40,14 @@ import org.icgc.dcc.submission.core.state.StateContext;
 import org.icgc.dcc.submission.fs.SubmissionFile;
 import org.icgc.dcc.submission.fs.SubmissionFileEvent;
 import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Transient;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -55,6 +58,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -64,6 +68,7 @@ import lombok.extern.slf4j.Slf4j;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "projectKey")
+@ToString(exclude = "reportLoader", doNotUseGetters = true)
 public class Submission implements Serializable, Identifiable {
 
   private static final Joiner ID_JOINER = Joiners.HASHTAG;
@@ -84,9 +89,19 @@ public class Submission implements Serializable, Identifiable {
 
   protected SubmissionState state = getDefaultState();
 
+  /**
+   * Not persisted with the release, see {@link SubmissionReport}.
+   */
   @Valid
+  @Transient
   protected Report report = new Report();
 
+  /**
+   * Loads {@link #report} on first access, if set.
+   */
+  @Getter(NONE)
+  private transient Supplier<Report> reportLoader;
+
   public Submission(@NonNull String projectKey, @NonNull String projectName, @NonNull String releaseName) {
     this(projectKey, projectName, releaseName, getDefaultState());
   }
@@ -146,12 +161,34 @@ public class Submission implements Serializable, Identifiable {
   }
 
   public Report getReport() {
+    if (reportLoader != null) {
+      report = reportLoader.get();
+      reportLoader = null;
+    }
+
     return report;
   }
 
   public void setReport(Report report) {
     this.lastUpdated = new Date();
     this.report = report;
+    this.reportLoader = null;
+  }
+
+  /**
+   * Defers obtaining the report until {@link #getReport()} is first called.
+   */
+  public void setReportLoader(@NonNull Supplier<Report> reportLoader) {
+    this.reportLoader = reportLoader;
+  }
+
+  /**
+   * Indicates whether the report is held in memory, i.e. it was created, set or already loaded. Reports that are not
+   * cannot have changed.
+   */
+  @JsonIgnore
+  public boolean isReportLoaded() {
+    return reportLoader == null;
   }
 
   public SubmissionState getState() {
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import org.icgc.dcc.common.hadoop.parser.AbstractFileLineParser;
+import org.icgc.dcc.submission.core.util.FieldNameComparator;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class FieldIndexedRecordParserTest {
+
+  /**
+   * Test data.
+   */
+  private static final List<String> FIELD_NAMES = ImmutableList.of("a", "b", "c");
+
+  /**
+   * Class under test.
+   */
+  FieldIndexedRecordParser parser = new FieldIndexedRecordParser(FIELD_NAMES);
+
+  @Test
+  public void testParse() {
+    val record = parser.parse("1\t22\t333");
+
+    assertThat(record.getFieldCount()).isEqualTo(3);
+    assertThat(record.getString(0)).isEqualTo("1");
+    assertThat(record.getString(1)).isEqualTo("22");
+    assertThat(record.getString(2)).isEqualTo("333");
+    assertThat(record.getString("b")).isEqualTo("22");
+    assertThat(record.getString("d")).isNull();
+    assertThat(record.get(2).toString()).isEqualTo("333");
+    assertThat(record.contentEquals(1, "22")).isTrue();
+    assertThat(record.contentEquals(1, "2")).isFalse();
+    assertThat(parser.indexOf("c")).isEqualTo(2);
+  }
+
+  @Test
+  public void testParseEmptyFields() {
+    val record = parser.parse("\t\t");
+
+    assertThat(record.getString(0)).isEmpty();
+    assertThat(record.getString(1)).isEmpty();
+    assertThat(record.getString(2)).isEmpty();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testParseTooFewFields() {
+    parser.parse("1\t2");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testParseTooManyFields() {
+    parser.parse("1\t2\t3\t4");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMissingField() {
+    parser.indexOf("d");
+  }
+
+  @Test
+  public void testReuseAndCopy() {
+    val first = parser.parse("1\t2\t3");
+    val copy = first.copy();
+    val second = parser.parse("4\t5\t6");
+
+    // Reused per thread
+    assertThat(second).isSameAs(first);
+    assertThat(copy.getString("a")).isEqualTo("1");
+    assertThat(second.getString("a")).isEqualTo("4");
+  }
+
+  @Test
+  @SneakyThrows
+  public void testThreadConfined() {
+    val record = parser.parse("1\t2\t3");
+    val executor = Executors.newSingleThreadExecutor();
+    FieldIndexedRecord other = executor.submit(() -> parser.parse("4\t5\t6")).get();
+    executor.shutdown();
+
+    assertThat(other).isNotSameAs(record);
+    assertThat(record.getString("a")).isEqualTo("1");
+  }
+
+  @Test
+  public void testMapAdapter() {
+    val map = new FileLineMapParser(createSchema(FIELD_NAMES)).parse("1\t2\t3");
+
+    assertThat(map).isEqualTo(ImmutableMap.of("a", "1", "b", "2", "c", "3"));
+    assertThat(map.keySet()).containsExactly("a", "b", "c");
+    assertThat(map.get("d")).isNull();
+    assertThat(map.containsKey("c")).isTrue();
+  }
+
+  @Test
+  @Ignore("Benchmark")
+  @SneakyThrows
+  public void benchmark() {
+    val size = Long.getLong("parser.benchmark.bytes", 1L << 30);
+    val fieldNames = createSsmPrimaryFieldNames();
+    val file = createSsmPrimaryFile(fieldNames, size);
+    val schema = createSchema(fieldNames);
+
+    try {
+      for (int round = 0; round < 3; round++) {
+        benchmark("legacy", new LegacyFileLineMapParser(schema), file);
+        benchmark("map", new FileLineMapParser(schema), file);
+        benchmark("record", new FieldIndexedRecordParser(schema), file);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  @SneakyThrows
+  private static void benchmark(String name, AbstractFileLineParser<?> parser, File file) {
+    long lines = 0;
+    long checksum = 0;
+    val watch = Stopwatch.createStarted();
+
+    @Cleanup
+    BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8);
+    reader.readLine();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      // Touch one field to defeat dead code elimination
+      Object record = parser.parse(line);
+      checksum += record instanceof FieldIndexedRecord ?
+          ((FieldIndexedRecord) record).get(1).length() :
+          ((Map<?, ?>) record).size();
+      lines++;
+    }
+
+    log.info("{}: {} lines ({} checksum) in {}", new Object[] { name, lines, checksum, watch });
+  }
+
+  @SneakyThrows
+  private static File createSsmPrimaryFile(List<String> fieldNames, long size) {
+    val file = File.createTempFile("ssm_p", ".txt");
+    val random = new Random(1);
+    val values = new String[fieldNames.size()];
+
+    @Cleanup
+    BufferedWriter writer = Files.newBufferedWriter(file.toPath(), UTF_8);
+    writer.write(Joiner.on('\t').join(fieldNames));
+    writer.newLine();
+    while (file.length() < size) {
+      for (int i = 0; i < 10000; i++) {
+        for (int j = 0; j < values.length; j++) {
+          values[j] = j % 3 == 0 ? "" : Integer.toString(random.nextInt(100000000));
+        }
+        writer.write(Joiner.on('\t').join(values));
+        writer.newLine();
+      }
+      writer.flush();
+    }
+
+    log.info("Generated {} bytes in '{}'", file.length(), file);
+    return file;
+  }
+
+  private static List<String> createSsmPrimaryFieldNames() {
+    return ImmutableList.of(
+        "analysis_id", "analyzed_sample_id", "mutation_type", "chromosome", "chromosome_start", "chromosome_end",
+        "chromosome_strand", "reference_genome_allele", "control_genotype", "mutated_from_allele",
+        "mutated_to_allele", "expressed_allele", "quality_score", "probability", "total_read_count",
+        "mutant_allele_read_count", "verification_status", "verification_platform", "biological_validation_status",
+        "biological_validation_platform", "note");
+  }
+
+  private static FileSchema createSchema(List<String> fieldNames) {
+    val schema = mock(FileSchema.class);
+    when(schema.getFieldNames()).thenReturn(fieldNames);
+
+    return schema;
+  }
+
+  /**
+   * The previous {@link FileLineMapParser} implementation, as a baseline.
+   */
+  private static class LegacyFileLineMapParser extends AbstractFileLineParser<Map<String, String>> {
+
+    private static final Splitter SPLITTER = Splitter.on('\t');
+
+    private final List<String> fieldNames;
+    private final FieldNameComparator comparator;
+
+    LegacyFileLineMapParser(FileSchema schema) {
+      this.fieldNames = schema.getFieldNames();
+      this.comparator = new FieldNameComparator(fieldNames);
+    }
+
+    @Override
+    public Map<String, String> parse(String line) {
+      val fieldValues = SPLITTER.splitToList(line);
+      val record = ImmutableSortedMap.<String, String> orderedBy(comparator);
+      for (int i = 0; i < fieldNames.size(); i++) {
+        record.put(fieldNames.get(i), fieldValues.get(i));
+      }
+
+      return record.build();
+    }
+
+  }
+
+}
@@ -0,0 +1,114 @@
+package org.icgc.dcc.submission.core.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.DONOR_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_M_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class ReportTest {
+
+  @Test
+  public void testAddErrorsMatchesVisitor() {
+    val expected = createReport();
+    val actual = createReport();
+
+    val errors = createErrors();
+    for (val error : errors) {
+      expected.accept(new AddErrorVisitor(error));
+    }
+    actual.addErrors(errors);
+
+    assertThat(actual).isEqualTo(expected);
+    assertThat(actual.getErrorCount()).isEqualTo(5);
+    assertThat(actual.hasErrors()).isTrue();
+    assertThat(actual.getFileReport("ssm_p.txt").get().getFileState()).isEqualTo(FileState.INVALID);
+    assertThat(actual.getFileReport("ssm_m.txt").get().getFileState()).isNotEqualTo(FileState.INVALID);
+    assertThat(actual.getFileReport("missing.txt").isPresent()).isFalse();
+  }
+
+  @Test
+  public void testIndexFollowsStructuralChanges() {
+    val report = createReport();
+    report.addErrors(createErrors());
+
+    report.removeFile(DONOR_TYPE, "donor.txt");
+    assertThat(report.getFileReport("donor.txt").isPresent()).isFalse();
+    assertThat(report.getErrorCount()).isEqualTo(4);
+
+    report.addFile(DONOR_TYPE, "donor.txt");
+    report.addError(error().fileName("donor.txt").type(SCRIPT_ERROR).fieldNames("f1").lineNumber(1).build());
+    assertThat(report.getFileReport("donor.txt").get().getErrorReports()).hasSize(1);
+    assertThat(report.getErrorCount()).isEqualTo(5);
+
+    report.resetAll();
+    assertThat(report.hasErrors()).isFalse();
+    assertThat(report.getErrorCount()).isEqualTo(0);
+
+    report.addErrors(createErrors());
+    assertThat(report.getErrorCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void testIndexIsRebuiltOnCopy() {
+    val report = createReport();
+    report.addErrors(createErrors());
+
+    // Copies (like reports loaded from the database) start with an empty index
+    val copy = new Report(report);
+    assertThat(copy.getErrorCount()).isEqualTo(5);
+
+    copy.addError(error().fileName("ssm_m.txt").type(CODELIST_ERROR).fieldNames("f2").lineNumber(3).build());
+    assertThat(copy.getErrorCount()).isEqualTo(6);
+    assertThat(report.getErrorCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void testAddSummaryAndFieldReport() {
+    val report = createReport();
+    val fieldReport = new FieldReport();
+    fieldReport.setName("f1");
+
+    report.addSummary("ssm_p.txt", "name", "value");
+    report.addFieldReport("ssm_p.txt", fieldReport);
+    report.addSummary("missing.txt", "name", "value");
+    report.addFieldReport("missing.txt", fieldReport);
+
+    val fileReport = report.getFileReport("ssm_p.txt").get();
+    assertThat(fileReport.getSummaryReports()).containsExactly(new SummaryReport("name", "value"));
+    assertThat(fileReport.getFieldReports()).containsExactly(fieldReport);
+    assertThat(report.getFileReport("ssm_m.txt").get().getSummaryReports()).isEmpty();
+    assertThat(report.getFileReport("ssm_m.txt").get().getFieldReports()).isEmpty();
+  }
+
+  private static Report createReport() {
+    val report = new Report();
+    report.addFile(DONOR_TYPE, "donor.txt");
+    report.addFile(SSM_P_TYPE, "ssm_p.txt");
+    report.addFile(SSM_M_TYPE, "ssm_m.txt");
+
+    return report;
+  }
+
+  private static List<Error> createErrors() {
+    return ImmutableList.of(
+        error().fileName("ssm_p.txt").type(SCRIPT_ERROR).number(0).fieldNames("f1").lineNumber(1).value("v1").build(),
+        error().fileName("ssm_p.txt").type(SCRIPT_ERROR).number(0).fieldNames("f1").lineNumber(2).value("v2").build(),
+        error().fileName("missing.txt").type(SCRIPT_ERROR).fieldNames("f1").lineNumber(1).build(),
+        error().fileName("donor.txt").type(CODELIST_ERROR).fieldNames("f2").lineNumber(1).value("v").build(),
+        error().fileName("ssm_p.txt").type(CODELIST_ERROR).fieldNames("f2").lineNumber(3).value("v3").build(),
+        error().fileName("ssm_p.txt").type(SCRIPT_ERROR).number(1).fieldNames("f1").lineNumber(4).value("v4").build());
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+import lombok.Cleanup;
+import lombok.val;
+
+public class BlockGzipTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    val data = createData();
+    val compressed = compress(data);
+
+    for (int parallelism = 1; parallelism <= 3; parallelism++) {
+      @Cleanup
+      val in = new BlockGzipInputStream(new ByteArrayInputStream(compressed), parallelism);
+      assertThat(ByteStreams.toByteArray(in)).isEqualTo(data);
+    }
+  }
+
+  @Test
+  public void testReadableAsGzip() throws IOException {
+    val data = createData();
+
+    @Cleanup
+    val in = new GZIPInputStream(new ByteArrayInputStream(compress(data)));
+    assertThat(ByteStreams.toByteArray(in)).isEqualTo(data);
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    val compressed = compress(new byte[0]);
+
+    // End-of-file marker only, as written by bgzip
+    assertThat(compressed).hasSize(28);
+
+    @Cleanup
+    val in = new BlockGzipInputStream(new ByteArrayInputStream(compressed));
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testIncompressible() throws IOException {
+    val data = new byte[3 * BlockGzip.MAX_BLOCK_INPUT_SIZE + 1];
+    new Random(1).nextBytes(data);
+
+    @Cleanup
+    val in = new BlockGzipInputStream(new ByteArrayInputStream(compress(data)), 2);
+    assertThat(ByteStreams.toByteArray(in)).isEqualTo(data);
+  }
+
+  @Test
+  public void testCodec() throws IOException {
+    val data = createData();
+    val codec = new BlockGzipCodec();
+
+    val buffer = new ByteArrayOutputStream();
+    val out = codec.createOutputStream(buffer);
+    out.write(data);
+    out.close();
+
+    @Cleanup
+    val in = codec.createInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+    assertThat(ByteStreams.toByteArray(in)).isEqualTo(data);
+  }
+
+  @Test
+  public void testIsBlockGzip() throws IOException {
+    val fileSystem = FileSystem.getLocal(new Configuration());
+    val data = createData();
+
+    val blockGzip = tmp.newFile("block.txt.gz");
+    Files.write(compress(data), blockGzip);
+    assertThat(BlockGzip.isBlockGzip(fileSystem, path(blockGzip))).isTrue();
+
+    val gzip = tmp.newFile("plain.txt.gz");
+    val buffer = new ByteArrayOutputStream();
+    val out = new GZIPOutputStream(buffer);
+    out.write(data);
+    out.close();
+    Files.write(buffer.toByteArray(), gzip);
+    assertThat(BlockGzip.isBlockGzip(fileSystem, path(gzip))).isFalse();
+
+    val text = tmp.newFile("plain.txt");
+    Files.write("a\tb\n", text, UTF_8);
+    assertThat(BlockGzip.isBlockGzip(fileSystem, path(text))).isFalse();
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorrupt() throws IOException {
+    val compressed = compress(createData());
+    compressed[BlockGzip.HEADER_SIZE + 10] ^= 0xff;
+
+    @Cleanup
+    InputStream in = new BlockGzipInputStream(new ByteArrayInputStream(compressed));
+    ByteStreams.toByteArray(in);
+  }
+
+  private static byte[] createData() {
+    val builder = new StringBuilder();
+    for (int i = 0; i < 50000; i++) {
+      builder.append("a").append(i).append("\tb").append(i % 7).append("\tc\n");
+    }
+
+    return builder.toString().getBytes(UTF_8);
+  }
+
+  private static byte[] compress(byte[] data) throws IOException {
+    val buffer = new ByteArrayOutputStream();
+    val out = new BlockGzipOutputStream(buffer);
+    out.write(data);
+    out.close();
+
+    return buffer.toByteArray();
+  }
+
+  private static Path path(File file) {
+    return new Path(file.toURI());
+  }
+
+}
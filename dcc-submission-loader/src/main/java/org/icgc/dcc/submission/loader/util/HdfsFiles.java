@@ -23,6 +23,9 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.GzipCodec;
+import org.icgc.dcc.submission.fs.BlockGzip;
+import org.icgc.dcc.submission.fs.BlockGzipInputStream;
 import org.icgc.dcc.submission.loader.core.DependencyFactory;
 
 import lombok.NoArgsConstructor;
@@ -44,7 +47,11 @@ public final class HdfsFiles {
     val fs = DependencyFactory.getInstance().getFileSystem();
     val codec = codecFactory.getCodec(file);
 
-    val inputStreamReader = new InputStreamReader(codec.createInputStream(fs.open(file)));
+    // Block compressed files are inflated in parallel
+    val inputStream = codec instanceof GzipCodec && BlockGzip.isBlockGzip(fs, file) ?
+        new BlockGzipInputStream(fs.open(file)) :
+        codec.createInputStream(fs.open(file));
+    val inputStreamReader = new InputStreamReader(inputStream);
 
     return new BufferedReader(inputStreamReader);
   }
@@ -19,11 +19,11 @@ package org.icgc.dcc.submission.server.config;
 
 import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.HOURS;
 
+import java.io.File;
 import java.util.Set;
 
-import javax.annotation.PostConstruct;
-
 import org.apache.hadoop.fs.FileSystem;
 import org.icgc.dcc.common.ega.client.EGAClient;
 import org.icgc.dcc.common.hadoop.fs.DccFileSystem2;
@@ -33,6 +33,7 @@ import org.icgc.dcc.submission.server.service.DictionaryService;
 import org.icgc.dcc.submission.validation.ValidationExecutor;
 import org.icgc.dcc.submission.validation.accession.AccessionValidator;
 import org.icgc.dcc.submission.validation.accession.core.AccessionDictionary;
+import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionCache;
 import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.first.FirstPassValidator;
@@ -47,7 +48,6 @@ import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionContext;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.planner.Planner;
-import org.icgc.dcc.submission.validation.primary.report.ByteOffsetToLineNumber;
 import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.DiscreteValuesRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestriction;
@@ -57,7 +57,6 @@ import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
 import org.icgc.dcc.submission.validation.rgv.ReferenceGenomeValidator;
 import org.icgc.dcc.submission.validation.rgv.reference.HtsjdkReferenceGenome;
 import org.icgc.dcc.submission.validation.sample.SampleTypeValidator;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
@@ -91,17 +90,12 @@ public class ValidationConfig extends AbstractConfig {
   private static final String NORMALIZATION_VALIDATOR_CONFIG_VALUE = "nv";
   private static final String ACCESSION_VALIDATOR_CONFIG_VALUE = "accession";
 
-  @Autowired
-  FileSystem fileSystem;
-
-  @PostConstruct
-  public void init() {
-    ByteOffsetToLineNumber.setFileSystem(fileSystem);
-  }
-
   @Bean
-  public Planner planner(Set<RestrictionType> restrictions) {
-    return new Planner(restrictions);
+  public Planner planner(SubmissionProperties properties, Set<RestrictionType> restrictions) {
+    val fused = properties.getPrimary().isFused();
+    log.info("Using fused primary validation restrictions: {}", fused);
+
+    return new Planner(restrictions, fused);
   }
 
   @Bean
@@ -201,11 +195,11 @@ public class ValidationConfig extends AbstractConfig {
       // Externally configured validators and validator ordering
       for (val value : values) {
         if (value.equals(FIRST_PASS_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(firstPassValidator());
+          validators.add(firstPassValidator(properties));
         } else if (value.equals(PRIMARY_VALIDATOR_CONFIG_VALUE)) {
           validators.add(primaryValidator(planner));
         } else if (value.equals(KEY_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(keyValidator());
+          validators.add(keyValidator(properties));
         } else if (value.equals(PCAWG_VALIDATOR_CONFIG_VALUE)) {
           validators.add(pcawgValidator(properties));
         } else if (value.equals(REFERENCE_GENOME_VALIDATOR_CONFIG_VALUE)) {
@@ -222,9 +216,9 @@ public class ValidationConfig extends AbstractConfig {
       }
     } else {
       // Default validators and validator ordering
-      validators.add(firstPassValidator());
+      validators.add(firstPassValidator(properties));
       validators.add(primaryValidator(planner));
-      validators.add(keyValidator());
+      validators.add(keyValidator(properties));
       validators.add(pcawgValidator(properties));
       validators.add(referenceGenomeValidator(properties));
       validators.add(sampleTypeValidator());
@@ -235,12 +229,19 @@ public class ValidationConfig extends AbstractConfig {
     return validators;
   }
 
-  private static Validator firstPassValidator() {
-    return new FirstPassValidator();
+  private static Validator firstPassValidator(SubmissionProperties properties) {
+    val parallelism = properties.getFirst().getParallelism();
+    val maxOpenStreams = properties.getFirst().getMaxOpenStreams();
+    log.info("Using first-pass validation parallelism: {}, max open streams: {}", parallelism, maxOpenStreams);
+
+    return new FirstPassValidator(parallelism, maxOpenStreams);
   }
 
-  private static Validator keyValidator() {
-    return new KeyValidator();
+  private static Validator keyValidator(SubmissionProperties properties) {
+    val parallelism = properties.getKey().getParallelism();
+    log.info("Using key validation parallelism: {}", parallelism);
+
+    return new KeyValidator(parallelism);
   }
 
   private static Validator primaryValidator(Planner planner) {
@@ -262,8 +263,10 @@ public class ValidationConfig extends AbstractConfig {
 
   private static Validator referenceGenomeValidator(SubmissionProperties properties) {
     val fastaFilePath = properties.getReference().getFasta();
+    val parallelism = properties.getReference().getParallelism();
+    log.info("Using reference genome validation parallelism: {}", parallelism);
 
-    return new ReferenceGenomeValidator(new HtsjdkReferenceGenome(fastaFilePath));
+    return new ReferenceGenomeValidator(new HtsjdkReferenceGenome(fastaFilePath), parallelism);
   }
 
   private static Validator sampleTypeValidator() {
@@ -280,8 +283,13 @@ public class ValidationConfig extends AbstractConfig {
         firstNonNull(properties.getAccession().getDictionaryUrl(),
             AccessionDictionary.DEFAULT_ACCESSION_DICTIONARY_URL);
     log.info("Using accession dictionary url: {}", dictionaryUrl);
-    val egaClient = new EGAClient(properties.getEga().getUsername(), properties.getEga().getPassword());
-    val egaValidator = new EGAFileAccessionValidator(egaClient);
+    val ega = properties.getEga();
+    val egaClient = new EGAClient(ega.getUsername(), ega.getPassword());
+    val egaCache = ega.getCacheFile() == null ?
+        new EGAFileAccessionCache(ega.getCacheTtlHours(), HOURS) :
+        new EGAFileAccessionCache(new File(ega.getCacheFile()), ega.getCacheTtlHours(), HOURS);
+    log.info("Using EGA parallelism: {}, accession cache file: {}", ega.getParallelism(), ega.getCacheFile());
+    val egaValidator = new EGAFileAccessionValidator(egaClient, egaCache, ega.getParallelism());
 
     return new AccessionValidator(new AccessionDictionary(dictionaryUrl), egaValidator);
   }
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.server.dictionary;
 
+import static com.google.common.base.Objects.equal;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.getFirst;
 import static com.google.common.collect.Maps.newHashMap;
@@ -34,6 +35,7 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +57,8 @@ import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestrict
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.InvalidScriptException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Function;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultiset;
@@ -74,10 +78,20 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DictionaryValidator {
 
+  /**
+   * Constants.
+   */
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private final Dictionary dictionary;
   private final DictionaryIndex dictionaryIndex;
   private final CodeListIndex codeListIndex;
 
+  /**
+   * State - per schema results of the last validation, the baseline for validating later revisions incrementally.
+   */
+  private final Map<String, SchemaValidation> schemaValidations = newHashMap();
+
   public DictionaryValidator(Dictionary dictionary, Iterable<CodeList> codeLists) {
     this.dictionary = checkNotNull(dictionary);
     this.dictionaryIndex = new DictionaryIndex(dictionary);
@@ -85,12 +99,25 @@ public class DictionaryValidator {
   }
 
   public DictionaryConstraintViolations validate() {
+    return validate(null);
+  }
+
+  /**
+   * Validates the dictionary, reusing the schema results of {@code previous} (typically the validator of the stored
+   * revision of the same version) for every schema that is structurally unchanged and whose relation targets kept
+   * their unique fields. Business keys and code lists are always re-validated. The result is identical to that of
+   * {@link #validate()}.
+   */
+  public DictionaryConstraintViolations validate(DictionaryValidator previous) {
     Set<DictionaryConstraintViolation> errors = newLinkedHashSet();
     Set<DictionaryConstraintViolation> warnings = newLinkedHashSet();
 
     try {
-      validateSchemata(errors, warnings);
-      validateCodeLists(errors, warnings);
+      val completed = validateSchemata(errors, warnings, previous);
+      if (completed) {
+        validateBusinessKeys(errors, warnings);
+        validateCodeLists(errors, warnings);
+      }
     } catch (Exception e) {
       log.error("Exception validating:", e);
       errors.add(new DictionaryConstraintViolation("Exception validating", e.getMessage()));
@@ -99,26 +126,103 @@ public class DictionaryValidator {
     return new DictionaryConstraintViolations(warnings, errors);
   }
 
-  private void validateSchemata(Set<DictionaryConstraintViolation> errors,
-      Set<DictionaryConstraintViolation> warnings) {
+  private boolean validateSchemata(Set<DictionaryConstraintViolation> errors,
+      Set<DictionaryConstraintViolation> warnings, DictionaryValidator previous) {
+    schemaValidations.clear();
+
+    val incremental = previous != null && previous != this && isComparable(previous);
+    int reused = 0;
     for (val schema : dictionary.getFiles()) {
-      try {
-        if (isBlank(schema.getPattern())) {
-          errors.add(new DictionaryConstraintViolation("Missing schema file pattern", schema.getName()));
-        } else {
-          Pattern.compile(schema.getPattern());
+      val tree = toTree(schema);
+
+      SchemaValidation validation = incremental ? reuseSchema(previous, schema, tree) : null;
+      if (validation == null) {
+        validation = validateSchema(schema, tree);
+      } else {
+        reused++;
+      }
+
+      schemaValidations.put(schema.getName(), validation);
+      errors.addAll(validation.getErrors());
+      warnings.addAll(validation.getWarnings());
+      if (validation.getFailure() != null) {
+        // Full validation stops at the first exception
+        errors.add(validation.getFailure());
+        return false;
+      }
+    }
+
+    if (incremental) {
+      log.info("Reused validation of {} out of {} schemata of dictionary '{}'",
+          reused, dictionary.getFiles().size(), dictionary.getVersion());
+    }
+
+    return true;
+  }
+
+  private boolean isComparable(DictionaryValidator previous) {
+    // Schema results are indexed by name and code list references are resolved by name
+    return hasUniqueSchemaNames() && previous.hasUniqueSchemaNames()
+        && codeListIndex.getNames().equals(previous.codeListIndex.getNames());
+  }
+
+  private boolean hasUniqueSchemaNames() {
+    return dictionaryIndex.schemata.size() == dictionary.getFiles().size();
+  }
+
+  private SchemaValidation reuseSchema(DictionaryValidator previous, FileSchema schema, JsonNode tree) {
+    val validation = previous.schemaValidations.get(schema.getName());
+    if (validation == null || tree == null || !tree.equals(validation.getTree())) {
+      return null;
+    }
+
+    // Relations are validated against the existence and the unique fields of their other schema
+    val relations = schema.getRelations();
+    for (int i = 0; relations != null && i < relations.size(); i++) {
+      val relation = relations.get(i);
+      val otherSchema = dictionaryIndex.getSchema(relation.getOther());
+      val previousOtherSchema = previous.dictionaryIndex.getSchema(relation.getOther());
+      if (otherSchema == null || previousOtherSchema == null) {
+        if (otherSchema != previousOtherSchema) {
+          return null;
         }
-      } catch (PatternSyntaxException e) {
-        errors.add(new DictionaryConstraintViolation("Invalid schema file pattern", schema.getName(), schema
-            .getPattern()));
+      } else if (!equal(otherSchema.getUniqueFields(), previousOtherSchema.getUniqueFields())) {
+        return null;
       }
+    }
+
+    return validation.rebind(schema, tree);
+  }
+
+  private SchemaValidation validateSchema(FileSchema schema, JsonNode tree) {
+    Set<DictionaryConstraintViolation> errors = newLinkedHashSet();
+    Set<DictionaryConstraintViolation> warnings = newLinkedHashSet();
+    DictionaryConstraintViolation failure = null;
 
+    try {
+      validatePattern(errors, schema);
       validateFieldNames(errors, schema);
       validateFields(errors, warnings, schema);
       validateRelations(errors, schema);
+    } catch (Exception e) {
+      log.error("Exception validating:", e);
+      failure = new DictionaryConstraintViolation("Exception validating", e.getMessage());
     }
 
-    validateBusinessKeys(errors, warnings);
+    return new SchemaValidation(schema, tree, errors, warnings, failure);
+  }
+
+  private void validatePattern(Set<DictionaryConstraintViolation> errors, FileSchema schema) {
+    try {
+      if (isBlank(schema.getPattern())) {
+        errors.add(new DictionaryConstraintViolation("Missing schema file pattern", schema.getName()));
+      } else {
+        Pattern.compile(schema.getPattern());
+      }
+    } catch (PatternSyntaxException e) {
+      errors.add(new DictionaryConstraintViolation("Invalid schema file pattern", schema.getName(), schema
+          .getPattern()));
+    }
   }
 
   private void validateFields(Set<DictionaryConstraintViolation> errors, Set<DictionaryConstraintViolation> warnings,
@@ -379,6 +483,15 @@ public class DictionaryValidator {
     }
   }
 
+  private static JsonNode toTree(FileSchema schema) {
+    try {
+      return MAPPER.valueToTree(schema);
+    } catch (IllegalArgumentException e) {
+      log.warn("Could not serialize schema '{}', it will always be re-validated: {}", schema.getName(), e.getMessage());
+      return null;
+    }
+  }
+
   public static class DictionaryIndex {
 
     final Map<String, FileSchema> schemata = newHashMap();
@@ -479,6 +592,79 @@ public class DictionaryValidator {
       return codeLists.containsKey(name);
     }
 
+    public Set<String> getNames() {
+      return codeLists.keySet();
+    }
+
+  }
+
+  /**
+   * The violations of a single schema, together with the serialized form it was validated in.
+   */
+  @Value
+  private static class SchemaValidation {
+
+    FileSchema schema;
+    JsonNode tree;
+    Set<DictionaryConstraintViolation> errors;
+    Set<DictionaryConstraintViolation> warnings;
+    DictionaryConstraintViolation failure;
+
+    /**
+     * Re-targets the violations to the elements of {@code newSchema}, which must be structurally equal to
+     * {@link #schema}, so they are indistinguishable from the ones of a fresh validation.
+     */
+    SchemaValidation rebind(FileSchema newSchema, JsonNode newTree) {
+      Map<Object, Object> elements = new IdentityHashMap<Object, Object>();
+      elements.put(schema, newSchema);
+      if (!bind(elements, schema.getFields(), newSchema.getFields())
+          || !bind(elements, schema.getRelations(), newSchema.getRelations())) {
+        return null;
+      }
+      for (int i = 0; schema.getFields() != null && i < schema.getFields().size(); i++) {
+        val restrictions = schema.getFields().get(i).getRestrictions();
+        val newRestrictions = newSchema.getFields().get(i).getRestrictions();
+        if (!bind(elements, restrictions, newRestrictions)) {
+          return null;
+        }
+      }
+
+      return new SchemaValidation(newSchema, newTree, rebind(errors, elements), rebind(warnings, elements), failure);
+    }
+
+    private static boolean bind(Map<Object, Object> elements, List<?> values, List<?> newValues) {
+      if (values == null || newValues == null) {
+        return values == newValues;
+      }
+      if (values.size() != newValues.size()) {
+        // Modified after validation
+        return false;
+      }
+
+      for (int i = 0; i < values.size(); i++) {
+        elements.put(values.get(i), newValues.get(i));
+      }
+
+      return true;
+    }
+
+    private static Set<DictionaryConstraintViolation> rebind(Set<DictionaryConstraintViolation> violations,
+        Map<Object, Object> elements) {
+      Set<DictionaryConstraintViolation> rebound = newLinkedHashSet();
+      for (val violation : violations) {
+        val context = violation.getContext().clone();
+        for (int i = 0; i < context.length; i++) {
+          if (elements.containsKey(context[i])) {
+            context[i] = elements.get(context[i]);
+          }
+        }
+
+        rebound.add(new DictionaryConstraintViolation(violation.getDescription(), context));
+      }
+
+      return rebound;
+    }
+
   }
 
   @Value
@@ -31,6 +31,7 @@ import org.mongodb.morphia.query.UpdateResults;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.collect.ImmutableList;
+import com.mongodb.WriteResult;
 import com.mysema.query.mongodb.MongodbQuery;
 import com.mysema.query.mongodb.morphia.MorphiaQuery;
 import com.mysema.query.types.EntityPath;
@@ -132,6 +133,11 @@ public abstract class AbstractRepository<E, Q extends EntityPath<E>> {
     return datastore().update(query, ops);
   }
 
+  protected <R> UpdateResults<R> update(@NonNull Query<R> query, @NonNull UpdateOperations<R> ops,
+      boolean createIfMissing) {
+    return datastore().update(query, ops, createIfMissing);
+  }
+
   protected <R> UpdateResults<R> updateFirst(@NonNull Query<R> query, @NonNull R entity, boolean createIfMissing) {
     return datastore().updateFirst(query, entity, createIfMissing);
   }
@@ -153,6 +159,10 @@ public abstract class AbstractRepository<E, Q extends EntityPath<E>> {
     return datastore().save(entities, ACKNOWLEDGED);
   }
 
+  protected <R> WriteResult delete(@NonNull Query<R> query) {
+    return datastore().delete(query, ACKNOWLEDGED);
+  }
+
   private void registerEntityType(Class<?> entityType) {
     morphia().map(entityType);
     datastore().ensureIndexes(entityType);
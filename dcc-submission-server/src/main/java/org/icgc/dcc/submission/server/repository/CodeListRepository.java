@@ -29,17 +29,40 @@ import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.base.Supplier;
+
 import lombok.NonNull;
 
 public class CodeListRepository extends AbstractRepository<CodeList, QCodeList> {
 
+  /**
+   * Constants.
+   */
+  private static final String ALL_CODE_LISTS = "all";
+
+  /**
+   * All code lists, as a single entry. Read on every validation.
+   */
+  private final RepositoryCache<String, List<CodeList>> cache;
+
   @Autowired
   public CodeListRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
     super(morphia, datastore, codeList);
+    this.cache = new RepositoryCache<String, List<CodeList>>(CodeList.class.getSimpleName(), datastore);
   }
 
+  /**
+   * Returns the cached code lists, which must not be modified.
+   */
   public List<CodeList> findCodeLists() {
-    return list();
+    return cache.get(ALL_CODE_LISTS, new Supplier<List<CodeList>>() {
+
+      @Override
+      public List<CodeList> get() {
+        return list();
+      }
+
+    });
   }
 
   public CodeList findCodeListByName(@NonNull String codeListName) {
@@ -48,6 +71,7 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
 
   public void saveCodeLists(@NonNull List<CodeList> codeLists) {
     save(codeLists);
+    cache.invalidate(ALL_CODE_LISTS);
   }
 
   public void updateCodeList(@NonNull String codeListName, @NonNull CodeList updatedCodeList) {
@@ -56,6 +80,7 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
             .filter("name", codeListName),
         createUpdateOperations()
             .set("label", updatedCodeList.getLabel()));
+    cache.invalidate(ALL_CODE_LISTS);
   }
 
   public void addCodeListTerm(@NonNull String codeListName, @NonNull Term newTerm) {
@@ -64,6 +89,11 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
             .filter("name", codeListName),
         createUpdateOperations()
             .add("terms", newTerm));
+    cache.invalidate(ALL_CODE_LISTS);
+  }
+
+  public RepositoryCache.Metrics getCacheMetrics() {
+    return cache.getMetrics();
   }
 
 }
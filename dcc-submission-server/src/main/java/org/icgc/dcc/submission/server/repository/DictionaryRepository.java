@@ -32,6 +32,7 @@ import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
 
 import lombok.NonNull;
@@ -39,9 +40,15 @@ import lombok.val;
 
 public class DictionaryRepository extends AbstractRepository<Dictionary, QDictionary> {
 
+  /**
+   * Dictionaries by version. Read on every validation and every SFTP file access.
+   */
+  private final RepositoryCache<String, Dictionary> cache;
+
   @Autowired
   public DictionaryRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
     super(morphia, datastore, dictionary);
+    this.cache = new RepositoryCache<String, Dictionary>(Dictionary.class.getSimpleName(), datastore);
   }
 
   public long countDictionariesByVersion(@NonNull String version) {
@@ -56,12 +63,23 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
     return list(entity.version, entity.created, entity.lastUpdate, entity.state);
   }
 
-  public Dictionary findDictionaryByVersion(@NonNull String version) {
-    return uniqueResult(entity.version.eq(version));
+  /**
+   * Returns the cached dictionary, which must not be modified.
+   */
+  public Dictionary findDictionaryByVersion(@NonNull final String version) {
+    return cache.get(version, new Supplier<Dictionary>() {
+
+      @Override
+      public Dictionary get() {
+        return uniqueResult(entity.version.eq(version));
+      }
+
+    });
   }
 
   public void saveDictionary(@NonNull Dictionary dictionary) {
     save(dictionary);
+    cache.invalidate(dictionary.getVersion());
   }
 
   public void updateDictionary(@NonNull Dictionary dictionary) {
@@ -69,6 +87,7 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
         createQuery()
             .filter("version", dictionary.getVersion()),
         dictionary, false);
+    cache.invalidate(dictionary.getVersion());
   }
 
   public void closeDictionary(@NonNull String version) {
@@ -77,6 +96,11 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
             .filter("version", version),
         createUpdateOperations()
             .set("state", CLOSED));
+    cache.invalidate(version);
+  }
+
+  public RepositoryCache.Metrics getCacheMetrics() {
+    return cache.getMetrics();
   }
 
   /**
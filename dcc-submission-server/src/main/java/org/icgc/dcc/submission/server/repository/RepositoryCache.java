@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.mongodb.morphia.Datastore;
+
+import com.google.common.base.Supplier;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Read-through cache for repository reads.
+ * <p>
+ * Every entry remembers the version its key had when it was loaded. Versions are kept in Mongo and incremented by
+ * every write through the owning repository (see {@link #invalidate(Object)}), so an entry is only served while no
+ * server instance has written to it since. Checking a version is a single read of a tiny document by id, which is much
+ * cheaper than loading and mapping the cached entities.
+ * <p>
+ * Cached values are shared between callers and must not be modified.
+ */
+public class RepositoryCache<K, V> {
+
+  /**
+   * Constants.
+   */
+  static final String VERSION_COLLECTION_NAME = "CacheVersion";
+  private static final String VERSION_FIELD_NAME = "version";
+
+  /**
+   * Configuration.
+   */
+  private final String name;
+
+  /**
+   * Dependencies.
+   */
+  private final DBCollection versions;
+
+  /**
+   * State.
+   */
+  private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<K, Entry<V>>();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  public RepositoryCache(@NonNull String name, @NonNull Datastore datastore) {
+    this.name = name;
+    this.versions = datastore.getDB().getCollection(VERSION_COLLECTION_NAME);
+  }
+
+  /**
+   * Returns the cached value of {@code key} if it is still current, otherwise calls {@code loader}. {@code null}s are
+   * returned but not cached.
+   */
+  public V get(@NonNull K key, @NonNull Supplier<V> loader) {
+    // Read before loading: a concurrent write can only make the entry look stale, never current
+    val version = getVersion(key);
+
+    val entry = entries.get(key);
+    if (entry != null && entry.getVersion() == version) {
+      hitCount.incrementAndGet();
+      return entry.getValue();
+    }
+
+    missCount.incrementAndGet();
+    val value = loader.get();
+    if (value == null) {
+      entries.remove(key);
+    } else {
+      entries.put(key, new Entry<V>(version, value));
+    }
+
+    return value;
+  }
+
+  /**
+   * To be called after every write affecting {@code key}, on any server instance.
+   */
+  public void invalidate(@NonNull K key) {
+    entries.remove(key);
+    versions.update(
+        new BasicDBObject("_id", getVersionId(key)),
+        new BasicDBObject("$inc", new BasicDBObject(VERSION_FIELD_NAME, 1L)),
+        true, false);
+  }
+
+  public Metrics getMetrics() {
+    return new Metrics(name, entries.size(), hitCount.get(), missCount.get());
+  }
+
+  private long getVersion(K key) {
+    val document = versions.findOne(new BasicDBObject("_id", getVersionId(key)));
+
+    return document == null ? 0L : ((Number) document.get(VERSION_FIELD_NAME)).longValue();
+  }
+
+  private String getVersionId(K key) {
+    return name + "." + key;
+  }
+
+  @Value
+  private static class Entry<V> {
+
+    long version;
+    V value;
+
+  }
+
+  @Value
+  public static class Metrics {
+
+    String name;
+    int size;
+    long hitCount;
+    long missCount;
+
+  }
+
+}
@@ -21,6 +21,10 @@ import org.icgc.dcc.submission.server.config.AbstractConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 public class RepositoryConfig extends AbstractConfig {
 
@@ -44,6 +48,19 @@ public class RepositoryConfig extends AbstractConfig {
     return singleton(ReleaseRepository.class);
   }
 
+  @Bean
+  public SubmissionReportRepository submissionReportRepository() {
+    val repository = singleton(SubmissionReportRepository.class);
+
+    // One-shot, no-op once existing releases no longer embed reports
+    val count = repository.migrateEmbeddedReports();
+    if (count > 0) {
+      log.info("Moved {} submission report(s) out of release documents", count);
+    }
+
+    return repository;
+  }
+
   @Bean
   public UserRepository userRepository() {
     return singleton(UserRepository.class);
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.submission.release.model.QSubmissionReport.submissionReport;
+
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.report.Report;
+import org.icgc.dcc.submission.release.model.QSubmissionReport;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.SubmissionReport;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.ImmutableMap;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores submission {@link Report}s in their own collection, keyed by (release, project), rather than embedded in the
+ * {@link Release} document.
+ */
+@Slf4j
+public class SubmissionReportRepository extends AbstractRepository<SubmissionReport, QSubmissionReport> {
+
+  @Autowired
+  public SubmissionReportRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
+    super(morphia, datastore, submissionReport);
+  }
+
+  /**
+   * Returns {@code null} if there is no report for the submission.
+   */
+  public Report findReport(@NonNull String releaseName, @NonNull String projectKey) {
+    val result = uniqueResult(entity.releaseName.eq(releaseName).and(entity.projectKey.eq(projectKey)));
+
+    return result == null ? null : result.getReport();
+  }
+
+  /**
+   * Returns the reports of a release by project key, with only the data type states populated.
+   */
+  public Map<String, Report> findReportSummaries(@NonNull String releaseName) {
+    val results = list(entity.releaseName.eq(releaseName),
+        entity.projectKey,
+        entity.report.dataTypeReports.any().dataType,
+        entity.report.dataTypeReports.any().dataTypeState);
+
+    val reports = ImmutableMap.<String, Report> builder();
+    for (val result : results) {
+      if (result.getReport() != null) {
+        reports.put(result.getProjectKey(), result.getReport());
+      }
+    }
+
+    return reports.build();
+  }
+
+  /**
+   * Creates or replaces the report of a submission.
+   */
+  public void upsertReport(@NonNull String releaseName, @NonNull String projectKey, @NonNull Report report) {
+    val result = update(
+        createQuery()
+            .filter("releaseName", releaseName)
+            .filter("projectKey", projectKey),
+        createUpdateOperations()
+            .set("report", report),
+        true);
+
+    checkState(result.getUpdatedCount() + result.getInsertedCount() == 1,
+        "Upserting the report of release '%s' project '%s' failed: %s",
+        releaseName, projectKey, result.getWriteResult());
+  }
+
+  /**
+   * Deletes the reports of a release whose project is not one of {@code projectKeys}.
+   * 
+   * @return the number of reports deleted
+   */
+  public int deleteReportsExcept(@NonNull String releaseName, @NonNull Iterable<String> projectKeys) {
+    val result = delete(
+        createQuery()
+            .filter("releaseName", releaseName)
+            .field("projectKey").notIn(projectKeys));
+
+    return result.getN();
+  }
+
+  public void updateReleaseName(@NonNull String releaseName, @NonNull String updatedReleaseName) {
+    update(
+        createQuery()
+            .filter("releaseName", releaseName),
+        createUpdateOperations()
+            .set("releaseName", updatedReleaseName));
+  }
+
+  /**
+   * Moves the reports still embedded in {@link Release} documents into this collection.
+   * <p>
+   * Documents are copied as is so no conversion takes place. Safe to run repeatedly, only releases that still embed
+   * reports are touched.
+   * 
+   * @return the number of reports moved
+   */
+  public int migrateEmbeddedReports() {
+    val releases = datastore().getCollection(Release.class);
+    val reports = datastore().getCollection(SubmissionReport.class);
+
+    int count = 0;
+
+    @Cleanup
+    val cursor = releases.find(new BasicDBObject("submissions.report", new BasicDBObject("$exists", true)));
+    for (val release : cursor) {
+      val releaseName = (String) release.get("name");
+      val submissions = (List<?>) release.get("submissions");
+
+      val embedded = new BasicDBObject();
+      for (int i = 0; i < submissions.size(); i++) {
+        val submission = (DBObject) submissions.get(i);
+        val report = submission.get("report");
+        if (report == null) {
+          continue;
+        }
+
+        val projectKey = (String) submission.get("projectKey");
+        log.info("Moving report of release '{}' project '{}'", releaseName, projectKey);
+        reports.update(
+            new BasicDBObject("releaseName", releaseName).append("projectKey", projectKey),
+            new BasicDBObject("$set", new BasicDBObject("report", report)),
+            true, false);
+
+        embedded.append("submissions." + i + ".report", "");
+        count++;
+      }
+
+      // Only once all the reports of the release have been copied
+      if (!embedded.isEmpty()) {
+        releases.update(
+            new BasicDBObject("_id", release.get("_id")),
+            new BasicDBObject("$unset", embedded));
+      }
+    }
+
+    return count;
+  }
+
+}
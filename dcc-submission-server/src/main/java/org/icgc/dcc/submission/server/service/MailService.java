@@ -17,7 +17,9 @@
  */
 package org.icgc.dcc.submission.server.service;
 
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static javax.mail.Message.RecipientType.TO;
 import static org.icgc.dcc.submission.release.model.SubmissionState.ERROR;
 import static org.icgc.dcc.submission.release.model.SubmissionState.INVALID;
@@ -71,6 +73,12 @@ public class MailService {
    */
   public static final String NOTIFICATION_SUBJECT_PREFEX = "Notification: ";
 
+  /**
+   * Attempts made to send an email, and the delay before the first retry (doubled for each following one).
+   */
+  private static final int MAX_SEND_ATTEMPTS = 3;
+  private static final long SEND_RETRY_DELAY_MILLIS = 1000;
+
   /**
    * Executor used in sending emails asynchronously.
    */
@@ -212,7 +220,7 @@ public class MailService {
   }
 
   /**
-   * Sends the supplied {@code message} asynchronously using JavaMail.
+   * Sends the supplied {@code message} asynchronously using JavaMail, retrying with back-off if sending fails.
    * 
    * @param message the message to send
    */
@@ -222,14 +230,26 @@ public class MailService {
       @Override
       @SneakyThrows
       public void run() {
-        try {
-          log.info("Sending email '{}' to {}...", message.getSubject(), Arrays.toString(message.getAllRecipients()));
-          Transport.send(message);
-          log.info("Sent email '{}' to {}", message.getSubject(), Arrays.toString(message.getAllRecipients()));
-        } catch (Throwable t) {
-          log.error("Error sending email '{}' to {}", message.getSubject(),
-              Arrays.toString(message.getAllRecipients()));
-          log.error("Exception:", t);
+        long delay = SEND_RETRY_DELAY_MILLIS;
+        for (int attempt = 1; attempt <= MAX_SEND_ATTEMPTS; attempt++) {
+          try {
+            log.info("Sending email '{}' to {}...", message.getSubject(), Arrays.toString(message.getAllRecipients()));
+            Transport.send(message);
+            log.info("Sent email '{}' to {}", message.getSubject(), Arrays.toString(message.getAllRecipients()));
+
+            return;
+          } catch (Throwable t) {
+            if (attempt < MAX_SEND_ATTEMPTS) {
+              log.warn("Error sending email '{}' (attempt {} of {}), retrying in {} ms: {}",
+                  new Object[] { message.getSubject(), attempt, MAX_SEND_ATTEMPTS, delay, t.getMessage() });
+              sleepUninterruptibly(delay, MILLISECONDS);
+              delay *= 2;
+            } else {
+              log.error("Error sending email '{}' to {}", message.getSubject(),
+                  Arrays.toString(message.getAllRecipients()));
+              log.error("Exception:", t);
+            }
+          }
         }
       }
     });
@@ -243,7 +263,8 @@ public class MailService {
     props.put(MAIL_SMTP_TIMEOUT, properties.getMail().getSmtpTimeout());
     props.put(MAIL_SMTP_CONNECTION_TIMEOUT, properties.getMail().getSmtpConnectionTimeout());
 
-    return new MimeMessage(Session.getDefaultInstance(props, null));
+    // Not the default instance, which keeps the properties it was first created with
+    return new MimeMessage(Session.getInstance(props, null));
   }
 
   private String formatSubject(String text) {
@@ -58,6 +58,8 @@ public class ProjectService {
     log.info("Cleaning Project '{}'", dirty);
     val clean = new Project(dirty.getKey(), dirty.getName());
     clean.setAlias(dirty.getAlias());
+    clean.setPriority(dirty.getPriority());
+    clean.setEmergency(dirty.isEmergency());
 
     log.info("Returing cleaned Project '{}'", clean);
     return clean;
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static com.google.common.collect.Lists.reverse;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Striped;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Locks serializing the mutations of {@link ReleaseService}.
+ * <p>
+ * Submissions are persisted with positional updates, so submissions of different projects can change concurrently.
+ * Only changes to the same submission, or to the queue, need to exclude each other. Operations that replace the
+ * release as a whole (creation, renaming, completion) exclude everything else, which also means that a project key
+ * identifies a single (release, project) pair for as long as its lock is held.
+ * <p>
+ * Locks must be acquired in the order release, queue, projects and released with {@link Held#unlock()}, typically via
+ * {@code @Cleanup("unlock")}. Project locks are always taken in a fixed order, so no two operations can deadlock.
+ * <p>
+ * Locks are local to this JVM.
+ */
+class ReleaseLocks {
+
+  /**
+   * Constants.
+   */
+  private static final int PROJECT_LOCK_STRIPES = 64;
+
+  /**
+   * State.
+   */
+  private final ReentrantReadWriteLock releaseLock = new ReentrantReadWriteLock();
+  private final Lock queueLock = new ReentrantLock();
+  private final Striped<Lock> projectLocks = Striped.lock(PROJECT_LOCK_STRIPES);
+
+  /**
+   * Excludes every other operation.
+   */
+  public Held lockRelease() {
+    return lock(ImmutableList.<Lock> of(releaseLock.writeLock()));
+  }
+
+  /**
+   * Excludes other queue operations and whole-release operations.
+   */
+  public Held lockQueue() {
+    return lock(ImmutableList.of(releaseLock.readLock(), queueLock));
+  }
+
+  /**
+   * Excludes other operations on any of {@code projectKeys} and whole-release operations.
+   */
+  public Held lockProjects(@NonNull Iterable<String> projectKeys) {
+    val locks = ImmutableList.<Lock> builder();
+    locks.add(releaseLock.readLock());
+
+    // Striped returns the locks in stripe order, which makes the acquisition order total
+    locks.addAll(projectLocks.bulkGet(projectKeys));
+
+    return lock(locks.build());
+  }
+
+  public Held lockProject(@NonNull String projectKey) {
+    return lockProjects(ImmutableList.of(projectKey));
+  }
+
+  private static Held lock(List<Lock> locks) {
+    val acquired = ImmutableList.<Lock> builder();
+    try {
+      for (val lock : locks) {
+        lock.lock();
+        acquired.add(lock);
+      }
+    } catch (RuntimeException e) {
+      new Held(acquired.build()).unlock();
+      throw e;
+    }
+
+    return new Held(locks);
+  }
+
+  @RequiredArgsConstructor
+  public static class Held {
+
+    private final List<Lock> locks;
+
+    public void unlock() {
+      for (val lock : reverse(locks)) {
+        lock.unlock();
+      }
+    }
+
+  }
+
+}
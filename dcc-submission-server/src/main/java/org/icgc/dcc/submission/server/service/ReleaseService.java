@@ -40,10 +40,11 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 
 import lombok.NonNull;
-import lombok.Synchronized;
+import lombok.Cleanup;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -72,13 +73,17 @@ import org.icgc.dcc.submission.server.core.InvalidStateException;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
 import org.icgc.dcc.submission.server.repository.ReleaseRepository;
+import org.icgc.dcc.submission.server.repository.SubmissionReportRepository;
 import org.icgc.dcc.submission.server.web.InvalidNameException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 @Slf4j
@@ -91,6 +96,13 @@ public class ReleaseService extends AbstractService {
   private final ReleaseRepository releaseRepository;
   private final DictionaryRepository dictionaryRepository;
   private final ProjectRepository projectRepository;
+  private final SubmissionReportRepository submissionReportRepository;
+
+  /**
+   * State.
+   */
+  private final ReleaseLocks locks = new ReleaseLocks();
+  private final List<Runnable> queueListeners = new CopyOnWriteArrayList<Runnable>();
 
   @Autowired
   public ReleaseService(
@@ -98,12 +110,14 @@ public class ReleaseService extends AbstractService {
       @NonNull final SubmissionFileSystem submissionFileSystem,
       @NonNull final ReleaseRepository releaseRepository,
       @NonNull final DictionaryRepository dictionaryRepository,
-      @NonNull final ProjectRepository projectRepository) {
+      @NonNull final ProjectRepository projectRepository,
+      @NonNull final SubmissionReportRepository submissionReportRepository) {
     super(mailService);
     this.submissionFileSystem = submissionFileSystem;
     this.releaseRepository = releaseRepository;
     this.dictionaryRepository = dictionaryRepository;
     this.projectRepository = projectRepository;
+    this.submissionReportRepository = submissionReportRepository;
   }
 
   /**
@@ -123,7 +137,7 @@ public class ReleaseService extends AbstractService {
 
   public List<Release> getReleases() {
     log.info("Request to find all Releases");
-    return releaseRepository.findReleases();
+    return withReportLoaders(releaseRepository.findReleases());
   }
 
   /**
@@ -156,11 +170,11 @@ public class ReleaseService extends AbstractService {
   }
 
   public Release getReleaseByName(String releaseName) {
-    return releaseRepository.findReleaseByName(releaseName);
+    return withReportLoaders(releaseRepository.findReleaseByName(releaseName));
   }
 
   public List<Release> getCompletedReleases() throws IllegalReleaseStateException {
-    return releaseRepository.findCompletedReleases();
+    return withReportLoaders(releaseRepository.findCompletedReleases());
   }
 
   /**
@@ -171,6 +185,9 @@ public class ReleaseService extends AbstractService {
     val release = releaseRepository.findReleaseSummaryByName(releaseName);
     Optional<ReleaseView> releaseView = Optional.absent();
     if (release != null) {
+      // Views only need the data type states
+      withReportSummaries(release);
+
       // populate project name for submissions
       val projects = getProjects(release, authentication);
       val submissionFilesMap = getSubmissionFilesByProjectKey(releaseName, release);
@@ -192,7 +209,7 @@ public class ReleaseService extends AbstractService {
       throw new IllegalArgumentException("Release " + releaseName + " is not complete");
     }
 
-    return release;
+    return withReportLoaders(release);
   }
 
   /**
@@ -202,7 +219,7 @@ public class ReleaseService extends AbstractService {
     val nextRelease = releaseRepository.findNextRelease();
     checkNotNull(nextRelease, "There is no next release in the database.");
 
-    return nextRelease;
+    return withReportLoaders(nextRelease);
   }
 
   /**
@@ -216,8 +233,10 @@ public class ReleaseService extends AbstractService {
     return dictionaryRepository.findDictionaryByVersion(version);
   }
 
-  @Synchronized
   public void createInitialRelease(Release initRelease) {
+    @Cleanup("unlock")
+    val lock = locks.lockRelease();
+
     // check for init release name
     val releaseName = initRelease.getName();
     if (!NameValidator.validateEntityName(releaseName)) {
@@ -245,8 +264,10 @@ public class ReleaseService extends AbstractService {
     submissionFileSystem.createInitialReleaseFilesystem(nextRelease, projects);
   }
 
-  @Synchronized
   public Release performRelease(@NonNull String nextReleaseName) throws InvalidStateException {
+    @Cleanup("unlock")
+    val lock = locks.lockRelease();
+
     // Check for next release name
     if (validateEntityName(nextReleaseName) == false) {
       throw new InvalidNameException(nextReleaseName);
@@ -299,9 +320,13 @@ public class ReleaseService extends AbstractService {
     return newRelease;
   }
 
-  @Synchronized
   public void signOffRelease(Iterable<String> projectKeys, String user) throws InvalidStateException,
       DccModelOptimisticLockException {
+    @Cleanup("unlock")
+    val queueLock = locks.lockQueue();
+    @Cleanup("unlock")
+    val projectLock = locks.lockProjects(projectKeys);
+
     val release = getNextRelease();
     String releaseName = release.getName();
     log.info("signing off {} for {}", projectKeys, releaseName);
@@ -319,7 +344,7 @@ public class ReleaseService extends AbstractService {
       submission.signOff(submissionFiles);
     }
 
-    releaseRepository.updateRelease(releaseName, release);
+    updateSubmissions(release, projectKeys);
 
     // Remove validation files in the ".validation" folder (leave normalization files untouched)
     val releaseFs = submissionFileSystem.getReleaseFilesystem(release);
@@ -344,8 +369,10 @@ public class ReleaseService extends AbstractService {
    * This method is not included in NextRelease because of its dependence on methods from NextRelease (we may reconsider
    * in the future) - see comments in DCC-245
    */
-  @Synchronized
   public Release updateRelease(@NonNull String newReleaseName, String newDictionaryVersion) {
+    @Cleanup("unlock")
+    val lock = locks.lockRelease();
+
     val release = getNextRelease();
     val oldReleaseName = release.getName();
     val oldDictionaryVersion = release.getDictionaryVersion();
@@ -381,6 +408,9 @@ public class ReleaseService extends AbstractService {
     if (success) { // Ensure update was successful
       notifyUpdateError(oldReleaseName, on(",").join(newReleaseName, newDictionaryVersion, release.getQueue()));
     }
+    if (sameName == false) {
+      submissionReportRepository.updateReleaseName(oldReleaseName, newReleaseName);
+    }
 
     // If a new dictionary was specified, reset submissions, TODO: use resetSubmission() instead (DCC-901)!
     if (sameDictionary == false) {
@@ -391,7 +421,6 @@ public class ReleaseService extends AbstractService {
     return release;
   }
 
-  @Synchronized
   public List<String> getQueuedProjectKeys() {
     return releaseRepository.findNextReleaseQueue().getQueuedProjectKeys();
   }
@@ -401,8 +430,10 @@ public class ReleaseService extends AbstractService {
    * 
    * @return Current Open Release
    */
-  @Synchronized
   public void addSubmission(String projectKey, String projectName) {
+    @Cleanup("unlock")
+    val lock = locks.lockProject(projectKey);
+
     log.info("Creating Submission for Project '{}' in current open Release", projectKey);
     val release = releaseRepository.findOpenRelease();
     val submissionPath = submissionFileSystem.createNewProjectDirectoryStructure(release.getName(), projectKey);
@@ -415,6 +446,7 @@ public class ReleaseService extends AbstractService {
 
     submission.initialize(submissionFiles);
     releaseRepository.addReleaseSubmission(release.getName(), submission);
+    updateReport(release.getName(), submission);
 
     log.info("Created Submission '{}' with directory '{}'", submission, submissionPath);
   }
@@ -430,7 +462,7 @@ public class ReleaseService extends AbstractService {
   }
 
   public Submission getSubmission(String releaseName, String projectKey) {
-    val release = releaseRepository.findReleaseByName(releaseName);
+    val release = withReportLoaders(releaseRepository.findReleaseByName(releaseName));
     val missing = release == null;
     if (missing) {
       throw new ReleaseException(
@@ -494,9 +526,15 @@ public class ReleaseService extends AbstractService {
     return optional;
   }
 
-  @Synchronized
   public void queueSubmissions(@NonNull List<QueuedProject> queuedProjects) throws InvalidStateException,
       DccModelOptimisticLockException {
+    val projectKeys = getProjectKeys(queuedProjects);
+
+    @Cleanup("unlock")
+    val queueLock = locks.lockQueue();
+    @Cleanup("unlock")
+    val projectLock = locks.lockProjects(projectKeys);
+
     val release = getNextRelease();
     val releaseName = release.getName();
     log.info("Enqueuing {} for {}", queuedProjects, releaseName);
@@ -517,8 +555,17 @@ public class ReleaseService extends AbstractService {
       submission.queueRequest(submissionFiles, queuedProject.getDataTypes());
     }
 
-    releaseRepository.updateRelease(releaseName, release);
+    updateSubmissions(release, projectKeys);
     log.info("Enqueued {} for {}", queuedProjects, releaseName);
+
+    notifyQueueListeners();
+  }
+
+  /**
+   * Registers a callback to be invoked after projects have been enqueued.
+   */
+  public void addQueueListener(@NonNull Runnable listener) {
+    queueListeners.add(listener);
   }
 
   /**
@@ -530,7 +577,6 @@ public class ReleaseService extends AbstractService {
    * @param nextReport
    * @param dataTypes
    */
-  @Synchronized
   public void dequeueSubmission(@NonNull final QueuedProject queuedProject, @NonNull final Report nextReport) {
     val projectKey = queuedProject.getKey();
 
@@ -541,17 +587,17 @@ public class ReleaseService extends AbstractService {
 
       @Override
       public Optional<?> call() throws DccModelOptimisticLockException {
+        @Cleanup("unlock")
+        val queueLock = locks.lockQueue();
+        @Cleanup("unlock")
+        val projectLock = locks.lockProject(projectKey);
+
         val release = getNextRelease();
         val releaseName = release.getName();
         log.info("Dequeuing {} to validating for {}", projectKey, releaseName);
 
-        // In-memory - queue transition
-        val dequeuedProject = release.dequeueProject();
-        val dequeuedProjectKey = dequeuedProject.getKey();
-        if (dequeuedProjectKey.equals(projectKey) == false) {
-          log.error("Mismatch: '{}' != '{}'", dequeuedProjectKey, projectKey);
-          throw new ReleaseException("Mismatch: '%s' != '%s'", dequeuedProjectKey, projectKey);
-        }
+        // In-memory - queue transition (the dispatcher may pick any queued project, not just the head)
+        release.dequeueProject(projectKey);
 
         // In-memory - submission resolve
         val submissionFiles =
@@ -563,7 +609,7 @@ public class ReleaseService extends AbstractService {
 
         // Mongo - queue / submission persist
         log.info("--> Updating db release / submission state for '{}'...", projectKey);
-        releaseRepository.updateRelease(releaseName, release);
+        updateSubmissions(release, ImmutableList.of(projectKey));
         log.info("<-- Finished updating db release / submission state for '{}'", projectKey);
 
         // HDFS - validation files removal
@@ -579,13 +625,21 @@ public class ReleaseService extends AbstractService {
     });
   }
 
-  @Synchronized
   public void removeQueuedSubmissions(@NonNull String... targets) throws InvalidStateException {
+    @Cleanup("unlock")
+    val queueLock = locks.lockQueue();
+
+    // The queue cannot change while its lock is held
+    val queuedProjectKeys = getQueuedProjectKeys();
+    @Cleanup("unlock")
+    val projectLock = locks.lockProjects(queuedProjectKeys);
+
     val release = getNextRelease();
     val releaseName = release.getName();
     val projectKeys = targets.length > 0 ? release.getQueuedProjectKeys() : ImmutableList.<String> copyOf(targets);
 
     log.info("Deleting queued request for project(s) '{}'", projectKeys);
+    val removedProjectKeys = ImmutableList.<String> builder();
     val queue = ImmutableList.<QueuedProject> copyOf(release.getQueue());
     val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
     for (val queuedProject : queue) {
@@ -604,27 +658,38 @@ public class ReleaseService extends AbstractService {
         submission.cancelValidation(submissionFiles, dataTypes);
         release.removeFromQueue(projectKey);
         resetValidationFolder(projectKey, release);
+        removedProjectKeys.add(projectKey);
       }
     }
 
-    releaseRepository.updateRelease(releaseName, release);
+    updateSubmissions(release, removedProjectKeys.build());
   }
 
   public void resetSubmissions() {
     resetSubmissions(getNextRelease().getProjectKeys());
   }
 
-  @Synchronized
   public void resetInvalidSubmissions() {
+    val projectKeys = getNextRelease().getInvalidProjectKeys();
+    @Cleanup("unlock")
+    val lock = locks.lockProjects(projectKeys);
+
+    // Re-read under lock, a submission may have been resolved in the meantime. Only the locked ones may be reset, those
+    // that became invalid since are left to the next call
     val release = getNextRelease();
+    val invalidProjectKeys = release.getInvalidProjectKeys();
     val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
-    for (val projectKey : release.getInvalidProjectKeys()) {
-      resetSubmission(release, projectKey, filePatternToTypeMap);
+    for (val projectKey : projectKeys) {
+      if (invalidProjectKeys.contains(projectKey)) {
+        resetSubmission(release, projectKey, filePatternToTypeMap);
+      }
     }
   }
 
-  @Synchronized
   public void resetSubmissions(Iterable<String> projects) {
+    @Cleanup("unlock")
+    val lock = locks.lockProjects(projects);
+
     val release = getNextRelease();
     val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
 
@@ -633,11 +698,20 @@ public class ReleaseService extends AbstractService {
     }
   }
 
-  @Synchronized
   public Submission modifySubmission(@NonNull String releaseName, @NonNull String projectKey,
       @NonNull SubmissionFileEvent event) {
+    return modifySubmission(releaseName, projectKey, ImmutableList.of(event));
+  }
+
+  /**
+   * Applies all of {@code events} to the submission of {@code projectKey} and persists it once.
+   */
+  public Submission modifySubmission(@NonNull String releaseName, @NonNull String projectKey,
+      @NonNull List<SubmissionFileEvent> events) {
+    @Cleanup("unlock")
+    val lock = locks.lockProject(projectKey);
 
-    val release = releaseRepository.findReleaseByName(releaseName);
+    val release = withReportLoaders(releaseRepository.findReleaseByName(releaseName));
     val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
     val submission = release.getSubmission(projectKey).get();
 
@@ -645,8 +719,11 @@ public class ReleaseService extends AbstractService {
     // Transition
     //
 
-    submission.modifyFile(submissionFiles, event);
+    for (val event : events) {
+      submission.modifyFile(submissionFiles, event);
+    }
     releaseRepository.updateReleaseSubmission(releaseName, submission);
+    updateReport(releaseName, submission);
     resetValidationFolder(projectKey, release);
 
     return submission;
@@ -659,10 +736,13 @@ public class ReleaseService extends AbstractService {
    * - the queue was emptied by an admin in another thread (TODO: complete, this is only partially supported now)<br>
    * - the optimistic lock on Release cannot be obtained (retries a number of time before giving up)<br>
    */
-  @Synchronized
   public void resolveSubmission(@NonNull QueuedProject project, @NonNull Outcome outcome, @NonNull Report newReport) {
     // Update the in-memory submission state
     val projectKey = project.getKey();
+
+    @Cleanup("unlock")
+    val lock = locks.lockProject(projectKey);
+
     val emails = project.getEmails();
     val release = getNextRelease();
     val submissionFiles = getSubmissionFiles(release.getName(), release.getDictionaryVersion(), projectKey);
@@ -674,6 +754,7 @@ public class ReleaseService extends AbstractService {
 
     submission.finishValidation(submissionFiles, project.getDataTypes(), outcome, newReport);
     releaseRepository.updateReleaseSubmission(release.getName(), submission);
+    updateReport(release.getName(), submission);
 
     if (!emails.isEmpty()) {
       log.info("Sending notification emails for project '{}'...", projectKey);
@@ -716,8 +797,13 @@ public class ReleaseService extends AbstractService {
     log.info("Updating completed release: '{}'", oldRelease.getName());
     releaseRepository.updateCompletedRelease(oldRelease);
 
+    // Reports of the submissions that were not signed off, and so didn't make it into the completed release
+    val deleted = submissionReportRepository.deleteReportsExcept(oldRelease.getName(), oldRelease.getProjectKeys());
+    log.info("Deleted {} report(s) of submissions removed from completed release: '{}'", deleted, oldRelease.getName());
+
     log.info("Saving new release: '{}'", newRelease.getName());
     releaseRepository.saveNewRelease(newRelease);
+    updateReports(newRelease);
 
     return newRelease;
   }
@@ -755,11 +841,90 @@ public class ReleaseService extends AbstractService {
 
     submission.reset(submissionFiles);
     releaseRepository.updateReleaseSubmission(release.getName(), submission);
+    updateReport(release.getName(), submission);
     resetValidationFolder(projectKey, release);
 
     return submission;
   }
 
+  /**
+   * Persists the queue of {@code release} and the submissions of {@code projectKeys}, leaving the submissions of other
+   * projects untouched so they can be changed concurrently.
+   */
+  private void updateSubmissions(Release release, Iterable<String> projectKeys) {
+    val releaseName = release.getName();
+    for (val projectKey : ImmutableSet.copyOf(projectKeys)) {
+      val submission = getSubmission(release, projectKey);
+      releaseRepository.updateReleaseSubmission(releaseName, submission);
+      updateReport(releaseName, submission);
+    }
+
+    releaseRepository.updateReleaseQueue(releaseName, release.getQueue());
+  }
+
+  /**
+   * Makes the submissions of {@code release} load their report on first access.
+   */
+  private Release withReportLoaders(Release release) {
+    if (release != null) {
+      for (val submission : release.getSubmissions()) {
+        submission.setReportLoader(createReportLoader(release.getName(), submission.getProjectKey()));
+      }
+    }
+
+    return release;
+  }
+
+  private List<Release> withReportLoaders(List<Release> releases) {
+    for (val release : releases) {
+      withReportLoaders(release);
+    }
+
+    return releases;
+  }
+
+  /**
+   * Gives the submissions of {@code release} reports that only hold the data type states.
+   */
+  private Release withReportSummaries(Release release) {
+    val reports = submissionReportRepository.findReportSummaries(release.getName());
+    for (val submission : release.getSubmissions()) {
+      val report = reports.get(submission.getProjectKey());
+      submission.setReportLoader(Suppliers.ofInstance(report == null ? new Report() : report));
+    }
+
+    return release;
+  }
+
+  private Supplier<Report> createReportLoader(final String releaseName, final String projectKey) {
+    return new Supplier<Report>() {
+
+      @Override
+      public Report get() {
+        val report = submissionReportRepository.findReport(releaseName, projectKey);
+
+        // Not stored yet
+        return report == null ? new Report() : report;
+      }
+
+    };
+  }
+
+  private void updateReports(Release release) {
+    for (val submission : release.getSubmissions()) {
+      updateReport(release.getName(), submission);
+    }
+  }
+
+  /**
+   * Persists the report of {@code submission} unless it was never loaded (and so cannot have changed).
+   */
+  private void updateReport(String releaseName, Submission submission) {
+    if (submission.isReportLoaded() && submission.getReport() != null) {
+      submissionReportRepository.upsertReport(releaseName, submission.getProjectKey(), submission.getReport());
+    }
+  }
+
   private List<Project> getProjects(Release release, Authentication authentication) {
     val builder = ImmutableList.<String> builder();
     for (val projectKey : release.getProjectKeys()) {
@@ -804,6 +969,15 @@ public class ReleaseService extends AbstractService {
     return builder.build();
   }
 
+  private static List<String> getProjectKeys(@NonNull List<QueuedProject> queuedProjects) {
+    val projectKeys = ImmutableList.<String> builder();
+    for (val queuedProject : queuedProjects) {
+      projectKeys.add(queuedProject.getKey());
+    }
+
+    return projectKeys.build();
+  }
+
   private static List<String> getProjectKeysBySubmissionState(@NonNull List<Submission> submissions,
       @NonNull final SubmissionState state) {
     val projectKeys = ImmutableList.<String> builder();
@@ -840,4 +1014,14 @@ public class ReleaseService extends AbstractService {
     return Optional.<FileType> absent();
   }
 
+  private void notifyQueueListeners() {
+    for (val listener : queueListeners) {
+      try {
+        listener.run();
+      } catch (Throwable t) {
+        log.error("Error notifying queue listener: ", t);
+      }
+    }
+  }
+
 }
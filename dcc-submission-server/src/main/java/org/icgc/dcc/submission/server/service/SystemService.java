@@ -23,20 +23,32 @@ import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.List;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.icgc.dcc.submission.core.model.Status;
+import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.repository.DictionaryRepository;
+import org.icgc.dcc.submission.server.repository.RepositoryCache;
 import org.icgc.dcc.submission.server.sftp.SftpServerService;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableList;
+
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class SystemService {
 
   @NonNull
   private final SftpServerService sftpService;
+  @NonNull
+  private final DictionaryRepository dictionaryRepository;
+  @NonNull
+  private final CodeListRepository codeListRepository;
+  @NonNull
+  private final ValidationService validationService;
 
   public Status getStatus() {
     return sftpService.getActiveSessions();
@@ -58,6 +70,16 @@ public class SystemService {
     sftpService.enable();
   }
 
+  public List<RepositoryCache.Metrics> getCacheMetrics() {
+    return ImmutableList.of(
+        dictionaryRepository.getCacheMetrics(),
+        codeListRepository.getCacheMetrics());
+  }
+
+  public ValidationService.QueueStatus getValidationQueueStatus() {
+    return validationService.getQueueStatus();
+  }
+
   public Collection<String> getTransferringFiles(@NonNull String projectKey) {
     return getFileTransfers().stream()
         .filter(transferFile -> isProjectTransfer(projectKey, transferFile))
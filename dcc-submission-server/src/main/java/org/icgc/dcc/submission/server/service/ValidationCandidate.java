@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static com.google.common.collect.ComparisonChain.start;
+
+import org.icgc.dcc.submission.core.model.Project;
+import org.icgc.dcc.submission.release.model.QueuedProject;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * A queued project ranked for validation dispatch.
+ * <p>
+ * Emergency projects go first, then projects with a higher {@link Project#getPriority()}. Within the same priority,
+ * small submissions are allowed to overtake large ones by a few queue positions (one position per doubling of the
+ * submission size in MB) so a long run does not hold up many short ones. The original queue position breaks ties,
+ * which keeps the ordering FIFO for equal projects.
+ */
+@Value
+class ValidationCandidate implements Comparable<ValidationCandidate> {
+
+  /**
+   * Constants.
+   */
+  private static final long MB = 1024L * 1024L;
+
+  @NonNull
+  QueuedProject project;
+  int position;
+  long size;
+  int priority;
+  boolean emergency;
+
+  static ValidationCandidate create(@NonNull QueuedProject queuedProject, int position, long size, Project project) {
+    val priority = project == null ? 0 : project.getPriority();
+    val emergency = project != null && project.isEmergency();
+
+    return new ValidationCandidate(queuedProject, position, size, priority, emergency);
+  }
+
+  String getKey() {
+    return project.getKey();
+  }
+
+  /**
+   * Effective position in the queue after accounting for submission size.
+   */
+  int getRank() {
+    return position + sizeBucket(size);
+  }
+
+  @Override
+  public int compareTo(ValidationCandidate other) {
+    return start()
+        .compareTrueFirst(emergency, other.emergency)
+        .compare(other.priority, priority)
+        .compare(getRank(), other.getRank())
+        .compare(position, other.position)
+        .result();
+  }
+
+  private static int sizeBucket(long size) {
+    // floor(log2(MB + 1))
+    return 63 - Long.numberOfLeadingZeros(size / MB + 1);
+  }
+
+}
@@ -17,14 +17,11 @@
  */
 package org.icgc.dcc.submission.server.service;
 
-import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.getStackTraceAsString;
-import static com.google.common.collect.ImmutableList.copyOf;
-import static com.google.common.collect.Iterables.transform;
 import static com.google.common.util.concurrent.AbstractScheduledService.Scheduler.newFixedDelaySchedule;
-import static java.lang.Thread.sleep;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.icgc.dcc.submission.core.model.Outcome.ABORTED;
 import static org.icgc.dcc.submission.core.model.Outcome.CANCELLED;
@@ -32,9 +29,14 @@ import static org.icgc.dcc.submission.core.model.Outcome.COMPLETED;
 import static org.icgc.dcc.submission.core.model.Outcome.FAILED;
 import static org.icgc.dcc.submission.release.model.ReleaseState.OPENED;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.icgc.dcc.common.core.model.Identifiable.Identifiables;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.QueuedProject;
@@ -53,29 +55,36 @@ import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
 import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Coordinator task that runs periodically to dispatch validations for execution.
+ * Coordinator that dispatches queued validations for execution.
  * <p>
- * The scheduler pulls from the web request "queue" as input and pushes to the validation "executor" as output. Also
- * responsible for mediating validation cancellation requests coming from the web layer.
+ * The dispatcher pulls from the web request "queue" as input and pushes to the validation "executor" as output. Dispatch
+ * is event driven: it runs whenever projects are enqueued or a validation slot is freed, with a slow periodic run as a
+ * safety net. Queued projects are ranked by {@link ValidationCandidate} rather than taken strictly from the head of the
+ * queue, and an emergency project waiting for a slot preempts the lowest ranked running validation, which is re-queued
+ * once it has been cancelled. Also responsible for mediating validation cancellation requests coming from the web
+ * layer.
  */
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class ValidationService extends AbstractScheduledService {
 
   /**
-   * Period at which the service polls for an open release and for an enqueued project if there is one.
+   * Period at which the service dispatches in the absence of queue or slot events.
    */
-  private static final int POLLING_PERIOD_SECONDS = 5;
+  private static final int FALLBACK_PERIOD_SECONDS = 60;
 
   /**
    * Dependencies.
@@ -83,6 +92,8 @@ public class ValidationService extends AbstractScheduledService {
   @NonNull
   private final ReleaseService releaseService;
   @NonNull
+  private final ProjectService projectService;
+  @NonNull
   private final CodeListRepository codeListRepository;
   @NonNull
   private final ValidationExecutor executor;
@@ -96,51 +107,166 @@ public class ValidationService extends AbstractScheduledService {
   private final Set<Validator> validators;
 
   /**
-   * Main {@code Validation} dispatch processing.
-   * 
-   * @throws Exception
+   * State.
    */
-  public void pollValidation() throws Exception {
-    try {
-      pollOpenRelease();
-      pollQueue();
-    } catch (Exception e) {
-      log.error("Exception polling:", e);
-      mailService.sendSupportProblem(e.getMessage(), getStackTraceAsString(e));
+  private final ExecutorService dispatcher =
+      newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("validation-dispatch-%s").build());
+  private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+  private final Map<String, ValidationCandidate> running = new ConcurrentHashMap<String, ValidationCandidate>();
+  private final Set<String> preempted = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private final Map<String, Long> queuedSince = new ConcurrentHashMap<String, Long>();
 
-      // This will terminate the AbstractScheduledService thread but that is the safest thing to do here
-      throw e;
+  /**
+   * Asynchronously runs {@link #dispatch()} on the dispatcher thread. Requests made while one is already pending are
+   * coalesced.
+   */
+  public void requestDispatch() {
+    if (dispatchRequested.compareAndSet(false, true)) {
+      dispatcher.execute(new Runnable() {
+
+        @Override
+        public void run() {
+          dispatchRequested.set(false);
+          try {
+            dispatch();
+          } catch (Exception e) {
+            log.error("Exception dispatching:", e);
+            mailService.sendSupportProblem(e.getMessage(), getStackTraceAsString(e));
+          }
+        }
+
+      });
+    }
+  }
+
+  /**
+   * Main {@code Validation} dispatch processing. Fills the free slots with the best ranked queued projects.
+   * <p>
+   * Not thread-safe, only called from the dispatcher thread (or directly in tests).
+   */
+  public void dispatch() {
+    // Should almost always be 1
+    val count = releaseService.countOpenReleases();
+    if (count == 0) {
+      log.debug("No open release, nothing to dispatch");
+      return;
+    }
+
+    // This can happen during a release, see DCC-1931
+    checkState(count == 1, "Expecting one and only one '%s' release, instead getting '%s'", OPENED, count);
+
+    // Jobs cancelled before they started never call back
+    for (val projectKey : ImmutableList.copyOf(running.keySet())) {
+      if (!executor.isExecuting(projectKey)) {
+        running.remove(projectKey);
+      }
+    }
+
+    // Preemption victims cancelled before they started are still queued and must not hold up later preemptions
+    for (val projectKey : ImmutableList.copyOf(preempted)) {
+      if (!executor.isExecuting(projectKey)) {
+        preempted.remove(projectKey);
+      }
+    }
+
+    val release = releaseService.getNextRelease();
+    val queue = release.getQueue();
+    trackWaits(queue);
+    if (queue.isEmpty()) {
+      return;
     }
+
+    val candidates = rankCandidates(release, queue);
+    log.info("Dispatching from queue of {} ({} free slot(s)): {}",
+        new Object[] { queue.size(), executor.getAvailableCount(), candidates });
+
+    int next = 0;
+    while (next < candidates.size() && executor.getAvailableCount() > 0) {
+      try {
+        tryValidation(release, candidates.get(next));
+        next++;
+      } catch (ValidationRejectedException e) {
+        // No available slots after all
+        log.info("Validation for '{}' was rejected", candidates.get(next).getKey());
+        break;
+      }
+    }
+
+    if (next < candidates.size() && candidates.get(next).isEmergency()) {
+      tryPreemption(candidates.get(next));
+    }
+  }
+
+  /**
+   * Returns a snapshot of the validation queue and slots.
+   */
+  public QueueStatus getQueueStatus() {
+    val now = currentTimeMillis();
+    val waits = ImmutableMap.<String, Long> builder();
+    long oldest = 0;
+    val queuedProjectKeys = releaseService.getQueuedProjectKeys();
+    for (val projectKey : queuedProjectKeys) {
+      val since = queuedSince.get(projectKey);
+      val wait = since == null ? 0 : now - since;
+      waits.put(projectKey, wait);
+      oldest = Math.max(oldest, wait);
+    }
+
+    return new QueueStatus(
+        executor.getSlotCount(),
+        executor.getAvailableCount(),
+        ImmutableList.copyOf(running.keySet()),
+        queuedProjectKeys.size(),
+        oldest,
+        waits.build());
   }
 
   /**
-   * Cancels a validation that was previously started in {@link #tryValidation(Release, QueuedProject)}.
+   * Cancels a validation that was previously started in {@link #tryValidation(Release, ValidationCandidate)}.
    * 
    * @param projectKey the key of the project to cancel
    * @throws InvalidStateException
    */
   public void cancelValidation(@NonNull String projectKey) throws InvalidStateException {
+    preempted.remove(projectKey);
     executor.cancel(projectKey);
     log.info("Resetting database and file system state for cancelled '{}' validation...", projectKey);
     releaseService.removeQueuedSubmissions(projectKey);
   }
 
   /**
-   * Creates a {@code Scheduler} instance that runs every {@link #POLLING_PERIOD_SECONDS}.
+   * Subscribes to the events that can make a queued project dispatchable.
+   */
+  @Override
+  protected void startUp() throws Exception {
+    val trigger = new Runnable() {
+
+      @Override
+      public void run() {
+        requestDispatch();
+      }
+
+    };
+
+    releaseService.addQueueListener(trigger);
+    executor.addSlotListener(trigger);
+  }
+
+  /**
+   * Creates a {@code Scheduler} instance that runs every {@link #FALLBACK_PERIOD_SECONDS}.
    */
   @Override
   protected Scheduler scheduler() {
-    return newFixedDelaySchedule(POLLING_PERIOD_SECONDS, POLLING_PERIOD_SECONDS, SECONDS);
+    return newFixedDelaySchedule(0, FALLBACK_PERIOD_SECONDS, SECONDS);
   }
 
   /**
-   * SubmissionMain {@code Validation} dispatch loop that that is invoked by the {@link #scheduler()}.
-   * 
-   * @throws Exception
+   * Periodic fallback invoked by the {@link #scheduler()} in case an event was missed (e.g. no open release at the
+   * time).
    */
   @Override
   protected void runOneIteration() throws Exception {
-    pollValidation();
+    requestDispatch();
   }
 
   /**
@@ -151,52 +277,82 @@ public class ValidationService extends AbstractScheduledService {
    */
   @Override
   protected void shutDown() throws Exception {
+    dispatcher.shutdownNow();
     executor.shutdown();
   }
 
   /**
-   * Polls for an open release to become available.
-   * @throws InterruptedException
+   * Ranks the queued projects that are not already holding a slot.
    */
-  private void pollOpenRelease() throws InterruptedException {
-    long count;
-    do {
-      // Allow for interruption
-      sleep(MILLISECONDS.convert(POLLING_PERIOD_SECONDS, SECONDS));
+  private List<ValidationCandidate> rankCandidates(Release release, List<QueuedProject> queue) {
+    val candidates = ImmutableList.<ValidationCandidate> builder();
+    for (int position = 0; position < queue.size(); position++) {
+      val queuedProject = queue.get(position);
+      val projectKey = queuedProject.getKey();
+      if (running.containsKey(projectKey)) {
+        // Slot taken but not started yet, see ValidationListener#onStarted
+        continue;
+      }
 
-      // Should almost always be 1
-      count = releaseService.countOpenReleases();
-    } while (count == 0);
+      long size = 0;
+      for (val submissionFile : releaseService.getSubmissionFiles(release.getName(), projectKey)) {
+        size += submissionFile.getSize();
+      }
 
-    // This can happen during a release, see DCC-1931
-    checkState(count == 1, "Expecting one and only one '%s' release, instead getting '%s'",
-        OPENED, count);
+      val project = projectService.getProject(projectKey);
+      candidates.add(ValidationCandidate.create(queuedProject, position, size, project));
+    }
+
+    return Ordering.<ValidationCandidate> natural().sortedCopy(candidates.build());
   }
 
   /**
-   * Polls for an enqueued project to become available
+   * Cancels the lowest ranked running non-emergency validation to make room for {@code candidate}. The cancelled
+   * project is re-queued in {@link ValidationListener#onCancelled(Validation)}.
    */
-  private void pollQueue() {
-    log.debug("Polling validation queue...");
-    Optional<QueuedProject> nextProject = absent();
+  private void tryPreemption(ValidationCandidate candidate) {
+    if (!preempted.isEmpty()) {
+      log.info("Preemption already in progress for '{}', '{}' keeps waiting", preempted, candidate.getKey());
+      return;
+    }
 
-    try {
-      // Try to find a queued validation
-      val release = releaseService.getNextRelease();
-      nextProject = release.nextInQueue();
-
-      if (nextProject.isPresent()) {
-        val queue = release.getQueue();
-        val next = nextProject.get();
-        log.info("Trying to validate next eligible project in queue: '{}' ('{}': '{}')",
-            new Object[] { next.getId(), queue.size(), copyOf(transform(queue, Identifiables.getId())) });
-        tryValidation(release, next);
+    ValidationCandidate victim = null;
+    for (val other : running.values()) {
+      if (!other.isEmergency() && (victim == null || other.compareTo(victim) > 0)) {
+        victim = other;
       }
-    } catch (ValidationRejectedException e) {
-      // No available slots
-      log.info("Validation for '{}' was rejected:", nextProject.get());
-    } catch (Throwable t) {
-      log.error("Caught an unexpected exception: {}", t);
+    }
+
+    if (victim == null) {
+      log.info("No preemptible validation for emergency project '{}'", candidate.getKey());
+      return;
+    }
+
+    log.warn("Preempting validation of '{}' for emergency project '{}'", victim.getKey(), candidate.getKey());
+    preempted.add(victim.getKey());
+    if (!executor.cancel(victim.getKey())) {
+      preempted.remove(victim.getKey());
+    }
+  }
+
+  private void trackWaits(List<QueuedProject> queue) {
+    val now = currentTimeMillis();
+    val queuedProjectKeys = ImmutableList.<String> builder();
+    for (val queuedProject : queue) {
+      queuedSince.putIfAbsent(queuedProject.getKey(), now);
+      queuedProjectKeys.add(queuedProject.getKey());
+    }
+
+    queuedSince.keySet().retainAll(queuedProjectKeys.build());
+  }
+
+  private void requeue(QueuedProject project) {
+    log.info("Re-queuing preempted project '{}'...", project.getKey());
+    try {
+      releaseService.queueSubmissions(ImmutableList.of(project));
+    } catch (Exception e) {
+      log.error("Could not re-queue preempted project '" + project.getKey() + "':", e);
+      mailService.sendSupportProblem(e.getMessage(), getStackTraceAsString(e));
     }
   }
 
@@ -204,69 +360,85 @@ public class ValidationService extends AbstractScheduledService {
    * Attempts to validate an enqueued project.
    * 
    * @param release the current release
-   * @param project the project to validate
+   * @param candidate the project to validate
    * @throws ValidationRejectedException if the validation could not be executed
    */
-  private void tryValidation(@NonNull final Release release, @NonNull final QueuedProject project) {
+  private void tryValidation(@NonNull final Release release, @NonNull final ValidationCandidate candidate) {
+    val project = candidate.getProject();
+    val projectKey = project.getKey();
+
     // Prepare validation
     val validationContext = createValidationContext(release, project);
     val validation = createValidation(validationContext);
 
     // Submit validation asynchronously for execution
-    executor.execute(validation, new ValidationListener() {
-
-      /**
-       * Called if and when validation is started and running.
-       */
-      @Override
-      public void onStarted(Validation validation) {
-        val newReport = validationContext.getReport();
-
-        log.info("onStarted - Validation started for '{}'", project);
-        releaseService.dequeueSubmission(project, newReport);
-        log.info("onStarted - Started '{}'", project);
-      }
-
-      /**
-       * Called when validation has ended without exception.
-       */
-      @Override
-      public void onEnded(Validation validation) {
-        val newReport = validationContext.getReport();
-        val outcome = validation.isCompleted() ? COMPLETED : ABORTED;
-
-        log.info("onCompletion - Validation '{}' completed with outcome '{}'", project, outcome);
-        releaseService.resolveSubmission(project, outcome, newReport);
-        log.info("onCompletion - Completed '{}'", project.getKey());
-      }
-
-      /**
-       * Called when validation has been cancelled by the submitter.
-       */
-      @Override
-      public void onCancelled(Validation validation) {
-        val newReport = validationContext.getReport();
-        val outcome = CANCELLED;
-
-        log.warn("onCancelled - Validation '{}' completed with outcome '{}'", project, outcome);
-        releaseService.resolveSubmission(project, outcome, newReport);
-        log.warn("onCancelled - Completed '{}'.", project.getKey());
-      }
-
-      /**
-       * Called when validation has failed due to exception.
-       */
-      @Override
-      public void onFailure(Validation validation, Throwable t) {
-        val nextReport = validationContext.getReport();
-        val outcome = FAILED;
-
-        log.error("onFailure - Throwable occurred in '{}' validation: {}", project.getKey(), t);
-        releaseService.resolveSubmission(project, outcome, nextReport);
-        log.error("onFailure - Completed '{}'.", project.getKey());
-      }
-
-    });
+    running.put(projectKey, candidate);
+    try {
+      executor.execute(validation, new ValidationListener() {
+
+        /**
+         * Called if and when validation is started and running.
+         */
+        @Override
+        public void onStarted(Validation validation) {
+          val newReport = validationContext.getReport();
+
+          log.info("onStarted - Validation started for '{}'", project);
+          preempted.remove(projectKey);
+          releaseService.dequeueSubmission(project, newReport);
+          log.info("onStarted - Started '{}'", project);
+        }
+
+        /**
+         * Called when validation has ended without exception.
+         */
+        @Override
+        public void onEnded(Validation validation) {
+          val newReport = validationContext.getReport();
+          val outcome = validation.isCompleted() ? COMPLETED : ABORTED;
+
+          log.info("onCompletion - Validation '{}' completed with outcome '{}'", project, outcome);
+          releaseService.resolveSubmission(project, outcome, newReport);
+          running.remove(projectKey);
+          log.info("onCompletion - Completed '{}'", project.getKey());
+        }
+
+        /**
+         * Called when validation has been cancelled by the submitter.
+         */
+        @Override
+        public void onCancelled(Validation validation) {
+          val newReport = validationContext.getReport();
+          val outcome = CANCELLED;
+
+          log.warn("onCancelled - Validation '{}' completed with outcome '{}'", project, outcome);
+          releaseService.resolveSubmission(project, outcome, newReport);
+          running.remove(projectKey);
+          if (preempted.remove(projectKey)) {
+            requeue(project);
+          }
+          log.warn("onCancelled - Completed '{}'.", project.getKey());
+        }
+
+        /**
+         * Called when validation has failed due to exception.
+         */
+        @Override
+        public void onFailure(Validation validation, Throwable t) {
+          val nextReport = validationContext.getReport();
+          val outcome = FAILED;
+
+          log.error("onFailure - Throwable occurred in '{}' validation: {}", project.getKey(), t);
+          releaseService.resolveSubmission(project, outcome, nextReport);
+          running.remove(projectKey);
+          log.error("onFailure - Completed '{}'.", project.getKey());
+        }
+
+      });
+    } catch (RuntimeException e) {
+      running.remove(projectKey);
+      throw e;
+    }
   }
 
   /**
@@ -314,4 +486,19 @@ public class ValidationService extends AbstractScheduledService {
     return new DefaultReportContext(new Report()); // Empty report will be updated then merged with existing one
   }
 
+  /**
+   * Point in time view of the validation queue.
+   */
+  @Value
+  public static class QueueStatus {
+
+    int slots;
+    int availableSlots;
+    List<String> running;
+    int queued;
+    long oldestWaitMillis;
+    Map<String, Long> waitMillis;
+
+  }
+
 }
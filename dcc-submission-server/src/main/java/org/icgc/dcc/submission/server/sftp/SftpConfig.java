@@ -43,6 +43,11 @@ public class SftpConfig extends AbstractConfig {
     return singleton(SftpContext.class);
   }
 
+  @Bean
+  public SubmissionEventService submissionEventService() {
+    return singleton(SubmissionEventService.class);
+  }
+
   @Bean
   public PasswordAuthenticator passwordAuthenicator() {
     return singleton(SftpAuthenticator.class);
@@ -18,9 +18,6 @@
 package org.icgc.dcc.submission.server.sftp;
 
 import static com.google.common.base.Optional.fromNullable;
-import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_CREATED;
-import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_REMOVED;
-import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_RENAMED;
 
 import java.io.IOException;
 import java.util.Date;
@@ -29,7 +26,6 @@ import java.util.List;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -41,10 +37,8 @@ import org.icgc.dcc.submission.fs.ReleaseFileSystem;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.fs.SubmissionFile;
 import org.icgc.dcc.submission.fs.SubmissionFileEvent;
-import org.icgc.dcc.submission.fs.SubmissionFileRenamedEvent;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.Release;
-import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ProjectService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,7 +58,6 @@ import com.google.common.collect.Lists;
  * @see http://www.two-sdg.demon.co.uk/curbralan/papers/europlop/ContextEncapsulation.pdf
  * @see http://www.allankelly.net/static/patterns/encapsulatecontext.pdf
  */
-@Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class SftpContext {
 
@@ -80,7 +73,7 @@ public class SftpContext {
   @NonNull
   private final AuthenticationManager authenticator;
   @NonNull
-  private final MailService mailService;
+  private final SubmissionEventService submissionEventService;
 
   public List<String> getUserProjectKeys(Authentication authentication) {
     val projectKeys = Lists.<String> newArrayList();
@@ -138,22 +131,8 @@ public class SftpContext {
 
   public void registerSubmissionEvent(@NonNull String projectKey, @NonNull SubmissionFileEvent event,
       Authentication authentication) {
-    val user = authentication.getName();
-    val fileName = event.getFile().getName();
-
-    if (event.getType() == FILE_CREATED) {
-      log.info("'{}' finished transferring file '{}'", user, fileName);
-      mailService.sendFileTransferred(user, event.getFile().getName());
-    } else if (event.getType() == FILE_RENAMED) {
-      val newFileName = ((SubmissionFileRenamedEvent) event).getNewFile().getName();
-      log.info("'{}' renamed  file '{}' to '{}'", new Object[] { user, fileName, newFileName });
-      mailService.sendFileRenamed(user, fileName, newFileName);
-    } else if (event.getType() == FILE_REMOVED) {
-      log.info("'{}' removed  file '{}'", user, fileName);
-      mailService.sendFileRemoved(user, event.getFile().getName());
-    }
-
-    releaseService.modifySubmission(getNextReleaseName(), projectKey, event);
+    // Applied asynchronously so that slow mail or contended submissions do not stall the transfer
+    submissionEventService.register(getNextReleaseName(), projectKey, event, authentication.getName());
   }
 
   // TODO: Duplicated code with ReleaseService
@@ -24,9 +24,11 @@ import java.util.Optional;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.val;
 
 import org.apache.sshd.common.Session;
 import org.apache.sshd.common.Session.AttributeKey;
+import org.icgc.dcc.submission.server.sftp.fs.FileStatusCache;
 import org.springframework.security.core.Authentication;
 
 @NoArgsConstructor(access = PRIVATE)
@@ -36,6 +38,7 @@ public final class SftpSessions {
   public static final AttributeKey<FileTransfer> FILE_TRANSFER_SESSION_ATTRIBUTE = new AttributeKey<>();
 
   private static final AttributeKey<Authentication> SESSION_KEY = new AttributeKey<Authentication>();
+  private static final AttributeKey<FileStatusCache> FILE_STATUS_CACHE_SESSION_ATTRIBUTE = new AttributeKey<>();
 
   public static void setAuthentication(Session session, Authentication authentication) {
     session.setAttribute(SESSION_KEY, authentication);
@@ -57,4 +60,17 @@ public final class SftpSessions {
     return Optional.ofNullable(session.getAttribute(FILE_TRANSFER_SESSION_ATTRIBUTE));
   }
 
+  public static FileStatusCache getFileStatusCache(@NonNull Session session) {
+    val fileStatusCache = session.getAttribute(FILE_STATUS_CACHE_SESSION_ATTRIBUTE);
+    if (fileStatusCache != null) {
+      return fileStatusCache;
+    }
+
+    // A racing request may install its own cache, which only costs a few extra lookups
+    val newFileStatusCache = new FileStatusCache();
+    session.setAttribute(FILE_STATUS_CACHE_SESSION_ATTRIBUTE, newFileStatusCache);
+
+    return newFileStatusCache;
+  }
+
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_CREATED;
+import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_REMOVED;
+import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_RENAMED;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.fs.SubmissionFileEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileRenamedEvent;
+import org.icgc.dcc.submission.server.service.MailService;
+import org.icgc.dcc.submission.server.service.ReleaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.AbstractIdleService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Applies the file events of SFTP sessions to submissions off the session threads.
+ * <p>
+ * Events of a project are collected for {@code sftp.eventDelay} milliseconds and then applied with a single submission
+ * update, so that uploading many files does not update the submission once per file. Notification mails are sent from
+ * the same worker, which hands them to the retrying {@link MailService} executor.
+ * <p>
+ * At most {@code sftp.eventCapacity} events wait at any time. Beyond that {@link #register} blocks, which slows SFTP
+ * clients down instead of growing the backlog without bound. Pending events are applied on shutdown.
+ */
+@Slf4j
+public class SubmissionEventService extends AbstractIdleService {
+
+  /**
+   * Constants.
+   */
+  private static final int SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+  /**
+   * Configuration.
+   */
+  private final long delay;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final ReleaseService releaseService;
+  @NonNull
+  private final MailService mailService;
+
+  /**
+   * State.
+   */
+  private final Semaphore capacity;
+  private final Map<Key, List<Event>> pending = Maps.newHashMap();
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("sftp-events-%s").build());
+
+  @Autowired
+  public SubmissionEventService(@NonNull SubmissionProperties properties, @NonNull ReleaseService releaseService,
+      @NonNull MailService mailService) {
+    this.delay = properties.getSftp().getEventDelay();
+    this.capacity = new Semaphore(properties.getSftp().getEventCapacity());
+    this.releaseService = releaseService;
+    this.mailService = mailService;
+  }
+
+  /**
+   * Queues {@code event} of {@code user} for the submission of {@code projectKey} in {@code releaseName}.
+   */
+  public void register(@NonNull String releaseName, @NonNull String projectKey, @NonNull SubmissionFileEvent event,
+      @NonNull String user) {
+    capacity.acquireUninterruptibly();
+
+    val key = new Key(releaseName, projectKey);
+    synchronized (pending) {
+      val events = pending.get(key);
+      if (events != null) {
+        // Coalesced with the events already waiting
+        events.add(new Event(event, user));
+        return;
+      }
+
+      pending.put(key, Lists.newArrayList(new Event(event, user)));
+    }
+
+    try {
+      executor.schedule(new Runnable() {
+
+        @Override
+        public void run() {
+          apply(key);
+        }
+
+      }, delay, MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // Shutting down, fall back to the caller
+      apply(key);
+    }
+  }
+
+  @Override
+  protected void startUp() {
+    // No-op
+  }
+
+  @Override
+  protected void shutDown() throws InterruptedException {
+    // Delayed applications still run after shutdown
+    executor.shutdown();
+    if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, SECONDS)) {
+      log.warn("Timed out applying pending submission events: {}", pending.keySet());
+    }
+  }
+
+  private void apply(Key key) {
+    List<Event> events;
+    synchronized (pending) {
+      events = pending.remove(key);
+    }
+
+    try {
+      val submissionEvents = Lists.<SubmissionFileEvent> newArrayList();
+      for (val event : events) {
+        sendMail(event);
+        submissionEvents.add(event.getEvent());
+      }
+
+      log.info("Applying {} file event(s) to project '{}'", events.size(), key.getProjectKey());
+      releaseService.modifySubmission(key.getReleaseName(), key.getProjectKey(), submissionEvents);
+    } catch (Exception e) {
+      // There is no SFTP operation left to fail, the next event or validation refreshes the submission files
+      log.error("Error applying file events {} to project '{}':", events, key.getProjectKey(), e);
+    } finally {
+      capacity.release(events.size());
+    }
+  }
+
+  private void sendMail(Event event) {
+    val user = event.getUser();
+    val file = event.getEvent().getFile();
+    val fileName = file.getName();
+    val type = event.getEvent().getType();
+
+    if (type == FILE_CREATED) {
+      log.info("'{}' finished transferring file '{}'", user, fileName);
+      mailService.sendFileTransferred(user, fileName);
+    } else if (type == FILE_RENAMED) {
+      val newFileName = ((SubmissionFileRenamedEvent) event.getEvent()).getNewFile().getName();
+      log.info("'{}' renamed  file '{}' to '{}'", new Object[] { user, fileName, newFileName });
+      mailService.sendFileRenamed(user, fileName, newFileName);
+    } else if (type == FILE_REMOVED) {
+      log.info("'{}' removed  file '{}'", user, fileName);
+      mailService.sendFileRemoved(user, fileName);
+    }
+  }
+
+  @Value
+  private static class Key {
+
+    String releaseName;
+    String projectKey;
+
+  }
+
+  @Value
+  private static class Event {
+
+    SubmissionFileEvent event;
+    String user;
+
+  }
+
+}
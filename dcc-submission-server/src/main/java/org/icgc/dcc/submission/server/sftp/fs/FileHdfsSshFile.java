@@ -110,6 +110,7 @@ public class FileHdfsSshFile extends HdfsSshFile {
     try {
       if (isWritable()) {
         fileSystem.createNewFile(path);
+        invalidate(path);
 
         registerEvent(new SubmissionFileCreatedEvent(getSubmissionFile()));
 
@@ -127,6 +128,7 @@ public class FileHdfsSshFile extends HdfsSshFile {
       if (isRemovable()) {
         val file = getSubmissionFile();
         val success = fileSystem.delete(path, false);
+        invalidate(path);
         if (success == false) {
           throw new IOException("Unable to delete file " + path.toUri());
         }
@@ -155,6 +157,8 @@ public class FileHdfsSshFile extends HdfsSshFile {
         val oldFile = getSubmissionFile();
 
         val success = fileSystem.rename(path, destinationPath);
+        invalidate(path);
+        invalidate(destinationPath);
         if (!success) {
           throw new IOException("Unable to move file " + path.toUri() + " to " + destinationPath.toUri());
         }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp.fs;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Short-lived {@link FileStatus} cache of an SFTP session.
+ * <p>
+ * SFTP clients stat every entry of a listing, and {@link HdfsSshFile} derives each attribute from the file status.
+ * Without a cache every attribute costs a NameNode RPC. Listing a directory populates the statuses of all its entries
+ * with a single {@link FileSystem#listStatus(Path)}.
+ * <p>
+ * Changes made through {@link HdfsSshFile} invalidate the affected entries. Changes made by other sessions or
+ * processes are visible after at most {@link #TTL_SECONDS}.
+ */
+public class FileStatusCache {
+
+  /**
+   * Constants.
+   */
+  static final int TTL_SECONDS = 5;
+  private static final int MAX_SIZE = 10000;
+
+  /**
+   * State.
+   */
+  private final Cache<String, Optional<FileStatus>> statuses = CacheBuilder.newBuilder()
+      .expireAfterWrite(TTL_SECONDS, SECONDS)
+      .maximumSize(MAX_SIZE)
+      .build();
+
+  /**
+   * Returns the status of {@code path}, or absent if it does not exist.
+   */
+  public Optional<FileStatus> getFileStatus(@NonNull FileSystem fileSystem, @NonNull Path path) throws IOException {
+    val key = getKey(path);
+    val cached = statuses.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    Optional<FileStatus> status;
+    try {
+      status = Optional.of(fileSystem.getFileStatus(path));
+    } catch (FileNotFoundException e) {
+      status = Optional.absent();
+    }
+
+    statuses.put(key, status);
+    return status;
+  }
+
+  /**
+   * Lists the entries of {@code directory} and caches their statuses.
+   */
+  public List<Path> listPaths(@NonNull FileSystem fileSystem, @NonNull Path directory) throws IOException {
+    val paths = ImmutableList.<Path> builder();
+    for (val status : fileSystem.listStatus(directory)) {
+      statuses.put(getKey(status.getPath()), Optional.of(status));
+      paths.add(status.getPath());
+    }
+
+    return paths.build();
+  }
+
+  /**
+   * To be called after every change to {@code path}.
+   */
+  public void invalidate(@NonNull Path path) {
+    statuses.invalidate(getKey(path));
+  }
+
+  /**
+   * To be called after changes that may affect more than one path, such as moving a directory.
+   */
+  public void invalidateAll() {
+    statuses.invalidateAll();
+  }
+
+  /**
+   * A session only uses one file system, so scheme and authority are dropped to match qualified and unqualified paths.
+   */
+  private static String getKey(Path path) {
+    return path.toUri().getPath();
+  }
+
+}
@@ -37,13 +37,16 @@ import static org.apache.sshd.common.file.SshFile.Permission.UserExecute;
 import static org.apache.sshd.common.file.SshFile.Permission.UserRead;
 import static org.apache.sshd.common.file.SshFile.Permission.UserWrite;
 import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+import static org.icgc.dcc.submission.server.sftp.SftpSessions.getFileStatusCache;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.handleException;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import lombok.AllArgsConstructor;
@@ -51,6 +54,7 @@ import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.FsAction;
@@ -59,6 +63,8 @@ import org.apache.sshd.common.file.SshFile;
 import org.icgc.dcc.submission.server.sftp.SftpContext;
 import org.springframework.security.core.Authentication;
 
+import com.google.common.base.Optional;
+
 @Slf4j
 @AllArgsConstructor
 public abstract class HdfsSshFile implements SshFile {
@@ -153,7 +159,7 @@ public abstract class HdfsSshFile implements SshFile {
         return false;
       }
 
-      return fileSystem.exists(path);
+      return getCachedFileStatus().isPresent();
     } catch (Exception e) {
       return handleException(Boolean.class, e);
     }
@@ -162,7 +168,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public boolean isReadable() {
     try {
-      FsAction u = fileSystem.getFileStatus(path).getPermission().getUserAction();
+      FsAction u = getFileStatus().getPermission().getUserAction();
 
       return (u == FsAction.ALL || u == FsAction.READ_WRITE || u == FsAction.READ || u == FsAction.READ_EXECUTE);
     } catch (Exception e) {
@@ -173,7 +179,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public boolean isWritable() {
     try {
-      FsAction u = fileSystem.getFileStatus(path).getPermission().getUserAction();
+      FsAction u = getFileStatus().getPermission().getUserAction();
 
       return (u == FsAction.ALL || u == FsAction.READ_WRITE || u == FsAction.WRITE || u == FsAction.WRITE_EXECUTE);
     } catch (Exception e) {
@@ -194,7 +200,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public long getLastModified() {
     try {
-      return fileSystem.getFileStatus(path).getModificationTime();
+      return getFileStatus().getModificationTime();
     } catch (Exception e) {
       return handleException(Long.class, e);
     }
@@ -204,6 +210,7 @@ public abstract class HdfsSshFile implements SshFile {
   public boolean setLastModified(long time) {
     try {
       fileSystem.setTimes(path, time, -1);
+      invalidate(path);
 
       return true;
     } catch (Exception e) {
@@ -214,7 +221,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public long getSize() {
     try {
-      return fileSystem.getFileStatus(path).getLen();
+      return getFileStatus().getLen();
     } catch (Exception e) {
       return handleException(Long.class, e);
     }
@@ -223,7 +230,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public String getOwner() {
     try {
-      return fileSystem.getFileStatus(path).getOwner();
+      return getFileStatus().getOwner();
     } catch (Exception e) {
       return handleException(String.class, e);
     }
@@ -253,6 +260,7 @@ public abstract class HdfsSshFile implements SshFile {
 
       log.info("Submission file opened: '{}'", path);
       val delegate = fileSystem.create(path);
+      invalidate(path);
 
       return new SessionFileTransferOutputStream(delegate, session, path);
     } catch (Exception e) {
@@ -294,6 +302,33 @@ public abstract class HdfsSshFile implements SshFile {
 
   public abstract HdfsSshFile getChild(Path filePath);
 
+  /**
+   * Returns the status of {@link #path} from the session cache, so that the attributes of a file cost at most one RPC.
+   */
+  protected FileStatus getFileStatus() throws IOException {
+    val status = getCachedFileStatus();
+    if (!status.isPresent()) {
+      throw new FileNotFoundException("File " + path + " does not exist");
+    }
+
+    return status.get();
+  }
+
+  protected List<Path> listPaths() throws IOException {
+    return getFileStatusCache(session).listPaths(fileSystem, path);
+  }
+
+  /**
+   * To be called after every change made to {@code path} through this session.
+   */
+  protected void invalidate(Path path) {
+    getFileStatusCache(session).invalidate(path);
+  }
+
+  protected void invalidateAll() {
+    getFileStatusCache(session).invalidateAll();
+  }
+
   protected boolean isValidationFile(Path path) {
     if (path == null) {
       return false;
@@ -303,4 +338,8 @@ public abstract class HdfsSshFile implements SshFile {
     return uri.contains(VALIDATION_DIRNAME);
   }
 
+  private Optional<FileStatus> getCachedFileStatus() throws IOException {
+    return getFileStatusCache(session).getFileStatus(fileSystem, path);
+  }
+
 }
@@ -18,7 +18,6 @@
 package org.icgc.dcc.submission.server.sftp.fs;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsAll;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.SshFileList;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.handleException;
 
@@ -91,7 +90,7 @@ public class RootHdfsSshFile extends HdfsSshFile {
   @Override
   public List<SshFile> listSshFiles() {
     try {
-      List<Path> paths = lsAll(fileSystem, path);
+      List<Path> paths = listPaths();
       List<SshFile> sshFiles = newArrayList();
       val userProjectKeys = context.getUserProjectKeys(authentication);
       for (Path path : paths) {
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.server.sftp.fs;
 
+import static org.icgc.dcc.submission.server.sftp.SftpSessions.getFileStatusCache;
 import static org.icgc.dcc.submission.server.sftp.SftpSessions.setFileTransfer;
 import static org.icgc.dcc.submission.server.sftp.SftpSessions.unsetFileTransfer;
 
@@ -33,10 +34,12 @@ public final class SessionFileTransferOutputStream extends OutputStream {
 
   private final OutputStream delegate;
   private final Session session;
+  private final Path path;
 
   public SessionFileTransferOutputStream(@NonNull OutputStream delegate, @NonNull Session session, @NonNull Path path) {
     this.delegate = delegate;
     this.session = session;
+    this.path = path;
     setFileTransfer(session, new FileTransfer(path.toString()));
   }
 
@@ -66,6 +69,9 @@ public final class SessionFileTransferOutputStream extends OutputStream {
       delegate.close();
     } finally {
       unsetFileTransfer(session);
+
+      // Size and modification time are final now
+      getFileStatusCache(session).invalidate(path);
     }
   }
 
@@ -30,6 +30,8 @@ import static org.springframework.web.servlet.mvc.method.annotation.MvcUriCompon
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.validation.Valid;
 
@@ -72,6 +74,11 @@ public class DictionaryController {
 
   private final boolean validate = true;
 
+  /**
+   * Last validator of each dictionary version, used as the baseline for incrementally validating updates.
+   */
+  private final Map<String, DictionaryValidator> validators = new ConcurrentHashMap<String, DictionaryValidator>();
+
   @CrossOrigin
   @GetMapping
   public List<Dictionary> getDictionaries() {
@@ -221,7 +228,10 @@ public class DictionaryController {
   private DictionaryConstraintViolations validateDictionary(Dictionary dictionary) {
     if (validate) {
       val validator = new DictionaryValidator(dictionary, dictionaryService.getCodeLists());
-      return validator.validate();
+      val violations = validator.validate(validators.get(dictionary.getVersion()));
+      validators.put(dictionary.getVersion(), validator);
+
+      return violations;
     } else {
       val empty = Collections.<DictionaryValidator.DictionaryConstraintViolation> emptySet();
       return new DictionaryConstraintViolations(empty, empty);
@@ -64,6 +64,20 @@ public class SystemController {
     return ResponseEntity.ok(status);
   }
 
+  @Admin
+  @GetMapping("/caches")
+  public ResponseEntity<?> getCaches() {
+    log.info("Getting cache metrics...");
+    return ResponseEntity.ok(systemService.getCacheMetrics());
+  }
+
+  @Admin
+  @GetMapping("/validations")
+  public ResponseEntity<?> getValidations() {
+    log.info("Getting validation queue status...");
+    return ResponseEntity.ok(systemService.getValidationQueueStatus());
+  }
+
   @Admin
   @PatchMapping
   public ResponseEntity<?> patch(@RequestBody JsonNode state) {
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.server.dictionary;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.submission.server.test.Tests.codeLists;
 import static org.icgc.dcc.submission.server.test.Tests.dictionary;
 
@@ -52,4 +53,16 @@ public class DictionaryValidatorFunctionalTest {
     }
   }
 
+  @Test
+  @SneakyThrows
+  public void testDictionaryIncrementally() {
+    val full = validator.validate();
+
+    // Structurally equal copy, so every schema result is reused
+    val incremental = new DictionaryValidator(dictionary(), codeLists()).validate(validator);
+
+    assertThat(incremental.getWarnings()).hasSameSizeAs(full.getWarnings());
+    assertThat(incremental.getErrors()).hasSameSizeAs(full.getErrors());
+  }
+
 }
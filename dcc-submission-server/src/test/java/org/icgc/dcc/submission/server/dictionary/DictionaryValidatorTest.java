@@ -23,23 +23,36 @@ import static org.icgc.dcc.common.core.model.ValueType.INTEGER;
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
 
 import java.util.List;
+import java.util.Random;
 
+import org.icgc.dcc.common.core.model.ValueType;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.dictionary.model.Relation;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
 import org.icgc.dcc.submission.dictionary.model.RestrictionType;
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
 import org.icgc.dcc.submission.server.dictionary.DictionaryValidator;
+import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.DiscreteValuesRestriction;
+import org.icgc.dcc.submission.validation.primary.restriction.RangeFieldRestriction;
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.mongodb.BasicDBObject;
 
 import lombok.val;
 
 public class DictionaryValidatorTest {
 
+  private static final String[] SCHEMA_NAMES = { "donor", "specimen", "sample", "ssm_m", "ssm_p" };
+  private static final String[] FIELD_NAMES = {
+      "donor_id", "chromosome", "chromosome_start", "chromosome_end", "mutation_type", "a", "b" };
+
   @Test
   public void testValidateScriptRestriction() {
     // Build test dictionary bottom up
@@ -80,4 +93,153 @@ public class DictionaryValidatorTest {
     }
   }
 
+  @Test
+  public void testValidateIncrementallyMatchesFullValidation() {
+    val random = new Random(42);
+    val codeLists = ImmutableList.of(new CodeList("cl1"), new CodeList("cl2"), new CodeList("cl2"));
+
+    for (int round = 0; round < 50; round++) {
+      long dictionarySeed = random.nextLong();
+      List<Long> updateSeeds = newArrayList();
+
+      DictionaryValidator previous = null;
+      for (int revision = 0; revision < 5; revision++) {
+        // Every revision is a distinct object graph, as if deserialized from a PUT request
+        val dictionary = createDictionary(new Random(dictionarySeed));
+        for (val updateSeed : updateSeeds) {
+          updateDictionary(dictionary, new Random(updateSeed));
+        }
+
+        val validator = new DictionaryValidator(dictionary, codeLists);
+        val incremental = validator.validate(previous);
+        val full = new DictionaryValidator(dictionary, codeLists).validate();
+
+        assertThat(incremental).isEqualTo(full);
+        assertThat(newArrayList(incremental.getErrors())).isEqualTo(newArrayList(full.getErrors()));
+        assertThat(newArrayList(incremental.getWarnings())).isEqualTo(newArrayList(full.getWarnings()));
+
+        previous = validator;
+        updateSeeds.add(random.nextLong());
+      }
+    }
+  }
+
+  private static Dictionary createDictionary(Random random) {
+    val dictionary = new Dictionary("0.1a");
+    for (val schemaName : SCHEMA_NAMES) {
+      if (random.nextInt(10) == 0) {
+        continue;
+      }
+
+      val schema = new FileSchema(schemaName);
+      schema.setPattern(schemaName + "\\.txt");
+      int fieldCount = 1 + random.nextInt(5);
+      for (int i = 0; i < fieldCount; i++) {
+        schema.addField(createField(random));
+      }
+      schema.setUniqueFields(newArrayList(schema.getFields().get(0).getName()));
+      if (random.nextBoolean()) {
+        schema.addRelation(createRelation(random, schema));
+      }
+
+      dictionary.addFile(schema);
+    }
+
+    return dictionary;
+  }
+
+  private static void updateDictionary(Dictionary dictionary, Random random) {
+    if (dictionary.getFiles().isEmpty()) {
+      return;
+    }
+
+    val schema = dictionary.getFiles().get(random.nextInt(dictionary.getFiles().size()));
+    val field = schema.getFields().get(random.nextInt(schema.getFields().size()));
+
+    switch (random.nextInt(9)) {
+    case 0:
+      field.setSummaryType(pick(random, SummaryType.values()));
+      break;
+    case 1:
+      field.setValueType(pick(random, ValueType.values()));
+      break;
+    case 2:
+      field.addRestriction(createRestriction(random));
+      break;
+    case 3:
+      field.setRestrictions(Lists.<Restriction> newArrayList());
+      break;
+    case 4:
+      field.setName(pick(random, FIELD_NAMES));
+      break;
+    case 5:
+      schema.addField(createField(random));
+      break;
+    case 6:
+      schema.setPattern(pick(random, "", "[", schema.getName()));
+      break;
+    case 7:
+      schema.setUniqueFields(newArrayList(pick(random, FIELD_NAMES)));
+      break;
+    default:
+      if (dictionary.getFiles().size() > 1) {
+        dictionary.getFiles().remove(schema);
+      }
+      break;
+    }
+  }
+
+  private static Field createField(Random random) {
+    val field = new Field();
+    field.setName(pick(random, FIELD_NAMES));
+    field.setLabel(field.getName());
+    field.setValueType(pick(random, ValueType.values()));
+    field.setSummaryType(random.nextBoolean() ? null : pick(random, SummaryType.values()));
+    int restrictionCount = random.nextInt(4);
+    for (int i = 0; i < restrictionCount; i++) {
+      field.addRestriction(createRestriction(random));
+    }
+
+    return field;
+  }
+
+  private static Restriction createRestriction(Random random) {
+    val type = pick(random,
+        RestrictionType.REQUIRED, RestrictionType.CODELIST, RestrictionType.DISCRETE_VALUES, RestrictionType.RANGE,
+        RestrictionType.SCRIPT);
+
+    val config = new BasicDBObject();
+    if (type == RestrictionType.CODELIST) {
+      config.put(CodeListRestriction.FIELD, pick(random, "cl1", "cl2", "cl3"));
+    } else if (type == RestrictionType.DISCRETE_VALUES) {
+      config.put(DiscreteValuesRestriction.PARAM, pick(random, "x,y", "x, ,y"));
+    } else if (type == RestrictionType.RANGE) {
+      config.put(RangeFieldRestriction.MIN, pick(random, "1", "1.5", "z"));
+      config.put(RangeFieldRestriction.MAX, pick(random, "2", "2.5", "z"));
+    } else if (type == RestrictionType.SCRIPT) {
+      config.put(ScriptRestriction.PARAM, pick(random, "a == 1", "a > 0 && b != null", "z == 1"));
+      config.put(ScriptRestriction.PARAM_DESCRIPTION, pick(random, "", "checked"));
+    }
+
+    val restriction = new Restriction();
+    restriction.setType(type);
+    restriction.setConfig(config);
+
+    return restriction;
+  }
+
+  private static Relation createRelation(Random random, FileSchema schema) {
+    // Rarely reference a missing schema, which aborts validation
+    val other = random.nextInt(20) == 0 ? "missing" : pick(random, SCHEMA_NAMES);
+    val fieldName = schema.getFields().get(0).getName();
+    val otherFieldName = pick(random, FIELD_NAMES);
+
+    return new Relation(ImmutableList.of(fieldName), other, ImmutableList.of(otherFieldName), false, "");
+  }
+
+  @SafeVarargs
+  private static <T> T pick(Random random, T... values) {
+    return values[random.nextInt(values.length)];
+  }
+
 }
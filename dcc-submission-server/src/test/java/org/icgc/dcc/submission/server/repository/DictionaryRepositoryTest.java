@@ -0,0 +1,86 @@
+package org.icgc.dcc.submission.server.repository;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.dictionary.model.DictionaryState.CLOSED;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.Term;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.MongoClientURI;
+
+import lombok.val;
+
+public class DictionaryRepositoryTest extends AbstractRepositoryTest {
+
+  private Morphia morphia;
+  private Datastore datastore;
+  private DictionaryRepository dictionaryRepository;
+  private CodeListRepository codeListRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    morphia = new Morphia();
+    datastore = morphia.createDatastore(embeddedMongo.getMongo(), new MongoClientURI(getMongoUri()).getDatabase());
+    dictionaryRepository = new DictionaryRepository(morphia, datastore);
+    codeListRepository = new CodeListRepository(morphia, datastore);
+  }
+
+  @Test
+  public void testFindDictionaryByVersionIsCached() {
+    assertThat(dictionaryRepository.findDictionaryByVersion("1.0")).isNull();
+
+    dictionaryRepository.saveDictionary(new Dictionary("1.0"));
+
+    val first = dictionaryRepository.findDictionaryByVersion("1.0");
+    val second = dictionaryRepository.findDictionaryByVersion("1.0");
+    assertThat(first).isNotNull();
+    assertThat(second).isSameAs(first);
+
+    val metrics = dictionaryRepository.getCacheMetrics();
+    assertThat(metrics.getSize()).isEqualTo(1);
+    assertThat(metrics.getHitCount()).isEqualTo(1);
+    assertThat(metrics.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testWriteInvalidatesOtherInstances() {
+    // Simulates a second server instance sharing the same database
+    val otherRepository = new DictionaryRepository(morphia, datastore);
+
+    dictionaryRepository.saveDictionary(new Dictionary("1.0"));
+    val cached = otherRepository.findDictionaryByVersion("1.0");
+    assertThat(otherRepository.findDictionaryByVersion("1.0")).isSameAs(cached);
+
+    dictionaryRepository.closeDictionary("1.0");
+
+    val reloaded = otherRepository.findDictionaryByVersion("1.0");
+    assertThat(reloaded).isNotSameAs(cached);
+    assertThat(reloaded.getState()).isEqualTo(CLOSED);
+  }
+
+  @Test
+  public void testCodeListWritesInvalidate() {
+    codeListRepository.saveCodeLists(ImmutableList.of(new CodeList("c1")));
+
+    val cached = codeListRepository.findCodeLists();
+    assertThat(codeListRepository.findCodeLists()).isSameAs(cached);
+
+    codeListRepository.addCodeListTerm("c1", new Term("1", "one", null));
+
+    val reloaded = codeListRepository.findCodeLists();
+    assertThat(reloaded).isNotSameAs(cached);
+    assertThat(reloaded.get(0).getTerms()).hasSize(1);
+  }
+
+  private String getMongoUri() {
+    return format("mongodb://localhost:%s/dcc-submission-server.DictionaryRepository", embeddedMongo.getPort());
+  }
+
+}
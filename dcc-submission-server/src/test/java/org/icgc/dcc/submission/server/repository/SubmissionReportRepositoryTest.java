@@ -0,0 +1,149 @@
+package org.icgc.dcc.submission.server.repository;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.DONOR_TYPE;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
+
+import org.icgc.dcc.submission.core.report.Report;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.MongoClientURI;
+
+import lombok.val;
+
+public class SubmissionReportRepositoryTest extends AbstractRepositoryTest {
+
+  private Morphia morphia;
+  private Datastore datastore;
+  private SubmissionReportRepository submissionReportRepository;
+
+  @Before
+  public void setUp() throws Exception {
+    morphia = new Morphia();
+    datastore = morphia.createDatastore(embeddedMongo.getMongo(), new MongoClientURI(getMongoUri()).getDatabase());
+    submissionReportRepository = new SubmissionReportRepository(morphia, datastore);
+  }
+
+  @Test
+  public void testUpsertReport() {
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isNull();
+
+    val report = createReport();
+    submissionReportRepository.upsertReport("R1", "P1", report);
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isEqualTo(report);
+
+    report.addError(error().fileName("donor.txt").type(SCRIPT_ERROR).fieldNames("f2").lineNumber(2).build());
+    submissionReportRepository.upsertReport("R1", "P1", report);
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isEqualTo(report);
+    assertThat(submissionReportRepository.findReport("R1", "P2")).isNull();
+  }
+
+  @Test
+  public void testFindReportSummaries() {
+    submissionReportRepository.upsertReport("R1", "P1", createReport());
+    submissionReportRepository.upsertReport("R1", "P2", new Report());
+    submissionReportRepository.upsertReport("R2", "P1", createReport());
+
+    val summaries = submissionReportRepository.findReportSummaries("R1");
+    assertThat(summaries.keySet()).containsOnly("P1", "P2");
+
+    val dataTypeReport = summaries.get("P1").getDataTypeReports().iterator().next();
+    assertThat(dataTypeReport.getDataType()).isEqualTo(DONOR_TYPE.getDataType());
+    assertThat(dataTypeReport.getFileTypeReports()).isEmpty();
+  }
+
+  @Test
+  public void testUpdateReleaseName() {
+    val report = createReport();
+    submissionReportRepository.upsertReport("R1", "P1", report);
+
+    submissionReportRepository.updateReleaseName("R1", "R1b");
+
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isNull();
+    assertThat(submissionReportRepository.findReport("R1b", "P1")).isEqualTo(report);
+  }
+
+  @Test
+  public void testDeleteReportsExcept() {
+    val report = createReport();
+    submissionReportRepository.upsertReport("R1", "P1", report);
+    submissionReportRepository.upsertReport("R1", "P2", report);
+    submissionReportRepository.upsertReport("R1", "P3", report);
+    submissionReportRepository.upsertReport("R2", "P2", report);
+
+    assertThat(submissionReportRepository.deleteReportsExcept("R1", ImmutableList.of("P1", "P3"))).isEqualTo(1);
+
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isEqualTo(report);
+    assertThat(submissionReportRepository.findReport("R1", "P2")).isNull();
+    assertThat(submissionReportRepository.findReport("R1", "P3")).isEqualTo(report);
+    assertThat(submissionReportRepository.findReport("R2", "P2")).isEqualTo(report);
+
+    // No submission left
+    assertThat(submissionReportRepository.deleteReportsExcept("R1", ImmutableList.<String> of())).isEqualTo(2);
+    assertThat(submissionReportRepository.findReportSummaries("R1")).isEmpty();
+  }
+
+  @Test
+  public void testMigrateEmbeddedReports() {
+    val report = createReport();
+    val releases = datastore.getCollection(Release.class);
+    releases.insert(new BasicDBObject("name", "R1")
+        .append("submissions", ImmutableList.of(
+            new BasicDBObject("projectKey", "P1").append("report", morphia.toDBObject(report)),
+            new BasicDBObject("projectKey", "P2"))));
+
+    assertThat(submissionReportRepository.migrateEmbeddedReports()).isEqualTo(1);
+    assertThat(submissionReportRepository.findReport("R1", "P1")).isEqualTo(report);
+    assertThat(submissionReportRepository.findReport("R1", "P2")).isNull();
+
+    // Release keeps the submissions, without the report
+    val submissions = (Iterable<?>) releases.findOne(new BasicDBObject("name", "R1")).get("submissions");
+    for (val submission : submissions) {
+      assertThat(((DBObject) submission).containsField("projectKey")).isTrue();
+      assertThat(((DBObject) submission).containsField("report")).isFalse();
+    }
+
+    // Loads as usual
+    val release = datastore.createQuery(Release.class).filter("name", "R1").get();
+    assertThat(Submission.getProjectKeys(release.getSubmissions())).containsExactly("P1", "P2");
+
+    // Nothing left to do
+    assertThat(submissionReportRepository.migrateEmbeddedReports()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSubmissionReportIsNotEmbedded() {
+    val release = new Release("R1");
+    val submission = new Submission("P1", "P1", "R1");
+    submission.setReport(createReport());
+    release.addSubmission(submission);
+    datastore.save(release);
+
+    val document = datastore.getCollection(Release.class).findOne(new BasicDBObject("name", "R1"));
+    val embedded = (DBObject) ((Iterable<?>) document.get("submissions")).iterator().next();
+    assertThat(embedded.containsField("report")).isFalse();
+  }
+
+  private static Report createReport() {
+    val report = new Report();
+    report.addFile(DONOR_TYPE, "donor.txt");
+    report.addError(error().fileName("donor.txt").type(SCRIPT_ERROR).fieldNames("f1").lineNumber(1).build());
+
+    return report;
+  }
+
+  private String getMongoUri() {
+    return format("mongodb://localhost:%s/dcc-submission-server.SubmissionReportRepository", embeddedMongo.getPort());
+  }
+
+}
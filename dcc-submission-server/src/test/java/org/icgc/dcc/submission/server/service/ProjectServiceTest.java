@@ -115,11 +115,15 @@ public class ProjectServiceTest {
   public void testClean() throws Exception {
     val dirty = new Project("PK", "PN");
     dirty.setAlias("PA");
+    dirty.setPriority(2);
+    dirty.setEmergency(true);
     dirty.setGroups(Sets.newHashSet("group1", "group2"));
     dirty.setUsers(Sets.newHashSet("group1", "group2"));
 
     val expected = new Project("PK", "PN");
     expected.setAlias("PA");
+    expected.setPriority(2);
+    expected.setEmergency(true);
 
     val actual = projectService.cleanProject(dirty);
 
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.service;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.icgc.dcc.submission.core.model.Outcome;
+import org.icgc.dcc.submission.core.model.Project;
+import org.icgc.dcc.submission.core.report.Report;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.fs.ReleaseFileSystem;
+import org.icgc.dcc.submission.fs.SubmissionFile;
+import org.icgc.dcc.submission.fs.SubmissionFileCreatedEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.icgc.dcc.submission.release.model.QueuedProject;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.SubmissionState;
+import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.repository.DictionaryRepository;
+import org.icgc.dcc.submission.server.repository.ProjectRepository;
+import org.icgc.dcc.submission.server.repository.ReleaseRepository;
+import org.icgc.dcc.submission.server.repository.SubmissionReportRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.mongodb.MongoClient;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Runs simulated uploads, queueing and validation state transitions of many projects in parallel against a local
+ * MongoDB and checks that none of their updates are lost.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReleaseServiceConcurrencyTest {
+
+  /**
+   * Test configuration.
+   */
+  private static final String TEST_DB_NAME = "dcc-test";
+  private static final String RELEASE_NAME = "release1";
+  private static final int PROJECT_COUNT = 24;
+  private static final int UPLOAD_COUNT = 5;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Class under test.
+   */
+  private ReleaseService releaseService;
+
+  /**
+   * Dependencies.
+   */
+  private Datastore datastore;
+
+  @Mock
+  private SubmissionFileSystem submissionFileSystem;
+  @Mock
+  private MailService mailService;
+
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    val morphia = new Morphia();
+    datastore = morphia.createDatastore(new MongoClient("localhost"), TEST_DB_NAME);
+    datastore.delete(datastore.createQuery(Dictionary.class));
+    datastore.delete(datastore.createQuery(Release.class));
+    datastore.delete(datastore.createQuery(Project.class));
+
+    // Submission files are listed from empty local directories
+    val root = tmp.getRoot();
+    when(submissionFileSystem.getFileSystem()).thenReturn(FileSystem.getLocal(new Configuration()));
+    when(submissionFileSystem.buildProjectStringPath(anyString(), anyString())).thenAnswer(
+        new Answer<String>() {
+
+          @Override
+          public String answer(InvocationOnMock invocation) {
+            val projectDir = new File(root, (String) invocation.getArguments()[1]);
+            projectDir.mkdirs();
+
+            return projectDir.getAbsolutePath();
+          }
+
+        });
+    when(submissionFileSystem.getReleaseFilesystem(any(Release.class))).thenReturn(mock(ReleaseFileSystem.class));
+
+    val dictionaryRepository = new DictionaryRepository(morphia, datastore);
+    releaseService = new ReleaseService(mailService, submissionFileSystem,
+        new ReleaseRepository(morphia, datastore), dictionaryRepository, new ProjectRepository(morphia, datastore),
+        new SubmissionReportRepository(morphia, datastore));
+
+    val dictionary = new Dictionary();
+    dictionary.setVersion("foo");
+    new DictionaryService(releaseService, dictionaryRepository, new CodeListRepository(morphia, datastore))
+        .addDictionary(dictionary);
+
+    val release = new Release(RELEASE_NAME);
+    release.setDictionaryVersion(dictionary.getVersion());
+    releaseService.createInitialRelease(release);
+
+    for (val projectKey : getProjectKeys()) {
+      releaseService.addSubmission(projectKey, projectKey);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    datastore.delete(datastore.createQuery(Dictionary.class));
+    datastore.delete(datastore.createQuery(Release.class));
+  }
+
+  @Test
+  public void test_concurrent_transitions_are_not_lost() throws Exception {
+    val projectKeys = getProjectKeys();
+    val executor = Executors.newFixedThreadPool(PROJECT_COUNT + 1);
+    val start = new CountDownLatch(1);
+
+    try {
+      val futures = Lists.<Future<?>> newArrayList();
+
+      // Each project uploads a few files and then asks for validation
+      for (val projectKey : projectKeys) {
+        futures.add(executor.submit(new Callable<Void>() {
+
+          @Override
+          public Void call() throws Exception {
+            start.await();
+            for (int i = 0; i < UPLOAD_COUNT; i++) {
+              val file = new SubmissionFile("file" + i + ".txt", new Date(), i, null, false);
+              releaseService.modifySubmission(RELEASE_NAME, projectKey, new SubmissionFileCreatedEvent(file));
+            }
+
+            releaseService.queueSubmissions(ImmutableList.of(queuedProject(projectKey)));
+            return null;
+          }
+
+        }));
+      }
+
+      // A single validator drains the queue, as the validation scheduler does
+      val validator = executor.submit(new Callable<Integer>() {
+
+        @Override
+        public Integer call() throws Exception {
+          start.await();
+          int resolved = 0;
+          while (resolved < PROJECT_COUNT) {
+            val queue = releaseService.getQueuedProjectKeys();
+            if (queue.isEmpty()) {
+              Thread.sleep(10);
+              continue;
+            }
+
+            val queuedProject = queuedProject(queue.get(0));
+            releaseService.dequeueSubmission(queuedProject, new Report());
+            releaseService.resolveSubmission(queuedProject, Outcome.FAILED, new Report());
+            resolved++;
+          }
+
+          return resolved;
+        }
+
+      });
+
+      start.countDown();
+      for (val future : futures) {
+        future.get(1, MINUTES);
+      }
+
+      assertThat(validator.get(1, MINUTES)).isEqualTo(PROJECT_COUNT);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    val release = releaseService.getNextRelease();
+    assertThat(release.getQueue()).isEmpty();
+    assertThat(release.getSubmissions()).hasSize(PROJECT_COUNT);
+    for (val submission : release.getSubmissions()) {
+      assertThat(submission.getState()).as(submission.getProjectKey()).isEqualTo(SubmissionState.ERROR);
+    }
+  }
+
+  private static QueuedProject queuedProject(String projectKey) {
+    return new QueuedProject(projectKey, Collections.<String> emptyList());
+  }
+
+  private static List<String> getProjectKeys() {
+    val projectKeys = ImmutableList.<String> builder();
+    for (int i = 0; i < PROJECT_COUNT; i++) {
+      projectKeys.add("p" + i);
+    }
+
+    return projectKeys.build();
+  }
+
+}
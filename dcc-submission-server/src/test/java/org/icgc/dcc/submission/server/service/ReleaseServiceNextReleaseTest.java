@@ -45,6 +45,7 @@ import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
 import org.icgc.dcc.submission.server.repository.ReleaseRepository;
+import org.icgc.dcc.submission.server.repository.SubmissionReportRepository;
 import org.icgc.dcc.submission.server.service.DictionaryService;
 import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
@@ -93,6 +94,8 @@ public class ReleaseServiceNextReleaseTest {
   ProjectRepository projectRepository;
   @Mock
   CodeListRepository codelistRepository;
+  @Mock
+  SubmissionReportRepository submissionReportRepository;
 
   static final String FIRST_RELEASE_NAME = "release1";
   static final String NEXT_RELEASE_NAME = "release2";
@@ -42,6 +42,7 @@ import org.icgc.dcc.submission.server.repository.CodeListRepository;
 import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.repository.ProjectRepository;
 import org.icgc.dcc.submission.server.repository.ReleaseRepository;
+import org.icgc.dcc.submission.server.repository.SubmissionReportRepository;
 import org.icgc.dcc.submission.server.service.DictionaryService;
 import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
@@ -128,9 +129,10 @@ public class ReleaseServiceTest {
       val dictionaryRepository = spy(new DictionaryRepository(morphia, datastore));
       val codeListRepository = spy(new CodeListRepository(morphia, datastore));
       val projectRepository = spy(new ProjectRepository(morphia, datastore));
+      val submissionReportRepository = spy(new SubmissionReportRepository(morphia, datastore));
 
       releaseService = new ReleaseService(mailService, submissionFileSystem,
-          releaseRepository, dictionaryRepository, projectRepository);
+          releaseRepository, dictionaryRepository, projectRepository, submissionReportRepository);
 
       dictionaryService = new DictionaryService(releaseService, dictionaryRepository, codeListRepository);
       dictionaryService.addDictionary(dictionary);
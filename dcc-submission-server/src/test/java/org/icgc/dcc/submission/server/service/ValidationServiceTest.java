@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.server.service;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.submission.core.model.Outcome.ABORTED;
 import static org.icgc.dcc.submission.core.model.Outcome.CANCELLED;
 import static org.icgc.dcc.submission.core.model.Outcome.COMPLETED;
@@ -34,6 +35,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import org.icgc.dcc.submission.core.model.Outcome;
+import org.icgc.dcc.submission.core.model.Project;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
@@ -54,6 +56,7 @@ import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategyFac
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -86,6 +89,8 @@ public class ValidationServiceTest {
   @Mock
   ReleaseService releaseService;
   @Mock
+  ProjectService projectService;
+  @Mock
   CodeListRepository codeListRepository;
   @Mock
   ValidationExecutor executor;
@@ -116,7 +121,7 @@ public class ValidationServiceTest {
   public void setUp() {
     // Establish an open release with a single queued project
     when(submission.getReport()).thenReturn(new Report());
-    when(release.nextInQueue()).thenReturn(Optional.fromNullable(queuedProject));
+    when(release.getQueue()).thenReturn(ImmutableList.of(queuedProject));
     when(release.getState()).thenReturn(OPENED);
     when(release.getSubmission(anyString())).thenReturn(Optional.of(submission));
 
@@ -126,11 +131,13 @@ public class ValidationServiceTest {
     when(releaseService.countOpenReleases()).thenReturn(1L);
     when(releaseService.getNextDictionary()).thenReturn(dictionary);
     when(codeListRepository.findCodeLists()).thenReturn(Collections.<CodeList> emptyList());
+
+    when(executor.getAvailableCount()).thenReturn(1);
   }
 
   @Test
   @SneakyThrows
-  public void test_pollValidation_completed() {
+  public void test_dispatch_completed() {
     // Setup: Add a no-op validator
     validators.add(validator);
 
@@ -142,7 +149,7 @@ public class ValidationServiceTest {
     mockExecutorCallback(onCompletion(validation));
 
     // Exercise
-    service.pollValidation();
+    service.dispatch();
 
     // Verify: Ensure "aborted"
     verifyOutcome(COMPLETED);
@@ -150,7 +157,7 @@ public class ValidationServiceTest {
 
   @Test
   @SneakyThrows
-  public void test_pollValidation_aborted() {
+  public void test_dispatch_aborted() {
     // Setup: Add a no-op validator
     validators.add(validator);
 
@@ -161,7 +168,7 @@ public class ValidationServiceTest {
     mockExecutorCallback(onCompletion(validation));
 
     // Exercise
-    service.pollValidation();
+    service.dispatch();
 
     // Verify: Ensure "aborted"
     verifyOutcome(ABORTED);
@@ -169,7 +176,7 @@ public class ValidationServiceTest {
 
   @Test
   @SneakyThrows
-  public void test_pollValidation_cancelled() {
+  public void test_dispatch_cancelled() {
     // Setup: Add a no-op validator
     validators.add(validator);
 
@@ -180,7 +187,7 @@ public class ValidationServiceTest {
     mockExecutorCallback(onCancelled(validation));
 
     // Exercise
-    service.pollValidation();
+    service.dispatch();
 
     // Verify: Ensure "cancelled"
     verifyOutcome(CANCELLED);
@@ -188,7 +195,7 @@ public class ValidationServiceTest {
 
   @Test
   @SneakyThrows
-  public void test_pollValidation_failed() {
+  public void test_dispatch_failed() {
     // Setup: Add a no-op validator
     validators.add(validator);
 
@@ -199,12 +206,83 @@ public class ValidationServiceTest {
     mockExecutorCallback(onFailure(validation, new RuntimeException()));
 
     // Exercise
-    service.pollValidation();
+    service.dispatch();
 
     // Verify: Ensure "failed"
     verifyOutcome(FAILED);
   }
 
+  @Test
+  public void test_dispatch_priority() {
+    // Setup: Two queued projects, the second has a higher priority
+    val other = new QueuedProject("other", ImmutableList.<String> of("user@other.com"));
+    when(release.getQueue()).thenReturn(ImmutableList.of(queuedProject, other));
+    when(projectService.getProject("other")).thenReturn(createProject("other", 1, false));
+
+    // Exercise
+    service.dispatch();
+
+    // Verify: Only one slot so only the higher priority project is dispatched
+    val captor = ArgumentCaptor.forClass(Validation.class);
+    verify(executor).execute(captor.capture(), any(ValidationListener.class));
+    assertThat(captor.getValue().getId()).isEqualTo("other");
+  }
+
+  @Test
+  public void test_dispatch_preempted() {
+    // Setup: One slot taken by a running validation
+    val emergency = new QueuedProject("emergency", ImmutableList.<String> of("user@emergency.com"));
+    when(release.getQueue()).thenReturn(ImmutableList.of(queuedProject));
+    when(executor.isExecuting("project")).thenReturn(true);
+    service.dispatch();
+
+    // Setup: No more slots and an emergency project is queued
+    when(executor.getAvailableCount()).thenReturn(0);
+    when(release.getQueue()).thenReturn(ImmutableList.of(emergency));
+    when(projectService.getProject("emergency")).thenReturn(createProject("emergency", 0, true));
+    when(executor.cancel("project")).thenReturn(true);
+
+    // Exercise
+    service.dispatch();
+
+    // Verify: Running validation was cancelled to make room
+    verify(executor).cancel("project");
+  }
+
+  @Test
+  public void test_dispatch_preempted_before_started() {
+    // Setup: One slot taken by a validation that has not started yet
+    val emergency = new QueuedProject("emergency", ImmutableList.<String> of("user@emergency.com"));
+    val other = new QueuedProject("other", ImmutableList.<String> of("user@other.com"));
+    when(projectService.getProject("emergency")).thenReturn(createProject("emergency", 0, true));
+    when(release.getQueue()).thenReturn(ImmutableList.of(queuedProject));
+    when(executor.isExecuting("project")).thenReturn(true);
+    service.dispatch();
+
+    // Setup: Preempted before it started, so it releases its slot without calling back
+    when(executor.getAvailableCount()).thenReturn(0);
+    when(release.getQueue()).thenReturn(ImmutableList.of(emergency));
+    when(executor.cancel("project")).thenReturn(true);
+    service.dispatch();
+    when(executor.isExecuting("project")).thenReturn(false);
+
+    // Setup: Another validation takes the freed slot
+    when(executor.getAvailableCount()).thenReturn(1);
+    when(release.getQueue()).thenReturn(ImmutableList.of(other));
+    when(executor.isExecuting("other")).thenReturn(true);
+    service.dispatch();
+
+    // Exercise
+    when(executor.getAvailableCount()).thenReturn(0);
+    when(release.getQueue()).thenReturn(ImmutableList.of(emergency));
+    when(executor.cancel("other")).thenReturn(true);
+    service.dispatch();
+
+    // Verify: The earlier preemption does not block this one
+    verify(executor).cancel("project");
+    verify(executor).cancel("other");
+  }
+
   private void mockExecutorCallback(Answer<Object> answer) {
     doAnswer(answer).when(executor).execute(
         any(Validation.class),
@@ -242,6 +320,14 @@ public class ValidationServiceTest {
     };
   }
 
+  private static Project createProject(String key, int priority, boolean emergency) {
+    val project = new Project(key, key);
+    project.setPriority(priority);
+    project.setEmergency(emergency);
+
+    return project;
+  }
+
   private static Validation createValidation(ValidationContext context, Validator validator) {
     return new Validation(context, newArrayList(validator));
   }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FilterFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.sshd.common.Session;
+import org.apache.sshd.common.Session.AttributeKey;
+import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.fs.SubmissionFile;
+import org.icgc.dcc.submission.server.sftp.fs.FileHdfsSshFile;
+import org.icgc.dcc.submission.server.sftp.fs.FileStatusCache;
+import org.icgc.dcc.submission.server.sftp.fs.RootHdfsSshFile;
+import org.icgc.dcc.submission.server.sftp.fs.SubmissionDirectoryHdfsSshFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.Authentication;
+
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FileStatusCacheTest {
+
+  private static final String RELEASE_NAME = "release1";
+  private static final String PROJECT_KEY = "project1";
+  private static final int FILE_COUNT = 50;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Mock
+  SubmissionDirectory submissionDirectory;
+  @Mock
+  SftpContext context;
+  @Mock
+  Authentication authentication;
+  @Mock
+  Session session;
+
+  CountingFileSystem fileSystem;
+  SubmissionDirectoryHdfsSshFile directory;
+
+  @Before
+  public void setUp() throws IOException {
+    val root = tmp.newFolder(RELEASE_NAME);
+    val projectDirectory = new File(root, PROJECT_KEY);
+    projectDirectory.mkdir();
+    for (int i = 0; i < FILE_COUNT; i++) {
+      new File(projectDirectory, "file" + i + ".txt").createNewFile();
+    }
+
+    fileSystem = new CountingFileSystem();
+
+    // One cache for the whole session
+    doReturn(new FileStatusCache()).when(session).getAttribute(any(AttributeKey.class));
+
+    when(submissionDirectory.isReadOnly()).thenReturn(false);
+    when(context.getFileSystem()).thenReturn(fileSystem);
+    when(context.getReleasePath()).thenReturn(new Path(root.getAbsolutePath()));
+    when(context.getSubmissionFile(any(Path.class))).thenReturn(new SubmissionFile("", new Date(), 0, null, false));
+    when(context.getSubmissionDirectory(PROJECT_KEY, authentication)).thenReturn(submissionDirectory);
+
+    val rootDirectory = new RootHdfsSshFile(context, authentication, session);
+    directory = new SubmissionDirectoryHdfsSshFile(context, rootDirectory, PROJECT_KEY);
+  }
+
+  @Test
+  public void testListingAttributes() throws IOException {
+    val files = directory.listSshFiles();
+    for (val file : files) {
+      file.getAttributes(false);
+    }
+
+    assertThat(files).hasSize(FILE_COUNT);
+    assertThat(fileSystem.listStatusCount.get()).isEqualTo(1);
+
+    // Only the directory itself, for its permissions
+    assertThat(fileSystem.getFileStatusCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRepeatedAttributes() throws IOException {
+    val file = new FileHdfsSshFile(context, directory, "file0.txt");
+    file.getAttributes(false);
+    file.getAttributes(false);
+
+    // The file and its directory
+    assertThat(fileSystem.getFileStatusCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testInvalidation() throws IOException {
+    val file = new FileHdfsSshFile(context, directory, "new.txt");
+    assertThat(file.doesExist()).isFalse();
+
+    assertThat(file.create()).isTrue();
+    assertThat(file.doesExist()).isTrue();
+
+    assertThat(file.delete()).isTrue();
+    assertThat(file.doesExist()).isFalse();
+  }
+
+  /**
+   * Counts the metadata RPCs made through it. Calls the local file system makes internally are not counted.
+   */
+  private static class CountingFileSystem extends FilterFileSystem {
+
+    final AtomicInteger getFileStatusCount = new AtomicInteger();
+    final AtomicInteger listStatusCount = new AtomicInteger();
+
+    CountingFileSystem() {
+      super(new RawLocalFileSystem());
+      val conf = new Configuration();
+      fs.setConf(conf);
+      setConf(conf);
+    }
+
+    @Override
+    public FileStatus getFileStatus(Path path) throws IOException {
+      getFileStatusCount.incrementAndGet();
+      return super.getFileStatus(path);
+    }
+
+    @Override
+    public FileStatus[] listStatus(Path path) throws IOException {
+      listStatusCount.incrementAndGet();
+      return super.listStatus(path);
+    }
+
+  }
+
+}
@@ -27,7 +27,6 @@ import java.io.IOException;
 
 import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
-import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ProjectService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
 import org.icgc.dcc.submission.server.sftp.SftpAuthenticator;
@@ -79,7 +78,7 @@ public class SftpPublicKeyAuthenticatorTest {
   @Mock
   ReleaseService releaseService;
   @Mock
-  MailService mailService;
+  SubmissionEventService submissionEventService;
 
   @Before
   public void setUp() throws IOException, JSchException {
@@ -138,7 +137,7 @@ public class SftpPublicKeyAuthenticatorTest {
   }
 
   private SftpServerService createService() {
-    val context = new SftpContext(fs, releaseService, projectService, authenticator, mailService);
+    val context = new SftpContext(fs, releaseService, projectService, authenticator, submissionEventService);
     val sshd = new SshServerProvider(properties, context, sftpAuthenticator).get();
     val eventBus = new EventBus();
     eventBus.register(authenticator);
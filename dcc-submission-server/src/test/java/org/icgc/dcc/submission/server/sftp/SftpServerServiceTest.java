@@ -54,7 +54,6 @@ import org.icgc.dcc.submission.fs.ReleaseFileSystem;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.Submission;
-import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ProjectService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
 import org.icgc.dcc.submission.server.sftp.SftpAuthenticator;
@@ -126,7 +125,7 @@ public class SftpServerServiceTest {
   @Mock
   ReleaseService releaseService;
   @Mock
-  MailService mailService;
+  SubmissionEventService submissionEventService;
 
   SftpServerService service;
   File root;
@@ -436,7 +435,7 @@ public class SftpServerServiceTest {
   }
 
   private SftpServerService createService() {
-    SftpContext context = new SftpContext(fs, releaseService, projectService, authenticator, mailService);
+    SftpContext context = new SftpContext(fs, releaseService, projectService, authenticator, submissionEventService);
     SftpAuthenticator sftpAuthenticator = new SftpAuthenticator(authenticator, context);
     SshServer sshd = new SshServerProvider(properties, context, sftpAuthenticator).get();
     EventBus eventBus = new EventBus();
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Date;
+import java.util.List;
+
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.fs.SubmissionFile;
+import org.icgc.dcc.submission.fs.SubmissionFileCreatedEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileEvent;
+import org.icgc.dcc.submission.fs.SubmissionFileRemovedEvent;
+import org.icgc.dcc.submission.server.service.MailService;
+import org.icgc.dcc.submission.server.service.ReleaseService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.dumbster.smtp.SimpleSmtpServer;
+
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubmissionEventServiceTest {
+
+  /**
+   * Test configuration.
+   */
+  private static final String RELEASE_NAME = "release1";
+  private static final String USER = "user";
+  private static final long EVENT_DELAY = 200;
+  private static final int VERIFY_TIMEOUT_MILLIS = 5000;
+
+  SubmissionProperties properties = new SubmissionProperties();
+
+  @Mock
+  ReleaseService releaseService;
+  @Captor
+  ArgumentCaptor<List<SubmissionFileEvent>> events;
+
+  /**
+   * Class under test.
+   */
+  SubmissionEventService service;
+
+  SimpleSmtpServer smtpServer;
+  int smtpPort;
+
+  @Before
+  public void setUp() throws IOException {
+    smtpPort = getFreePort();
+
+    val mail = properties.getMail();
+    mail.setEnabled(true);
+    mail.setFromEmail("from@email.com");
+    mail.setNotificationEmail("notification@email.com");
+    mail.setSmtpHost("localhost");
+    mail.setSmtpPort(String.valueOf(smtpPort));
+    properties.getSftp().setEventDelay(EVENT_DELAY);
+
+    service = new SubmissionEventService(properties, releaseService, new MailService(properties));
+    service.startAsync().awaitRunning();
+  }
+
+  @After
+  public void tearDown() {
+    service.stopAsync().awaitTerminated();
+    if (smtpServer != null) {
+      smtpServer.stop();
+    }
+  }
+
+  @Test
+  public void testBurstsAreCoalescedPerProject() {
+    smtpServer = SimpleSmtpServer.start(smtpPort);
+
+    for (int i = 0; i < 10; i++) {
+      service.register(RELEASE_NAME, "p1", new SubmissionFileCreatedEvent(file("file" + i + ".txt")), USER);
+    }
+    service.register(RELEASE_NAME, "p2", new SubmissionFileCreatedEvent(file("file.txt")), USER);
+    service.register(RELEASE_NAME, "p2", new SubmissionFileRemovedEvent(file("file.txt")), USER);
+
+    // One update per project, with all of its events in order
+    verify(releaseService, timeout(VERIFY_TIMEOUT_MILLIS)).modifySubmission(eq(RELEASE_NAME), eq("p1"),
+        events.capture());
+    assertThat(events.getValue()).hasSize(10);
+    assertThat(events.getValue().get(0).getFile().getName()).isEqualTo("file0.txt");
+
+    verify(releaseService, timeout(VERIFY_TIMEOUT_MILLIS)).modifySubmission(eq(RELEASE_NAME), eq("p2"),
+        events.capture());
+    assertThat(events.getValue()).hasSize(2);
+
+    // One notification per event
+    awaitReceivedEmails(12);
+  }
+
+  @Test
+  public void testMailIsRetried() {
+    service.register(RELEASE_NAME, "p1", new SubmissionFileCreatedEvent(file("file.txt")), USER);
+    verify(releaseService, timeout(VERIFY_TIMEOUT_MILLIS)).modifySubmission(eq(RELEASE_NAME), eq("p1"),
+        events.capture());
+
+    // The first attempt finds no server
+    sleepUninterruptibly(EVENT_DELAY, MILLISECONDS);
+    smtpServer = SimpleSmtpServer.start(smtpPort);
+
+    awaitReceivedEmails(1);
+  }
+
+  private void awaitReceivedEmails(int count) {
+    val deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+    while (smtpServer.getReceivedEmailSize() < count && System.currentTimeMillis() < deadline) {
+      sleepUninterruptibly(100, MILLISECONDS);
+    }
+
+    assertThat(smtpServer.getReceivedEmailSize()).isEqualTo(count);
+  }
+
+  private static SubmissionFile file(String name) {
+    return new SubmissionFile(name, new Date(), 0, null, false);
+  }
+
+  private static int getFreePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+}
@@ -22,13 +22,17 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.submission.validation.ValidationListener.NOOP_LISTENER;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -36,7 +40,6 @@ import org.icgc.dcc.common.core.util.concurrent.ThreadNamingRunnable;
 import org.icgc.dcc.submission.validation.core.Validation;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.google.common.collect.MapMaker;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import lombok.Getter;
@@ -49,7 +52,8 @@ import lombok.extern.slf4j.Slf4j;
  * Manages the execution and cancellation of a fixed number of {@code Validation} "slots".
  * <p>
  * Similar to the standard JDK {@link ExecutorService} abstraction. Delegates to a fixed thread pool executor and
- * provides asynchronous callbacks for execution outcomes.
+ * provides asynchronous callbacks for execution outcomes. Slot listeners are notified whenever a slot is freed so that
+ * callers can dispatch the next validation without polling.
  */
 @Slf4j
 @ThreadSafe
@@ -69,13 +73,25 @@ public class ValidationExecutor {
   @Getter(lazy = true, value = PRIVATE)
   private final ThreadPoolExecutor jobPool = createExecutor(maxConcurrentValidations);
 
+  /**
+   * Admission control for the validation "slots". A permit is held from submission until the job exits or is cancelled
+   * before it started.
+   */
+  @Getter(lazy = true, value = PRIVATE)
+  private final Semaphore slots = new Semaphore(maxConcurrentValidations);
+
   /**
    * Bookkeeping for canceling, indexed by {@link ValidationJob#getJobId()}.
    * <p>
-   * Is thread-safe and uses weak references to automatically remove entries when finished.
+   * Entries are removed when their slot is released.
    */
   @Getter(lazy = true, value = PRIVATE)
-  private final Map<String, Future<?>> jobHandles = new MapMaker().weakValues().makeMap();
+  private final Map<String, Slot> jobSlots = new ConcurrentHashMap<String, Slot>();
+
+  /**
+   * Callbacks invoked after a slot has been released.
+   */
+  private final List<Runnable> slotListeners = new CopyOnWriteArrayList<Runnable>();
 
   /**
    * Returns the number of active validation "slots".
@@ -84,6 +100,34 @@ public class ValidationExecutor {
     return getJobPool().getActiveCount();
   }
 
+  /**
+   * Returns the total number of validation "slots".
+   */
+  public int getSlotCount() {
+    return maxConcurrentValidations;
+  }
+
+  /**
+   * Returns the number of validation "slots" that can currently accept a job.
+   */
+  public int getAvailableCount() {
+    return getSlots().availablePermits();
+  }
+
+  /**
+   * Returns whether the job identified by {@code jobId} is holding a slot.
+   */
+  public boolean isExecuting(@NonNull String jobId) {
+    return getJobSlots().containsKey(jobId);
+  }
+
+  /**
+   * Registers a callback to be invoked (on the releasing thread) each time a slot becomes available.
+   */
+  public void addSlotListener(@NonNull Runnable listener) {
+    slotListeners.add(listener);
+  }
+
   /**
    * Execute a validation job asynchronously.
    * <p>
@@ -104,16 +148,30 @@ public class ValidationExecutor {
    * @param validation the validation job to run. {@link Validation#execute()} is called asynchronously with respect to
    * the caller upon successful submission.
    * @param listener validation listener to callback on validation lifecycle events
+   * @throws ValidationRejectedException if there are no "slots" available
    */
   public void execute(@NonNull Validation validation, @NonNull ValidationListener listener) {
     val jobId = validation.getId();
+    if (!getSlots().tryAcquire()) {
+      val message = format("Pool limit of %s concurrent validations reached. Validation rejected.",
+          maxConcurrentValidations);
+      log.warn(message);
 
-    log.info("execute: Submitting validation job '{}' ... {}", jobId, formatStats());
-    val job = new ValidationJob(jobId, validation, listener);
-    val jobHandle = submit(jobId, job);
+      // Raison d'être
+      throw new ValidationRejectedException(message);
+    }
 
-    // Track it for future cancellation purposes
-    getJobHandles().put(jobId, jobHandle);
+    log.info("execute: Submitting validation job '{}' ... {}", jobId, formatStats());
+    val slot = new Slot(jobId, new ValidationJob(jobId, validation, listener));
+    getJobSlots().put(jobId, slot);
+
+    try {
+      slot.setHandle(submit(jobId, slot));
+    } catch (RejectedExecutionException e) {
+      // Pool is shutting down
+      slot.release();
+      throw new ValidationRejectedException(e.getMessage());
+    }
   }
 
   /**
@@ -126,11 +184,16 @@ public class ValidationExecutor {
    * @return whether the job was successfully cancelled (may still be running, see HDFS-1208)
    */
   public boolean cancel(@NonNull String jobId) {
-    val jobHandle = getJobHandles().get(jobId);
-    val available = jobHandle != null;
+    val slot = getJobSlots().get(jobId);
+    val available = slot != null && slot.getHandle() != null;
     if (available) {
       log.warn("cancel: Cancelling validation job '{}'... {}", jobId, formatStats());
-      val cancelled = jobHandle.cancel(true);
+      val cancelled = slot.getHandle().cancel(true);
+      if (cancelled && slot.claim()) {
+        // Never started so the slot would otherwise leak
+        slot.release();
+      }
+
       log.warn("cancel: Finished cancelling validation job '{}'. cancelled = {} {}",
           new Object[] { jobId, cancelled, formatStats() });
 
@@ -167,13 +230,24 @@ public class ValidationExecutor {
     return jobHandle;
   }
 
+  private void notifySlotListeners() {
+    for (val listener : slotListeners) {
+      try {
+        listener.run();
+      } catch (Throwable t) {
+        log.error("Error notifying slot listener: ", t);
+      }
+    }
+  }
+
   /**
    * Gets basic job statistics about the underlying pool.
    * 
    * @return a formatted statistics string
    */
   private String formatStats() {
-    return format("Executing job(s): %s job", getJobPool().getActiveCount());
+    return format("Executing job(s): %s job, available slot(s): %s", getJobPool().getActiveCount(),
+        getSlots().availablePermits());
   }
 
   /**
@@ -184,15 +258,9 @@ public class ValidationExecutor {
     // Bind all pool sizes to this value
     val poolSize = maxConcurrentValidations;
 
-    // From the Javadoc:
-    //
-    // "A blocking queue in which each insert operation must wait for a corresponding remove operation by another
-    // thread, and vice versa. A synchronous queue does not have any internal capacity, not even a capacity of one."
-    //
-    // We need these semantics because we want the total number of "slots" to be as defined in the constructor. This
-    // ensures the queue length is always zero and the thread pool size at most {@param maxConcurrentValidations}
-    // threads.
-    val queue = new SynchronousQueue<Runnable>();
+    // Admission is controlled by the slot semaphore so this queue only ever holds jobs that already own a slot and are
+    // waiting for a pool thread to finish unwinding.
+    val queue = new LinkedBlockingQueue<Runnable>();
 
     return new ThreadPoolExecutor(
         poolSize, poolSize, // Core and max are the same
@@ -200,21 +268,57 @@ public class ValidationExecutor {
         queue,
 
         // Name the threads for logging and diagnostics
-        new ThreadFactoryBuilder().setNameFormat("validation-slot-%s").build(),
+        new ThreadFactoryBuilder().setNameFormat("validation-slot-%s").build());
+  }
 
-        // Need this to get a customized exception when "slots" are full
-        new RejectedExecutionHandler() {
+  /**
+   * A submitted job and the slot it holds.
+   */
+  @RequiredArgsConstructor
+  private class Slot implements Runnable {
+
+    private final String jobId;
+    private final Runnable job;
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    @Getter
+    private volatile Future<?> handle;
+
+    void setHandle(Future<?> handle) {
+      this.handle = handle;
+    }
 
-          @Override
-          public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
-            val message = format("Pool limit of %s concurrent validations reached. Validation rejected.", poolSize);
-            log.warn(message);
+    /**
+     * Claims the right to start (or to release on behalf of) this job. Only the first caller wins.
+     */
+    boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
 
-            // Raison d'être
-            throw new ValidationRejectedException(message);
-          }
+    void release() {
+      if (released.compareAndSet(false, true)) {
+        getJobSlots().remove(jobId);
+        getSlots().release();
+        notifySlotListeners();
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!claim()) {
+        // Cancelled before it started
+        return;
+      }
+
+      try {
+        job.run();
+      } finally {
+        release();
+      }
+    }
 
-        });
   }
 
 }
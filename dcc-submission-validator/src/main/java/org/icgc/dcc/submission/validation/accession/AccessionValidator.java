@@ -19,17 +19,20 @@ package org.icgc.dcc.submission.validation.accession;
 
 import static org.icgc.dcc.common.core.util.Splitters.COLON;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
-import static org.icgc.dcc.submission.core.parser.SubmissionFileParsers.newMapFileParser;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableSet;
+import static org.icgc.dcc.submission.core.parser.SubmissionFileParsers.newRecordFileParser;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.RAW_DATA_ACCESSION_FIELD_NAME;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getAnalysisId;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getRawDataAccession;
 import static org.icgc.dcc.submission.validation.accession.core.AccessionFields.getRawDataRepository;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.DataType;
@@ -37,20 +40,29 @@ import org.icgc.dcc.common.core.model.FeatureTypes.FeatureType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.ega.model.EGAAccessionType;
 import org.icgc.dcc.common.hadoop.parser.FileParser;
+import org.icgc.dcc.submission.core.parser.FieldIndexedRecord;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Term;
 import org.icgc.dcc.submission.dictionary.util.CodeLists;
 import org.icgc.dcc.submission.validation.accession.core.AccessionDictionary;
 import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator;
+import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator.Result;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
 import org.icgc.dcc.submission.validation.rgv.report.TupleStateWriter;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -94,6 +106,11 @@ public class AccessionValidator implements Validator {
     return "Accession Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class);
+  }
+
   @Override
   public void validate(@NonNull ValidationContext context) throws InterruptedException {
     log.info("Starting...");
@@ -108,10 +125,12 @@ public class AccessionValidator implements Validator {
     validateMeta(context);
   }
 
-  private void validateMeta(ValidationContext context) {
+  private void validateMeta(ValidationContext context) throws InterruptedException {
     // Find all validatable, requested meta file types
     val metaFileTypes = resolveMetaFileTypes(context);
 
+    // Collect the records of all meta files first so that each file accession is only looked up once per submission
+    val metaFileRecords = Maps.<Path, List<AccessionRecord>> newLinkedHashMap();
     for (val metaFileType : metaFileTypes) {
       try {
         val metaFiles = context.getFiles(metaFileType);
@@ -126,42 +145,49 @@ public class AccessionValidator implements Validator {
         }
 
         val metaFileParser = createMetaFileParser(context, metaFileType);
-        validateMetaFileType(context, metaFiles, metaFileParser);
+        for (val metaFile : metaFiles) {
+          metaFileRecords.put(metaFile, readMetaFile(context, metaFile, metaFileParser));
+        }
       } catch (Exception e) {
         log.error("Error validating file type: {}: ", metaFileType, e);
         throw e;
       }
     }
-  }
 
-  private void validateMetaFileType(ValidationContext context, List<Path> metaFiles,
-      FileParser<Map<String, String>> metaFileParser) {
-    for (val metaFile : metaFiles) {
-      try {
-        // TODO: Verify that this is required
-        @Cleanup
-        val writer = createTupleStateWriter(context, metaFile);
-
-        // Get to work
-        log.info("Performing accession validation on meta file '{}' for '{}'", metaFile, context.getProjectKey());
-        validateMetaFile(context, metaFile, metaFileParser, writer);
-        log.info("Finished performing accession validation for '{}'", context.getProjectKey());
-      } catch (Exception e) {
-        throw new RuntimeException("Error validating accession: meta file " + metaFile, e);
-      }
+    // [Existence] Look up the distinct file accessions of all meta files at once
+    Set<String> fileIds = metaFileRecords.values().stream()
+        .flatMap(List::stream)
+        .flatMap(record -> record.getFileIds().stream())
+        .collect(toImmutableSet());
+    val results = egaValidator.validate(fileIds);
+
+    for (val entry : metaFileRecords.entrySet()) {
+      validateMetaFile(context, entry.getKey(), entry.getValue(), results);
     }
   }
 
   @SneakyThrows
-  private void validateMetaFile(ValidationContext context, Path filePath,
-      FileParser<Map<String, String>> fileParser, TupleStateWriter writer) {
-    // Validate all records
-    fileParser.parse(filePath, (long lineNumber, Map<String, String> record) -> validateMetaFileRecord(
-        context, writer, filePath.getName(), lineNumber, record, resolveEGATerm(context)));
+  private List<AccessionRecord> readMetaFile(ValidationContext context, Path filePath,
+      FileParser<FieldIndexedRecord> fileParser) {
+    val egaTerm = resolveEGATerm(context);
+    val records = ImmutableList.<AccessionRecord> builder();
+
+    log.info("Reading accessions of meta file '{}' for '{}'", filePath, context.getProjectKey());
+    fileParser.parse(filePath, (long lineNumber, FieldIndexedRecord record) -> {
+      AccessionRecord accessionRecord = readMetaFileRecord(context, lineNumber, record, egaTerm);
+      if (accessionRecord != null) {
+        records.add(accessionRecord);
+      }
+    });
+
+    return records.build();
   }
 
-  private void validateMetaFileRecord(ValidationContext context, TupleStateWriter writer, String fileName,
-      long lineNumber, Map<String, String> record, Term egaTerm) throws IOException {
+  /**
+   * Returns the record if its accessions require validation, {@code null} otherwise.
+   */
+  private AccessionRecord readMetaFileRecord(ValidationContext context, long lineNumber, FieldIndexedRecord record,
+      Term egaTerm) {
     // Cooperate
     checkInterrupted(getName());
 
@@ -172,23 +198,48 @@ public class AccessionValidator implements Validator {
 
     // Currently only EGA validation is supported
     if (!isEGA(egaTerm, rawDataRepository)) {
-      return;
+      return null;
     }
 
     // Apply whitelist to exclude historical "grandfathered" records
     if (dictionary.isExcluded(context.getProjectKey(), analysisId)) {
-      return;
+      return null;
     }
 
     // Parse and resolve only the the file accessions
     val fileIds = resolveFileAccessions(rawDataAccession);
 
+    return new AccessionRecord(lineNumber, analysisId, rawDataRepository, rawDataAccession, fileIds);
+  }
+
+  private void validateMetaFile(ValidationContext context, Path metaFile, List<AccessionRecord> records,
+      Map<String, Result> results) {
+    try {
+      // TODO: Verify that this is required
+      @Cleanup
+      val writer = createTupleStateWriter(context, metaFile);
+
+      // Get to work
+      log.info("Performing accession validation on meta file '{}' for '{}'", metaFile, context.getProjectKey());
+      for (val record : records) {
+        validateMetaFileRecord(context, writer, metaFile.getName(), record, results);
+      }
+      log.info("Finished performing accession validation for '{}'", context.getProjectKey());
+    } catch (Exception e) {
+      throw new RuntimeException("Error validating accession: meta file " + metaFile, e);
+    }
+  }
+
+  private void validateMetaFileRecord(ValidationContext context, TupleStateWriter writer, String fileName,
+      AccessionRecord record, Map<String, Result> results) throws IOException {
+    val lineNumber = record.getLineNumber();
+
     // [Presence] Ensure at least one file accession is specified
-    if (fileIds.isEmpty()) {
+    if (record.getFileIds().isEmpty()) {
       val type = ErrorType.FILE_ACCESSION_MISSING;
-      val value = rawDataAccession;
+      val value = record.getRawDataAccession();
       val columnName = RAW_DATA_ACCESSION_FIELD_NAME;
-      val param = analysisId;
+      val param = record.getAnalysisId();
 
       reportError(context, writer, fileName, lineNumber, type, value, columnName, param);
 
@@ -196,11 +247,11 @@ public class AccessionValidator implements Validator {
     }
 
     // [Existence] Ensure file accession exists when specified
-    for (val fileId : fileIds) {
-      val result = egaValidator.validate(fileId);
+    for (val fileId : record.getFileIds()) {
+      val result = results.get(fileId);
       if (!result.isValid()) {
         val type = ErrorType.FILE_ACCESSION_INVALID;
-        val value = rawDataRepository;
+        val value = record.getRawDataRepository();
         val columnName = RAW_DATA_ACCESSION_FIELD_NAME;
         val param = result.getReason();
 
@@ -260,9 +311,23 @@ public class AccessionValidator implements Validator {
         context.getFileSystem(), new Path(context.getSubmissionDirectory().getValidationDirPath()), file);
   }
 
-  private static FileParser<Map<String, String>> createMetaFileParser(ValidationContext context,
+  private static FileParser<FieldIndexedRecord> createMetaFileParser(ValidationContext context,
       FileType metaFileType) {
-    return newMapFileParser(context.getFileSystem(), context.getFileSchema(metaFileType));
+    return newRecordFileParser(context.getFileSystem(), context.getFileSchema(metaFileType));
+  }
+
+  /**
+   * The fields of an EGA meta file record needed for accession validation.
+   */
+  @Value
+  private static class AccessionRecord {
+
+    long lineNumber;
+    String analysisId;
+    String rawDataRepository;
+    String rawDataAccession;
+    List<String> fileIds;
+
   }
 
 }
\ No newline at end of file
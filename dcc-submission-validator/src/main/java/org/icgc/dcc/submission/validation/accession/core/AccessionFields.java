@@ -19,7 +19,7 @@ package org.icgc.dcc.submission.validation.accession.core;
 
 import static lombok.AccessLevel.PRIVATE;
 
-import java.util.Map;
+import org.icgc.dcc.submission.core.parser.FieldIndexedRecord;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -34,16 +34,16 @@ public class AccessionFields {
   public static final String RAW_DATA_REPOSITORY_FIELD_NAME = "raw_data_repository";
   public static final String RAW_DATA_ACCESSION_FIELD_NAME = "raw_data_accession";
 
-  public static String getAnalysisId(@NonNull Map<String, String> record) {
-    return record.get(ANALYSIS_ID_FIELD_NAME);
+  public static String getAnalysisId(@NonNull FieldIndexedRecord record) {
+    return record.getString(ANALYSIS_ID_FIELD_NAME);
   }
 
-  public static String getRawDataRepository(@NonNull Map<String, String> record) {
-    return record.get(RAW_DATA_REPOSITORY_FIELD_NAME);
+  public static String getRawDataRepository(@NonNull FieldIndexedRecord record) {
+    return record.getString(RAW_DATA_REPOSITORY_FIELD_NAME);
   }
 
-  public static String getRawDataAccession(@NonNull Map<String, String> record) {
-    return record.get(RAW_DATA_ACCESSION_FIELD_NAME);
+  public static String getRawDataAccession(@NonNull FieldIndexedRecord record) {
+    return record.getString(RAW_DATA_ACCESSION_FIELD_NAME);
   }
 
 }
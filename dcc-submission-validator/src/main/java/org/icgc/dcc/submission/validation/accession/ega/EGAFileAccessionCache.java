@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.accession.ega;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local cache of EGA file accessions that were found to exist, to avoid looking them up again on every validation.
+ * <p>
+ * Only existence is cached. Files that could not be found are always looked up again since they may have been uploaded
+ * to EGA since. Entries expire after the configured TTL to eventually pick up files withdrawn from EGA.
+ * <p>
+ * When a file is configured the cache survives restarts: it is loaded on construction and written back on
+ * {@link #save()} if accessions were added since. Thread-safe.
+ */
+@Slf4j
+public class EGAFileAccessionCache {
+
+  /**
+   * Configuration.
+   */
+  private final Optional<File> file;
+  private final long ttlMillis;
+
+  /**
+   * State.
+   */
+  private final ConcurrentMap<String, Long> verified = Maps.newConcurrentMap();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+
+  public EGAFileAccessionCache(long ttl, @NonNull TimeUnit unit) {
+    this(Optional.<File> absent(), ttl, unit);
+  }
+
+  public EGAFileAccessionCache(@NonNull File file, long ttl, @NonNull TimeUnit unit) {
+    this(Optional.of(file), ttl, unit);
+  }
+
+  private EGAFileAccessionCache(Optional<File> file, long ttl, TimeUnit unit) {
+    this.file = file;
+    this.ttlMillis = unit.toMillis(ttl);
+    load();
+  }
+
+  public boolean isValid(@NonNull String fileId) {
+    val timestamp = verified.get(fileId);
+
+    return timestamp != null && !isExpired(timestamp, currentTimeMillis());
+  }
+
+  public void putValid(@NonNull String fileId) {
+    verified.put(fileId, currentTimeMillis());
+    dirty.set(true);
+  }
+
+  public int size() {
+    return verified.size();
+  }
+
+  /**
+   * Writes the unexpired entries to the cache file, if any and if accessions were added since the last save.
+   */
+  @SneakyThrows
+  public synchronized void save() {
+    if (!file.isPresent() || !dirty.getAndSet(false)) {
+      return;
+    }
+
+    val now = currentTimeMillis();
+    verified.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+
+    // Replace atomically so that a crash never leaves a partial cache behind
+    val target = file.get().toPath();
+    val temp = new File(file.get().getPath() + ".tmp").toPath();
+    try {
+      DEFAULT.writeValue(temp.toFile(), Maps.newTreeMap(verified));
+      Files.move(temp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (Throwable t) {
+      // Try again on the next save
+      dirty.set(true);
+      throw t;
+    }
+
+    log.info("Saved {} EGA file accession(s) to '{}'", verified.size(), target);
+  }
+
+  private void load() {
+    if (!file.isPresent() || !file.get().exists()) {
+      return;
+    }
+
+    try {
+      Map<String, Long> entries = DEFAULT.readValue(file.get(), new TypeReference<Map<String, Long>>() {});
+      val now = currentTimeMillis();
+      for (val entry : entries.entrySet()) {
+        if (!isExpired(entry.getValue(), now)) {
+          verified.put(entry.getKey(), entry.getValue());
+        }
+      }
+
+      log.info("Loaded {} EGA file accession(s) from '{}'", verified.size(), file.get());
+    } catch (Exception e) {
+      // The cache is only an optimization, start over
+      log.warn("Could not read EGA file accession cache '{}', ignoring: {}", file.get(), e.getMessage());
+    }
+  }
+
+  private boolean isExpired(long timestamp, long now) {
+    return now - timestamp >= ttlMillis;
+  }
+
+}
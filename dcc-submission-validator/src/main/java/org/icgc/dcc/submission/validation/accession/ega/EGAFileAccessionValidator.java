@@ -17,7 +17,23 @@
  */
 package org.icgc.dcc.submission.validation.accession.ega;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.propagate;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.icgc.dcc.common.ega.client.EGAClient;
 import org.icgc.dcc.common.ega.client.EGAEntityNotFoundException;
@@ -25,9 +41,12 @@ import org.icgc.dcc.common.ega.client.EGANotAuthorizedException;
 import org.icgc.dcc.common.ega.model.EGAAccessionType;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -45,40 +64,241 @@ import lombok.extern.slf4j.Slf4j;
  * </ul>
  * This ambiguity implies that existence can be certain where as non-existence is most likely true if the DAC of the
  * {@link EGAClient} has access to the corresponding study's dataset.
+ * <p>
+ * A single session is shared by all lookups. It is refreshed once it is older than the session timeout, and once when a
+ * lookup is rejected as unauthorized since the session may have expired early. Lookups of a batch are de-duplicated,
+ * answered from the {@link EGAFileAccessionCache} when possible and otherwise performed by at most
+ * {@code parallelism} concurrent requests, retrying failures (e.g. rate limiting) with exponential back off.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class EGAFileAccessionValidator {
 
+  /**
+   * Constants.
+   */
+  private static final int DEFAULT_PARALLELISM = 1;
+  private static final long DEFAULT_SESSION_TIMEOUT_MILLIS = MINUTES.toMillis(30);
+  private static final int DEFAULT_MAX_ATTEMPTS = 5;
+  private static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
   /**
    * Dependencies.
    */
   @NonNull
   private final EGAClient client;
+  @NonNull
+  private final EGAFileAccessionCache cache;
+
+  /**
+   * Configuration.
+   */
+  private final int parallelism;
+  private final long sessionTimeoutMillis;
+  private final int maxAttempts;
+  private final long retryDelayMillis;
+
+  /**
+   * State.
+   * <p>
+   * Lookups hold the read lock so that the session is never replaced under an in-flight request.
+   */
+  private final ReadWriteLock sessionLock = new ReentrantReadWriteLock();
+  private volatile long sessionTime = -1;
+  private volatile long sessionGeneration;
+
+  public EGAFileAccessionValidator(EGAClient client) {
+    this(client, new EGAFileAccessionCache(1, DAYS), DEFAULT_PARALLELISM);
+  }
+
+  public EGAFileAccessionValidator(EGAClient client, EGAFileAccessionCache cache, int parallelism) {
+    this(client, cache, parallelism, DEFAULT_SESSION_TIMEOUT_MILLIS, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY_MILLIS);
+  }
+
+  public EGAFileAccessionValidator(@NonNull EGAClient client, @NonNull EGAFileAccessionCache cache, int parallelism,
+      long sessionTimeoutMillis, int maxAttempts, long retryDelayMillis) {
+    checkArgument(parallelism > 0, "Parallelism must be positive: %s", parallelism);
+    checkArgument(maxAttempts > 0, "Max attempts must be positive: %s", maxAttempts);
+    this.client = client;
+    this.cache = cache;
+    this.parallelism = parallelism;
+    this.sessionTimeoutMillis = sessionTimeoutMillis;
+    this.maxAttempts = maxAttempts;
+    this.retryDelayMillis = retryDelayMillis;
+  }
 
-  public Result validate(String fileId) {
+  /**
+   * Validates a single {@code fileId}. The cache is not saved, a found accession is persisted by the next batch
+   * validation.
+   */
+  public Result validate(@NonNull String fileId) {
     checkFileAccession(fileId);
+    if (cache.isValid(fileId)) {
+      return valid();
+    }
+
     try {
-      val file = getFile(fileId);
-      log.debug("Found file: {}", file);
+      return lookup(fileId);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw propagate(e);
+    }
+  }
 
-      return valid();
-    } catch (EGAEntityNotFoundException e) {
-      log.warn("Could not find file with id: {}: {}", fileId, e.getMessage());
-      return invalid(e.getMessage());
-    } catch (EGANotAuthorizedException e) {
-      log.warn("Not authorized to access file with id: {}: {}", fileId, e.getMessage());
-      return invalid(e.getMessage());
-    } catch (Exception e) {
-      log.error("Unexpected error getting file " + fileId + ": ", e);
-      throw e;
+  /**
+   * Validates the distinct {@code fileIds} concurrently, then saves the cache once if accessions were found.
+   * 
+   * @return the result of each distinct file id
+   */
+  public Map<String, Result> validate(@NonNull Collection<String> fileIds) throws InterruptedException {
+    val distinct = ImmutableSet.copyOf(fileIds);
+    val results = ImmutableMap.<String, Result> builder();
+    val pending = Lists.<String> newArrayList();
+    for (val fileId : distinct) {
+      checkFileAccession(fileId);
+      if (cache.isValid(fileId)) {
+        results.put(fileId, valid());
+      } else {
+        pending.add(fileId);
+      }
+    }
+
+    log.info("Validating {} distinct EGA file accession(s), {} of which are not cached",
+        distinct.size(), pending.size());
+    if (pending.isEmpty()) {
+      cache.save();
+      return results.build();
+    }
+
+    val executor = createExecutor(min(parallelism, pending.size()));
+    try {
+      val futures = Lists.<Future<Result>> newArrayListWithCapacity(pending.size());
+      for (String fileId : pending) {
+        futures.add(executor.submit(() -> lookup(fileId)));
+      }
+
+      for (int i = 0; i < pending.size(); i++) {
+        results.put(pending.get(i), getResult(futures.get(i)));
+      }
+    } finally {
+      executor.shutdownNow();
+      cache.save();
+    }
+
+    return results.build();
+  }
+
+  private Result lookup(String fileId) throws InterruptedException {
+    boolean refreshed = false;
+    int attempt = 1;
+    while (true) {
+      val generation = ensureSession();
+      try {
+        val file = getFile(fileId);
+        log.debug("Found file: {}", file);
+        cache.putValid(fileId);
+
+        return valid();
+      } catch (EGAEntityNotFoundException e) {
+        log.warn("Could not find file with id: {}: {}", fileId, e.getMessage());
+        return invalid(e.getMessage());
+      } catch (EGANotAuthorizedException e) {
+        if (!refreshed) {
+          // The session may have expired, try once more with a new one. Since EGA also answers 401 for missing
+          // files this costs an extra login per invalid accession, which are expected to be rare
+          refreshed = true;
+          refreshSession(generation);
+          continue;
+        }
+
+        log.warn("Not authorized to access file with id: {}: {}", fileId, e.getMessage());
+        return invalid(e.getMessage());
+      } catch (Exception e) {
+        if (attempt >= maxAttempts) {
+          log.error("Unexpected error getting file " + fileId + " after " + attempt + " attempt(s): ", e);
+          throw e;
+        }
+
+        val delay = retryDelayMillis << (attempt - 1);
+        log.warn("Error getting file {} on attempt {}, retrying in {} ms: {}",
+            new Object[] { fileId, attempt, delay, e.getMessage() });
+        attempt++;
+        Thread.sleep(delay);
+      }
     }
   }
 
   private ArrayNode getFile(String fileId) {
-    // Always need to login
+    val lock = sessionLock.readLock();
+    lock.lock();
+    try {
+      return client.getFile(fileId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Logs in if there is no session or it timed out.
+   * 
+   * @return the generation of the current session
+   */
+  private long ensureSession() {
+    if (!isSessionExpired()) {
+      return sessionGeneration;
+    }
+
+    val lock = sessionLock.writeLock();
+    lock.lock();
+    try {
+      if (isSessionExpired()) {
+        login();
+      }
+
+      return sessionGeneration;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Logs in again unless another lookup already replaced the session of {@code generation}.
+   */
+  private void refreshSession(long generation) {
+    val lock = sessionLock.writeLock();
+    lock.lock();
+    try {
+      if (sessionGeneration == generation) {
+        login();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean isSessionExpired() {
+    return sessionTime < 0 || currentTimeMillis() - sessionTime >= sessionTimeoutMillis;
+  }
+
+  private void login() {
+    log.info("Logging in to EGA...");
     client.login();
-    return client.getFile(fileId);
+    sessionTime = currentTimeMillis();
+    sessionGeneration++;
+  }
+
+  private static Result getResult(Future<Result> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw propagate(e.getCause());
+    }
+  }
+
+  private static ExecutorService createExecutor(int threads) {
+    // Prefix with the validation's thread name to keep the logs traceable
+    val nameFormat = currentThread().getName() + "-ega-%s";
+
+    return newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
   }
 
   private static void checkFileAccession(String fileId) {
@@ -61,6 +61,16 @@ public class TupleState implements Serializable {
     this.offset = offset;
   }
 
+  /**
+   * Used by {@link TupleStateSerialization} to restore a serialized instance.
+   */
+  TupleState(long offset, List<TupleError> errors, boolean structurallyValid, Set<String> missingFieldNames) {
+    this.offset = offset;
+    this.errors = errors;
+    this.structurallyValid = structurallyValid;
+    this.missingFieldNames.addAll(missingFieldNames);
+  }
+
   public void reportError(ErrorType type, List<String> columnNames, Object values, Object... params) {
     checkArgument(type != null);
     ensureErrors().add(new TupleError(type, columnNames, values, this.getOffset(), type.build(params)));
@@ -126,6 +136,17 @@ public class TupleState implements Serializable {
     return this.missingFieldNames.contains(fieldName);
   }
 
+  Set<String> getMissingFieldNames() {
+    return missingFieldNames;
+  }
+
+  /**
+   * Returns the errors without instantiating them, may be {@code null}.
+   */
+  List<TupleError> getErrorsOrNull() {
+    return errors;
+  }
+
   /**
    * Used to lazily instantiate the errors list. This method never returns {@code null}.
    */
@@ -162,7 +183,7 @@ public class TupleState implements Serializable {
       this(type, columnNames, 0, value, line, parameters);
     }
 
-    private TupleError(ErrorType type, List<String> columnNames, int number, Object value, Long line,
+    TupleError(ErrorType type, List<String> columnNames, int number, Object value, Long line,
         Map<ErrorParameterKey, Object> parameters) {
       this.type = type;
       this.number = number;
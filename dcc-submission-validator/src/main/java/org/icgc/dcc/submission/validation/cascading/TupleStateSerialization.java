@@ -17,7 +17,16 @@
  */
 package org.icgc.dcc.submission.validation.cascading;
 
+import static org.apache.hadoop.io.WritableComparator.compareBytes;
+import static org.apache.hadoop.io.WritableComparator.readVInt;
+import static org.apache.hadoop.io.WritableComparator.readVLong;
+import static org.apache.hadoop.io.WritableUtils.decodeVIntSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,25 +34,59 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.WritableUtils;
 import org.apache.hadoop.io.serializer.Deserializer;
 import org.apache.hadoop.io.serializer.Serialization;
 import org.apache.hadoop.io.serializer.Serializer;
+import org.icgc.dcc.submission.core.report.ErrorParameterKey;
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import cascading.CascadingException;
 import cascading.tuple.Comparison;
 import cascading.tuple.StreamComparator;
 import cascading.tuple.hadoop.SerializationToken;
 import cascading.tuple.hadoop.io.BufferedInputStream;
+import lombok.val;
 
+/**
+ * Compact binary {@link Serialization} for {@link TupleState}s.
+ * <p>
+ * Each state is written as a length-prefixed, self-contained record:
+ *
+ * <pre>
+ * vint   length of what follows
+ * vlong  offset
+ * byte   flags (structurally valid, has errors)
+ * vint   string count, followed by the strings (column names, missing field names and string values)
+ * vint   missing field names bitset length, followed by the bitset over the strings above
+ * vint   error count, followed by the errors (varint error code, string indices, number, tagged value, tagged line
+ *        and tagged parameters)
+ * </pre>
+ *
+ * Records do not share any dictionary so that Hadoop is free to move their raw bytes around (e.g. when merging
+ * spills). The length prefix allows {@link TupleStateComparator} to work on raw bytes.
+ */
 @SerializationToken(tokens = { 222 }, classNames = { "org.icgc.dcc.submission.validation.cascading.TupleState" })
 public class TupleStateSerialization extends Configured implements Comparison<TupleState>, Serialization<TupleState> {
 
   public static class TupleStateDeserializer implements Deserializer<TupleState> {
 
+    private final TupleStateCodec codec = new TupleStateCodec();
     private DataInputStream in;
 
     @Override
@@ -57,14 +100,10 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
     @Override
     public TupleState deserialize(TupleState t) throws IOException {
-      ObjectInputStream output = new ObjectInputStream(in);
-      TupleState tupleState = null;
-      try {
-        tupleState = (TupleState) output.readObject();
-      } catch (ClassNotFoundException e) {
-        e.printStackTrace();
-      }
-      return tupleState;
+      // Length is only needed for raw comparisons
+      WritableUtils.readVInt(in);
+
+      return codec.decode(in);
     }
 
     @Override
@@ -76,6 +115,7 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
   public static class TupleStateSerializer implements Serializer<TupleState> {
 
+    private final TupleStateCodec codec = new TupleStateCodec();
     private DataOutputStream out;
 
     @Override
@@ -89,8 +129,9 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
     @Override
     public void serialize(TupleState t) throws IOException {
-      ObjectOutputStream outputStream = new ObjectOutputStream(out);
-      outputStream.writeObject(t);
+      val record = codec.encode(t);
+      WritableUtils.writeVInt(out, record.getLength());
+      out.write(record.getData(), 0, record.getLength());
     }
 
     @Override
@@ -100,11 +141,21 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
   }
 
+  /**
+   * Orders by offset then by serialized content, both on objects and on raw bytes.
+   */
   public static class TupleStateComparator implements StreamComparator<BufferedInputStream>, Comparator<TupleState>,
       Serializable {
 
+    private transient TupleStateCodec lhsCodec;
+    private transient TupleStateCodec rhsCodec;
+
     @Override
     public int compare(TupleState lhs, TupleState rhs) {
+      if (lhs == null && rhs == null) {
+        return 0;
+      }
+
       if (lhs == null) {
         return -1;
       }
@@ -113,7 +164,26 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
         return 1;
       }
 
-      return 0;
+      int compared = Long.compare(lhs.getOffset(), rhs.getOffset());
+      if (compared != 0) {
+        return compared;
+      }
+
+      if (lhsCodec == null) {
+        lhsCodec = new TupleStateCodec();
+        rhsCodec = new TupleStateCodec();
+      }
+
+      try {
+        val lhsRecord = lhsCodec.encode(lhs);
+        val rhsRecord = rhsCodec.encode(rhs);
+
+        return compareBytes(
+            lhsRecord.getData(), 0, lhsRecord.getLength(),
+            rhsRecord.getData(), 0, rhsRecord.getLength());
+      } catch (IOException exception) {
+        throw new CascadingException(exception);
+      }
     }
 
     @Override
@@ -131,14 +201,32 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
           return 1;
         }
 
-        String lhsString = WritableUtils.readString(new DataInputStream(lhsStream));
-        String rhsString = WritableUtils.readString(new DataInputStream(rhsStream));
+        val lhsBytes = lhsStream.getBuffer();
+        int lhsPosition = lhsStream.getPosition();
+        int lhsLength = readVInt(lhsBytes, lhsPosition);
+        int lhsStart = lhsPosition + decodeVIntSize(lhsBytes[lhsPosition]);
 
-        return lhsString.compareTo(rhsString);
+        val rhsBytes = rhsStream.getBuffer();
+        int rhsPosition = rhsStream.getPosition();
+        int rhsLength = readVInt(rhsBytes, rhsPosition);
+        int rhsStart = rhsPosition + decodeVIntSize(rhsBytes[rhsPosition]);
+
+        // Always consume both records, whatever the outcome
+        lhsStream.skip(lhsStart - lhsPosition + lhsLength);
+        rhsStream.skip(rhsStart - rhsPosition + rhsLength);
+
+        // Offset is the first field of the record
+        int compared = Long.compare(readVLong(lhsBytes, lhsStart), readVLong(rhsBytes, rhsStart));
+        if (compared != 0) {
+          return compared;
+        }
+
+        return compareBytes(lhsBytes, lhsStart, lhsLength, rhsBytes, rhsStart, rhsLength);
       } catch (IOException exception) {
         throw new CascadingException(exception);
       }
     }
+
   }
 
   @Override
@@ -161,4 +249,304 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
     return new TupleStateComparator();
   }
 
+  /**
+   * Encodes and decodes the record payload (everything but the length prefix). Buffers are reused across calls so
+   * instances are not thread-safe.
+   */
+  static class TupleStateCodec {
+
+    /**
+     * Flags.
+     */
+    private static final int STRUCTURALLY_VALID = 1;
+    private static final int HAS_ERRORS = 2;
+
+    /**
+     * Value tags.
+     */
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int LONG = 2;
+    private static final int INTEGER = 3;
+    private static final int DOUBLE = 4;
+    private static final int FLOAT = 5;
+    private static final int TRUE = 6;
+    private static final int FALSE = 7;
+    private static final int LIST = 8;
+    private static final int OBJECT_ARRAY = 9;
+    private static final int SERIALIZED = 10;
+
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+    private static final ErrorParameterKey[] PARAMETER_KEYS = ErrorParameterKey.values();
+
+    /**
+     * Reusable state.
+     */
+    private final Map<String, Integer> strings = Maps.newLinkedHashMap();
+    private final DataOutputBuffer body = new DataOutputBuffer();
+    private final DataOutputBuffer record = new DataOutputBuffer();
+
+    /**
+     * Returns a buffer holding the encoded payload, only valid until the next call.
+     */
+    DataOutputBuffer encode(TupleState state) throws IOException {
+      strings.clear();
+      body.reset();
+      record.reset();
+
+      // Body first so that all the strings are known before writing the dictionary
+      val errors = state.getErrorsOrNull();
+      if (errors != null) {
+        WritableUtils.writeVInt(body, errors.size());
+        for (val error : errors) {
+          writeError(body, error);
+        }
+      }
+
+      val missingFieldNames = state.getMissingFieldNames();
+      for (val fieldName : missingFieldNames) {
+        intern(fieldName);
+      }
+
+      WritableUtils.writeVLong(record, state.getOffset());
+      record.writeByte((state.isStructurallyValid() ? STRUCTURALLY_VALID : 0) | (errors != null ? HAS_ERRORS : 0));
+
+      WritableUtils.writeVInt(record, strings.size());
+      for (val string : strings.keySet()) {
+        Text.writeString(record, string);
+      }
+
+      writeBitSet(record, missingFieldNames);
+      record.write(body.getData(), 0, body.getLength());
+
+      return record;
+    }
+
+    TupleState decode(DataInput in) throws IOException {
+      val offset = WritableUtils.readVLong(in);
+      val flags = in.readByte();
+
+      val count = WritableUtils.readVInt(in);
+      val table = new String[count];
+      for (int i = 0; i < count; i++) {
+        table[i] = Text.readString(in);
+      }
+
+      val missingFieldNames = readBitSet(in, table);
+
+      List<TupleError> errors = null;
+      if ((flags & HAS_ERRORS) != 0) {
+        val errorCount = WritableUtils.readVInt(in);
+        errors = Lists.newArrayListWithExpectedSize(Math.max(errorCount, 3));
+        for (int i = 0; i < errorCount; i++) {
+          errors.add(readError(in, table));
+        }
+      }
+
+      return new TupleState(offset, errors, (flags & STRUCTURALLY_VALID) != 0, missingFieldNames);
+    }
+
+    private void writeError(DataOutput out, TupleError error) throws IOException {
+      // Zero is reserved for a missing type
+      val type = error.getType();
+      WritableUtils.writeVInt(out, type == null ? 0 : type.ordinal() + 1);
+
+      val columnNames = error.getColumnNames();
+      WritableUtils.writeVInt(out, columnNames.size());
+      for (val columnName : columnNames) {
+        WritableUtils.writeVInt(out, intern(columnName));
+      }
+
+      WritableUtils.writeVInt(out, error.getNumber());
+      writeValue(out, error.getValue());
+      writeValue(out, error.getLine());
+
+      val parameters = error.getParameters();
+      WritableUtils.writeVInt(out, parameters.size());
+      for (val entry : parameters.entrySet()) {
+        WritableUtils.writeVInt(out, entry.getKey().ordinal());
+        writeValue(out, entry.getValue());
+      }
+    }
+
+    private static TupleError readError(DataInput in, String[] table) throws IOException {
+      val code = WritableUtils.readVInt(in);
+      ErrorType type = code == 0 ? null : ERROR_TYPES[code - 1];
+
+      val columnCount = WritableUtils.readVInt(in);
+      List<String> columnNames = Lists.newArrayListWithCapacity(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+        columnNames.add(table[WritableUtils.readVInt(in)]);
+      }
+
+      val number = WritableUtils.readVInt(in);
+      val value = readValue(in, table);
+      val line = (Long) readValue(in, table);
+
+      val parameterCount = WritableUtils.readVInt(in);
+      Map<ErrorParameterKey, Object> parameters = new LinkedHashMap<ErrorParameterKey, Object>();
+      for (int i = 0; i < parameterCount; i++) {
+        val key = PARAMETER_KEYS[WritableUtils.readVInt(in)];
+        parameters.put(key, readValue(in, table));
+      }
+
+      return new TupleError(type, columnNames, number, value, line, parameters);
+    }
+
+    private void writeValue(DataOutput out, Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(NULL);
+      } else if (value instanceof String) {
+        out.writeByte(STRING);
+        WritableUtils.writeVInt(out, intern((String) value));
+      } else if (value instanceof Long) {
+        out.writeByte(LONG);
+        WritableUtils.writeVLong(out, (Long) value);
+      } else if (value instanceof Integer) {
+        out.writeByte(INTEGER);
+        WritableUtils.writeVInt(out, (Integer) value);
+      } else if (value instanceof Double) {
+        out.writeByte(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (value instanceof Float) {
+        out.writeByte(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (value instanceof Boolean) {
+        out.writeByte((Boolean) value ? TRUE : FALSE);
+      } else if (value instanceof List) {
+        val list = (List<?>) value;
+        out.writeByte(LIST);
+        WritableUtils.writeVInt(out, list.size());
+        for (Object element : list) {
+          writeValue(out, element);
+        }
+      } else if (value.getClass() == Object[].class) {
+        val array = (Object[]) value;
+        out.writeByte(OBJECT_ARRAY);
+        WritableUtils.writeVInt(out, array.length);
+        for (Object element : array) {
+          writeValue(out, element);
+        }
+      } else {
+        // Anything else (e.g. sets, typed arrays) is rare enough to fall back on Java serialization
+        val bytes = new ByteArrayOutputStream();
+        val objectOutputStream = new ObjectOutputStream(bytes);
+        objectOutputStream.writeObject(value);
+        objectOutputStream.close();
+
+        out.writeByte(SERIALIZED);
+        WritableUtils.writeVInt(out, bytes.size());
+        out.write(bytes.toByteArray());
+      }
+    }
+
+    private static Object readValue(DataInput in, String[] table) throws IOException {
+      val tag = in.readByte();
+      switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return table[WritableUtils.readVInt(in)];
+      case LONG:
+        return WritableUtils.readVLong(in);
+      case INTEGER:
+        return WritableUtils.readVInt(in);
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case LIST: {
+        val size = WritableUtils.readVInt(in);
+        List<Object> list = new ArrayList<Object>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readValue(in, table));
+        }
+
+        return list;
+      }
+      case OBJECT_ARRAY: {
+        val size = WritableUtils.readVInt(in);
+        val array = new Object[size];
+        for (int i = 0; i < size; i++) {
+          array[i] = readValue(in, table);
+        }
+
+        return array;
+      }
+      case SERIALIZED: {
+        val bytes = new byte[WritableUtils.readVInt(in)];
+        in.readFully(bytes);
+
+        val objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+          return objectInputStream.readObject();
+        } catch (ClassNotFoundException e) {
+          throw new IOException(e);
+        } finally {
+          objectInputStream.close();
+        }
+      }
+      default:
+        throw new IOException("Unknown value tag: " + tag);
+      }
+    }
+
+    private void writeBitSet(DataOutput out, Set<String> missingFieldNames) throws IOException {
+      if (missingFieldNames.isEmpty()) {
+        WritableUtils.writeVInt(out, 0);
+        return;
+      }
+
+      int highest = 0;
+      for (val fieldName : missingFieldNames) {
+        highest = Math.max(highest, strings.get(fieldName));
+      }
+
+      val bits = new byte[highest / 8 + 1];
+      for (val fieldName : missingFieldNames) {
+        int index = strings.get(fieldName);
+        bits[index / 8] |= 1 << (index % 8);
+      }
+
+      WritableUtils.writeVInt(out, bits.length);
+      out.write(bits);
+    }
+
+    private static Set<String> readBitSet(DataInput in, String[] table) throws IOException {
+      val length = WritableUtils.readVInt(in);
+      if (length == 0) {
+        return Sets.<String> newHashSet();
+      }
+
+      val bits = new byte[length];
+      in.readFully(bits);
+
+      Set<String> missingFieldNames = Sets.newHashSet();
+      for (int index = 0; index < length * 8; index++) {
+        if ((bits[index / 8] & (1 << (index % 8))) != 0) {
+          missingFieldNames.add(table[index]);
+        }
+      }
+
+      return missingFieldNames;
+    }
+
+    private int intern(String string) {
+      val index = strings.get(string);
+      if (index != null) {
+        return index;
+      }
+
+      val next = strings.size();
+      strings.put(string, next);
+
+      return next;
+    }
+
+  }
+
 }
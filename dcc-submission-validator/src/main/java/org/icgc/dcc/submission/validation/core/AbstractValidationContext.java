@@ -38,6 +38,7 @@ import org.icgc.dcc.submission.fs.ReleaseFileSystem;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.report.LineIndex;
 
 import com.google.common.collect.ImmutableList;
 
@@ -170,7 +171,19 @@ public abstract class AbstractValidationContext implements ValidationContext {
   }
 
   @Override
-  public void reportLineNumbers(Path path) {
+  public void reportErrors(Iterable<Error> errors) {
+    for (val error : errors) {
+      reportError(error);
+    }
+  }
+
+  @Override
+  public void reportLineIndex(String fileName, LineIndex lineIndex) {
+    // No-op
+  }
+
+  @Override
+  public void reportLineNumbers(FileSystem fileSystem, Path path) {
     new UnsupportedOperationException();
   }
 
@@ -17,7 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.core;
 
-import static org.icgc.dcc.submission.validation.util.ValidationFileParsers.newMapFileParser;
+import static org.icgc.dcc.submission.validation.util.ValidationFileParsers.newRecordFileParser;
 
 import java.util.List;
 
@@ -44,13 +44,14 @@ public class ClinicalParser {
 
   @SneakyThrows
   private static List<Record> parseFileType(FileType fileType, ValidationContext context) {
-    val fileParser = newMapFileParser(context, fileType);
+    val fileParser = newRecordFileParser(context, fileType);
 
     val records = Lists.<Record> newArrayList();
     for (val file : context.getFiles(fileType)) {
       try {
         fileParser.parse(file, (lineNumber, fields) -> {
-          Record record = new Record(fields, fileType, file, lineNumber);
+          // Retained, so detach from the parser's reused record
+          Record record = new Record(fields.copy().asMap(), fileType, file, lineNumber);
 
           records.add(record);
         });
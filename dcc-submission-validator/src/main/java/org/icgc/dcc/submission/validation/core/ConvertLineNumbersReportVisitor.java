@@ -28,6 +28,7 @@ import org.icgc.dcc.submission.core.report.FieldErrorReport;
 import org.icgc.dcc.submission.core.report.FileReport;
 import org.icgc.dcc.submission.core.report.visitor.NoOpVisitor;
 import org.icgc.dcc.submission.validation.primary.report.ByteOffsetToLineNumber;
+import org.icgc.dcc.submission.validation.primary.report.LineIndex;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSet;
@@ -38,47 +39,65 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 /**
- * Needed for updating byte offsets to line numbers
+ * Needed for updating byte offsets to line numbers. All the offsets of the file are converted in one batch.
  */
 @RequiredArgsConstructor
 public class ConvertLineNumbersReportVisitor extends NoOpVisitor {
 
   @NonNull
   private final Path filePath;
+  @NonNull
+  private final ByteOffsetToLineNumber converter;
+  @NonNull
+  private final LineIndex lineIndex;
 
   @Override
   public void visit(FileReport fileReport) {
-    for (val errorReport : fileReport.getErrorReports()) {
-      if (!errorReport.isConverted()) {
-        convert(errorReport);
+    if (!fileReport.getFileName().equals(filePath.getName())) {
+      return;
+    }
 
-        // Remember we converted so that we don't do again
-        errorReport.setConverted(true);
-      }
+    val errorReports = getUnconvertedErrorReports(fileReport);
+    if (errorReports.isEmpty()) {
+      return;
     }
-  }
 
-  private void convert(ErrorReport errorReport) {
     // Convert byte offsets to line numbers
-    val mapping = createMapping(errorReport);
+    val mapping = createMapping(errorReports);
 
     // Is mapping needed?
     val needed = mapping.isPresent();
-    if (needed) {
-      // Update the report using the mapping
-      updateErrorReport(errorReport, mapping.get());
+    for (val errorReport : errorReports) {
+      if (needed) {
+        // Update the report using the mapping
+        updateErrorReport(errorReport, mapping.get());
+      }
+
+      // Remember we converted so that we don't do again
+      errorReport.setConverted(true);
     }
   }
 
-  private Optional<Map<Long, Long>> createMapping(ErrorReport errorReport) {
-    val offsets = ImmutableSet.<Long> builder();
+  private static List<ErrorReport> getUnconvertedErrorReports(FileReport fileReport) {
+    val errorReports = Lists.<ErrorReport> newArrayList();
+    for (val errorReport : fileReport.getErrorReports()) {
+      if (!errorReport.isConverted()) {
+        errorReports.add(errorReport);
+      }
+    }
 
-    val fieldErrorReports = errorReport.getFieldErrorReports();
-    for (val fieldErrorReport : fieldErrorReports) {
-      offsets.addAll(fieldErrorReport.getLineNumbers());
+    return errorReports;
+  }
+
+  private Optional<Map<Long, Long>> createMapping(List<ErrorReport> errorReports) {
+    val offsets = ImmutableSet.<Long> builder();
+    for (val errorReport : errorReports) {
+      for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
+        offsets.addAll(fieldErrorReport.getLineNumbers());
+      }
     }
 
-    val mapping = ByteOffsetToLineNumber.convert(filePath, offsets.build());
+    val mapping = converter.convert(filePath, offsets.build(), lineIndex, true);
     return fromNullable(mapping);
   }
 
@@ -99,4 +118,4 @@ public class ConvertLineNumbersReportVisitor extends NoOpVisitor {
     return lineNumbers;
   }
 
-}
\ No newline at end of file
+}
@@ -17,20 +17,33 @@
  */
 package org.icgc.dcc.submission.validation.core;
 
+import static com.google.common.collect.Maps.newConcurrentMap;
+
+import java.util.Map;
+
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.core.report.FieldReport;
 import org.icgc.dcc.submission.core.report.Report;
+import org.icgc.dcc.submission.validation.primary.report.ByteOffsetToLineNumber;
+import org.icgc.dcc.submission.validation.primary.report.LineIndex;
 
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Wraps and "adapts" a {@link Report}.
+ * <p>
+ * Report access is synchronized since independent validators may report concurrently.
  */
 @Value
 @RequiredArgsConstructor
+@ToString(exclude = "lineIndexes")
+@EqualsAndHashCode(exclude = "lineIndexes")
 public class DefaultReportContext implements ReportContext {
 
   /**
@@ -39,38 +52,62 @@ public class DefaultReportContext implements ReportContext {
   @NonNull
   Report report;
 
+  /**
+   * Line indexes of the files read so far, by file name.
+   */
+  Map<String, LineIndex> lineIndexes = newConcurrentMap();
+
   public DefaultReportContext() {
     this(new Report());
   }
 
   @Override
-  public void reportSummary(@NonNull String fileName, @NonNull String name, @NonNull String value) {
+  public synchronized void reportSummary(@NonNull String fileName, @NonNull String name, @NonNull String value) {
     report.addSummary(fileName, name, value);
   }
 
   @Override
-  public void reportField(@NonNull String fileName, @NonNull FieldReport fieldReport) {
+  public synchronized void reportField(@NonNull String fileName, @NonNull FieldReport fieldReport) {
     report.addFieldReport(fileName, fieldReport);
   }
 
   @Override
-  public void reportError(@NonNull Error error) {
+  public synchronized void reportError(@NonNull Error error) {
     report.addError(error);
   }
 
   @Override
-  public boolean hasErrors() {
+  public synchronized void reportErrors(@NonNull Iterable<Error> errors) {
+    report.addErrors(errors);
+  }
+
+  @Override
+  public synchronized boolean hasErrors() {
     return report.hasErrors();
   }
 
   @Override
-  public int getErrorCount() {
+  public synchronized int getErrorCount() {
     return report.getErrorCount();
   }
 
   @Override
-  public void reportLineNumbers(@NonNull Path filePath) {
-    report.accept(new ConvertLineNumbersReportVisitor(filePath));
+  public void reportLineIndex(@NonNull String fileName, @NonNull LineIndex lineIndex) {
+    lineIndexes.put(fileName, lineIndex);
+  }
+
+  @Override
+  public synchronized void reportLineNumbers(@NonNull FileSystem fileSystem, @NonNull Path filePath) {
+    LineIndex lineIndex = lineIndexes.get(filePath.getName());
+    if (lineIndex == null) {
+      // Fall back on scanning from the start of the file
+      lineIndex = new LineIndex();
+    }
+
+    report.accept(new ConvertLineNumbersReportVisitor(
+        filePath,
+        new ByteOffsetToLineNumber(fileSystem),
+        lineIndex));
   }
 
 }
@@ -150,7 +150,7 @@ public class DefaultValidationContext implements ValidationContext {
   }
 
   @Override
-  public SubmissionPlatformStrategy getPlatformStrategy() {
+  public synchronized SubmissionPlatformStrategy getPlatformStrategy() {
     if (platform == null) {
       // Round about way to get the inputs and outputs
       Path inputDir = new Path(getSubmissionDirectory().getSubmissionDirPath());
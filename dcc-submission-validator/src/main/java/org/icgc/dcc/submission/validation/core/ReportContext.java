@@ -17,10 +17,12 @@
  */
 package org.icgc.dcc.submission.validation.core;
 
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.core.report.FieldReport;
 import org.icgc.dcc.submission.core.report.Report;
+import org.icgc.dcc.submission.validation.primary.report.LineIndex;
 
 /**
  * "Encapsulated Context Object" class that insulates and decouples the validation logic from report collection and
@@ -58,10 +60,21 @@ public interface ReportContext {
    */
   void reportError(Error error);
 
+  /**
+   * Report validation errors in bulk, with the same effect as reporting them one at a time in iteration order.
+   */
+  void reportErrors(Iterable<Error> errors);
+
+  /**
+   * Records the sparse line index of a file built while streaming through it (e.g. during first-pass validation), to
+   * speed up subsequent calls to {@link #reportLineNumbers(FileSystem, Path)} for that file.
+   */
+  void reportLineIndex(String fileName, LineIndex lineIndex);
+
   /**
    * Allows the context an opportunity to update line numbers referenced in report elements.
    */
-  void reportLineNumbers(Path path);
+  void reportLineNumbers(FileSystem fileSystem, Path path);
 
   /**
    * Gets the submission report of the associated project under validation.
@@ -19,7 +19,6 @@ package org.icgc.dcc.submission.validation.core;
 
 import static com.google.common.base.Stopwatch.createUnstarted;
 import static org.apache.commons.lang.StringUtils.repeat;
-import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
 import java.util.List;
@@ -32,12 +31,12 @@ import com.google.common.base.Stopwatch;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.Value;
-import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * A {@code Validation} is a high level container which encapsulates the execution context of sequentially executed
- * {@link Validator}s.
+ * A {@code Validation} is a high level container which encapsulates the execution context of {@link Validator}s.
+ * Validators run in configuration order unless they declare {@link Validator#getDependencies()}, in which case
+ * independent ones run concurrently (see {@link ValidatorGraph}).
  */
 @Value
 @Slf4j
@@ -50,7 +49,7 @@ public class Validation {
   private final ValidationContext validationContext;
 
   /**
-   * Sequence of validators to apply to the {@link #validationContext}.
+   * Validators to apply to the {@link #validationContext}, in configuration order.
    */
   @NonNull
   private final List<Validator> validators;
@@ -80,7 +79,7 @@ public class Validation {
   }
 
   /**
-   * Executes the sequence of {@link #validators}
+   * Executes the {@link #validators}
    */
   @SneakyThrows
   public void execute() throws InterruptedException {
@@ -95,51 +94,10 @@ public class Validation {
     // Cooperate
     checkInterrupted(getClass().getSimpleName());
 
-    val n = validators.size();
-    int i = 1;
-    String name = null;
-    val watch = createUnstarted();
-
     try {
-      for (val validator : validators) {
-        name = validator.getName();
-
-        log.info(banner());
-        log.info("[" + i + "/" + n + "] > Starting '{}' for '{}'...", name, getId());
-        log.info(banner());
-
-        // Execute synchronously
-        watch.reset().start();
-        validator.validate(validationContext);
-        watch.stop();
-
-        log.info(banner());
-        log.info("[" + i + "/" + n + "] < Finished '{}' for '{}' in {}", new Object[] { name, getId(), watch });
-        log.info(banner());
-
-        val failure = validationContext.hasErrors();
-        if (failure) {
-          log.warn("Execution of '{}' for '{}' has {} errors",
-              new Object[] { name, getId(), formatCount(validationContext.getErrorCount()) });
-
-          // Abort validation pipeline
-          break;
-        }
-
-        // Cooperate
-        checkInterrupted(getClass().getSimpleName());
-
-        i++;
-      }
-
       // Indicate that validation has completed all steps
-      completed.set(i - 1 == n);
+      completed.set(new ValidatorGraph(getId(), validators).execute(validationContext));
     } catch (Throwable t) {
-      log.error(banner());
-      log.error("[" + i + "/" + n + "] < Finished with Exception '{}' for '{}' in {}",
-          new Object[] { name, getId(), watch });
-      log.error(banner());
-
       log.error("Exception running validation for: " + getId(), t);
 
       throw t;
@@ -17,6 +17,10 @@
  */
 package org.icgc.dcc.submission.validation.core;
 
+import java.util.Set;
+
+import com.google.common.base.Optional;
+
 /**
  * Unit of validation execution used with a {@link Validation}.
  */
@@ -35,4 +39,14 @@ public interface Validator {
    */
   void validate(ValidationContext context) throws InterruptedException;
 
+  /**
+   * Returns the validators that must have passed before this one may start. Validators that are not configured are
+   * ignored and validators without unmet dependencies may run concurrently.
+   * <p>
+   * Defaults to absent, meaning the validator runs after all validators configured before it.
+   */
+  default Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return Optional.absent();
+  }
+
 }
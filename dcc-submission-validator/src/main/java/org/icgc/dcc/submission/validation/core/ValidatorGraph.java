@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Stopwatch.createStarted;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.apache.commons.lang.StringUtils.repeat;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a list of {@link Validator}s as a dependency graph.
+ * <p>
+ * A validator starts as soon as all of its {@link Validator#getDependencies()} have passed, so independent validators
+ * run concurrently. Once any validator finishes with errors no further validators are started, though the ones already
+ * running are allowed to finish so that their errors are reported too.
+ */
+@Slf4j
+class ValidatorGraph {
+
+  /**
+   * Time allowed for cancelled validators to unwind before giving up on them.
+   */
+  private static final long TERMINATION_TIMEOUT_MINUTES = 1;
+
+  /**
+   * Configuration.
+   */
+  private final String id;
+  private final List<Validator> validators;
+
+  /**
+   * Prerequisites of each validator, all of which precede it in {@link #validators}.
+   */
+  private final Map<Validator, Set<Validator>> dependencies;
+
+  ValidatorGraph(@NonNull String id, @NonNull List<Validator> validators) {
+    this.id = id;
+    this.validators = ImmutableList.copyOf(validators);
+    this.dependencies = resolveDependencies(this.validators);
+  }
+
+  /**
+   * Executes the graph against {@code context}, blocking until all started validators have finished.
+   * 
+   * @return {@code true} if every validator ran and none reported errors
+   */
+  boolean execute(@NonNull final ValidationContext context) throws Throwable {
+    val n = validators.size();
+    val pending = Lists.newLinkedList(validators);
+    val passed = Sets.<Validator> newHashSet();
+    val running = Maps.<Future<Validator>, Validator> newHashMap();
+    val watches = Maps.<Validator, Stopwatch> newHashMap();
+
+    val pool = createPool();
+    val completion = new ExecutorCompletionService<Validator>(pool);
+    boolean failed = false;
+    try {
+      while (true) {
+        // Start everything that is ready
+        if (!failed) {
+          val iterator = pending.iterator();
+          while (iterator.hasNext()) {
+            final Validator validator = iterator.next();
+            if (passed.containsAll(dependencies.get(validator))) {
+              iterator.remove();
+
+              log.info(banner());
+              log.info("[" + position(validator) + "/" + n + "] > Starting '{}' for '{}'...", validator.getName(), id);
+              log.info(banner());
+
+              watches.put(validator, createStarted());
+              running.put(completion.submit(() -> {
+                validator.validate(context);
+                return validator;
+              }), validator);
+            }
+          }
+        }
+
+        if (running.isEmpty()) {
+          break;
+        }
+
+        // Wait for the next one to finish. Interruption means cancellation
+        val future = completion.take();
+        val validator = running.remove(future);
+        val watch = watches.get(validator).stop();
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          log.error(banner());
+          log.error("[" + position(validator) + "/" + n + "] < Finished with Exception '{}' for '{}' in {}",
+              new Object[] { validator.getName(), id, watch });
+          log.error(banner());
+
+          throw e.getCause();
+        }
+
+        log.info(banner());
+        log.info("[" + position(validator) + "/" + n + "] < Finished '{}' for '{}' in {}",
+            new Object[] { validator.getName(), id, watch });
+        log.info(banner());
+
+        if (context.hasErrors()) {
+          if (!failed) {
+            log.warn("Execution of '{}' for '{}' has {} errors",
+                new Object[] { validator.getName(), id, formatCount(context.getErrorCount()) });
+            if (!running.isEmpty()) {
+              log.warn("Waiting for {} running validator(s) for '{}' to finish", running.size(), id);
+            }
+          }
+
+          // Abort validation pipeline
+          failed = true;
+        } else {
+          passed.add(validator);
+        }
+      }
+    } finally {
+      for (val future : running.keySet()) {
+        future.cancel(true);
+      }
+
+      shutdown(pool);
+    }
+
+    return passed.size() == n;
+  }
+
+  private int position(Validator validator) {
+    return validators.indexOf(validator) + 1;
+  }
+
+  private ExecutorService createPool() {
+    // Prefix with the job's thread name to keep the logs traceable
+    val nameFormat = currentThread().getName() + "-validator-%s";
+
+    return newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
+  }
+
+  private void shutdown(ExecutorService pool) {
+    pool.shutdownNow();
+
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          if (!pool.awaitTermination(TERMINATION_TIMEOUT_MINUTES, MINUTES)) {
+            log.warn("Validators for '{}' did not terminate within {} minute(s)", id, TERMINATION_TIMEOUT_MINUTES);
+          }
+
+          return;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        // Preserve for the caller
+        currentThread().interrupt();
+      }
+    }
+  }
+
+  private static Map<Validator, Set<Validator>> resolveDependencies(List<Validator> validators) {
+    val resolved = ImmutableMap.<Validator, Set<Validator>> builder();
+    for (int i = 0; i < validators.size(); i++) {
+      val validator = validators.get(i);
+      val preceding = validators.subList(0, i);
+      val declared = validator.getDependencies();
+      if (declared == null || !declared.isPresent()) {
+        // Sequential
+        resolved.put(validator, ImmutableSet.copyOf(preceding));
+        continue;
+      }
+
+      val prerequisites = ImmutableSet.<Validator> builder();
+      for (int j = 0; j < validators.size(); j++) {
+        val other = validators.get(j);
+        for (val type : declared.get()) {
+          if (type.isInstance(other)) {
+            checkState(j < i, "Validator '%s' depends on '%s' which is configured after it",
+                validator.getName(), other.getName());
+            prerequisites.add(other);
+          }
+        }
+      }
+
+      resolved.put(validator, prerequisites.build());
+    }
+
+    return resolved.build();
+  }
+
+  private static String banner() {
+    return repeat("-", 80);
+  }
+
+}
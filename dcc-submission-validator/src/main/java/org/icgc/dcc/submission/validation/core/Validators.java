@@ -19,8 +19,13 @@ package org.icgc.dcc.submission.validation.core;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import java.util.Set;
+
 import org.icgc.dcc.submission.validation.ValidationExecutor;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -44,4 +49,12 @@ public final class Validators {
     }
   }
 
+  /**
+   * Declares {@link Validator#getDependencies()}.
+   */
+  @SafeVarargs
+  public static Optional<Set<Class<? extends Validator>>> dependsOn(Class<? extends Validator>... types) {
+    return Optional.<Set<Class<? extends Validator>>> of(ImmutableSet.copyOf(types));
+  }
+
 }
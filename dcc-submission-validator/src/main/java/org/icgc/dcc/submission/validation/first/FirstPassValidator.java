@@ -17,26 +17,52 @@
  */
 package org.icgc.dcc.submission.validation.first;
 
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
+
+import java.util.Set;
+
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.first.core.FPVSubmissionProcessor;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 
-import lombok.NoArgsConstructor;
+import com.google.common.base.Optional;
+
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-@NoArgsConstructor
+@RequiredArgsConstructor
 public class FirstPassValidator implements Validator {
 
+  /**
+   * Number of files validated concurrently.
+   */
+  private final int parallelism;
+
+  /**
+   * Maximum number of submission file streams open at any time, unbounded if not positive.
+   */
+  private final int maxOpenStreams;
+
+  public FirstPassValidator() {
+    this(1, 0);
+  }
+
   @Override
   public String getName() {
     return "First-pass Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn();
+  }
+
   @Override
   public void validate(ValidationContext validationContext) {
-    val fileSystem = new FPVFileSystem(validationContext.getSubmissionDirectory());
+    val fileSystem = new FPVFileSystem(validationContext.getSubmissionDirectory(), maxOpenStreams);
     val processor = new FPVSubmissionProcessor();
+    processor.setParallelism(parallelism);
 
     processor.process(getName(), validationContext, fileSystem);
   }
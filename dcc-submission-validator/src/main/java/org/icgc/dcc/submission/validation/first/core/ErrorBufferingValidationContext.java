@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.core;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.experimental.Delegate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ValidationContext} that can hold back reported errors until the outcome of the read they stem from is known.
+ * <p>
+ * Used to stream a compressed file only once: row errors are only published if the stream turns out to be intact,
+ * otherwise they are dropped in favour of the corruption error (as if the row checks had never run). To bound memory,
+ * no more than {@link #MAXIMUM_NUM_BUFFERED_ERRORS} errors are held back: past that the buffer {@link #isOverflowed()
+ * overflows}, all errors of the read are dropped and it is up to the caller to check the rows again once the integrity
+ * of the file is known.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class ErrorBufferingValidationContext implements ValidationContext {
+
+  /**
+   * Maximum number of errors to hold back.
+   */
+  static final int MAXIMUM_NUM_BUFFERED_ERRORS = 100000;
+
+  /**
+   * Fulfills everything but error reporting via delegation.
+   */
+  @Delegate(excludes = ErrorReporting.class)
+  @NonNull
+  private final ValidationContext delegate;
+
+  /**
+   * See {@link #MAXIMUM_NUM_BUFFERED_ERRORS}.
+   */
+  private final int maxBufferedErrors;
+
+  /**
+   * State.
+   */
+  private final List<Error> buffer = newArrayList();
+  private boolean buffering;
+  private int droppedCount;
+
+  ErrorBufferingValidationContext(ValidationContext delegate) {
+    this(delegate, MAXIMUM_NUM_BUFFERED_ERRORS);
+  }
+
+  /**
+   * Starts holding back errors.
+   */
+  void buffer() {
+    buffer.clear();
+    droppedCount = 0;
+    buffering = true;
+  }
+
+  /**
+   * Whether errors had to be dropped since {@link #buffer()} was called, in which case they can only be
+   * {@link #discard()}ed.
+   */
+  boolean isOverflowed() {
+    return droppedCount > 0;
+  }
+
+  /**
+   * Publishes the held back errors and stops buffering.
+   */
+  void commit() {
+    checkState(!isOverflowed(), "Cannot publish an incomplete set of errors, %s were dropped", droppedCount);
+    buffering = false;
+    for (Error error : buffer) {
+      delegate.reportError(error);
+    }
+
+    buffer.clear();
+  }
+
+  /**
+   * Drops the held back errors and stops buffering.
+   */
+  void discard() {
+    log.info("Discarding {} buffered error(s)", formatCount(buffer.size() + droppedCount));
+    buffering = false;
+    buffer.clear();
+    droppedCount = 0;
+  }
+
+  @Override
+  public void reportError(@NonNull Error error) {
+    if (!buffering) {
+      delegate.reportError(error);
+      return;
+    }
+
+    if (isOverflowed() || buffer.size() >= maxBufferedErrors) {
+      if (!isOverflowed()) {
+        log.warn("More than {} errors buffered, dropping them until the end of the read",
+            formatCount(maxBufferedErrors));
+        droppedCount = buffer.size();
+        buffer.clear();
+      }
+
+      droppedCount++;
+      return;
+    }
+
+    buffer.add(error);
+  }
+
+  @Override
+  public void reportErrors(@NonNull Iterable<Error> errors) {
+    for (val error : errors) {
+      reportError(error);
+    }
+  }
+
+  @Override
+  public boolean hasErrors() {
+    return delegate.hasErrors() || !buffer.isEmpty() || isOverflowed();
+  }
+
+  @Override
+  public int getErrorCount() {
+    return delegate.getErrorCount() + buffer.size() + droppedCount;
+  }
+
+  /**
+   * Methods not delegated.
+   */
+  private interface ErrorReporting {
+
+    void reportError(Error error);
+
+    void reportErrors(Iterable<Error> errors);
+
+    boolean hasErrors();
+
+    int getErrorCount();
+
+  }
+
+}
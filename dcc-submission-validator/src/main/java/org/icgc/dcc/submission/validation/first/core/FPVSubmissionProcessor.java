@@ -17,22 +17,35 @@
  */
 package org.icgc.dcc.submission.validation.first.core;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.repeat;
 import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Iterables.transform;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.icgc.dcc.submission.core.report.ErrorLevel.FILE_LEVEL;
 import static org.icgc.dcc.submission.core.report.ErrorLevel.ROW_LEVEL;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.first.file.FileCorruptionChecker.getCorruptionError;
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.PLAIN_TEXT;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.validation.constraints.NotNull;
 
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
+import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
 import org.icgc.dcc.submission.validation.first.util.FileCheckers;
 import org.icgc.dcc.submission.validation.first.util.RowCheckers;
 
+import lombok.Cleanup;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,33 +66,179 @@ public class FPVSubmissionProcessor {
   @Setter
   private RowChecker rowChecker;
 
+  /**
+   * Whether compressed files are decompressed once for both the integrity check and the row checks. Only applies to
+   * the default row checker since its errors have to be held back until the integrity of the file is known.
+   */
+  @Setter
+  private boolean fused = true;
+
+  /**
+   * Number of files validated concurrently. Above one, every file gets its own default checker chains and reports to
+   * its own spool, so a fail-fast error in one file no longer affects the files validated after it.
+   */
+  @Setter
+  private int parallelism = 1;
+
   public void process(String stepName, ValidationContext validationContext, FPVFileSystem fs) {
-    FileChecker fileChecker =
-        this.fileChecker == null ? FileCheckers.getDefaultFileChecker(validationContext, fs) : this.fileChecker;
-    RowChecker rowChecker =
-        this.rowChecker == null ? RowCheckers.getDefaultRowChecker(validationContext, fs) : this.rowChecker;
+    checkArgument(parallelism > 0, "Expected a positive parallelism, got '%s'", parallelism);
 
     // TODO: Add check that at least DONOR exists (+ create new error)
 
     // Resolve the selected files to validate
     val fileNames = getSelectedFileNames(validationContext, fs);
 
+    val injected = this.fileChecker != null || this.rowChecker != null;
+    if (parallelism == 1 || injected) {
+      processSequentially(stepName, validationContext, fs, fileNames);
+    } else {
+      processInParallel(stepName, validationContext, fs, fileNames);
+    }
+  }
+
+  private void processSequentially(String stepName, ValidationContext validationContext, FPVFileSystem fs,
+      Iterable<String> fileNames) {
+    val fusedRead = this.fused && this.rowChecker == null;
+    val rowContext = new ErrorBufferingValidationContext(validationContext);
+
+    FileChecker fileChecker = this.fileChecker == null ?
+        FileCheckers.getDefaultFileChecker(validationContext, fs, fusedRead) : this.fileChecker;
+    RowChecker rowChecker =
+        this.rowChecker == null ? RowCheckers.getDefaultRowChecker(rowContext, fs) : this.rowChecker;
+
     // Validate each file in turn
     for (val fileName : fileNames) {
-      log.info(banner());
-      log.info("Validate '{}' level well-formedness for file: {}", FILE_LEVEL, fileName);
+      checkFile(stepName, fileName, fileChecker, rowChecker, rowContext, fs, fusedRead);
+    }
+  }
 
-      fileChecker.checkFile(fileName);
-      checkInterrupted(stepName);
+  /**
+   * Validates up to {@link #parallelism} files at a time. Each file reports to its own spool and the spools are
+   * transferred in selection order, which is the order the sequential processing reports in.
+   */
+  @SneakyThrows
+  private void processInParallel(String stepName, ValidationContext validationContext, FPVFileSystem fs,
+      Iterable<String> fileNames) {
+    log.info("Validating files with a parallelism of {}", parallelism);
+    val executor = newFixedThreadPool(parallelism);
+    try {
+      List<Future<SpoolingValidationContext>> tasks = newArrayList();
+      for (val fileName : fileNames) {
+        tasks.add(executor.submit(() -> spoolFile(stepName, fileName, validationContext, fs)));
+      }
+
+      for (val task : tasks) {
+        try {
+          // Interruptible, unlike CompletableFuture.join()
+          val spool = task.get();
+          spool.transferTo(validationContext);
+        } catch (ExecutionException e) {
+          throw e.getCause();
+        }
+      }
+    } finally {
+      // Cancels outstanding files on failure or interruption
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Validates a single file with dedicated checker chains.
+   */
+  private SpoolingValidationContext spoolFile(String stepName, String fileName, ValidationContext validationContext,
+      FPVFileSystem fs) {
+    val spool = new SpoolingValidationContext(validationContext);
+    val rowContext = new ErrorBufferingValidationContext(spool);
+
+    val fileChecker = FileCheckers.getDefaultFileChecker(spool, fs, fused);
+    val rowChecker = RowCheckers.getDefaultRowChecker(rowContext, fs);
+    checkFile(stepName, fileName, fileChecker, rowChecker, rowContext, fs, fused);
+
+    return spool;
+  }
+
+  private static void checkFile(String stepName, String fileName, FileChecker fileChecker, RowChecker rowChecker,
+      ErrorBufferingValidationContext rowContext, FPVFileSystem fs, boolean fusedRead) {
+    log.info(banner());
+    log.info("Validate '{}' level well-formedness for file: {}", FILE_LEVEL, fileName);
+
+    fileChecker.checkFile(fileName);
+    checkInterrupted(stepName);
 
-      if (fileChecker.canContinue()) {
-        log.info("Validating '{}' well-formedness for file: '{}'", ROW_LEVEL, fileName);
+    if (fileChecker.canContinue()) {
+      log.info("Validating '{}' well-formedness for file: '{}'", ROW_LEVEL, fileName);
+      val codecType = fusedRead ? fs.determineCodecFromFilename(fileName) : PLAIN_TEXT;
+      if (codecType == PLAIN_TEXT) {
         rowChecker.checkFile(fileName);
-        checkInterrupted(stepName);
+      } else {
+        checkRowsAndIntegrity(fileName, codecType, rowChecker, rowContext, fs);
       }
+
+      checkInterrupted(stepName);
+    } else if (fileChecker.isIntegrityCheckPending()) {
+      // The row-level pass was to complete the integrity check, corruption must not go unreported because of it
+      checkIntegrity(fileName, fs.determineCodecFromFilename(fileName), rowContext, fs);
+      checkInterrupted(stepName);
     }
   }
 
+  /**
+   * Streams through the compressed file once, verifying its integrity (deferred by the file level checks) while the
+   * rows are being checked.
+   * <p>
+   * Should there be too many row errors to hold back until the integrity is known, the rows are checked again.
+   */
+  private static void checkRowsAndIntegrity(String fileName, CodecType codecType, RowChecker rowChecker,
+      ErrorBufferingValidationContext rowContext, FPVFileSystem fs) {
+    log.info("Check '{}' integrity of '{}' while checking rows", codecType, fileName);
+    rowContext.buffer();
+    try {
+      @Cleanup
+      val inputStream = fs.openIntegrityCheckingInputStream(fileName, codecType);
+      rowChecker.checkFile(fileName, inputStream);
+
+      // Row scanning may stop short of the end of the data, the remainder must still be verified
+      fs.readThrough(inputStream);
+    } catch (IOException e) {
+      rowContext.discard();
+      reportCorruption(fileName, codecType, rowContext, e);
+
+      return;
+    }
+
+    if (rowContext.isOverflowed()) {
+      log.info("Too many row errors to hold back for '{}', checking rows again now that it is known to be intact",
+          fileName);
+      rowContext.discard();
+      rowChecker.checkFile(fileName);
+    } else {
+      rowContext.commit();
+    }
+  }
+
+  /**
+   * Completes the integrity check of a compressed file whose rows are not checked.
+   */
+  private static void checkIntegrity(String fileName, CodecType codecType, ErrorBufferingValidationContext rowContext,
+      FPVFileSystem fs) {
+    log.info("Check '{}' integrity of '{}'", codecType, fileName);
+    try {
+      @Cleanup
+      val inputStream = fs.openIntegrityCheckingInputStream(fileName, codecType);
+      fs.readThrough(inputStream);
+    } catch (IOException e) {
+      reportCorruption(fileName, codecType, rowContext, e);
+    }
+  }
+
+  private static void reportCorruption(String fileName, CodecType codecType, ValidationContext context,
+      IOException e) {
+    log.info("Exception caught in decoding {} file '{}': '{}'", new Object[] { codecType, fileName, e.getMessage() });
+
+    val schemaName = context.getDictionary().getFileSchemaByFileName(fileName).get().getName();
+    context.reportError(getCorruptionError(fileName, schemaName, codecType, e));
+  }
+
   private static Iterable<String> getSelectedFileNames(ValidationContext validationContext, FPVFileSystem fs) {
     val selectedFilePatterns = getSelectedFilePatterns(validationContext);
 
@@ -21,4 +21,11 @@ public interface FileChecker extends Checker {
 
   void checkFile(String fileName);
 
+  /**
+   * Whether the full integrity read of the last checked file was left to the row-level pass.
+   */
+  default boolean isIntegrityCheckPending() {
+    return false;
+  }
+
 }
\ No newline at end of file
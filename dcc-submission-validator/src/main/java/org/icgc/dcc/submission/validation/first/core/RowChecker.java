@@ -17,10 +17,19 @@
  */
 package org.icgc.dcc.submission.validation.first.core;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 
 public interface RowChecker extends FileChecker {
 
+  /**
+   * Checks the rows of {@code fileName} read from the supplied, already decompressed, {@code inputStream}. Read
+   * failures are propagated to the caller.
+   */
+  void checkFile(String fileName, InputStream inputStream) throws IOException;
+
   void checkRow(String filename, FileSchema fileSchema, CharSequence row, long lineNumber);
 
   void finish(String filename, FileSchema fileSchema);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.core;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static org.icgc.dcc.submission.core.report.FieldErrorReport.MAXIMUM_NUM_STORED_ERRORS;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.core.report.FieldErrorReport;
+import org.icgc.dcc.submission.validation.core.ReportContext;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.experimental.Delegate;
+
+/**
+ * {@link ValidationContext} that keeps the errors of a single file until {@link #transferTo(ReportContext)} is called.
+ * <p>
+ * Used when files are validated concurrently: each one reports to its own spool and the spools are transferred in file
+ * selection order so that the final report does not depend on scheduling. Since a {@link FieldErrorReport} only
+ * stores the first {@link FieldErrorReport#MAXIMUM_NUM_STORED_ERRORS} errors it is given and only counts the others,
+ * errors past that number are counted rather than kept, which bounds the memory used by a spool.
+ * <p>
+ * Not thread-safe.
+ */
+@RequiredArgsConstructor
+class SpoolingValidationContext implements ValidationContext {
+
+  /**
+   * Fulfills everything but error reporting via delegation.
+   */
+  @Delegate(excludes = ErrorReporting.class)
+  @NonNull
+  private final ValidationContext delegate;
+
+  /**
+   * State.
+   */
+  private final List<Error> errors = newArrayList();
+  private final Map<List<Object>, ErrorGroup> groups = newLinkedHashMap();
+  private int errorCount;
+
+  @Override
+  public void reportError(@NonNull Error error) {
+    errorCount++;
+
+    val key = getGroupKey(error);
+    ErrorGroup group = groups.get(key);
+    if (group == null) {
+      group = new ErrorGroup();
+      groups.put(key, group);
+    }
+
+    if (group.stored < MAXIMUM_NUM_STORED_ERRORS) {
+      group.stored++;
+      errors.add(error);
+    } else {
+      group.counted++;
+      group.last = error;
+    }
+  }
+
+  @Override
+  public void reportErrors(@NonNull Iterable<Error> errors) {
+    for (val error : errors) {
+      reportError(error);
+    }
+  }
+
+  @Override
+  public boolean hasErrors() {
+    return errorCount > 0;
+  }
+
+  @Override
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Reports everything spooled so far to {@code target}, in the order it was reported.
+   */
+  void transferTo(@NonNull ReportContext target) {
+    for (val error : errors) {
+      target.reportError(error);
+    }
+    for (val group : groups.values()) {
+      for (long i = 0; i < group.counted; i++) {
+        target.reportError(group.last);
+      }
+    }
+
+    errors.clear();
+    groups.clear();
+    errorCount = 0;
+  }
+
+  /**
+   * Identifies the {@link FieldErrorReport} an error ends up in.
+   */
+  private static List<Object> getGroupKey(Error error) {
+    return Arrays.<Object> asList(error.getFileName(), error.getType(), error.getNumber(), error.getFieldNames());
+  }
+
+  private static class ErrorGroup {
+
+    int stored;
+    long counted;
+    Error last;
+
+  }
+
+  /**
+   * Methods not delegated.
+   */
+  private interface ErrorReporting {
+
+    void reportError(Error error);
+
+    void reportErrors(Iterable<Error> errors);
+
+    boolean hasErrors();
+
+    int getErrorCount();
+
+  }
+
+}
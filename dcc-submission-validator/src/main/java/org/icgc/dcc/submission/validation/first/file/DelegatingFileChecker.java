@@ -48,6 +48,11 @@ public abstract class DelegatingFileChecker extends AbstractDelegatingChecker im
     }
   }
 
+  @Override
+  public boolean isIntegrityCheckPending() {
+    return ((FileChecker) delegate).isIntegrityCheckPending();
+  }
+
   /**
    * Template method
    */
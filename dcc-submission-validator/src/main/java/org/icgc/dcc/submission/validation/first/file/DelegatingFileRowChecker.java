@@ -22,12 +22,14 @@ import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.LINE_TERMINATOR_MISSING_ERROR;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
-import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.validation.first.core.AbstractDelegatingChecker;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.core.RowChecker;
+import org.icgc.dcc.submission.validation.primary.report.LineIndex;
 
 import com.google.common.base.Stopwatch;
 
@@ -40,24 +42,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker implements RowChecker, FileChecker {
 
-  /**
-   * Number of bytes to buffer when reading submission files.
-   * 
-   * @see http
-   * ://stackoverflow.com/questions/236861/how-do-you-determine-the-ideal-buffer-size-when-using-fileinputstream
-   */
-  private static final int LINE_BUFFER_SIZE = 8192;
-
   /**
    * Number of lines checked between status logging.
    */
   private static final long LINE_STATUS_THRESHOLD = 1000L * 1000L;
 
-  /**
-   * Constants.
-   */
-  private static final char LINE_SEPARATOR_CHAR = '\n';
-
   @NonNull
   protected final RowChecker delegate;
 
@@ -73,50 +62,45 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
   @Override
   @SneakyThrows
   public void checkFile(String fileName) {
+    @Cleanup
+    val inputStream = getFileSystem().getDecompressingInputStream(fileName);
+    checkFile(fileName, inputStream);
+  }
+
+  @Override
+  public void checkFile(String fileName, InputStream inputStream) throws IOException {
     log.info(banner());
 
     log.info("Start performing {} validation...", name);
     val fileSchema = getFileSchema(fileName);
 
-    @Cleanup
-    val inputStream = new BufferedInputStream(
-        getFileSystem().getDecompressingInputStream(fileName),
-        LINE_BUFFER_SIZE);
+    val scanner = new RowScanner(inputStream);
     val watch = Stopwatch.createStarted();
-    val line = new StringBuilder(512);
+    val lineIndex = new LineIndex();
     long lineNumber = 1;
 
-    int nextByte = 0;
-    while ((nextByte = inputStream.read()) > 0) {
-      if ((char) nextByte == LINE_SEPARATOR_CHAR) {
-
-        // Delegate
-        checkRow(fileName, fileSchema, line, lineNumber);
+    while (scanner.next()) {
+      // Delegate
+      checkRow(fileName, fileSchema, scanner.getRow(), lineNumber);
 
-        // Book-keeping
-        ++lineNumber;
+      // Book-keeping
+      ++lineNumber;
+      lineIndex.addLine(lineNumber, scanner.getOffset());
 
-        if (lineNumber % 10000 == 0) {
-          // Check for cancellation
-          checkInterrupted(name);
-        }
-
-        if (lineNumber % LINE_STATUS_THRESHOLD == 0L) {
-          // Log status
-          log.info("Checked {} lines of '{}' in {}",
-              new Object[] { formatCount(lineNumber), fileName, watch });
-        }
+      if (lineNumber % 10000 == 0) {
+        // Check for cancellation
+        checkInterrupted(name);
+      }
 
-        // Reset
-        line.setLength(0);
-      } else {
-        // Buffer
-        line.appendCodePoint(nextByte);
+      if (lineNumber % LINE_STATUS_THRESHOLD == 0L) {
+        // Log status
+        log.info("Checked {} lines of '{}' in {}",
+            new Object[] { formatCount(lineNumber), fileName, watch });
       }
     }
 
     // Check buffer to be empty, otherwise we have a file with no trailing new line
-    if (line.length() > 0) {
+    if (scanner.getRemaining() > 0) {
       log.info("Missing new line at end of file '{}'", fileName);
 
       reportError(error()
@@ -126,6 +110,9 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
           .build());
     }
 
+    // Spare primary validation from re-scanning the file to convert byte offsets
+    getReportContext().reportLineIndex(fileName, lineIndex);
+
     log.info("Finishing performing {} validation...", name);
     finish(fileName, fileSchema);
 
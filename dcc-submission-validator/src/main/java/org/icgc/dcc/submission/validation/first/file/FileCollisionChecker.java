@@ -25,6 +25,8 @@ import java.util.List;
 
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 
+import com.google.common.collect.Ordering;
+
 import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -63,21 +65,19 @@ public class FileCollisionChecker extends DelegatingFileChecker {
    * naming or accidental re-submission.
    * <p>
    * e.g. {@code hasCollisions(of("donor.1.txt", "donor.1.txt.gz")) == true}
+   * <p>
+   * Once sorted, any name falling between a name and one of its extensions shares that name as a prefix, so only
+   * adjacent names need to be compared.
    * 
    * @param fileNames the file names to check
    * @return {@code true} if collisions exist, {@code false} otherwise
    */
-  private boolean hasCollisions(@NonNull List<String> fileNames) {
-    val size = fileNames.size();
-    for (int i = 0; i < size; i++) {
-      val a = fileNames.get(i);
-      for (int j = i + 1; j < size; j++) {
-        val b = fileNames.get(j);
-
-        val prefix = a.startsWith(b) || b.startsWith(a);
-        if (prefix) {
-          return true;
-        }
+  static boolean hasCollisions(@NonNull List<String> fileNames) {
+    val sorted = Ordering.natural().sortedCopy(fileNames);
+    for (int i = 1; i < sorted.size(); i++) {
+      val prefix = sorted.get(i).startsWith(sorted.get(i - 1));
+      if (prefix) {
+        return true;
       }
     }
 
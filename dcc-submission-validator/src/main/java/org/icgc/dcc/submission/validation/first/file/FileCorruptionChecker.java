@@ -21,8 +21,13 @@ import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.COMPRESSION_CODEC_ERROR;
 import static org.icgc.dcc.submission.core.report.ErrorType.UNSUPPORTED_COMPRESSED_FILE;
 
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.BZIP2;
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.GZIP;
+
 import java.io.IOException;
 
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
 
@@ -32,14 +37,43 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FileCorruptionChecker extends DelegatingFileChecker {
 
-  public FileCorruptionChecker(FileChecker fileChecker, boolean failFast) {
+  /**
+   * Whether the full read of compressed files is left to the row-level pass (see
+   * {@link org.icgc.dcc.submission.validation.first.core.FPVSubmissionProcessor}), in which case only the leading
+   * block is checked here.
+   */
+  private final boolean deferIntegrityCheck;
+
+  /**
+   * Whether the full read of the last checked file was deferred, in which case it is up to the caller to perform it
+   * should the row-level pass not happen.
+   */
+  private boolean integrityCheckPending;
+
+  public FileCorruptionChecker(FileChecker fileChecker, boolean failFast, boolean deferIntegrityCheck) {
     super(fileChecker, failFast);
+    this.deferIntegrityCheck = deferIntegrityCheck;
+  }
+
+  public FileCorruptionChecker(FileChecker fileChecker, boolean failFast) {
+    this(fileChecker, failFast, false);
   }
 
   public FileCorruptionChecker(FileChecker fileChecker) {
     this(fileChecker, true);
   }
 
+  @Override
+  public void checkFile(String fileName) {
+    integrityCheckPending = false;
+    super.checkFile(fileName);
+  }
+
+  @Override
+  public boolean isIntegrityCheckPending() {
+    return integrityCheckPending;
+  }
+
   @Override
   public void performSelfCheck(String fileName) {
     val fs = getFileSystem();
@@ -65,10 +99,14 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
       log.info("Check '{}' integrity of '{}'", contentType, fileName);
       switch (contentType) {
       case GZIP:
-        checkGZip(fileName);
-        break;
       case BZIP2:
-        checkBZip2(fileName);
+        if (deferIntegrityCheck) {
+          checkLeadingBlock(fileName, contentType);
+        } else if (contentType == GZIP) {
+          checkGZip(fileName);
+        } else {
+          checkBZip2(fileName);
+        }
         break;
       case PLAIN_TEXT:
         // Do nothing
@@ -87,6 +125,45 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
     }
   }
 
+  /**
+   * Returns the error to report for a compressed file that could not be decoded.
+   * <p>
+   * Shared with the row-level pass so that corruption detected while streaming through the rows is reported exactly as
+   * it would be here.
+   */
+  public static Error getCorruptionError(String fileName, String schemaName, CodecType codecType, IOException e) {
+    return error()
+        .fileName(fileName)
+        .type(getCorruptionErrorType(codecType, e))
+        .params(schemaName)
+        .build();
+  }
+
+  private static ErrorType getCorruptionErrorType(CodecType codecType, IOException e) {
+    // TODO: remove this after upgrade hadoop
+    val errMsg = e.getMessage();
+    if (codecType == BZIP2 && errMsg != null && errMsg.equals("bad block header")) {
+      log.info("found possibly, concatenated bzip2 files!");
+      return UNSUPPORTED_COMPRESSED_FILE;
+    }
+
+    return COMPRESSION_CODEC_ERROR;
+  }
+
+  /**
+   * Catches broken headers early so the file level checks that peek into the content can rely on it.
+   */
+  private void checkLeadingBlock(String fileName, CodecType codecType) {
+    try {
+      val complete = getFileSystem().attemptPartialRead(fileName, codecType);
+      integrityCheckPending = !complete;
+    } catch (IOException e) {
+      log.info("Exception caught in decoding {} file '{}': '{}'", new Object[] { codecType, fileName, e.getMessage() });
+
+      reportError(getCorruptionError(fileName, getFileSchema(fileName).getName(), codecType, e));
+    }
+  }
+
   /**
    * TODO: merge with gzip one with a flag for the input stream based on the type.
    */
@@ -95,24 +172,9 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
       getFileSystem().attemptBzip2Read(fileName);
     } catch (IOException e) {
       e.printStackTrace();
-      String errMsg = e.getMessage();
-      log.info("Exception caught in decoding bzip2 file '{}': '{}'", fileName, errMsg);
-
-      // TODO: remove this after upgrade hadoop
-      if (errMsg != null && errMsg.equals("bad block header")) {
-        log.info("found possibly, concatenated bzip2 files!", fileName);
-        reportError(error()
-            .fileName(fileName)
-            .type(UNSUPPORTED_COMPRESSED_FILE)
-            .params(getFileSchema(fileName).getName())
-            .build());
-      } else {
-        reportError(error()
-            .fileName(fileName)
-            .type(COMPRESSION_CODEC_ERROR)
-            .params(getFileSchema(fileName).getName())
-            .build());
-      }
+      log.info("Exception caught in decoding bzip2 file '{}': '{}'", fileName, e.getMessage());
+
+      reportError(getCorruptionError(fileName, getFileSchema(fileName).getName(), BZIP2, e));
     }
   }
 
@@ -122,11 +184,7 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
     } catch (IOException e) {
       log.info("Exception caught in decoding gzip file '{}': '{}'", fileName, e.getMessage());
 
-      reportError(error()
-          .fileName(fileName)
-          .type(COMPRESSION_CODEC_ERROR)
-          .params(getFileSchema(fileName).getName())
-          .build());
+      reportError(getCorruptionError(fileName, getFileSchema(fileName).getName(), GZIP, e));
     }
   }
 }
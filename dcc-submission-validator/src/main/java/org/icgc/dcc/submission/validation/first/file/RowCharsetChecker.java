@@ -35,7 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RowCharsetChecker extends DelegatingFileRowChecker {
 
-  private final static CharMatcher DEFAULT_INVALID_MATCHER =
+  final static CharMatcher DEFAULT_INVALID_MATCHER =
       ASCII
           .negate()
           .or(JAVA_ISO_CONTROL)
@@ -76,6 +76,11 @@ public class RowCharsetChecker extends DelegatingFileRowChecker {
   }
 
   private static boolean containsInvalidCharacter(CharSequence line) {
+    if (line instanceof ScannedRow) {
+      // Already computed while scanning
+      return ((ScannedRow) line).hasInvalidCharacter();
+    }
+
     return DEFAULT_INVALID_MATCHER.matchesAnyOf(line);
   }
 }
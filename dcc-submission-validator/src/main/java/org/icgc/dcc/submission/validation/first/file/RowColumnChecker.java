@@ -66,6 +66,11 @@ public class RowColumnChecker extends DelegatingFileRowChecker {
   }
 
   private int getActualColumnCount(CharSequence line) {
+    if (line instanceof ScannedRow) {
+      // Already computed while scanning
+      return ((ScannedRow) line).getColumnCount();
+    }
+
     int separatorCount = 0;
     for (int i = 0; i < line.length(); i++) {
       if (line.charAt(i) == TAB_CHARACTER) {
@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.first.file;
 
+import java.io.InputStream;
+
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.AbstractChecker;
@@ -38,6 +40,11 @@ public class RowNoOpChecker extends AbstractChecker implements RowChecker {
     // No-op
   }
 
+  @Override
+  public void checkFile(String fileName, InputStream inputStream) {
+    // No-op
+  }
+
   @Override
   public void checkRow(String fileName, FileSchema fileSchema, CharSequence row, long lineNumber) {
     // No-op
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.file;
+
+import static org.icgc.dcc.common.core.util.Separators.TAB_CHARACTER;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Splits a (decompressed) submission file into rows, reading it in large blocks rather than byte by byte.
+ * <p>
+ * Rows are handed out as a reused {@link ScannedRow} view over the block, along with their column count and whether
+ * they contain invalid characters, all computed while looking for the row boundaries. Rows spanning blocks are moved to
+ * the start of the block before reading the next one, and the block grows if a single row exceeds it.
+ * <p>
+ * As with the previous byte-wise reading, a {@code NUL} byte ends the file.
+ * <p>
+ * Not thread-safe.
+ */
+public final class RowScanner {
+
+  /**
+   * Constants.
+   */
+  static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte END_OF_FILE = 0;
+
+  /**
+   * Per byte value: 1 if a tab, 0 otherwise.
+   */
+  private static final int[] TABS = new int[256];
+
+  /**
+   * Per byte value: 1 if an invalid character, 0 otherwise.
+   */
+  private static final int[] INVALIDS = new int[256];
+
+  static {
+    TABS[TAB_CHARACTER] = 1;
+    for (int b = 0; b < 256; b++) {
+      INVALIDS[b] = RowCharsetChecker.DEFAULT_INVALID_MATCHER.matches((char) b) ? 1 : 0;
+    }
+  }
+
+  /**
+   * Configuration.
+   */
+  private final InputStream inputStream;
+
+  /**
+   * State.
+   */
+  private byte[] block;
+  private long blockOffset;
+  private int start;
+  private int limit;
+  private boolean eof;
+  private final ScannedRow row = new ScannedRow();
+
+  /**
+   * Byte offset following the last row terminator, i.e. that of the next row.
+   */
+  @Getter
+  private long offset;
+
+  public RowScanner(@NonNull InputStream inputStream) {
+    this(inputStream, DEFAULT_BLOCK_SIZE);
+  }
+
+  RowScanner(@NonNull InputStream inputStream, int blockSize) {
+    this.inputStream = inputStream;
+    this.block = new byte[blockSize];
+  }
+
+  /**
+   * Advances to the next row terminated by a line separator.
+   *
+   * @return {@code false} once there are no more such rows, see {@link #getRemaining()}
+   */
+  public boolean next() throws IOException {
+    int end = start;
+    while (true) {
+      // Look for the end of the row
+      while (end < limit && block[end] != LINE_SEPARATOR && block[end] != END_OF_FILE) {
+        end++;
+      }
+
+      if (end < limit) {
+        if (block[end] == END_OF_FILE) {
+          limit = end;
+          eof = true;
+
+          return false;
+        }
+
+        scan(start, end);
+        start = end + 1;
+        offset = blockOffset + start;
+
+        return true;
+      }
+
+      if (eof) {
+        return false;
+      }
+
+      end = fill(end);
+    }
+  }
+
+  /**
+   * The current row, only valid until the next call to {@link #next()}.
+   */
+  public ScannedRow getRow() {
+    return row;
+  }
+
+  /**
+   * Number of bytes left after the last terminated row, non-zero if the file lacks a trailing line separator.
+   */
+  public int getRemaining() {
+    return limit - start;
+  }
+
+  /**
+   * Counted loop without early exit over the row, so that the JIT can unroll it.
+   */
+  private void scan(int from, int to) {
+    int tabs = 0;
+    int invalids = 0;
+    for (int i = from; i < to; i++) {
+      int b = block[i] & 0xff;
+      tabs += TABS[b];
+      invalids |= INVALIDS[b];
+    }
+
+    // One more column than separators
+    row.set(block, from, to - from, tabs + 1, invalids != 0);
+  }
+
+  /**
+   * Moves the partial row to the front of the block (growing it if full) and reads more bytes after it.
+   *
+   * @return the adjusted scan position
+   */
+  private int fill(int end) throws IOException {
+    int scanned = end - start;
+    int partial = limit - start;
+    if (start > 0) {
+      System.arraycopy(block, start, block, 0, partial);
+      blockOffset += start;
+      start = 0;
+      limit = partial;
+    } else if (limit == block.length) {
+      block = Arrays.copyOf(block, block.length * 2);
+    }
+
+    int read = inputStream.read(block, limit, block.length - limit);
+    if (read < 0) {
+      eof = true;
+    } else {
+      limit += read;
+    }
+
+    return scanned;
+  }
+
+}
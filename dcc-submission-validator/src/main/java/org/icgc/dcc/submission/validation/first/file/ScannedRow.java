@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.file;
+
+import static com.google.common.base.Charsets.ISO_8859_1;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import lombok.Getter;
+
+/**
+ * Zero-copy {@link CharSequence} view of a row of a submission file, as produced by {@link RowScanner}.
+ * <p>
+ * Each byte maps to the {@code char} of the same value, as when rows were built byte by byte. The column count and the
+ * presence of invalid characters are computed while scanning, so that checkers need not re-scan the row.
+ * <p>
+ * Instances are reused from one row to the next: checkers must copy (e.g. {@link #toString()}) anything they need to
+ * retain.
+ */
+public final class ScannedRow implements CharSequence {
+
+  /**
+   * State.
+   */
+  private byte[] bytes;
+  private int offset;
+  private int length;
+
+  /**
+   * Number of tab separated columns.
+   */
+  @Getter
+  private int columnCount;
+
+  /**
+   * Whether any byte matches {@link RowCharsetChecker}'s invalid characters.
+   */
+  private boolean invalidCharacter;
+
+  void set(byte[] bytes, int offset, int length, int columnCount, boolean invalidCharacter) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+    this.columnCount = columnCount;
+    this.invalidCharacter = invalidCharacter;
+  }
+
+  public boolean hasInvalidCharacter() {
+    return invalidCharacter;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+    }
+
+    return (char) (bytes[offset + index] & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    checkPositionIndexes(start, end, length);
+
+    return new String(bytes, offset + start, end - start, ISO_8859_1);
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, offset, length, ISO_8859_1);
+  }
+
+}
@@ -23,24 +23,29 @@ import static org.icgc.dcc.submission.validation.platform.SubmissionPlatformStra
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.compress.BZip2Codec;
-import org.apache.hadoop.io.compress.CompressionInputStream;
 import org.apache.tika.Tika;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 
+import com.google.common.io.ByteStreams;
+
 import lombok.Cleanup;
-import lombok.RequiredArgsConstructor;
+import lombok.NonNull;
 import lombok.SneakyThrows;
+import lombok.val;
 
 /**
  * Class representing interactions with the file system in the context of FPV (as a temporary measure to isolate such
@@ -48,7 +53,6 @@ import lombok.SneakyThrows;
  * <p>
  * TODO: add test for this class (especially after merging {@link Util} in it)
  */
-@RequiredArgsConstructor
 public class FPVFileSystem {
 
   public enum CodecType {
@@ -59,8 +63,25 @@ public class FPVFileSystem {
 
   private final SubmissionDirectory submissionDirectory;
 
+  /**
+   * Bounds the number of concurrently open streams when files are validated concurrently, {@code null} if unbounded.
+   */
+  private final Semaphore streamPermits;
+
+  public FPVFileSystem(SubmissionDirectory submissionDirectory) {
+    this(submissionDirectory, 0);
+  }
+
+  /**
+   * @param maxOpenStreams the maximum number of streams open at any time, unbounded if not positive
+   */
+  public FPVFileSystem(@NonNull SubmissionDirectory submissionDirectory, int maxOpenStreams) {
+    this.submissionDirectory = submissionDirectory;
+    this.streamPermits = maxOpenStreams > 0 ? new Semaphore(maxOpenStreams, true) : null;
+  }
+
   public InputStream getDecompressingInputStream(String fileName) {
-    return submissionDirectory.getDecompressingInputStream(fileName);
+    return acquire(() -> submissionDirectory.getDecompressingInputStream(fileName));
   }
 
   public Iterable<String> listMatchingSubmissionFiles(Iterable<String> filePatterns) {
@@ -85,7 +106,7 @@ public class FPVFileSystem {
 
   public CodecType determineCodecFromContent(String fileName) throws IOException {
     @Cleanup
-    BufferedInputStream bis = new BufferedInputStream(submissionDirectory.open(fileName));
+    BufferedInputStream bis = new BufferedInputStream(open(fileName));
     AutoDetectParser parser = new AutoDetectParser();
     Detector detector = parser.getDetector();
     Metadata md = new Metadata();
@@ -104,27 +125,94 @@ public class FPVFileSystem {
   public void attemptGzipRead(String fileName) throws IOException {
     // check the gzip header
     @Cleanup
-    GZIPInputStream in = new GZIPInputStream(submissionDirectory.open(fileName));
+    InputStream in = openGzipInputStream(fileName);
 
     // see if it can be read through
+    readThrough(in);
+  }
+
+  public void attemptBzip2Read(String fileName) throws IOException {
+    // Check the bzip2 header
+    @Cleanup
+    InputStream in = openBzip2InputStream(fileName);
+
+    // see if it can be read through
+    readThrough(in);
+  }
+
+  /**
+   * Reads at most one buffer of decompressed content, which is enough to surface header and leading block corruption
+   * without paying for the full read.
+   * 
+   * @return whether the end of the content was reached, in which case the whole file was verified
+   */
+  public boolean attemptPartialRead(String fileName, CodecType codecType) throws IOException {
+    @Cleanup
+    InputStream in = openIntegrityCheckingInputStream(fileName, codecType);
+
+    // Decoders may return less than asked for well before the end of the content
+    val buf = new byte[BUFFER_SIZE];
+    val length = ByteStreams.read(in, buf, 0, buf.length);
+
+    return length < buf.length || in.read() == -1;
+  }
+
+  /**
+   * Opens a stream over the decompressed content of {@code fileName} using the same decoders as
+   * {@link #attemptGzipRead(String)} and {@link #attemptBzip2Read(String)}, so that reading it through to the end
+   * amounts to the same integrity check (trailer CRC, truncation, concatenated members).
+   */
+  public InputStream openIntegrityCheckingInputStream(String fileName, CodecType codecType) throws IOException {
+    switch (codecType) {
+    case GZIP:
+      return openGzipInputStream(fileName);
+    case BZIP2:
+      return openBzip2InputStream(fileName);
+    default:
+      return open(fileName);
+    }
+  }
+
+  /**
+   * Consumes whatever is left of {@code in}.
+   */
+  public void readThrough(InputStream in) throws IOException {
     byte[] buf = new byte[BUFFER_SIZE];
     while (in.read(buf) > 0) {
     }
   }
 
-  public void attemptBzip2Read(String fileName) throws IOException {
-    // Check the bzip2 header
+  private InputStream openGzipInputStream(String fileName) throws IOException {
+    InputStream in = open(fileName);
+    try {
+      return new GZIPInputStream(in, BUFFER_SIZE);
+    } catch (Throwable t) {
+      // Decoders read the header eagerly, a corrupt one must not leak the stream and its permit
+      closeOnFailure(in, t);
+      throw t;
+    }
+  }
+
+  private InputStream openBzip2InputStream(String fileName) throws IOException {
     BZip2Codec codec = new BZip2Codec();
 
     // FIXME: Passing in a blank configuration to get things working in CDH5.1 for now
     codec.setConf(new Configuration());
 
-    @Cleanup
-    CompressionInputStream in = codec.createInputStream(submissionDirectory.open(fileName));
+    InputStream in = open(fileName);
+    try {
+      return codec.createInputStream(in);
+    } catch (Throwable t) {
+      closeOnFailure(in, t);
+      throw t;
+    }
+  }
 
-    // see if it can be read through
-    byte[] buf = new byte[BUFFER_SIZE];
-    while (in.read(buf) > 0) {
+  private static void closeOnFailure(InputStream in, Throwable cause) {
+    try {
+      in.close();
+    } catch (IOException e) {
+      cause.addSuppressed(e);
     }
   }
 
@@ -135,10 +223,54 @@ public class FPVFileSystem {
   public List<String> peekFileHeader(String fileName) {
     @Cleanup
     BufferedReader reader =
-        new BufferedReader(new InputStreamReader(submissionDirectory.getDecompressingInputStream(fileName)));
+        new BufferedReader(new InputStreamReader(getDecompressingInputStream(fileName)));
     String header = reader.readLine();
     header = (header == null) ? "" : header;
     return copyOf(FIELD_SPLITTER.split(header));
   }
 
+  private InputStream open(String fileName) {
+    return acquire(() -> submissionDirectory.open(fileName));
+  }
+
+  /**
+   * Opens a stream once a permit is available, the permit being released when the stream is closed.
+   */
+  @SneakyThrows
+  private InputStream acquire(Supplier<InputStream> opener) {
+    if (streamPermits == null) {
+      return opener.get();
+    }
+
+    streamPermits.acquire();
+    try {
+      return new PermitReleasingInputStream(opener.get());
+    } catch (Throwable t) {
+      streamPermits.release();
+      throw t;
+    }
+  }
+
+  private class PermitReleasingInputStream extends FilterInputStream {
+
+    private boolean closed;
+
+    private PermitReleasingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          streamPermits.release();
+        }
+      }
+    }
+
+  }
+
 }
@@ -38,6 +38,14 @@ import lombok.val;
 public class FileCheckers {
 
   public static FileChecker getDefaultFileChecker(ValidationContext validationContext, FPVFileSystem fs) {
+    return getDefaultFileChecker(validationContext, fs, false);
+  }
+
+  /**
+   * @param deferIntegrityCheck whether the full read of compressed files is left to the row-level pass
+   */
+  public static FileChecker getDefaultFileChecker(ValidationContext validationContext, FPVFileSystem fs,
+      boolean deferIntegrityCheck) {
     val chain =
         new FileHeaderChecker(
             new FileCorruptionChecker(
@@ -45,7 +53,9 @@ public class FileCheckers {
                     new FileReferenceChecker(
                         new FileNoOpChecker(validationContext, fs) // Leaf checker
                     )
-                )
+                ),
+                true,
+                deferIntegrityCheck
             )
         );
 
@@ -18,17 +18,21 @@
 package org.icgc.dcc.submission.validation.key;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newHashMap;
 import static org.apache.hadoop.fs.CommonConfigurationKeysPublic.FS_DEFAULT_NAME_KEY;
 import static org.apache.hadoop.mapred.JobConf.MAPRED_MAP_TASK_JAVA_OPTS;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.checkExistence;
 import static org.icgc.dcc.common.hadoop.util.HadoopConstants.MR_JOBTRACKER_ADDRESS_KEY;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
 import static org.icgc.dcc.submission.validation.key.report.KVReporter.REPORT_FILE_NAME;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
@@ -38,18 +42,21 @@ import org.icgc.dcc.common.cascading.FlowExecutor;
 import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
 import org.icgc.dcc.submission.validation.key.core.KVValidatorRunner;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
 
 import lombok.Cleanup;
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-@NoArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class KeyValidator implements Validator {
 
@@ -59,15 +66,40 @@ public class KeyValidator implements Validator {
   public static final String COMPONENT_NAME = "Key Validator";
 
   /**
-   * The size of the heap used when running in non-local mode.
+   * The size of the heap used when running in non-local mode. Keys are stored off-heap (see {@code KVKeyStore}) so the
+   * remaining memory is left to the page cache backing the key arenas.
    */
-  private static final String DEFAULT_MAX_HEAP_SIZE = "24g";
+  private static final String DEFAULT_MAX_HEAP_SIZE = "8g";
+
+  /**
+   * The default number of threads used to process file types and rows.
+   */
+  private static final int DEFAULT_PARALLELISM = 1;
+
+  /**
+   * Number of errors handed to the report at once during collection.
+   */
+  private static final int ERROR_BATCH_SIZE = 10000;
+
+  /**
+   * Configuration.
+   */
+  private final int parallelism;
+
+  public KeyValidator() {
+    this(DEFAULT_PARALLELISM);
+  }
 
   @Override
   public String getName() {
     return COMPONENT_NAME;
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class);
+  }
+
   @Override
   public void validate(ValidationContext context) throws InterruptedException {
     val reportPath = getReportPath(context);
@@ -84,7 +116,7 @@ public class KeyValidator implements Validator {
     log.info("Finished key validation report collection");
   }
 
-  private static KVValidatorRunner createRunner(ValidationContext context, Path reportPath) {
+  private KVValidatorRunner createRunner(ValidationContext context, Path reportPath) {
     val submissionDirectory = context.getSubmissionDirectory();
     return new KVValidatorRunner(
         context.getFileSystem().getUri(),
@@ -92,7 +124,8 @@ public class KeyValidator implements Validator {
         context.getDictionary(),
         submissionDirectory.getSubmissionDirPath(),
         submissionDirectory.getSystemDirPath(),
-        reportPath.toUri().toString());
+        reportPath.toUri().toString(),
+        parallelism);
   }
 
   private static Path getReportPath(ValidationContext context) {
@@ -141,6 +174,7 @@ public class KeyValidator implements Validator {
     val inputStream = createInputStream(context.getFileSystem(), reportPath);
     val errors = getErrors(inputStream);
 
+    List<Error> batch = newArrayListWithCapacity(ERROR_BATCH_SIZE);
     while (errors.hasNext()) {
       val error = errors.next();
       val fileName = error.getFileName();
@@ -148,8 +182,14 @@ public class KeyValidator implements Validator {
       checkState(fileType.isPresent(),
           "Expecting a corresponding file type for file name '{}'", fileName);
 
-      context.reportError(error);
+      batch.add(error);
+      if (batch.size() == ERROR_BATCH_SIZE) {
+        context.reportErrors(batch);
+        batch.clear();
+      }
     }
+
+    context.reportErrors(batch);
   }
 
   private static InputStream createInputStream(FileSystem fileSystem, Path path) {
@@ -17,15 +17,26 @@
  */
 package org.icgc.dcc.submission.validation.key.core;
 
-import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.apache.commons.lang.StringUtils.repeat;
 import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableMap;
 
+import java.io.Closeable;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,12 +46,17 @@ import org.icgc.dcc.submission.validation.key.data.KVFileProcessor;
 import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
 import org.icgc.dcc.submission.validation.key.data.KVReferencedPrimaryKeys;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
+import org.icgc.dcc.submission.validation.key.report.KVSpoolingReporter;
 import org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityValidator;
 
 import com.google.common.base.Stopwatch;
 
 /**
  * Main processor for the key validation.
+ * <p>
+ * With a {@code parallelism} greater than one, file types that do not depend on each other are processed concurrently
+ * and the rows of each file are hash-partitioned across {@code parallelism} workers (see {@link KVFileProcessor}).
+ * The report is the same regardless of the parallelism.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -59,28 +75,86 @@ public class KVSubmissionProcessor {
   private final KVFileSystem kvFileSystem;
   @NonNull
   private final KVReporter reporter;
+  private final int parallelism;
 
-  private final Map<KVFileType, KVPrimaryKeys> fileTypeToPrimaryKeys = newHashMap();
+  private final Map<KVFileType, KVPrimaryKeys> fileTypeToPrimaryKeys = newConcurrentMap();
   private final SurjectivityValidator surjectivityValidator = new SurjectivityValidator();
 
+  public KVSubmissionProcessor(KVDictionary dictionary, KVFileParser fileParser, KVFileSystem kvFileSystem,
+      KVReporter reporter) {
+    this(dictionary, fileParser, kvFileSystem, reporter, 1);
+  }
+
   public void processSubmission() {
-    log.info("Loading data");
+    checkArgument(parallelism > 0, "Expected a positive parallelism, got '%s'", parallelism);
+    log.info("Loading data (parallelism: {})", parallelism);
     val fileTypes = dictionary.getTopologicallyOrderedFileTypes();
-    fileTypes.forEach(fileType -> processFileType(fileType));
+    try {
+      if (parallelism == 1) {
+        fileTypes.forEach(fileType -> processFileType(fileType));
+      } else {
+        processFileTypesInParallel(fileTypes);
+      }
 
-    log.info("{}", banner("="));
-    for (val fileType : fileTypeToPrimaryKeys.keySet()) {
-      log.debug("{}: {}", fileType, fileTypeToPrimaryKeys.get(fileType));
+      log.info("{}", banner("="));
+      for (val fileType : fileTypeToPrimaryKeys.keySet()) {
+        log.debug("{}: {}", fileType, fileTypeToPrimaryKeys.get(fileType));
+      }
+      log.debug("{}", banner("="));
+    } finally {
+      // Release the off-heap key stores, also when the validation failed or was interrupted
+      fileTypeToPrimaryKeys.values().forEach(primaryKeys -> close(primaryKeys));
+      fileTypeToPrimaryKeys.clear();
     }
-    log.debug("{}", banner("="));
     log.info("done.");
   }
 
   public void processFileType(KVFileType fileType) {
+    processFileType(fileType, reporter, null);
+  }
+
+  /**
+   * Schedules each file type as soon as the file types it references are done. Each file type reports to its own spool
+   * and the spools are replayed in topological order, which is the order the sequential processing reports in.
+   */
+  private void processFileTypesInParallel(Iterable<KVFileType> fileTypes) {
+    val fileTypeExecutor = newFixedThreadPool(parallelism);
+    val rowExecutor = newFixedThreadPool(parallelism);
+    Map<KVFileType, KVSpoolingReporter> spools = newLinkedHashMap();
+    try {
+      Map<KVFileType, CompletableFuture<Void>> tasks = newLinkedHashMap();
+      for (val fileType : fileTypes) {
+        val spool = new KVSpoolingReporter(dictionary);
+        spools.put(fileType, spool);
+
+        // Topological order guarantees the prerequisites are already scheduled
+        val prerequisites = getDependencies(fileType).stream()
+            .map(dependency -> tasks.get(dependency))
+            .toArray(CompletableFuture[]::new);
+
+        tasks.put(fileType, allOf(prerequisites)
+            .thenRunAsync(() -> processFileType(fileType, spool, rowExecutor), fileTypeExecutor));
+      }
+
+      join(allOf(tasks.values().toArray(new CompletableFuture[tasks.size()])));
+
+      for (val spool : spools.values()) {
+        spool.transferTo(reporter);
+      }
+    } finally {
+      fileTypeExecutor.shutdownNow();
+      rowExecutor.shutdownNow();
+      spools.values().forEach(spool -> close(spool));
+    }
+  }
+
+  private void processFileType(KVFileType fileType, KVReporter reporter, ExecutorService rowExecutor) {
     log.info("{}", banner("="));
 
-    // Primary keys for the type under consideration (each file will augment it)
-    val primaryKeys = new KVPrimaryKeys();
+    // Primary keys for the type under consideration (each file will augment it). Registered right away so that
+    // processSubmission() releases them even if processing fails
+    val primaryKeys = new KVPrimaryKeys(parallelism);
+    fileTypeToPrimaryKeys.put(fileType, primaryKeys);
 
     val referencedPrimaryKeys = getReferencedPrimaryKeys(fileType);
     if (!referencedPrimaryKeys.isEmpty()) {
@@ -92,41 +166,56 @@ public class KVSubmissionProcessor {
     log.info("Processing file type: '{}'; has referencing is '{}'; will be collecting FKs for '{}'",
         new Object[] { fileType, !referencedPrimaryKeys.isEmpty(), encounteredForeignKeys.keySet() });
 
-    // Process files matching the current file type
-    val dataFilePaths = kvFileSystem.getDataFilePaths(fileType);
-    if (dataFilePaths.isPresent()) {
-      for (val dataFilePath : dataFilePaths.get()) {
-        val watch = createStopwatch();
-        log.info("{}", banner("-"));
-        log.info("Processing '{}' file: '{}'; has referencing is '{}'",
-            new Object[] { fileType, !referencedPrimaryKeys.isEmpty(), dataFilePath });
-
-        // TODO: subclass for referencing/non-referencing?
-        val fileProcessor = new KVFileProcessor(fileType, dataFilePath);
-        fileProcessor.processFile(
-            dictionary,
-            fileParser,
-            reporter,
-            primaryKeys,
-            referencedPrimaryKeys,
-            encounteredForeignKeys);
+    try {
+      // Process files matching the current file type
+      val dataFilePaths = kvFileSystem.getDataFilePaths(fileType);
+      if (dataFilePaths.isPresent()) {
+        for (val dataFilePath : dataFilePaths.get()) {
+          val watch = createStopwatch();
+          log.info("{}", banner("-"));
+          log.info("Processing '{}' file: '{}'; has referencing is '{}'",
+              new Object[] { fileType, !referencedPrimaryKeys.isEmpty(), dataFilePath });
 
-        log.info("Finished processing file '{}' in {} with {} of JVM free memory remaining",
-            new Object[] { dataFilePath, watch, formatFreeMemory() });
+          // TODO: subclass for referencing/non-referencing?
+          val fileProcessor = new KVFileProcessor(fileType, dataFilePath);
+          if (rowExecutor == null) {
+            fileProcessor.processFile(
+                dictionary,
+                fileParser,
+                reporter,
+                primaryKeys,
+                referencedPrimaryKeys,
+                encounteredForeignKeys);
+          } else {
+            fileProcessor.processFile(
+                dictionary,
+                fileParser,
+                reporter,
+                primaryKeys,
+                referencedPrimaryKeys,
+                encounteredForeignKeys,
+                rowExecutor);
+          }
+
+          log.info("Finished processing file '{}' in {} with {} of JVM free memory remaining",
+              new Object[] { dataFilePath, watch, formatFreeMemory() });
+        }
+      } else {
+        log.info("Skipping '{}', there are no matching files", fileType);
       }
-    } else {
-      log.info("Skipping '{}', there are no matching files", fileType);
-    }
-    fileTypeToPrimaryKeys.put(fileType, primaryKeys);
 
-    encounteredForeignKeys.entrySet()
-        .forEach(entry -> checkSurjection(fileType, entry.getKey(), entry.getValue()));
+      encounteredForeignKeys.entrySet()
+          .forEach(entry -> checkSurjection(fileType, entry.getKey(), entry.getValue(), reporter));
+    } finally {
+      encounteredForeignKeys.values().forEach(encountered -> close(encountered));
+    }
   }
 
   private void checkSurjection(
       KVFileType fileType,
       KVFileType referencedType,
-      KVEncounteredForeignKeys encounteredForeignKeys) {
+      KVEncounteredForeignKeys encounteredForeignKeys,
+      KVReporter reporter) {
 
     log.info("{}", banner("-"));
     log.info("Post-processing: surjectivity check for type '{}'", fileType);
@@ -155,6 +244,30 @@ public class KVSubmissionProcessor {
             parent -> new KVReferencedPrimaryKeys(parent, fileTypeToPrimaryKeys.get(parent))));
   }
 
+  /**
+   * File types whose primary keys must be complete before {@code fileType} can be processed.
+   */
+  private Collection<KVFileType> getDependencies(KVFileType fileType) {
+    val dependencies = newLinkedHashSet(dictionary.getParents(fileType));
+    dependencies.addAll(dictionary.getSurjectiveReferencedTypes(fileType));
+
+    return dependencies;
+  }
+
+  @SneakyThrows
+  private static void join(CompletableFuture<Void> future) {
+    try {
+      future.join();
+    } catch (CompletionException e) {
+      throw e.getCause();
+    }
+  }
+
+  @SneakyThrows
+  private static void close(Closeable closeable) {
+    closeable.close();
+  }
+
   private static String banner(String symbol) {
     return repeat(symbol, 75);
   }
@@ -170,4 +283,4 @@ public class KVSubmissionProcessor {
     return new Stopwatch().start();
   }
 
-}
\ No newline at end of file
+}
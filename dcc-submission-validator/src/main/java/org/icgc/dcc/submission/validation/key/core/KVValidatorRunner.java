@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.net.URI;
 import java.util.Collection;
 
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.Value;
@@ -48,6 +49,7 @@ import com.google.common.base.Stopwatch;
  */
 @Slf4j
 @Value
+@AllArgsConstructor
 public class KVValidatorRunner implements FlowExecutorJob, Serializable {
 
   /**
@@ -67,6 +69,12 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
   private final String systemPath;
   @NonNull
   private final String reportPath;
+  private final int parallelism;
+
+  public KVValidatorRunner(URI fsUri, Collection<DataType> dataTypes, Dictionary dictionary, String submissionPath,
+      String systemPath, String reportPath) {
+    this(fsUri, dataTypes, dictionary, submissionPath, systemPath, reportPath, 1);
+  }
 
   @Override
   @SneakyThrows
@@ -91,7 +99,7 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
           kvDictionary,
           new KVFileParser(fileSystem, new FileLineListParser(), false),
           new KVFileSystem(fileSystem, dataTypes, dictionary.getPatterns(),
-              new Path(submissionPath), new Path(systemPath)), report);
+              new Path(submissionPath), new Path(systemPath)), report, parallelism);
 
       log.info("Processing submission...");
       validator.processSubmission();
@@ -20,42 +20,66 @@ package org.icgc.dcc.submission.validation.key.core;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.List;
-import java.util.Map;
 
 import lombok.NonNull;
 import lombok.val;
 
+import org.icgc.dcc.submission.validation.util.ScriptPredicate;
+import org.icgc.dcc.submission.validation.util.SlotVariableResolverFactory;
 import org.mvel2.MVEL;
 import org.mvel2.compiler.ExecutableStatement;
 
-import com.google.common.collect.ImmutableMap;
-
 public class RowConditionEvaluator {
 
   private final ExecutableStatement statement;
   private final List<String> fieldNames;
 
+  /**
+   * Direct evaluation of recognised conditions, {@code null} if not recognised.
+   */
+  private final ScriptPredicate predicate;
+
+  /**
+   * Evaluators are shared by the workers of a file, hence a resolver factory per thread.
+   */
+  private final ThreadLocal<SlotVariableResolverFactory> resolverFactories;
+
   public RowConditionEvaluator(@NonNull String script, @NonNull List<String> fieldNames) {
     this.statement = (ExecutableStatement) MVEL.compileExpression(script);
     this.fieldNames = fieldNames;
+    this.predicate = ScriptPredicate.compile(script, fieldNames).orElse(null);
+    this.resolverFactories = ThreadLocal.withInitial(() -> new SlotVariableResolverFactory(fieldNames));
   }
 
   public boolean evaluate(@NonNull List<String> row) {
-    val result = MVEL.executeExpression(statement, prepareInput(row));
+    checkState(fieldNames.size() == row.size(), "Failed verify script for row. \nExpected fields:%s. \nRow: %s",
+        fieldNames, row);
+
+    if (predicate != null) {
+      Boolean matched = predicate.test(row::get);
+      if (matched != null) {
+        return matched;
+      }
+    }
+
+    val result = execute(row);
     checkState(result instanceof Boolean, "Failed to execute script. Result: %s", result);
 
     return (Boolean) result;
   }
 
-  private Map<String, Object> prepareInput(List<String> row) {
-    checkState(fieldNames.size() == row.size(), "Failed verify script for row. \nExpected fields:%s. \nRow: %s",
-        fieldNames, row);
-    val input = ImmutableMap.<String, Object> builder();
-    for (int i = 0; i < fieldNames.size(); i++) {
-      input.put(fieldNames.get(i), row.get(i));
+  private Object execute(List<String> row) {
+    // Values are left as text, which is what the conditions compare against
+    val resolverFactory = resolverFactories.get();
+    for (int i = 0; i < row.size(); i++) {
+      resolverFactory.set(i, row.get(i));
     }
 
-    return input.build();
+    try {
+      return statement.getValue(null, resolverFactory);
+    } finally {
+      resolverFactory.reset();
+    }
   }
 
 }
@@ -18,9 +18,9 @@
 package org.icgc.dcc.submission.validation.key.data;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Sets.newHashSet;
 
-import java.util.Set;
+import java.io.Closeable;
+import java.io.IOException;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,9 +28,9 @@ import lombok.RequiredArgsConstructor;
  * TODO: inclusive delegate possible with lombok?
  */
 @RequiredArgsConstructor
-public final class KVEncounteredForeignKeys {
+public final class KVEncounteredForeignKeys implements Closeable {
 
-  private final Set<KVKey> encounteredFks = newHashSet(); // TODO: change to array (optimization)?
+  private final KVKeyStore encounteredFks = new KVKeyStore();
 
   public void addEncounteredForeignKey(KVKey fk) {
     encounteredFks.add(checkNotNull(fk));
@@ -52,6 +52,11 @@ public final class KVEncounteredForeignKeys {
     return encounteredFks.size();
   }
 
+  @Override
+  public void close() throws IOException {
+    encounteredFks.close();
+  }
+
   @Override
   public String toString() {
     return String.format("KVEncounteredForeignKeys(encounteredFks=%s)", encounteredFks.size());
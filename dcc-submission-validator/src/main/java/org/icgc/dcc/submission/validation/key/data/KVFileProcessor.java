@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static lombok.AccessLevel.PUBLIC;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableMap;
 import static org.icgc.dcc.submission.validation.key.core.KVErrorType.CONDITIONAL_RELATION;
 import static org.icgc.dcc.submission.validation.key.core.KVErrorType.OPTIONAL_RELATION;
 import static org.icgc.dcc.submission.validation.key.core.KVErrorType.RELATION;
@@ -29,6 +30,9 @@ import static org.icgc.dcc.submission.validation.key.core.KVSubmissionProcessor.
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -41,8 +45,12 @@ import org.icgc.dcc.submission.validation.key.core.KVDictionary;
 import org.icgc.dcc.submission.validation.key.core.KVErrorType;
 import org.icgc.dcc.submission.validation.key.core.KVFileParser;
 import org.icgc.dcc.submission.validation.key.core.KVFileType;
+import org.icgc.dcc.submission.validation.key.report.KVBufferedReporter;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
 @Slf4j
 @RequiredArgsConstructor(access = PUBLIC)
 public final class KVFileProcessor {
@@ -51,6 +59,7 @@ public final class KVFileProcessor {
    * Constants.
    */
   private static final int DEFAULT_LOG_THRESHOLD = 1000000;
+  private static final int DEFAULT_BATCH_SIZE = 100000;
 
   /**
    * Helpers.
@@ -96,6 +105,118 @@ public final class KVFileProcessor {
     });
   }
 
+  /**
+   * Same as {@link #processFile(KVDictionary, KVFileParser, KVReporter, KVPrimaryKeys, Map, Map)} but with rows
+   * hash-partitioned on their primary key across as many workers as {@code primaryKeys} has shards.
+   * <p>
+   * Rows are read on the calling thread and dispatched in batches. Each worker owns a shard of the primary keys, its
+   * own encountered foreign keys (merged into {@code encounteredKeys} at the end) and its own error buffer. Buffers are
+   * flushed to {@code reporter} in line order after each batch so that the report is the same as the sequential one.
+   */
+  @SneakyThrows
+  public void processFile(
+      final KVDictionary dictionary,
+      final KVFileParser fileParser,
+      final KVReporter reporter,
+      final KVPrimaryKeys primaryKeys,
+      final Map<KVFileType, KVReferencedPrimaryKeys> referencedPrimaryKeys,
+      final Map<KVFileType, KVEncounteredForeignKeys> encounteredKeys,
+      final ExecutorService executor) {
+    log.info("{} - {} ({} workers)", new Object[] { fileType, filePath, primaryKeys.getShards() });
+
+    val fileName = filePath.getName();
+    primaryKeys.addFile(fileName);
+
+    val workers = primaryKeys.getShards();
+    val buffers = Lists.<KVBufferedReporter> newArrayList();
+    val workerEncounteredKeys = Lists.<Map<KVFileType, KVEncounteredForeignKeys>> newArrayList();
+    val batches = Lists.<List<KVRowContext>> newArrayList();
+    for (int worker = 0; worker < workers; worker++) {
+      val buffer = new KVBufferedReporter(dictionary);
+      Map<KVFileType, KVEncounteredForeignKeys> encountered = encounteredKeys.keySet().stream()
+          .collect(toImmutableMap(referencedFileType -> referencedFileType,
+              referencedFileType -> new KVEncounteredForeignKeys()));
+
+      buffers.add(buffer);
+      workerEncounteredKeys.add(encountered);
+      batches.add(Lists.<KVRowContext> newArrayList());
+    }
+
+    try {
+      fileParser.parse(filePath, new FileRecordProcessor<List<String>>() {
+
+        int pending = 0;
+
+        @Override
+        public void process(long lineNumber, List<String> record) {
+          val row = dictionary.getKeysIndices(fileType).getRow(record);
+          val worker = row.hasPk() ? primaryKeys.getShard(row.getPk()) : (int) (lineNumber % workers);
+
+          // Each pending row gets its own (lightweight) context bound to the worker's state
+          val context = new KVRowContext(fileName, fileType, buffers.get(worker), primaryKeys,
+              workerEncounteredKeys.get(worker), referencedPrimaryKeys);
+          context.nextRow(row, lineNumber);
+          batches.get(worker).add(context);
+
+          if (++pending == DEFAULT_BATCH_SIZE) {
+            processBatch(dictionary, executor, batches, buffers, reporter);
+            pending = 0;
+          }
+
+          processStatus(lineNumber);
+        }
+
+      });
+
+      processBatch(dictionary, executor, batches, buffers, reporter);
+
+      // Merge the worker local encountered keys for the future surjection check
+      for (val encountered : workerEncounteredKeys) {
+        for (val entry : encountered.entrySet()) {
+          encounteredKeys.get(entry.getKey()).addEncounteredForeignKeys(entry.getValue());
+        }
+      }
+    } finally {
+      for (val encountered : workerEncounteredKeys) {
+        for (val workerKeys : encountered.values()) {
+          workerKeys.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * Processes the pending rows of each worker concurrently, then writes their errors in line order.
+   */
+  @SneakyThrows
+  private void processBatch(KVDictionary dictionary, ExecutorService executor, List<List<KVRowContext>> batches,
+      List<KVBufferedReporter> buffers, KVReporter reporter) {
+    val futures = Lists.<Future<?>> newArrayList();
+    for (val batch : batches) {
+      if (batch.isEmpty()) {
+        continue;
+      }
+
+      futures.add(executor.submit(() -> {
+        for (KVRowContext context : batch) {
+          log.debug("Row: '{}'", context.getRow());
+          processRow(context, dictionary);
+        }
+      }));
+    }
+
+    for (val future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        throw Throwables.propagate(e.getCause());
+      }
+    }
+
+    KVBufferedReporter.flush(buffers, reporter);
+    batches.forEach(List::clear);
+  }
+
   /**
    * Processes a row (performs all validation except surjection).
    */
@@ -112,7 +233,8 @@ public final class KVFileProcessor {
     // E.g. Primary file types without secondary ones don't need to add their PKs as the surjection check will not be
     // performed for them.
     if (dictionary.hasChildren(fileType)) {
-      addEncounteredPrimaryKey(context.getFileName(), context.getPrimaryKeys(), context.getRow());
+      addEncounteredPrimaryKey(context.getFileName(), context.getPrimaryKeys(), context.getRow(),
+          context.getLineNumber());
     }
 
     if (!dictionary.getSurjectiveReferencedTypes(fileType).isEmpty()) {
@@ -133,9 +255,9 @@ public final class KVFileProcessor {
   /**
    * For future relation checks.
    */
-  private void addEncounteredPrimaryKey(String fileName, KVPrimaryKeys primaryKeys, KVRow row) {
+  private void addEncounteredPrimaryKey(String fileName, KVPrimaryKeys primaryKeys, KVRow row, long lineNumber) {
     sanity.ensurePK(fileName, row);
-    primaryKeys.updatePks(fileName, row);
+    primaryKeys.updatePks(fileName, row, lineNumber);
   }
 
   /**
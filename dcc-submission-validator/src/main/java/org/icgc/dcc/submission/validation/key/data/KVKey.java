@@ -29,9 +29,6 @@ import lombok.val;
 
 import org.icgc.dcc.common.core.model.SpecialValue;
 
-import com.google.common.collect.Interner;
-import com.google.common.collect.Interners;
-
 /**
  * Represents the values for a given key (a key may be composite).
  */
@@ -41,9 +38,6 @@ public class KVKey implements Comparable<KVKey> {
 
   public static final KVKey KEY_NOT_APPLICABLE = null;
 
-  // TODO: Move to another class? Clean up?
-  private static final Interner<ByteBuffer> VALUE_INTERNER = Interners.newWeakInterner();
-
   private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.wrap("".getBytes(US_ASCII));
   private static final ByteBuffer MISSING_CODE1_BYTE_BUFFER = ByteBuffer.wrap(SpecialValue.VERIFIED_UNKNOWN_CODE
       .getBytes(US_ASCII));
@@ -67,10 +61,8 @@ public class KVKey implements Comparable<KVKey> {
     val values = new ByteBuffer[size];
     for (int index = 0; index < size; index++) {
       val text = row.get(indices.get(index));
-      val bytes = ByteBuffer.wrap(text.getBytes(US_ASCII));
-      val canonicalized = VALUE_INTERNER.intern(bytes);
-
-      values[index] = canonicalized;
+      // No interning: long lived keys are copied into a KVKeyStore so these are short lived
+      values[index] = ByteBuffer.wrap(text.getBytes(US_ASCII));
     }
     // TODO: checks
     return new KVKey(values, size);
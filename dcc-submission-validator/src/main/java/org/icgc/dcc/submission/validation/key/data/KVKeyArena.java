@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Append-only, memory-mapped storage for the raw bytes of {@link KVKey}s.
+ * <p>
+ * Keys are laid out as {@code [short count]([int length][bytes])*} inside segments of a temporary file. Segments grow
+ * geometrically up to {@link #MAX_SEGMENT_SIZE} so that small key sets do not reserve large mappings. An entry never
+ * spans two segments, which allows addressing it with {@code (segment << 32) | offset}.
+ * <p>
+ * Not thread-safe.
+ */
+final class KVKeyArena implements Closeable {
+
+  /**
+   * Constants.
+   */
+  private static final int MIN_SEGMENT_SIZE = 1 << 16; // 64KB
+  private static final int MAX_SEGMENT_SIZE = 1 << 26; // 64MB
+
+  /**
+   * Backing file.
+   */
+  private final File file;
+  private final RandomAccessFile randomAccessFile;
+  private final FileChannel channel;
+
+  /**
+   * Mapped segments and how much of each one is in use.
+   */
+  private final List<MappedByteBuffer> segments = newArrayList();
+  private final List<Integer> limits = newArrayList();
+
+  /**
+   * File offset at which the next segment is mapped.
+   */
+  private long mapped;
+
+  @SneakyThrows
+  KVKeyArena() {
+    this.file = File.createTempFile("kv-keys-", ".arena");
+    this.file.deleteOnExit();
+    this.randomAccessFile = new RandomAccessFile(file, "rw");
+    this.channel = randomAccessFile.getChannel();
+  }
+
+  /**
+   * Appends the values of a key and returns its address.
+   */
+  long append(ByteBuffer[] values) {
+    int length = getEntryLength(values);
+    checkState(length <= MAX_SEGMENT_SIZE, "Key of %s bytes exceeds the maximum segment size", length);
+
+    int segmentIndex = segments.size() - 1;
+    if (segmentIndex < 0 || segments.get(segmentIndex).capacity() - limits.get(segmentIndex) < length) {
+      segmentIndex = addSegment(length);
+    }
+
+    val segment = segments.get(segmentIndex);
+    int offset = limits.get(segmentIndex);
+    int position = offset;
+
+    segment.putShort(position, (short) values.length);
+    position += 2;
+    for (val value : values) {
+      int valueLength = value.remaining();
+      segment.putInt(position, valueLength);
+      position += 4;
+      for (int i = 0; i < valueLength; i++) {
+        segment.put(position++, value.get(value.position() + i));
+      }
+    }
+
+    limits.set(segmentIndex, position);
+
+    return address(segmentIndex, offset);
+  }
+
+  /**
+   * Compares the values stored at {@code address} against {@code values} byte for byte.
+   */
+  boolean matches(long address, ByteBuffer[] values) {
+    val segment = segments.get(segmentIndex(address));
+    int position = offset(address);
+
+    if (segment.getShort(position) != values.length) {
+      return false;
+    }
+    position += 2;
+
+    for (val value : values) {
+      int valueLength = value.remaining();
+      if (segment.getInt(position) != valueLength) {
+        return false;
+      }
+      position += 4;
+
+      for (int i = 0; i < valueLength; i++) {
+        if (segment.get(position++) != value.get(value.position() + i)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Materializes the key stored at {@code address} as heap values.
+   */
+  ByteBuffer[] read(long address) {
+    val segment = segments.get(segmentIndex(address));
+    int position = offset(address);
+
+    short count = segment.getShort(position);
+    position += 2;
+
+    val values = new ByteBuffer[count];
+    for (int index = 0; index < count; index++) {
+      int valueLength = segment.getInt(position);
+      position += 4;
+
+      val bytes = new byte[valueLength];
+      for (int i = 0; i < valueLength; i++) {
+        bytes[i] = segment.get(position++);
+      }
+      values[index] = ByteBuffer.wrap(bytes);
+    }
+
+    return values;
+  }
+
+  /**
+   * Returns the address of the entry following the one at {@code address}, or {@code -1} if there is none.
+   */
+  long next(long address) {
+    int segmentIndex = segmentIndex(address);
+    val segment = segments.get(segmentIndex);
+    int position = offset(address);
+
+    short count = segment.getShort(position);
+    position += 2;
+    for (int index = 0; index < count; index++) {
+      position += 4 + segment.getInt(position);
+    }
+
+    return normalize(segmentIndex, position);
+  }
+
+  /**
+   * Returns the address of the first entry, or {@code -1} if the arena is empty.
+   */
+  long first() {
+    return normalize(0, 0);
+  }
+
+  /**
+   * Unmaps the segments and deletes the backing file. The arena must not be used afterwards.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      for (val segment : segments) {
+        unmap(segment);
+      }
+      segments.clear();
+      limits.clear();
+      channel.close();
+      randomAccessFile.close();
+    } finally {
+      file.delete();
+    }
+  }
+
+  @SneakyThrows
+  private int addSegment(int minimumLength) {
+    int previous = segments.isEmpty() ? MIN_SEGMENT_SIZE / 2 : segments.get(segments.size() - 1).capacity();
+    int size = Math.max(minimumLength, Math.min(MAX_SEGMENT_SIZE, previous * 2));
+
+    segments.add(channel.map(READ_WRITE, mapped, size));
+    limits.add(0);
+    mapped += size;
+
+    return segments.size() - 1;
+  }
+
+  private long normalize(int segmentIndex, int position) {
+    while (segmentIndex < segments.size()) {
+      if (position < limits.get(segmentIndex)) {
+        return address(segmentIndex, position);
+      }
+
+      segmentIndex++;
+      position = 0;
+    }
+
+    return -1;
+  }
+
+  private static int getEntryLength(ByteBuffer[] values) {
+    int length = 2;
+    for (val value : values) {
+      length += 4 + value.remaining();
+    }
+
+    return length;
+  }
+
+  /**
+   * Releases the mapping of {@code segment} right away rather than whenever it gets garbage collected. There is no
+   * public API for this so it is best effort: if the JVM doesn't allow it the mapping is left to the garbage collector.
+   */
+  private static void unmap(MappedByteBuffer segment) {
+    try {
+      // Java 9+
+      val unsafeClass = Class.forName("sun.misc.Unsafe");
+      val theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), segment);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      try {
+        // Java 8
+        val cleaner = segment.getClass().getMethod("cleaner");
+        cleaner.setAccessible(true);
+        val clean = cleaner.getReturnType().getMethod("clean");
+        clean.setAccessible(true);
+        clean.invoke(cleaner.invoke(segment));
+      } catch (ReflectiveOperationException | RuntimeException ignored) {
+        // Left to the garbage collector
+      }
+    }
+  }
+
+  private static long address(int segmentIndex, int offset) {
+    return ((long) segmentIndex << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  private static int segmentIndex(long address) {
+    return (int) (address >>> 32);
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static java.lang.String.format;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Set of {@link KVKey}s optimized for very large cardinalities.
+ * <p>
+ * Membership is resolved through an open-addressing (linear probing) table of 64-bit key fingerprints held in
+ * primitive arrays. A fingerprint match is always confirmed against the exact key bytes, which live off-heap in a
+ * {@link KVKeyArena}, so the results are identical to those of a {@code Set<KVKey>}. Keys are iterated in insertion
+ * order.
+ * <p>
+ * Not thread-safe.
+ */
+public final class KVKeyStore implements Closeable, Iterable<KVKey> {
+
+  /**
+   * Constants.
+   */
+  private static final int DEFAULT_CAPACITY = 1 << 10;
+  private static final long EMPTY = 0L;
+
+  /**
+   * Raw key storage.
+   */
+  private final KVKeyArena arena = new KVKeyArena();
+
+  /**
+   * Hash table: parallel arrays of fingerprints and arena addresses.
+   */
+  private long[] fingerprints = new long[DEFAULT_CAPACITY];
+  private long[] addresses = new long[DEFAULT_CAPACITY];
+  private int mask = DEFAULT_CAPACITY - 1;
+  private int size;
+
+  /**
+   * Optional caller supplied ordinals, in insertion order (see {@link #add(KVKey, long)}).
+   */
+  private long[] ordinals;
+
+  /**
+   * Adds the key if not already present.
+   *
+   * @return {@code true} if the key was added
+   */
+  public boolean add(@NonNull KVKey key) {
+    val values = key.getValues();
+    long fingerprint = fingerprint(values);
+
+    int slot = slot(fingerprint);
+    while (fingerprints[slot] != EMPTY) {
+      if (fingerprints[slot] == fingerprint && arena.matches(addresses[slot], values)) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    fingerprints[slot] = fingerprint;
+    addresses[slot] = arena.append(values);
+    size++;
+
+    // Keep the load factor at or below 0.5 to keep probe sequences short
+    if (size * 2 > fingerprints.length) {
+      resize();
+    }
+
+    return true;
+  }
+
+  /**
+   * Adds the key if not already present, recording {@code ordinal} (e.g. a line number) for it.
+   *
+   * @return {@code true} if the key was added
+   */
+  public boolean add(@NonNull KVKey key, long ordinal) {
+    val added = add(key);
+    if (added) {
+      if (ordinals == null) {
+        ordinals = new long[Math.max(DEFAULT_CAPACITY, size * 2)];
+      } else if (size > ordinals.length) {
+        ordinals = Arrays.copyOf(ordinals, size * 2);
+      }
+
+      ordinals[size - 1] = ordinal;
+    }
+
+    return added;
+  }
+
+  /**
+   * Returns the ordinal recorded for the {@code index}-th inserted key.
+   */
+  long getOrdinal(int index) {
+    return ordinals[index];
+  }
+
+  public void addAll(@NonNull KVKeyStore other) {
+    for (val key : other) {
+      add(key);
+    }
+  }
+
+  public boolean contains(@NonNull KVKey key) {
+    val values = key.getValues();
+    long fingerprint = fingerprint(values);
+
+    int slot = slot(fingerprint);
+    while (fingerprints[slot] != EMPTY) {
+      if (fingerprints[slot] == fingerprint && arena.matches(addresses[slot], values)) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<KVKey> iterator() {
+    return new Iterator<KVKey>() {
+
+      private long address = arena.first();
+
+      @Override
+      public boolean hasNext() {
+        return address != -1;
+      }
+
+      @Override
+      public KVKey next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+
+        val values = arena.read(address);
+        address = arena.next(address);
+
+        return new KVKey(values, (short) values.length);
+      }
+
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    fingerprints = new long[0];
+    addresses = new long[0];
+    ordinals = null;
+    arena.close();
+  }
+
+  @Override
+  public String toString() {
+    return format("KVKeyStore(size=%s, capacity=%s)", formatCount(size), formatCount(fingerprints.length));
+  }
+
+  private void resize() {
+    val oldFingerprints = fingerprints;
+    val oldAddresses = addresses;
+
+    int capacity = oldFingerprints.length * 2;
+    fingerprints = new long[capacity];
+    addresses = new long[capacity];
+    mask = capacity - 1;
+
+    // Fingerprints are kept so rehashing never needs to touch the arena
+    for (int i = 0; i < oldFingerprints.length; i++) {
+      long fingerprint = oldFingerprints[i];
+      if (fingerprint != EMPTY) {
+        int slot = slot(fingerprint);
+        while (fingerprints[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+
+        fingerprints[slot] = fingerprint;
+        addresses[slot] = oldAddresses[i];
+      }
+    }
+  }
+
+  private int slot(long fingerprint) {
+    return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+  }
+
+  /**
+   * 64-bit FNV-1a over the values (length-prefixed to keep composite keys unambiguous), finalized with the MurmurHash3
+   * mixer. Never returns {@link #EMPTY}.
+   */
+  static long fingerprint(ByteBuffer[] values) {
+    long hash = 0xcbf29ce484222325L;
+    for (val value : values) {
+      int length = value.remaining();
+      hash = (hash ^ length) * 0x100000001b3L;
+      for (int i = 0; i < length; i++) {
+        hash = (hash ^ (value.get(value.position() + i) & 0xff)) * 0x100000001b3L;
+      }
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash == EMPTY ? 1L : hash;
+  }
+
+}
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.key.data;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newLinkedHashMap;
@@ -24,68 +25,179 @@ import static java.lang.String.format;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.submission.validation.key.core.KVSubmissionProcessor.ROW_CHECKS_ENABLED;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import com.google.common.collect.Sets;
-
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.val;
 
+import com.google.common.collect.AbstractIterator;
+
 /**
  * Keeps track of primary keys for each file.
  * <p>
  * There's trade off here, we accept to potentially store the same PK under different files (if there's a uniqueness
  * violation). It's a bit wasteful but keeps the code complexity lower in {@link KVFileProcessor}.
+ * <p>
+ * Keys are held in {@link KVKeyStore}s rather than {@code Set<KVKey>}s to keep them out of the heap.
+ * <p>
+ * Keys of a file may be hash-partitioned into several shards (see {@link #getShard(KVKey)}) so that concurrent workers
+ * each own a disjoint subset of them. Shards are only ever written by their owner, provided the files are registered
+ * upfront with {@link #addFile(String)}.
  */
-@RequiredArgsConstructor
-public final class KVPrimaryKeys {
+public final class KVPrimaryKeys implements Closeable {
+
+  @Getter
+  private final int shards;
+  private final Map<String, KVKeyStore[]> pks = newLinkedHashMap();
 
-  private final Map<String, Set<KVKey>> pks = newLinkedHashMap();
+  public KVPrimaryKeys() {
+    this(1);
+  }
+
+  public KVPrimaryKeys(int shards) {
+    checkArgument(shards > 0, "Expected at least one shard, got '%s'", shards);
+    this.shards = shards;
+  }
 
   public List<String> getFilePaths() {
     return newArrayList(pks.keySet());
   }
 
+  /**
+   * Iterates over the keys of a file in the order they were first encountered, regardless of the number of shards.
+   */
   public Iterator<KVKey> getPrimaryKeys(String fileName) {
-    return pks.get(fileName).iterator();
+    val filePks = pks.get(fileName);
+
+    return shards == 1 ? filePks[0].iterator() : new OrderedIterator(filePks);
   }
 
   public boolean containsPk(KVKey pk) {
+    val shard = getShard(pk);
     for (val filePks : pks.values()) {
-      if (filePks.contains(pk)) {
+      if (filePks[shard].contains(pk)) {
         return true;
       }
     }
     return false;
   }
 
-  public void updatePks(String fileName, KVRow row) {
+  public void addFile(String fileName) {
+    if (!pks.containsKey(fileName)) {
+      val filePks = new KVKeyStore[shards];
+      for (int shard = 0; shard < shards; shard++) {
+        filePks[shard] = new KVKeyStore();
+      }
+
+      pks.put(fileName, filePks);
+    }
+  }
+
+  public void updatePks(String fileName, KVRow row, long lineNumber) {
     if (ROW_CHECKS_ENABLED) {
       checkState(row.hasPk(), "Expected to have a PK: '%s' ('%s')", row, fileName);
     }
 
-    if (!pks.containsKey(fileName)) {
-      pks.put(fileName, Sets.<KVKey> newHashSet());
+    addFile(fileName);
+
+    val pk = row.getPk();
+    if (shards == 1) {
+      pks.get(fileName)[0].add(pk);
+    } else {
+      // Line numbers are needed to restore the original ordering across shards
+      pks.get(fileName)[getShard(pk)].add(pk, lineNumber);
     }
+  }
 
-    pks.get(fileName).add(row.getPk());
+  /**
+   * Returns the shard owning {@code key}.
+   */
+  public int getShard(KVKey key) {
+    if (shards == 1) {
+      return 0;
+    }
+
+    // High bits so as not to correlate with the slot selection within a shard
+    val fingerprint = KVKeyStore.fingerprint(key.getValues());
+    return (int) ((fingerprint >>> 40) % shards);
   }
 
   public long getSize() {
     long size = 0;
     for (val filePks : pks.values()) {
-      size += filePks.size();
+      for (val shardPks : filePks) {
+        size += shardPks.size();
+      }
     }
 
     return size;
   }
 
+  @Override
+  public void close() throws IOException {
+    for (val filePks : pks.values()) {
+      for (val shardPks : filePks) {
+        shardPks.close();
+      }
+    }
+  }
+
   @Override
   public String toString() {
-    return format("KVPrimaryKeys(pks=%s, size=%s)", formatCount(pks.size()), formatCount(getSize()));
+    return format("KVPrimaryKeys(pks=%s, size=%s, shards=%s)", formatCount(pks.size()), formatCount(getSize()), shards);
+  }
+
+  /**
+   * Merges the shards of a file by ordinal (a k-way merge with a small k).
+   */
+  private static class OrderedIterator extends AbstractIterator<KVKey> {
+
+    private final KVKeyStore[] stores;
+    private final List<Iterator<KVKey>> iterators = newArrayList();
+    private final KVKey[] heads;
+    private final int[] indices;
+
+    private OrderedIterator(KVKeyStore[] stores) {
+      this.stores = stores;
+      this.heads = new KVKey[stores.length];
+      this.indices = new int[stores.length];
+      for (int shard = 0; shard < stores.length; shard++) {
+        val iterator = stores[shard].iterator();
+        iterators.add(iterator);
+        heads[shard] = iterator.hasNext() ? iterator.next() : null;
+      }
+    }
+
+    @Override
+    protected KVKey computeNext() {
+      int next = -1;
+      for (int shard = 0; shard < heads.length; shard++) {
+        if (heads[shard] != null
+            && (next == -1 || ordinal(shard) < ordinal(next))) {
+          next = shard;
+        }
+      }
+
+      if (next == -1) {
+        return endOfData();
+      }
+
+      val key = heads[next];
+      val iterator = iterators.get(next);
+      indices[next]++;
+      heads[next] = iterator.hasNext() ? iterator.next() : null;
+
+      return key;
+    }
+
+    private long ordinal(int shard) {
+      return stores[shard].getOrdinal(indices[shard]);
+    }
+
   }
 
 }
@@ -15,47 +15,57 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.validation.norm.steps;
+package org.icgc.dcc.submission.validation.key.report;
 
-import static cascading.tuple.Fields.ALL;
-import static cascading.tuple.Fields.RESULTS;
-import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.COUNT_INCREMENT;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Comparator.comparingLong;
 
-import org.icgc.dcc.common.cascading.CascadingFunctions.Counter;
-import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
-import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
-import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
+import java.util.Collection;
+import java.util.List;
 
-import cascading.pipe.Each;
-import cascading.pipe.Pipe;
-import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.key.core.KVDictionary;
+
+import com.google.common.io.ByteStreams;
 
 /**
- * Performs final count of observations.
+ * Reporter that holds on to errors in memory so that errors produced concurrently for the same file can be written in
+ * line order.
  * <p>
- * TODO: merge with {@link InitialCounting} by passing the counter to use.
+ * Not thread-safe, each worker is expected to own one.
  */
-@RequiredArgsConstructor
-public final class Counting implements NormalizationStep {
+public class KVBufferedReporter extends KVReporter {
 
-  /**
-   * Short name for the step.
-   */
-  private static final String SHORT_NAME = "count";
+  private final List<Error> errors = newArrayList();
 
-  private final NormalizationCounter counter;
+  public KVBufferedReporter(KVDictionary dictionary) {
+    super(dictionary, ByteStreams.nullOutputStream());
+  }
 
   @Override
-  public String shortName() {
-    return SHORT_NAME;
+  protected void persistError(Error error) {
+    errors.add(error);
   }
 
-  @Override
-  public Pipe extend(Pipe pipe, NormalizationContext context) {
-    return new Each(
-        pipe,
-        ALL,
-        new Counter(counter, COUNT_INCREMENT),
-        RESULTS);
+  /**
+   * Writes the buffered errors of {@code reporters} to {@code target} by ascending line number and clears the buffers.
+   * <p>
+   * All the errors of a given line are expected to come from the same reporter, in which case the (stable) sort
+   * preserves their relative order and the output is the same as if the rows had been processed sequentially.
+   */
+  public static void flush(Collection<KVBufferedReporter> reporters, KVReporter target) {
+    List<Error> merged = newArrayList();
+    for (val reporter : reporters) {
+      merged.addAll(reporter.errors);
+      reporter.errors.clear();
+    }
+
+    merged.sort(comparingLong(Error::getLineNumber));
+    for (val error : merged) {
+      target.persistError(error);
+    }
   }
+
 }
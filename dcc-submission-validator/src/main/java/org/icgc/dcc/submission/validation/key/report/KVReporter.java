@@ -31,6 +31,7 @@ import static org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityVa
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 import lombok.NonNull;
@@ -49,6 +50,7 @@ import org.icgc.dcc.submission.validation.key.data.KVKey;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.io.ByteStreams;
 
 /**
  * Reports key validation errors in the context of the submission system.
@@ -67,18 +69,15 @@ public class KVReporter implements Closeable {
   @NonNull
   private final KVDictionary dictionary;
   @NonNull
-  private final FileSystem fileSystem;
-  @NonNull
-  private final Path path;
-  @NonNull
   private final OutputStream outputStream;
 
-  @SneakyThrows
   public KVReporter(KVDictionary dictionary, FileSystem fileSystem, Path path) {
+    this(dictionary, createOutputStream(fileSystem, path));
+  }
+
+  protected KVReporter(@NonNull KVDictionary dictionary, @NonNull OutputStream outputStream) {
     this.dictionary = dictionary;
-    this.fileSystem = fileSystem;
-    this.path = path;
-    this.outputStream = fileSystem.create(path);
+    this.outputStream = outputStream;
   }
 
   @Override
@@ -125,10 +124,28 @@ public class KVReporter implements Closeable {
   }
 
   @SneakyThrows
-  private void persistError(Error error) {
+  protected void persistError(Error error) {
     WRITER.writeValue(outputStream, error);
   }
 
+  /**
+   * Appends already serialized errors (see {@link KVSpoolingReporter}).
+   */
+  @SneakyThrows
+  void append(InputStream inputStream) {
+    ByteStreams.copy(inputStream, outputStream);
+  }
+
+  @SneakyThrows
+  void flush() {
+    outputStream.flush();
+  }
+
+  @SneakyThrows
+  private static OutputStream createOutputStream(FileSystem fileSystem, Path path) {
+    return fileSystem.create(path);
+  }
+
   private Object[] getErrorParams(KVFileType fileType, KVErrorType errorType,
       KVFileType referencedFileType) {
     // UNIQUENESS: uniqueness errors don't need params
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.report;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.icgc.dcc.submission.validation.key.core.KVDictionary;
+
+/**
+ * Reporter that writes to a local temporary file until {@link #transferTo(KVReporter)} is called.
+ * <p>
+ * Used when file types are processed concurrently: each one reports to its own spool and the spools are transferred in
+ * topological order so that the final report does not depend on scheduling.
+ */
+public class KVSpoolingReporter extends KVReporter {
+
+  private final File file;
+
+  public KVSpoolingReporter(KVDictionary dictionary) {
+    this(dictionary, createTempFile());
+  }
+
+  private KVSpoolingReporter(KVDictionary dictionary, File file) {
+    super(dictionary, createOutputStream(file));
+    this.file = file;
+  }
+
+  /**
+   * Appends everything reported so far to {@code target}.
+   */
+  @SneakyThrows
+  public void transferTo(@NonNull KVReporter target) {
+    flush();
+
+    @Cleanup
+    val inputStream = new FileInputStream(file);
+    target.append(inputStream);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      file.delete();
+    }
+  }
+
+  @SneakyThrows
+  private static File createTempFile() {
+    val file = File.createTempFile("kv-report-", ".json");
+    file.deleteOnExit();
+
+    return file;
+  }
+
+  @SneakyThrows
+  private static OutputStream createOutputStream(File file) {
+    return new BufferedOutputStream(new FileOutputStream(file));
+  }
+
+}
@@ -18,13 +18,16 @@
 package org.icgc.dcc.submission.validation.norm;
 
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
 import static lombok.AccessLevel.PRIVATE;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import org.icgc.dcc.submission.core.config.SubmissionProperties.NormalizerProperties;
+import org.icgc.dcc.submission.fs.BlockGzip;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
-import org.icgc.dcc.submission.validation.norm.steps.MaskedRowGeneration;
+import org.icgc.dcc.submission.validation.norm.steps.RowTransformation;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -49,6 +52,11 @@ public final class NormalizationConfig {
    */
   public static final String ENABLED = "enabled";
 
+  /**
+   * Name of the optional generation of masked observations by {@link RowTransformation}.
+   */
+  public static final String MASKING = "mask";
+
   /**
    * Key to set the error above which errors are reported in the normalisation. It defines the maximum ratio of
    * controlled to total observations.
@@ -65,9 +73,9 @@ public final class NormalizationConfig {
   /**
    * Default values.
    */
-  private static final Map<Class<? extends OptionalStep>, Boolean> STEP_ENABLING_DEFAULT_VALUES =
-      new ImmutableMap.Builder<Class<? extends OptionalStep>, Boolean>()
-          .put(MaskedRowGeneration.class, ON)
+  private static final Map<String, Boolean> STEP_ENABLING_DEFAULT_VALUES =
+      new ImmutableMap.Builder<String, Boolean>()
+          .put(MASKING, ON)
           .build();
 
   /**
@@ -77,14 +85,56 @@ public final class NormalizationConfig {
     if (!(step instanceof OptionalStep)) {
       return ON;
     } else {
-      val clazz = step.getClass();
-      checkState(STEP_ENABLING_DEFAULT_VALUES.containsKey(clazz), "Could not find a default value for step '%s'",
-          step.getClass());
+      return isEnabled(step.shortName(), properties);
+    }
+  }
+
+  /**
+   * Checks whether the optional step (or part of a step) of the given name is enabled or not.
+   */
+  public static boolean isEnabled(String stepName, NormalizerProperties properties) {
+    checkState(STEP_ENABLING_DEFAULT_VALUES.containsKey(stepName), "Could not find a default value for step '%s'",
+        stepName);
+
+    val steps = properties.getSteps();
+    val enabled = steps.get(stepName + "." + ENABLED);
+    return enabled != null ? Boolean.valueOf(enabled) : STEP_ENABLING_DEFAULT_VALUES.get(stepName);
+  }
+
+  /**
+   * Codecs the normalization output can be written with.
+   */
+  public enum OutputCodec {
+
+    /**
+     * Plain TSV.
+     */
+    NONE,
+
+    /**
+     * Block compressed gzip (see {@link BlockGzip}).
+     */
+    BGZIP;
+
+  }
 
-      val steps = properties.getSteps();
-      val enabled = steps.get(step.shortName() + ".enabled");
-      return enabled != null ? Boolean.valueOf(enabled) : STEP_ENABLING_DEFAULT_VALUES.get(clazz);
+  /**
+   * Returns the codec to write the normalization output with.
+   */
+  public static OutputCodec getOutputCodec(NormalizerProperties properties) {
+    val outputCodec = properties.getOutputCodec();
+    if (outputCodec == null) {
+      return OutputCodec.NONE;
     }
+
+    for (val value : OutputCodec.values()) {
+      if (value.name().equalsIgnoreCase(outputCodec)) {
+        return value;
+      }
+    }
+
+    throw new IllegalStateException(format("Unknown normalization output codec '%s', expected one of %s",
+        outputCodec, Arrays.toString(OutputCodec.values())));
   }
 
   /**
@@ -28,14 +28,13 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
 import static org.icgc.dcc.common.core.util.Joiners.PATH;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
-import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_END;
-import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_START;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.UNIQUE_REMAINING;
 import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.UNIQUE_START;
-import static org.icgc.dcc.submission.validation.norm.steps.DonorIdAddition.DONOR_ID_FIELD;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.cascading.Cascades;
@@ -45,26 +44,29 @@ import org.icgc.dcc.common.cascading.Pipes;
 import org.icgc.dcc.common.core.dcc.Component;
 import org.icgc.dcc.common.hadoop.fs.DccFileSystem2;
 import org.icgc.dcc.submission.core.config.SubmissionProperties.NormalizerProperties;
+import org.icgc.dcc.submission.validation.cascading.BlockGzipTextDelimited;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
+import org.icgc.dcc.submission.validation.key.KeyValidator;
+import org.icgc.dcc.submission.validation.norm.NormalizationConfig.OutputCodec;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationContext.DefaultNormalizationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReporter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
-import org.icgc.dcc.submission.validation.norm.steps.Counting;
-import org.icgc.dcc.submission.validation.norm.steps.DonorIdAddition;
-import org.icgc.dcc.submission.validation.norm.steps.FieldDiscarding;
-import org.icgc.dcc.submission.validation.norm.steps.MaskedRowGeneration;
-import org.icgc.dcc.submission.validation.norm.steps.MutationRebuilding;
-import org.icgc.dcc.submission.validation.norm.steps.PreMarking;
-import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration;
-import org.icgc.dcc.submission.validation.norm.steps.SensitiveRowMarking;
+import org.icgc.dcc.submission.validation.norm.core.ObservationIdGenerator;
+import org.icgc.dcc.submission.validation.norm.steps.RowTransformation;
 import org.icgc.dcc.submission.validation.norm.steps.UniqueCounting;
+import org.icgc.dcc.submission.validation.pcawg.PCAWGValidator;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
+import org.icgc.dcc.submission.validation.rgv.ReferenceGenomeValidator;
+import org.icgc.dcc.submission.validation.sample.SampleTypeValidator;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -73,7 +75,9 @@ import cascading.cascade.CascadeConnector;
 import cascading.flow.Flow;
 import cascading.pipe.Merge;
 import cascading.pipe.Pipe;
+import cascading.tap.SinkMode;
 import cascading.tap.Tap;
+import cascading.tap.hadoop.Hfs;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
@@ -118,6 +122,13 @@ public class NormalizationValidator implements Validator {
     return COMPONENT_NAME;
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    // Only normalize submissions that passed every other check
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class, KeyValidator.class, PCAWGValidator.class,
+        ReferenceGenomeValidator.class, SampleTypeValidator.class);
+  }
+
   /**
    * Returns the default instance for the normalization.
    */
@@ -132,29 +143,16 @@ public class NormalizationValidator implements Validator {
             .add(new UniqueCounting(
                 ANALYSIS_ID,
                 UNIQUE_START))
-            .add(new Counting(TOTAL_START))
-
-            .add(new DonorIdAddition())
 
-            // Must happen before rebuilding the mutation
-            .add(new PreMarking()) // Must happen no matter what
-            .add(new SensitiveRowMarking())
-            .add(new MaskedRowGeneration()) // May be skipped
-
-            // Must happen after allele masking
-            .add(new MutationRebuilding()) // Must happen before removing redundant observations
+            // Counting, marking, masking, mutation rebuilding and primary key generation in a single pass
+            .add(new RowTransformation(
+                NormalizationConfig.isEnabled(NormalizationConfig.MASKING, properties)))
 
+            // The analysis ID is left untouched by the row transformation
             .add(new UniqueCounting(
                 ANALYSIS_ID,
                 UNIQUE_REMAINING))
 
-            // Must happen after removing duplicates and allele masking
-            .add(new PrimaryKeyGeneration())
-
-            .add(new FieldDiscarding(DONOR_ID_FIELD))
-
-            .add(new Counting(TOTAL_END))
-
             .build());
   }
 
@@ -184,7 +182,22 @@ public class NormalizationValidator implements Validator {
     return dccFileSystem2.isHadoopMode() ? CascadingContext.getDistributed() : CascadingContext.getLocal();
   }
 
+  /**
+   * Returns the seed of the observation IDs of this run, a fresh one each time.
+   */
+  public long getObservationIdSeed() {
+    return ObservationIdGenerator.newSeed();
+  }
+
   public Tap<?, ?, ?> getNormalizationDataOutputTap(String path) {
+    if (NormalizationConfig.getOutputCodec(properties) == OutputCodec.BGZIP) {
+      if (dccFileSystem2.isHadoopMode()) {
+        return new Hfs(new BlockGzipTextDelimited(), path, SinkMode.REPLACE);
+      }
+
+      log.warn("Block compression is only available in Hadoop mode, writing '{}' uncompressed", path);
+    }
+
     return getCascadingContext()
         .getTaps()
         .getNoCompressionTsvWithHeader(path);
@@ -199,7 +212,9 @@ public class NormalizationValidator implements Validator {
     val pipes = planCascade(
         fileNames,
         DefaultNormalizationContext
-            .getContext(context.getSubmissionDirectory(), context.getDictionary()));
+            .getContext(
+                context.getDictionary(),
+                getObservationIdSeed()));
 
     // Connect cascade
     val connectedCascade = connectCascade(
@@ -19,11 +19,7 @@ package org.icgc.dcc.submission.validation.norm.core;
 
 import static com.google.common.collect.ImmutableList.copyOf;
 
-import java.util.Map;
-
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
-import org.icgc.dcc.submission.fs.SubmissionDirectory;
-import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -43,9 +39,9 @@ public interface NormalizationContext {
   ImmutableMap<String, ImmutableList<String>> getControlledFields();
 
   /**
-   * See {@link SubmissionPlatformStrategy#getSampleToDonorMap(Dictionary)}
+   * Returns the seed observation IDs are derived from (see {@link ObservationIdGenerator}).
    */
-  Map<String, String> getSampleToDonorMap();
+  long getObservationIdSeed();
 
   @Value
   @Builder
@@ -57,18 +53,18 @@ public interface NormalizationContext {
     private final ImmutableMap<String, ImmutableList<String>> controlledFields;
 
     /**
-     * See {@link #getSampleToDonorMap()}.
+     * See {@link #getObservationIdSeed()}.
      */
-    private final Map<String, String> sampleToDonorMap;
+    private final long observationIdSeed;
 
     /**
      * Creates the default {@link NormalizationContext}.
      */
-    public static NormalizationContext getContext(SubmissionDirectory submissionDirectory, Dictionary dictionary) {
+    public static NormalizationContext getContext(Dictionary dictionary, long observationIdSeed) {
       return DefaultNormalizationContext
           .builder()
           .controlledFields(getControlledFields(dictionary))
-          .sampleToDonorMap(submissionDirectory.getSampleToDonorMap(dictionary))
+          .observationIdSeed(observationIdSeed)
           .build();
     }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.core;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.security.SecureRandom;
+
+/**
+ * Generates observation IDs from a per-run seed and a per-slice counter block.
+ * <p>
+ * IDs are version 4 (random), IETF variant {@code UUID}s: 60 bits of seed, 14 bits of slice (task) number and 48 bits
+ * of position in that slice's counter block, around the version and variant bits. They are therefore unique within a
+ * run as long as slices don't exceed their block, and across runs as long as seeds don't collide, which
+ * {@link #newSeed()} makes unlikely. Not thread-safe, one instance is expected per slice.
+ */
+public final class ObservationIdGenerator {
+
+  /**
+   * Constants.
+   */
+  public static final int MAX_SLICE = (1 << 14) - 1;
+  public static final long BLOCK_SIZE = 1L << 48;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final char SEPARATOR = '-';
+  private static final int ID_LENGTH = 36;
+  private static final int COUNTER_OFFSET = 24;
+  private static final int COUNTER_DIGITS = 12;
+  private static final int VERSION = 0x4000;
+  private static final int VARIANT = 0x8000;
+
+  /**
+   * State.
+   */
+  private final char[] buffer = new char[ID_LENGTH];
+  private long counter;
+
+  public ObservationIdGenerator(long seed, int slice) {
+    checkArgument(slice >= 0 && slice <= MAX_SLICE, "Slice number '%s' is out of range [0, %s]", slice, MAX_SLICE);
+
+    // Fixed prefix, only the counter digits change from one ID to the next
+    hex(seed >>> 32, 0, 8);
+    buffer[8] = SEPARATOR;
+    hex(seed >>> 16, 9, 4);
+    buffer[13] = SEPARATOR;
+    hex(VERSION | (seed & 0x0FFF), 14, 4);
+    buffer[18] = SEPARATOR;
+    hex(VARIANT | slice, 19, 4);
+    buffer[23] = SEPARATOR;
+  }
+
+  /**
+   * Returns the next ID of the block.
+   */
+  public String next() {
+    checkState(counter < BLOCK_SIZE, "Exhausted the block of %s observation IDs", BLOCK_SIZE);
+    hex(counter++, COUNTER_OFFSET, COUNTER_DIGITS);
+
+    return new String(buffer);
+  }
+
+  /**
+   * Returns a new random seed, to be drawn once per validation run so that re-validating a submission doesn't reuse
+   * the IDs of a previous run.
+   */
+  public static long newSeed() {
+    return RANDOM.nextLong();
+  }
+
+  private void hex(long value, int offset, int digits) {
+    for (int i = offset + digits - 1; i >= offset; i--) {
+      buffer[i] = HEX_DIGITS[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+
+}
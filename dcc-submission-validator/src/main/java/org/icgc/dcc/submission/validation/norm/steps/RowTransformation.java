@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.steps;
+
+import static cascading.tuple.Fields.ALL;
+import static cascading.tuple.Fields.ARGS;
+import static cascading.tuple.Fields.REPLACE;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MARKING;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CONTROL_GENOTYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE;
+import static org.icgc.dcc.common.core.model.Marking.CONTROLLED;
+import static org.icgc.dcc.common.core.model.Marking.MASKED;
+import static org.icgc.dcc.common.core.model.Marking.OPEN;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.COUNT_INCREMENT;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.MARKED_AS_CONTROLLED;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_END;
+import static org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter.TOTAL_START;
+
+import java.util.Set;
+
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
+import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
+import org.icgc.dcc.submission.validation.norm.core.ObservationIdGenerator;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.Insert;
+import cascading.operation.OperationCall;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Performs all the row-level steps of the normalization in a single pass: the {@link NormalizationCounter#TOTAL_START}
+ * and {@link NormalizationCounter#TOTAL_END} counting, the marking of all observations as {@link Marking#OPEN} unless
+ * {@link #isSensitive sensitive}, the generation of a masked counterpart to sensitive observations (if enabled), the
+ * rebuilding of the {@link #MUTATION_FIELD} and the generation of observation IDs.
+ * <p>
+ * A sensitive observation is one for which the original allele in the mutation does not match that of the reference
+ * genome allele at the same position. Its masked counterpart has both genotypes erased and the reference genome allele
+ * as "from" allele.
+ * <p>
+ * Observation IDs come from an {@link ObservationIdGenerator} seeded with
+ * {@link NormalizationContext#getObservationIdSeed()}.
+ */
+@RequiredArgsConstructor
+public final class RowTransformation implements NormalizationStep {
+
+  /**
+   * Short name for the step.
+   */
+  private static final String SHORT_NAME = "row-transformation";
+
+  static final Fields REFERENCE_GENOME_ALLELE_FIELD = new Fields(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE);
+  static final Fields CONTROL_GENOTYPE_FIELD = new Fields(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE);
+  static final Fields TUMOUR_GENOTYPE_FIELD = new Fields(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE);
+  static final Fields MUTATED_FROM_ALLELE_FIELD = new Fields(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE);
+  static final Fields MUTATED_TO_ALLELE_FIELD = new Fields(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE);
+  static final Fields MARKING_FIELD = new Fields(NORMALIZER_MARKING);
+  static final Fields MUTATION_FIELD = new Fields(NORMALIZER_MUTATION);
+  static final Fields OBSERVATION_ID_FIELD = new Fields(NORMALIZER_OBSERVATION_ID);
+
+  private static final Splitter ALLELES_SPLITTER = Splitter.on("/");
+
+  /**
+   * Joiner to use to concatenate the "from" and "to" allele fields.
+   */
+  private static final Joiner MUTATION_JOINER = Joiner.on(">");
+
+  /**
+   * Fields appended to the submitted ones, in output order.
+   */
+  static final Fields ADDED_FIELDS = MARKING_FIELD
+      .append(MUTATION_FIELD)
+      .append(OBSERVATION_ID_FIELD);
+
+  /**
+   * Whether to generate a masked counterpart to controlled observations.
+   */
+  private final boolean masking;
+
+  @Override
+  public String shortName() {
+    return SHORT_NAME;
+  }
+
+  @Override
+  public Pipe extend(Pipe pipe, NormalizationContext context) {
+    // Placeholders so that the transformer can fill all output fields in place
+    pipe = new Each(
+        pipe,
+        new Insert(ADDED_FIELDS, null, null, null),
+        ALL);
+
+    return new Each(
+        pipe,
+        ALL,
+        new RowTransformer(masking, context.getObservationIdSeed()),
+        REPLACE);
+  }
+
+  /**
+   * Transforms an observation into its normalized form (and its masked counterpart if applicable), re-using the same
+   * output {@link Tuple} for every row.
+   */
+  @VisibleForTesting
+  static final class RowTransformer extends BaseOperation<RowTransformer.Context>
+      implements Function<RowTransformer.Context> {
+
+    private final boolean masking;
+    private final long observationIdSeed;
+
+    @VisibleForTesting
+    RowTransformer(boolean masking, long observationIdSeed) {
+      super(ARGS);
+      this.masking = masking;
+      this.observationIdSeed = observationIdSeed;
+    }
+
+    static class Context {
+
+      Tuple result;
+      ObservationIdGenerator observationIds;
+
+      int referenceGenomeAllelePosition;
+      int controlGenotypePosition;
+      int tumourGenotypePosition;
+      int mutatedFromAllelePosition;
+      int mutatedToAllelePosition;
+      int markingPosition;
+      int mutationPosition;
+      int observationIdPosition;
+
+    }
+
+    @Override
+    public void prepare(@SuppressWarnings("rawtypes") FlowProcess flowProcess, OperationCall<Context> operationCall) {
+      val fields = operationCall.getArgumentFields();
+
+      val context = new Context();
+      context.result = Tuple.size(fields.size());
+      context.observationIds = new ObservationIdGenerator(observationIdSeed, flowProcess.getCurrentSliceNum());
+
+      context.referenceGenomeAllelePosition = fields.getPos(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE);
+      context.controlGenotypePosition = fields.getPos(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE);
+      context.tumourGenotypePosition = fields.getPos(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE);
+      context.mutatedFromAllelePosition = fields.getPos(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE);
+      context.mutatedToAllelePosition = fields.getPos(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE);
+      context.markingPosition = fields.getPos(NORMALIZER_MARKING);
+      context.mutationPosition = fields.getPos(NORMALIZER_MUTATION);
+      context.observationIdPosition = fields.getPos(NORMALIZER_OBSERVATION_ID);
+
+      operationCall.setContext(context);
+    }
+
+    @Override
+    public void operate(@SuppressWarnings("rawtypes") FlowProcess flowProcess, FunctionCall<Context> functionCall) {
+      val context = functionCall.getContext();
+      val row = functionCall.getArguments().getTuple();
+      val result = context.result;
+      val outputCollector = functionCall.getOutputCollector();
+
+      flowProcess.increment(TOTAL_START, COUNT_INCREMENT);
+
+      val referenceGenomeAllele = row.getString(context.referenceGenomeAllelePosition);
+      val mutatedToAllele = row.getString(context.mutatedToAllelePosition);
+      val sensitive = isSensitive(
+          referenceGenomeAllele,
+          row.getString(context.controlGenotypePosition),
+          row.getString(context.tumourGenotypePosition),
+          mutatedToAllele);
+      if (sensitive) {
+        flowProcess.increment(MARKED_AS_CONTROLLED, COUNT_INCREMENT);
+      }
+
+      // Observation as submitted
+      result.setAll(row);
+      result.set(context.markingPosition, (sensitive ? CONTROLLED : OPEN).getTupleValue());
+      result.set(context.mutationPosition, rebuildMutation(
+          row.getString(context.mutatedFromAllelePosition),
+          mutatedToAllele));
+      result.set(context.observationIdPosition, context.observationIds.next());
+      outputCollector.add(result);
+      flowProcess.increment(TOTAL_END, COUNT_INCREMENT);
+
+      // Masked counterpart if sensitive (see
+      // https://wiki.oicr.on.ca/display/DCCSOFT/Data+Normalizer+Component?focusedCommentId=53182773#comment-53182773)
+      if (sensitive && masking) {
+        result.set(context.controlGenotypePosition, SpecialValue.NO_VALUE);
+        result.set(context.tumourGenotypePosition, SpecialValue.NO_VALUE);
+        result.set(context.mutatedFromAllelePosition, referenceGenomeAllele);
+        result.set(context.markingPosition, MASKED.getTupleValue());
+        result.set(context.mutationPosition, rebuildMutation(referenceGenomeAllele, mutatedToAllele));
+        result.set(context.observationIdPosition, context.observationIds.next());
+        outputCollector.add(result);
+
+        flowProcess.increment(NormalizationCounter.MASKED, COUNT_INCREMENT);
+        flowProcess.increment(TOTAL_END, COUNT_INCREMENT);
+      }
+    }
+
+    @Override
+    public void cleanup(@SuppressWarnings("rawtypes") FlowProcess flowProcess, OperationCall<Context> operationCall) {
+      operationCall.setContext(null);
+    }
+
+  }
+
+  /**
+   * Returns whether the observation does not match the reference genome allele on all its control alleles and all its
+   * tumour alleles but the "to" one.
+   */
+  @VisibleForTesting
+  static boolean isSensitive(String referenceGenomeAllele, String controlGenotype, String tumourGenotype,
+      String mutatedToAllele) {
+    return !matchesAllControlAlleles(referenceGenomeAllele, controlGenotype)
+        || !matchesAllTumourAllelesButTo(referenceGenomeAllele, tumourGenotype, mutatedToAllele);
+  }
+
+  /**
+   * Rebuilds the mutation by concatenating the "from" and "to" allele fields.
+   */
+  @VisibleForTesting
+  static String rebuildMutation(String mutatedFromAllele, String mutatedToAllele) {
+    return MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele);
+  }
+
+  private static boolean matchesAllControlAlleles(String referenceGenomeAllele, String controlGenotype) {
+    val controlAlleles = getUniqueAlleles(controlGenotype);
+    for (val controlAllele : controlAlleles) {
+      if (!referenceGenomeAllele.equals(controlAllele)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean matchesAllTumourAllelesButTo(String referenceGenomeAllele, String tumourGenotype,
+      String mutatedToAllele) {
+    for (val tumourAllele : getTumourAllelesMinusToAllele(tumourGenotype, mutatedToAllele)) {
+      if (!referenceGenomeAllele.equals(tumourAllele)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<String> getTumourAllelesMinusToAllele(String tumourGenotype, String mutatedToAllele) {
+    val alleles = getUniqueAlleles(tumourGenotype);
+    val removed = alleles.remove(mutatedToAllele);
+    checkState(
+        removed,
+        "'%s' ('%s') is expected to be in '%s' ('%s') as per primary validation rules",
+        mutatedToAllele, MUTATED_TO_ALLELE_FIELD, tumourGenotype, TUMOUR_GENOTYPE_FIELD);
+    return alleles;
+  }
+
+  private static Set<String> getUniqueAlleles(String genotype) {
+    return newLinkedHashSet(ALLELES_SPLITTER.split(genotype));
+  }
+
+}
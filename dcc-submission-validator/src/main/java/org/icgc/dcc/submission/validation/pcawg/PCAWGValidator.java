@@ -17,7 +17,10 @@
  */
 package org.icgc.dcc.submission.validation.pcawg;
 
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
+
 import java.util.List;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -31,12 +34,16 @@ import org.icgc.dcc.submission.validation.core.ClinicalCore;
 import org.icgc.dcc.submission.validation.core.ClinicalParser;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGClinicalFilter;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGDictionary;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGSample;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGSampleFilter;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGSampleSheet;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGSampleValidator;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
+
+import com.google.common.base.Optional;
 
 /**
  * Validator responsible for ensuring PCAWG clinical validation rules are enforced.
@@ -65,6 +72,11 @@ public class PCAWGValidator implements Validator {
     return "PCAWG Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class);
+  }
+
   @Override
   public void validate(@NonNull ValidationContext context) throws InterruptedException {
     log.info("Starting...");
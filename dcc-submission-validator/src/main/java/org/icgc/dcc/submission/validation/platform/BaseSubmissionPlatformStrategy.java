@@ -140,6 +140,11 @@ public abstract class BaseSubmissionPlatformStrategy implements SubmissionPlatfo
     return fields(FIELD_SPLITTER.split(new LineReader(isr).readLine()));
   }
 
+  @Override
+  public FileSystem getFileSystem() {
+    return fileSystem;
+  }
+
   @Override
   public List<String> listFileNames(String pattern) {
     return toFilenameList(lsFile(fileSystem, submissionDir, compile(pattern)));
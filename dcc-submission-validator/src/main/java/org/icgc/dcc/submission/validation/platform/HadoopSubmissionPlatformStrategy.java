@@ -36,6 +36,7 @@ import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
 import cascading.property.AppProps;
+import cascading.tuple.hadoop.BytesSerialization;
 import cascading.tuple.hadoop.TupleSerializationProps;
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -61,6 +62,7 @@ public class HadoopSubmissionPlatformStrategy extends BaseSubmissionPlatformStra
 
     // Custom serialization
     TupleSerializationProps.addSerialization(additionalFlowProperties, TupleStateSerialization.class.getName());
+    TupleSerializationProps.addSerialization(additionalFlowProperties, BytesSerialization.class.getName());
 
     // M/R job entry point
     AppProps.setApplicationJarClass(additionalFlowProperties, this.getClass());
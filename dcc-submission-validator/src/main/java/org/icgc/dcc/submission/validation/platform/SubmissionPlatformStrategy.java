@@ -22,6 +22,7 @@ import static org.icgc.dcc.common.core.util.Separators.DOUBLE_DASH;
 import java.io.InputStream;
 import java.util.List;
 
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.dcc.DccConstants;
 import org.icgc.dcc.common.core.util.Separators;
@@ -70,6 +71,11 @@ public interface SubmissionPlatformStrategy {
    */
   Path getFile(String fileName);
 
+  /**
+   * Gets the file system the submission files are read from.
+   */
+  FileSystem getFileSystem();
+
   /**
    * TODO: merge with {@link ValidationContext#getSsmPrimaryFiles()}?
    */
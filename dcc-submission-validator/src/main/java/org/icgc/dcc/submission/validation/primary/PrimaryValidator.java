@@ -19,13 +19,19 @@ package org.icgc.dcc.submission.validation.primary;
 
 import static com.google.common.collect.Iterables.size;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
+
+import java.util.Set;
 
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.planner.Planner;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.base.Optional;
+
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -52,6 +58,11 @@ public class PrimaryValidator implements Validator {
     return "Primary Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class);
+  }
+
   @Override
   @SneakyThrows
   public void validate(ValidationContext context) {
@@ -15,36 +15,39 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.validation.norm.steps;
+package org.icgc.dcc.submission.validation.primary.core;
 
-import static java.lang.String.format;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 
-import org.icgc.dcc.submission.validation.norm.core.NormalizationContext;
-import org.icgc.dcc.submission.validation.norm.core.NormalizationStep;
-
-import cascading.pipe.Pipe;
-import cascading.pipe.assembly.Discard;
 import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 /**
- * Discards specified field.
+ * A {@link RowCheck} on the value of a single field.
  */
-public class FieldDiscarding implements NormalizationStep {
+@RequiredArgsConstructor
+public abstract class FieldRowCheck implements RowCheck {
 
-  private final Fields field;
+  @NonNull
+  protected final String fieldName;
 
-  @Override
-  public String shortName() {
-    return format("%s-discarding", field.toString().replace("'", ""));
-  }
+  /**
+   * Position of the field in the row, resolved in {@link #prepare(Fields)}.
+   */
+  private int position = -1;
 
-  public FieldDiscarding(Fields field) {
-    this.field = field;
+  @Override
+  public void prepare(Fields fields) {
+    position = fields.getPos(fieldName);
   }
 
   @Override
-  public Pipe extend(Pipe pipe, NormalizationContext context) {
-    return new Discard(pipe, field);
+  public void check(TupleEntry row, TupleState state) {
+    check(row.getObject(position), state);
   }
 
+  protected abstract void check(Object value, TupleState state);
+
 }
@@ -15,39 +15,32 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.primary.core;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
 
-import org.icgc.dcc.submission.core.report.ErrorReport;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 
-import lombok.Getter;
-import lombok.NonNull;
-import lombok.val;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
 
-@NotThreadSafe
-public class ErrorCountVisitor extends NoOpVisitor {
-
-  @Getter
-  int errorCount = 0;
-
-  @Override
-  public void visit(@NonNull ErrorReport errorReport) {
-    // Accumulate leaf level error counts
-    errorCount += getErrorReportCount(errorReport);
-  }
-
-  //
-  // Helpers
-  //
-
-  private static int getErrorReportCount(ErrorReport errorReport) {
-    int count = 0;
-    for (val fieldErrorReport : errorReport.getFieldErrorReports()) {
-      count += fieldErrorReport.getCount();
-    }
-
-    return count;
-  }
+/**
+ * A row level check that can be evaluated together with others in a single pass over a row, as opposed to being
+ * planned as its own {@code Pipe}.
+ * 
+ * @see RowCheckPlanElement
+ */
+public interface RowCheck extends Serializable {
+
+  /**
+   * Resolves whatever is needed from the incoming {@code fields} (e.g. positions). Called once before any row is
+   * checked.
+   */
+  void prepare(Fields fields);
+
+  /**
+   * Checks {@code row}, reporting errors to {@code state}. Implementations must not modify {@code row}.
+   */
+  void check(TupleEntry row, TupleState state);
 
 }
@@ -15,28 +15,17 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.primary.core;
 
-import org.icgc.dcc.submission.core.report.FileReport;
-import org.icgc.dcc.submission.core.report.SummaryReport;
-
-import lombok.NonNull;
-
-public class AddSummaryVisitor extends AbstractFileNameReportVisitor {
-
-  @NonNull
-  private final SummaryReport summaryReport;
-
-  public AddSummaryVisitor(@NonNull String fileName, @NonNull String name, @NonNull String value) {
-    super(fileName);
-    this.summaryReport = new SummaryReport(name, value);
-  }
+/**
+ * A {@code RowBasedPlanElement} whose logic is also available as a {@link RowCheck} so that it can be fused with others
+ * into a single {@code Pipe}.
+ */
+public interface RowCheckPlanElement extends RowBasedPlanElement {
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      fileReport.addSummaryReport(summaryReport);
-    }
-  }
+  /**
+   * Returns a new check equivalent to what {@link #extend(cascading.pipe.Pipe)} plans.
+   */
+  public RowCheck createRowCheck();
 
 }
@@ -29,6 +29,7 @@ import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
+import org.icgc.dcc.submission.validation.primary.restriction.RowValidator;
 import org.icgc.dcc.submission.validation.primary.visitor.ErrorReportingPlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.PlanningVisitor;
 import org.icgc.dcc.submission.validation.primary.visitor.RowBasedRestrictionPlanningVisitor;
@@ -45,12 +46,22 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@RequiredArgsConstructor
 public class Planner {
 
   @NonNull
   private final Set<RestrictionType> restrictionTypes;
 
+  /**
+   * Whether row based restrictions are fused into a single {@link RowValidator} per file.
+   */
+  private final boolean fused;
+
+  @Autowired
+  public Planner(Set<RestrictionType> restrictionTypes) {
+    this(restrictionTypes, false);
+  }
+
   public Plan plan(@NonNull String projectKey, @NonNull Collection<DataType> dataTypes,
       @NonNull SubmissionPlatformStrategy platform, @NonNull Dictionary dictionary) {
     val plan = new Plan(projectKey, dictionary, platform);
@@ -96,7 +107,7 @@ public class Planner {
    * {@link FileFlowPlanner}s (which means extending the flow planner's {@link Pipe} based on the element).
    */
   private void applyVisitors(Plan plan, SubmissionPlatformStrategy platform, String projectKey) {
-    val visitors = createVisitors(projectKey, platform, restrictionTypes);
+    val visitors = createVisitors(projectKey, platform, restrictionTypes, fused);
 
     for (val visitor : visitors) {
       log.info("Applying '{}' planning visitor to '{}'", visitor.getClass().getSimpleName(), projectKey);
@@ -105,10 +116,10 @@ public class Planner {
   }
 
   private static List<PlanningVisitor<? extends PlanElement>> createVisitors(
-      String projectKey, SubmissionPlatformStrategy platform, Set<RestrictionType> restrictionTypes) {
+      String projectKey, SubmissionPlatformStrategy platform, Set<RestrictionType> restrictionTypes, boolean fused) {
     return ImmutableList.of(
         new ValueTypePlanningVisitor(projectKey), // Must happen before RangeRestriction
-        new RowBasedRestrictionPlanningVisitor(projectKey, restrictionTypes),
+        new RowBasedRestrictionPlanningVisitor(projectKey, restrictionTypes, fused),
         new SummaryReportingPlanningVisitor(projectKey, platform),
         new ErrorReportingPlanningVisitor(projectKey, platform, ROW_BASED));
   }
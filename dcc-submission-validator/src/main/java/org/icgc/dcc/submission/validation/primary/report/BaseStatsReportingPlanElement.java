@@ -74,7 +74,7 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
   /**
    * Subset of fields (digests) from the file schema matching the summary type under consideration.
    */
-  private final Map<String, FieldStatDigest> fieldStatDigests;
+  protected final Map<String, FieldStatDigest> fieldStatDigests;
 
   protected final List<String> fieldNames;
 
@@ -144,9 +144,7 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
      * <br/>
      * TODO: consider using 2 different variables instead, as their conceptually different? The only thing they have in
      * common is that they're both displayed the same way <br/>
-     * TODO: rename as it's confusing: SummaryPlanElement uses this summary variable, yet the two "summary" notions here
-     * aren't exactly semantically equivalent (FrequencyPlanElement also uses that summary variable, yet isn't a
-     * SummaryPlanElement)
+     * TODO: rename as it's confusing: the two "summary" notions here aren't exactly semantically equivalent
      */
     public Map<String, Object> summary = Maps.newLinkedHashMap(); //
 
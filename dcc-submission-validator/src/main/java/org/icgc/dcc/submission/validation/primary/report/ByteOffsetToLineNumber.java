@@ -17,8 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.primary.report;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.io.ByteStreams.skipFully;
 import static java.util.Collections.sort;
 
 import java.io.DataInputStream;
@@ -31,6 +31,7 @@ import java.util.Map;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 
 import com.google.common.collect.Lists;
@@ -38,46 +39,56 @@ import com.google.common.collect.Maps;
 
 import lombok.Cleanup;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-// TODO: Make non-static class
+/**
+ * Converts the byte offsets reported by Hadoop for the lines of a file into line numbers.
+ * <p>
+ * All the offsets of a file are expected to be converted in one batch. Given a {@link LineIndex} built while the file
+ * was first read, each offset only requires scanning from the closest preceding checkpoint, which is a seek for
+ * uncompressed files and a skip (decompressing but not counting) otherwise.
+ */
 @Slf4j
+@RequiredArgsConstructor
 public class ByteOffsetToLineNumber {
 
   private static final int BUFFER_SIZE_BYTES = 1000 * 1000;
 
-  protected static FileSystem fileSystem;
+  @NonNull
+  private final FileSystem fileSystem;
 
-  public static void setFileSystem(FileSystem fileSystem) {
-    ByteOffsetToLineNumber.fileSystem = fileSystem;
+  public Map<Long, Long> convert(@NonNull Path file, @NonNull Collection<Long> offsets) {
+    return convert(file, offsets, true);
   }
 
-  public static Map<Long, Long> convert(@NonNull Path file, @NonNull Collection<Long> offsets) {
-    return convert(file, offsets, true);
+  public Map<Long, Long> convert(@NonNull Path file, @NonNull Collection<Long> offsets, boolean check) {
+    return convert(file, offsets, new LineIndex(), check);
   }
 
-  public static Map<Long, Long> convert(@NonNull Path file, @NonNull Collection<Long> offsets, boolean check) {
+  public Map<Long, Long> convert(@NonNull Path file, @NonNull Collection<Long> offsets, @NonNull LineIndex lineIndex,
+      boolean check) {
     if (check && !isHdfs()) {
       log.info("Local filesystem: not remapping line numbers for path: '{}'", file);
       return null;
     }
 
-    log.info("Hdfs: remapping line numbers for path: '{}'", file);
-    checkNotNull(fileSystem);
+    log.info("Hdfs: remapping {} line numbers for path '{}' using {}",
+        new Object[] { offsets.size(), file, lineIndex });
 
     // Need to sort offsets to ensure correct iteration order
     val sortedOffsets = sortOffsets(offsets);
-    log.info("Offsets: {}", sortedOffsets);
+    log.debug("Offsets: {}", sortedOffsets);
 
-    val mapping = buildByteToLineOffsetMap(file, sortedOffsets);
+    val mapping = buildByteToLineOffsetMap(file, sortedOffsets, lineIndex);
 
     return mapping;
   }
 
   @SneakyThrows
-  private static Map<Long, Long> buildByteToLineOffsetMap(Path file, List<Long> sortedOffsets) {
+  private Map<Long, Long> buildByteToLineOffsetMap(Path file, List<Long> sortedOffsets, LineIndex lineIndex) {
     @Cleanup
     val inputStream = createInputStream(file);
 
@@ -98,6 +109,16 @@ public class ByteOffsetToLineNumber {
           checkState(currentOffset > previousOffset,
               "Current offset %s is greater than previous offset %s", currentOffset, previousOffset);
 
+          // Jump ahead to the closest checkpoint that still leaves the preceding line terminator to be verified
+          val checkpoint = lineIndex.floor(currentOffset - 1);
+          val checkpointOffset = lineIndex.getOffset(checkpoint);
+          if (checkpointOffset > previousOffset) {
+            skip(inputStream, previousOffset, checkpointOffset);
+
+            previousOffset = checkpointOffset;
+            lineOffset = lineIndex.getLineNumber(checkpoint);
+          }
+
           lineOffset += countLinesInInterval(inputStream, previousOffset, currentOffset, lineOffset);
           mapping.put(byteOffset, lineOffset);
 
@@ -112,6 +133,14 @@ public class ByteOffsetToLineNumber {
     return mapping;
   }
 
+  private static void skip(DataInputStream is, long previousOffset, long nextOffset) throws IOException {
+    if (is instanceof Seekable) {
+      ((Seekable) is).seek(nextOffset);
+    } else {
+      skipFully(is, nextOffset - previousOffset);
+    }
+  }
+
   private static long countLinesInInterval(DataInputStream is, long previousOffset, long currentOffset,
       long lineOffset) {
     long difference = currentOffset - previousOffset;
@@ -170,20 +199,24 @@ public class ByteOffsetToLineNumber {
     return buffer;
   }
 
-  private static DataInputStream createInputStream(Path file) {
+  private DataInputStream createInputStream(Path file) {
     val factory = new CompressionCodecFactory(fileSystem.getConf());
 
     try {
       val codec = factory.getCodec(file);
-      InputStream inputStream =
-          (codec == null) ? fileSystem.open(file) : codec.createInputStream(fileSystem.open(file));
+      if (codec == null) {
+        // Seekable
+        return fileSystem.open(file);
+      }
+
+      InputStream inputStream = codec.createInputStream(fileSystem.open(file));
       return new DataInputStream(inputStream);
     } catch (IOException e) {
       throw new RuntimeException("Error reading: '" + file.toString() + "'", e);
     }
   }
 
-  private static boolean isHdfs() {
+  private boolean isHdfs() {
     val scheme = fileSystem.getScheme();
 
     return scheme.equals("hdfs");
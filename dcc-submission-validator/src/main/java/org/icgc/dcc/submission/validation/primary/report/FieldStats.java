@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newTreeMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.MIN_MAX;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.UNIQUE_COUNT;
+import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MAX;
+import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MIN;
+import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.AVG;
+import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.STDDEV;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.icgc.dcc.submission.validation.primary.report.BaseStatsReportingPlanElement.FieldSummary;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Mergeable, single-pass statistics on the values of a field, covering completeness and whatever its
+ * {@link SummaryType} requires.
+ * <p>
+ * Partial statistics computed over disjoint sets of rows can be {@link #merge(FieldStats)}d in any order. Tolerances
+ * with respect to the {@code AggregateBy} / {@code GroupBy} based reporting they replace:
+ * <ul>
+ * <li>completeness counts, min and max: exact</li>
+ * <li>average and standard deviation (Welford's algorithm, population deviation): equal up to floating point rounding,
+ * and never {@code NaN} because of a slightly negative variance as the sum of squares approach could</li>
+ * <li>unique count: exact up to {@link #DISTINCT_EXACT_LIMIT} distinct values, then a HyperLogLog estimate (about 0.8%
+ * standard error)</li>
+ * <li>frequencies: exact up to {@code 2 * }{@link #FREQUENCY_CAPACITY} distinct values, then only the most frequent
+ * values are kept and a count may be underestimated by at most {@link #getFrequencyError()}</li>
+ * </ul>
+ */
+public final class FieldStats {
+
+  /**
+   * Constants.
+   */
+  static final int DISTINCT_EXACT_LIMIT = 1 << 16;
+  static final int FREQUENCY_CAPACITY = 10000;
+
+  private static final SummaryType[] SUMMARY_TYPES = SummaryType.values();
+
+  /**
+   * May be {@code null} for completeness only.
+   */
+  @Getter
+  private final SummaryType summaryType;
+
+  /**
+   * Completeness.
+   */
+  private long nulls;
+  private long missing;
+  private long populated;
+
+  /**
+   * Numeric values, see {@link #isNumeric()}.
+   */
+  private long count;
+  private double mean;
+  private double m2;
+  private Double min;
+  private Double max;
+
+  /**
+   * Distinct values (a {@code null} value counts as one), exact until the sketch takes over.
+   */
+  private boolean nullSeen;
+  private Set<String> distinctValues;
+  private HyperLogLog distinctSketch;
+
+  /**
+   * Frequencies of populated values.
+   */
+  private Map<String, Long> frequencies;
+  @Getter
+  private long frequencyError;
+
+  public FieldStats(SummaryType summaryType) {
+    this.summaryType = summaryType;
+    if (summaryType == UNIQUE_COUNT) {
+      this.distinctValues = newHashSet();
+    }
+    if (summaryType == FREQUENCY) {
+      this.frequencies = newHashMap();
+    }
+  }
+
+  /**
+   * Whether {@link #addNumber(double)} should be called for values.
+   */
+  public boolean isNumeric() {
+    return summaryType == AVERAGE || summaryType == MIN_MAX;
+  }
+
+  public void add(Object value, boolean fieldMissing) {
+    String string = value == null ? null : value.toString();
+    if (fieldMissing) {
+      missing++;
+    } else if (string == null || string.isEmpty()) {
+      nulls++;
+    } else {
+      populated++;
+      if (frequencies != null) {
+        addFrequency(string, 1);
+      }
+    }
+
+    if (summaryType == UNIQUE_COUNT) {
+      if (string == null) {
+        nullSeen = true;
+      } else {
+        addDistinct(string);
+      }
+    }
+  }
+
+  public void addNumber(double value) {
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+
+    if (min == null || value < min) {
+      min = value;
+    }
+    if (max == null || value > max) {
+      max = value;
+    }
+  }
+
+  public void merge(FieldStats other) {
+    nulls += other.nulls;
+    missing += other.missing;
+    populated += other.populated;
+
+    if (other.count > 0) {
+      long total = count + other.count;
+      double delta = other.mean - mean;
+      mean += delta * other.count / total;
+      m2 += other.m2 + delta * delta * count * other.count / total;
+      count = total;
+
+      if (min == null || other.min < min) {
+        min = other.min;
+      }
+      if (max == null || other.max > max) {
+        max = other.max;
+      }
+    }
+
+    if (summaryType == UNIQUE_COUNT) {
+      nullSeen |= other.nullSeen;
+      if (other.distinctSketch != null) {
+        toDistinctSketch();
+        distinctSketch.merge(other.distinctSketch);
+      } else {
+        for (val value : other.distinctValues) {
+          addDistinct(value);
+        }
+      }
+    }
+
+    if (frequencies != null) {
+      frequencyError = Math.max(frequencyError, other.frequencyError);
+      for (val entry : other.frequencies.entrySet()) {
+        addFrequency(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  public long getUniqueCount() {
+    long uniqueCount = distinctSketch != null ? distinctSketch.cardinality() : distinctValues.size();
+
+    return uniqueCount + (nullSeen ? 1 : 0);
+  }
+
+  /**
+   * Converts to the report representation, with the same summary entries as before.
+   */
+  public FieldSummary toFieldSummary(String fieldName) {
+    val fieldSummary = new FieldSummary();
+    fieldSummary.field = fieldName;
+    fieldSummary.nulls = nulls;
+    fieldSummary.missing = missing;
+    fieldSummary.populated = populated;
+
+    if (summaryType == null) {
+      return fieldSummary;
+    }
+
+    switch (summaryType) {
+    case AVERAGE:
+      fieldSummary.summary.put(MIN, min);
+      fieldSummary.summary.put(MAX, max);
+      fieldSummary.summary.put(AVG, count == 0 ? Double.NaN : mean);
+      fieldSummary.summary.put(STDDEV, count == 0 ? Double.NaN : Math.sqrt(m2 / count));
+      break;
+    case MIN_MAX:
+      fieldSummary.summary.put(MIN, min);
+      fieldSummary.summary.put(MAX, max);
+      break;
+    case UNIQUE_COUNT:
+      fieldSummary.summary.put(UNIQUE_COUNT.getDescription(), getUniqueCount());
+      break;
+    case FREQUENCY:
+      fieldSummary.summary.putAll(newTreeMap(frequencies));
+      break;
+    }
+
+    return fieldSummary;
+  }
+
+  @SneakyThrows
+  public byte[] toBytes() {
+    val out = new DataOutputBuffer();
+    write(out);
+
+    val bytes = new byte[out.getLength()];
+    System.arraycopy(out.getData(), 0, bytes, 0, bytes.length);
+
+    return bytes;
+  }
+
+  @SneakyThrows
+  public static FieldStats fromBytes(byte[] bytes) {
+    val in = new DataInputBuffer();
+    in.reset(bytes, bytes.length);
+
+    return read(in);
+  }
+
+  private void write(DataOutput out) throws IOException {
+    // Zero is reserved for completeness only
+    WritableUtils.writeVInt(out, summaryType == null ? 0 : summaryType.ordinal() + 1);
+    WritableUtils.writeVLong(out, nulls);
+    WritableUtils.writeVLong(out, missing);
+    WritableUtils.writeVLong(out, populated);
+
+    if (isNumeric()) {
+      WritableUtils.writeVLong(out, count);
+      if (count > 0) {
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+        out.writeDouble(min);
+        out.writeDouble(max);
+      }
+    }
+
+    if (summaryType == UNIQUE_COUNT) {
+      out.writeBoolean(nullSeen);
+      out.writeBoolean(distinctSketch != null);
+      if (distinctSketch != null) {
+        distinctSketch.write(out);
+      } else {
+        WritableUtils.writeVInt(out, distinctValues.size());
+        for (val value : distinctValues) {
+          Text.writeString(out, value);
+        }
+      }
+    }
+
+    if (summaryType == FREQUENCY) {
+      WritableUtils.writeVLong(out, frequencyError);
+      WritableUtils.writeVInt(out, frequencies.size());
+      for (val entry : frequencies.entrySet()) {
+        Text.writeString(out, entry.getKey());
+        WritableUtils.writeVLong(out, entry.getValue());
+      }
+    }
+  }
+
+  private static FieldStats read(DataInput in) throws IOException {
+    val code = WritableUtils.readVInt(in);
+    val stats = new FieldStats(code == 0 ? null : SUMMARY_TYPES[code - 1]);
+    stats.nulls = WritableUtils.readVLong(in);
+    stats.missing = WritableUtils.readVLong(in);
+    stats.populated = WritableUtils.readVLong(in);
+
+    if (stats.isNumeric()) {
+      stats.count = WritableUtils.readVLong(in);
+      if (stats.count > 0) {
+        stats.mean = in.readDouble();
+        stats.m2 = in.readDouble();
+        stats.min = in.readDouble();
+        stats.max = in.readDouble();
+      }
+    }
+
+    if (stats.summaryType == UNIQUE_COUNT) {
+      stats.nullSeen = in.readBoolean();
+      if (in.readBoolean()) {
+        stats.distinctValues = null;
+        stats.distinctSketch = HyperLogLog.read(in);
+      } else {
+        val size = WritableUtils.readVInt(in);
+        for (int i = 0; i < size; i++) {
+          stats.distinctValues.add(Text.readString(in));
+        }
+      }
+    }
+
+    if (stats.summaryType == FREQUENCY) {
+      stats.frequencyError = WritableUtils.readVLong(in);
+      val size = WritableUtils.readVInt(in);
+      for (int i = 0; i < size; i++) {
+        stats.frequencies.put(Text.readString(in), WritableUtils.readVLong(in));
+      }
+    }
+
+    return stats;
+  }
+
+  private void addDistinct(String value) {
+    if (distinctSketch != null) {
+      distinctSketch.add(hash(value));
+    } else if (distinctValues.add(value) && distinctValues.size() > DISTINCT_EXACT_LIMIT) {
+      toDistinctSketch();
+    }
+  }
+
+  private void toDistinctSketch() {
+    if (distinctSketch != null) {
+      return;
+    }
+
+    distinctSketch = new HyperLogLog();
+    for (val value : distinctValues) {
+      distinctSketch.add(hash(value));
+    }
+    distinctValues = null;
+  }
+
+  private void addFrequency(String value, long frequency) {
+    val current = frequencies.get(value);
+    frequencies.put(value, current == null ? frequency : current + frequency);
+
+    // Pruning in batches keeps the amortized cost per value constant
+    if (frequencies.size() > 2 * FREQUENCY_CAPACITY) {
+      pruneFrequencies();
+    }
+  }
+
+  private void pruneFrequencies() {
+    List<Entry<String, Long>> entries = newArrayList(frequencies.entrySet());
+    Collections.sort(entries, new Comparator<Entry<String, Long>>() {
+
+      @Override
+      public int compare(Entry<String, Long> a, Entry<String, Long> b) {
+        return Long.compare(b.getValue(), a.getValue());
+      }
+
+    });
+
+    // Anything pruned counted at most this much, which bounds the undercount of values seen again later
+    frequencyError = Math.max(frequencyError, entries.get(FREQUENCY_CAPACITY).getValue());
+
+    Map<String, Long> kept = newHashMap();
+    for (val entry : entries.subList(0, FREQUENCY_CAPACITY)) {
+      kept.put(entry.getKey(), entry.getValue());
+    }
+    frequencies = kept;
+  }
+
+  /**
+   * 64-bit FNV-1a finalized with the MurmurHash3 mixer, good enough for cardinality estimation.
+   */
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+
+}
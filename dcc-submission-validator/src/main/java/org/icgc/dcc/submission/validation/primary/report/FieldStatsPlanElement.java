@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.primary.core.FlowType;
+
+import com.google.common.base.Optional;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import lombok.val;
+
+/**
+ * Plans the completeness and summary reporting of all the fields of a file in a single pass.
+ * <p>
+ * Each task accumulates a {@link FieldStats} per field over all of its rows and only emits them once done, so the
+ * {@code GroupBy} that merges them sees one tuple per field and task rather than one per row (or per value).
+ */
+public final class FieldStatsPlanElement extends BaseStatsReportingPlanElement {
+
+  public static final String NAME = "summary";
+
+  private static final String STATS = "stats";
+  private static final Fields STATS_FIELDS = new Fields(STATS);
+
+  public FieldStatsPlanElement(FlowType flowType, String fileName, Map<String, FieldStatDigest> fieldStatDigests) {
+    super(flowType, Optional.<SummaryType> absent(), fileName, fieldStatDigests);
+  }
+
+  @Override
+  public String getElementName() {
+    return NAME;
+  }
+
+  @Override
+  public Pipe report(Pipe pipe) {
+    pipe = keepStructurallyValidTuples(pipe);
+    pipe = new Each(pipe, Fields.ALL, new FieldStatsFunction(getSummaryTypes()), FIELD_FIELDS.append(STATS_FIELDS));
+    pipe = new GroupBy(pipe, FIELD_FIELDS);
+    pipe = new Every(pipe, STATS_FIELDS, new FieldStatsAggregator(getSummaryTypes()), REPORT_FIELDS);
+
+    return pipe;
+  }
+
+  /**
+   * Serializable field name to summary type (possibly {@code null}) mapping for the operations.
+   */
+  private LinkedHashMap<String, SummaryType> getSummaryTypes() {
+    LinkedHashMap<String, SummaryType> summaryTypes = newLinkedHashMap();
+    for (val fieldStatDigest : fieldStatDigests.values()) {
+      summaryTypes.put(fieldStatDigest.getName(), fieldStatDigest.getSummaryType());
+    }
+
+    return summaryTypes;
+  }
+
+  /**
+   * Accumulates the statistics of all the fields of the rows seen by a task, emitting {@code (field, stats)} partials
+   * on flush.
+   */
+  static class FieldStatsFunction extends BaseOperation<FieldStatsFunction.Context> implements
+      Function<FieldStatsFunction.Context> {
+
+    private final Map<String, SummaryType> summaryTypes;
+
+    FieldStatsFunction(Map<String, SummaryType> summaryTypes) {
+      super(FIELD_FIELDS.append(STATS_FIELDS));
+      this.summaryTypes = summaryTypes;
+    }
+
+    static class Context {
+
+      String[] fieldNames;
+      int[] positions;
+      int statePosition;
+      FieldStats[] stats;
+      long rows;
+
+    }
+
+    @Override
+    public void prepare(FlowProcess flowProcess, OperationCall<Context> operationCall) {
+      val fields = operationCall.getArgumentFields();
+      val size = summaryTypes.size();
+
+      val context = new Context();
+      context.fieldNames = new String[size];
+      context.positions = new int[size];
+      context.stats = new FieldStats[size];
+      context.statePosition = fields.getPos(STATE_FIELD_NAME);
+
+      int i = 0;
+      for (val entry : summaryTypes.entrySet()) {
+        context.fieldNames[i] = entry.getKey();
+        context.positions[i] = fields.getPos(entry.getKey());
+        context.stats[i] = new FieldStats(entry.getValue());
+        i++;
+      }
+
+      operationCall.setContext(context);
+    }
+
+    @Override
+    public void operate(FlowProcess flowProcess, FunctionCall<Context> functionCall) {
+      val context = functionCall.getContext();
+      val row = functionCall.getArguments().getTuple();
+      val state = (TupleState) row.getObject(context.statePosition);
+
+      for (int i = 0; i < context.stats.length; i++) {
+        val stats = context.stats[i];
+        val position = context.positions[i];
+        val value = row.getObject(position);
+
+        stats.add(value, value == null && state.isFieldMissing(context.fieldNames[i]));
+        if (value != null && stats.isNumeric()) {
+          stats.addNumber(row.getDouble(position));
+        }
+      }
+
+      context.rows++;
+    }
+
+    @Override
+    public void flush(FlowProcess flowProcess, OperationCall<Context> operationCall) {
+      val context = operationCall.getContext();
+      if (context == null || context.rows == 0) {
+        return;
+      }
+
+      val outputCollector = ((FunctionCall<Context>) operationCall).getOutputCollector();
+      for (int i = 0; i < context.stats.length; i++) {
+        outputCollector.add(new Tuple(context.fieldNames[i], context.stats[i].toBytes()));
+      }
+    }
+
+    @Override
+    public void cleanup(FlowProcess flowProcess, OperationCall<Context> operationCall) {
+      operationCall.setContext(null);
+    }
+
+  }
+
+  /**
+   * Merges the partials of a field into its {@link FieldSummary}.
+   */
+  static class FieldStatsAggregator extends BaseOperation<FieldStats> implements Aggregator<FieldStats> {
+
+    private final Map<String, SummaryType> summaryTypes;
+
+    FieldStatsAggregator(Map<String, SummaryType> summaryTypes) {
+      super(1, REPORT_FIELDS);
+      this.summaryTypes = summaryTypes;
+    }
+
+    @Override
+    public void start(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      val fieldName = aggregatorCall.getGroup().getString(FIELD);
+      aggregatorCall.setContext(new FieldStats(summaryTypes.get(fieldName)));
+    }
+
+    @Override
+    public void aggregate(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      TupleEntry arguments = aggregatorCall.getArguments();
+      aggregatorCall.getContext().merge(FieldStats.fromBytes((byte[]) arguments.getObject(0)));
+    }
+
+    @Override
+    public void complete(FlowProcess flowProcess, AggregatorCall<FieldStats> aggregatorCall) {
+      val fieldName = aggregatorCall.getGroup().getString(FIELD);
+      aggregatorCall.getOutputCollector().add(new Tuple(aggregatorCall.getContext().toFieldSummary(fieldName)));
+    }
+
+  }
+
+}
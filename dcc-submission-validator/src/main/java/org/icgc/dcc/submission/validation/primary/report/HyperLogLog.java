@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import lombok.val;
+
+/**
+ * Minimal HyperLogLog cardinality estimator over 64-bit hashes.
+ * <p>
+ * Uses {@code 2^14} one byte registers, for a standard error of about 0.8%. Small cardinalities are corrected with
+ * linear counting. Since hashes are 64-bit, no large range correction is needed.
+ */
+final class HyperLogLog {
+
+  /**
+   * Constants.
+   */
+  private static final int PRECISION = 14;
+  private static final int REGISTER_COUNT = 1 << PRECISION;
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+  private final byte[] registers = new byte[REGISTER_COUNT];
+
+  void add(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - PRECISION));
+
+    // Sentinel bit bounds the rank when the remaining bits are all zeros
+    long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  void merge(HyperLogLog other) {
+    for (int i = 0; i < REGISTER_COUNT; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  long cardinality() {
+    double sum = 0;
+    int zeros = 0;
+    for (val register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+    if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+      estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+    }
+
+    return Math.round(estimate);
+  }
+
+  void write(DataOutput out) throws IOException {
+    out.write(registers);
+  }
+
+  static HyperLogLog read(DataInput in) throws IOException {
+    val hyperLogLog = new HyperLogLog();
+    in.readFully(hyperLogLog.registers);
+
+    return hyperLogLog;
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import java.util.Arrays;
+
+/**
+ * Sparse mapping of byte offsets to line numbers of a (decompressed) file, built while streaming through it.
+ * <p>
+ * Only one line every {@link #DEFAULT_INTERVAL} lines is recorded, so that the index stays small even for very large
+ * files. Resolving any other offset is then a binary search for the closest preceding checkpoint followed by a bounded
+ * scan from there (see {@link ByteOffsetToLineNumber}).
+ * <p>
+ * Not thread-safe while being built.
+ */
+public final class LineIndex {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_INTERVAL = 1 << 16;
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Configuration.
+   */
+  private final int interval;
+
+  /**
+   * State: parallel arrays of (1-based) line numbers and the byte offsets at which these lines start.
+   */
+  private long[] lineNumbers = new long[INITIAL_CAPACITY];
+  private long[] offsets = new long[INITIAL_CAPACITY];
+  private int size;
+
+  public LineIndex() {
+    this(DEFAULT_INTERVAL);
+  }
+
+  public LineIndex(int interval) {
+    checkArgument(interval > 0, "Interval must be positive: %s", interval);
+    this.interval = interval;
+
+    // The first line always starts at the beginning of the file
+    add(1, 0);
+  }
+
+  /**
+   * Notifies the index that line {@code lineNumber} starts at byte {@code offset}. Lines must be notified in order but
+   * only the ones falling on the interval are kept.
+   */
+  public void addLine(long lineNumber, long offset) {
+    if (lineNumber % interval == 0) {
+      add(lineNumber, offset);
+    }
+  }
+
+  /**
+   * Returns the index of the last checkpoint starting at or before {@code offset}.
+   */
+  public int floor(long offset) {
+    int index = Arrays.binarySearch(offsets, 0, size, offset);
+
+    return index >= 0 ? index : -index - 2;
+  }
+
+  public long getLineNumber(int index) {
+    return lineNumbers[index];
+  }
+
+  public long getOffset(int index) {
+    return offsets[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return format("LineIndex(interval=%s, size=%s, lastLine=%s)", interval, size, lineNumbers[size - 1]);
+  }
+
+  private void add(long lineNumber, long offset) {
+    if (size == offsets.length) {
+      lineNumbers = Arrays.copyOf(lineNumbers, size * 2);
+      offsets = Arrays.copyOf(offsets, size * 2);
+    }
+
+    lineNumbers[size] = lineNumber;
+    offsets[size] = offset;
+    size++;
+  }
+
+}
@@ -25,7 +25,9 @@ import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
 import org.icgc.dcc.submission.dictionary.model.Term;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.FieldRowCheck;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionContext;
@@ -33,7 +35,8 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
 import org.icgc.dcc.submission.validation.primary.planner.PlanningException;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -50,7 +53,7 @@ import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
-public class CodeListRestriction implements RowBasedPlanElement {
+public class CodeListRestriction implements RowCheckPlanElement {
 
   /**
    * Name of the restriction.
@@ -100,6 +103,11 @@ public class CodeListRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new InCodeListFunction(codes, values), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new InCodeListCheck(field, codes, values);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionContext context;
@@ -160,14 +168,36 @@ public class CodeListRestriction implements RowBasedPlanElement {
     @Override
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
-      Object object = tupleEntry.getObject(0);
+      Object fieldName = tupleEntry.getFields().get(0);
+      check(ValidationFields.state(tupleEntry), fieldName.toString(), tupleEntry.getObject(0), codes, values);
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    static void check(TupleState state, String fieldName, Object object, Set<String> codes, Set<String> values) {
       String value = object == null ? null : object.toString();
       if (value != null && codes.contains(value) == false && values.contains(value) == false) { // TODO: see note in
                                                                                                 // DCC-904
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.CODELIST_ERROR, fieldName.toString(), value);
+        state.reportError(ErrorType.CODELIST_ERROR, fieldName, value);
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+  }
+
+  public static class InCodeListCheck extends FieldRowCheck {
+
+    private final Set<String> codes;
+
+    private final Set<String> values;
+
+    protected InCodeListCheck(String fieldName, Set<String> codes, Set<String> values) {
+      super(fieldName);
+      this.codes = codes;
+      this.values = values;
+    }
+
+    @Override
+    protected void check(Object value, TupleState state) {
+      InCodeListFunction.check(state, fieldName, value, codes, values);
     }
 
   }
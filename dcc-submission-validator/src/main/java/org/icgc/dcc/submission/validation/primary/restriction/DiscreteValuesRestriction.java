@@ -23,14 +23,17 @@ import java.util.Set;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.FieldRowCheck;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
@@ -45,7 +48,7 @@ import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
-public class DiscreteValuesRestriction implements RowBasedPlanElement {
+public class DiscreteValuesRestriction implements RowCheckPlanElement {
 
   public static final String NAME = "in";
 
@@ -72,6 +75,11 @@ public class DiscreteValuesRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new InValuesFunction(values), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new InValuesCheck(field, values);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -119,13 +127,31 @@ public class DiscreteValuesRestriction implements RowBasedPlanElement {
     @Override
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
-      String value = tupleEntry.getString(0);
+      Object fieldName = tupleEntry.getFields().get(0);
+      check(ValidationFields.state(tupleEntry), fieldName.toString(), tupleEntry.getString(0), values);
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    static void check(TupleState state, String fieldName, String value, Set<String> values) {
       if (value != null && values.contains(value) == false) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.DISCRETE_VALUES_ERROR, fieldName.toString(),
-            value, values);
+        state.reportError(ErrorType.DISCRETE_VALUES_ERROR, fieldName, value, values);
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+  }
+
+  public static class InValuesCheck extends FieldRowCheck {
+
+    private final Set<String> values;
+
+    protected InValuesCheck(String fieldName, String[] values) {
+      super(fieldName);
+      this.values = ImmutableSet.copyOf(values);
+    }
+
+    @Override
+    protected void check(Object value, TupleState state) {
+      InValuesFunction.check(state, fieldName, value == null ? null : value.toString(), values);
     }
 
   }
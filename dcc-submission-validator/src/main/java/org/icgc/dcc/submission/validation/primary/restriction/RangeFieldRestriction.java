@@ -22,14 +22,17 @@ import static com.google.common.base.Preconditions.checkState;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.FieldRowCheck;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
 import org.icgc.dcc.submission.validation.primary.visitor.ValueTypePlanningVisitor;
 
 import com.mongodb.DBObject;
@@ -46,7 +49,7 @@ import cascading.tuple.TupleEntry;
 /**
  * Must happen after {@link ValueTypePlanningVisitor} to ensure data types are correct to begin with.
  */
-public class RangeFieldRestriction implements RowBasedPlanElement {
+public class RangeFieldRestriction implements RowCheckPlanElement {
 
   public static final String NAME = "range";
 
@@ -76,6 +79,11 @@ public class RangeFieldRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new RangeFunction(min, max), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new RangeCheck(field, min, max);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -132,21 +140,44 @@ public class RangeFieldRestriction implements RowBasedPlanElement {
 
       Object fieldName = tupleEntry.getFields().get(0);
 
+      check(ValidationFields.state(tupleEntry), fieldName.toString(), value, min, max);
+
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    static void check(TupleState state, String fieldName, Object value, Number min, Number max) {
       if (isValue(value)) { // Nothing to check if there is no value (null or empty string)
         checkState(value instanceof Number, "Value is expected to be a number at this point, instead got '%s'", value);
         Number num = (Number) value;
-        if (num.longValue() < this.min.longValue() || num.longValue() > this.max.longValue()) {
+        if (num.longValue() < min.longValue() || num.longValue() > max.longValue()) {
 
-          ValidationFields.state(tupleEntry).reportError(ErrorType.OUT_OF_RANGE_ERROR, fieldName.toString(),
+          state.reportError(ErrorType.OUT_OF_RANGE_ERROR, fieldName,
               num.longValue(), min.longValue(), max.longValue());
         }
       }
-
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
 
-    private boolean isValue(Object value) {
+    private static boolean isValue(Object value) {
       return value != null && !String.valueOf(value).isEmpty();
     }
   }
+
+  public static class RangeCheck extends FieldRowCheck {
+
+    private final Number min;
+
+    private final Number max;
+
+    protected RangeCheck(String fieldName, Number min, Number max) {
+      super(fieldName);
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override
+    protected void check(Object value, TupleState state) {
+      RangeFunction.check(state, fieldName, value, min, max);
+    }
+
+  }
 }
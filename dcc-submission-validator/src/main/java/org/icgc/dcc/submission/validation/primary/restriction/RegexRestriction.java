@@ -25,13 +25,16 @@ import java.util.regex.Pattern;
 
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.FieldRowCheck;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
 
 import com.mongodb.BasicDBObject;
 
@@ -44,7 +47,7 @@ import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
-public class RegexRestriction implements RowBasedPlanElement {
+public class RegexRestriction implements RowCheckPlanElement {
 
   public static final String NAME = "regex"; // TODO: this really should go in an enum
 
@@ -73,6 +76,11 @@ public class RegexRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new RegexFunction(field, patternString), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new RegexCheck(field, patternString);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -122,11 +130,30 @@ public class RegexRestriction implements RowBasedPlanElement {
     @Override
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
-      String value = tupleEntry.getString(fieldname);
+      check(ValidationFields.state(tupleEntry), fieldname, tupleEntry.getString(fieldname), pattern);
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    static void check(TupleState state, String fieldname, String value, Pattern pattern) {
       if (value != null && pattern.matcher(value).matches() == false) {
-        ValidationFields.state(tupleEntry).reportError(REGEX_ERROR, fieldname, value, pattern.pattern());
+        state.reportError(REGEX_ERROR, fieldname, value, pattern.pattern());
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
   }
+
+  public static class RegexCheck extends FieldRowCheck {
+
+    private final Pattern pattern;
+
+    protected RegexCheck(String fieldName, String patternString) {
+      super(fieldName);
+      this.pattern = Pattern.compile(patternString);
+    }
+
+    @Override
+    protected void check(Object value, TupleState state) {
+      RegexFunction.check(state, fieldName, value == null ? null : value.toString(), pattern);
+    }
+
+  }
 }
@@ -20,12 +20,15 @@ package org.icgc.dcc.submission.validation.primary.restriction;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+import org.icgc.dcc.submission.validation.primary.core.FieldRowCheck;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
@@ -36,7 +39,7 @@ import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
-public class RequiredRestriction implements RowBasedPlanElement {
+public class RequiredRestriction implements RowCheckPlanElement {
 
   public static final String NAME = "required";// TODO: create enum for valid Restriction types?
 
@@ -62,6 +65,11 @@ public class RequiredRestriction implements RowBasedPlanElement {
         Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new SpecifiedCheck(field, acceptMissingCode);
+  }
+
   private boolean isAcceptMissingCode() {
     return acceptMissingCode;
   }
@@ -116,21 +124,37 @@ public class RequiredRestriction implements RowBasedPlanElement {
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
       String value = tupleEntry.getString(0);
+      String fieldName = (String) tupleEntry.getFields().get(0);
 
-      boolean isFieldMissing =
-          ValidationFields.state(tupleEntry).isFieldMissing((String) tupleEntry.getFields().get(0));
+      check(ValidationFields.state(tupleEntry), fieldName, value, acceptMissingCode);
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    static void check(TupleState state, String fieldName, String value, boolean acceptMissingCode) {
+      boolean isFieldMissing = state.isFieldMissing(fieldName);
       // TODO The IF conditions seem to lead to the same thing
       // TODO: DCC-1076 - This should also check for -999 rather than have {@link ForbiddenValuesFunction} do it.
       if (isFieldMissing == false && (value == null || value.isEmpty())) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.MISSING_VALUE_ERROR, fieldName.toString(),
-            value);
+        state.reportError(ErrorType.MISSING_VALUE_ERROR, fieldName, value);
       } else if (isFieldMissing == true && !acceptMissingCode) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.MISSING_VALUE_ERROR, fieldName.toString(),
-            value);
+        state.reportError(ErrorType.MISSING_VALUE_ERROR, fieldName, value);
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+  }
+
+  public static class SpecifiedCheck extends FieldRowCheck {
+
+    private final boolean acceptMissingCode;
+
+    protected SpecifiedCheck(String fieldName, boolean acceptMissingCode) {
+      super(fieldName);
+      this.acceptMissingCode = acceptMissingCode;
+    }
+
+    @Override
+    protected void check(Object value, TupleState state) {
+      SpecifiedFunction.check(state, fieldName, value == null ? null : value.toString(), acceptMissingCode);
     }
 
   }
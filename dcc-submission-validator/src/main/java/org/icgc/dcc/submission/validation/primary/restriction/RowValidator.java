@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import static cascading.tuple.Fields.ALL;
+import static cascading.tuple.Fields.REPLACE;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.lang.String.format;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Fuses the checks of several {@link RowCheckPlanElement}s into a single {@code Pipe} that evaluates all of them in one
+ * pass over each row, in the order the elements were given.
+ * <p>
+ * Errors are reported exactly as if each element had extended the pipe on its own, but without an {@code Each} and a
+ * tuple copy per element.
+ */
+public class RowValidator implements RowBasedPlanElement {
+
+  public static final String NAME = "rowValidator";
+
+  private final List<RowCheckPlanElement> elements;
+
+  public RowValidator(@NonNull List<RowCheckPlanElement> elements) {
+    this.elements = ImmutableList.copyOf(elements);
+  }
+
+  @Override
+  public String describe() {
+    List<String> descriptions = newArrayList();
+    for (val element : elements) {
+      descriptions.add(element.describe());
+    }
+
+    return format("%s[%s]", NAME, Joiner.on(", ").join(descriptions));
+  }
+
+  @Override
+  public Pipe extend(Pipe pipe) {
+    List<RowCheck> checks = newArrayList();
+    for (val element : elements) {
+      checks.add(element.createRowCheck());
+    }
+
+    return new Each(pipe, ALL, new RowValidatorFunction(checks), REPLACE);
+  }
+
+  @SuppressWarnings("rawtypes")
+  public static class RowValidatorFunction extends BaseOperation<Integer> implements Function<Integer> {
+
+    private final RowCheck[] checks;
+
+    protected RowValidatorFunction(List<RowCheck> checks) {
+      super(Fields.ARGS);
+      this.checks = checks.toArray(new RowCheck[checks.size()]);
+    }
+
+    @Override
+    public void prepare(FlowProcess flowProcess, OperationCall<Integer> operationCall) {
+      val fields = operationCall.getArgumentFields();
+      for (val check : checks) {
+        check.prepare(fields);
+      }
+
+      // Position of the state, to avoid resolving it by name for every row
+      operationCall.setContext(fields.getPos(STATE_FIELD_NAME));
+    }
+
+    @Override
+    public void operate(FlowProcess flowProcess, FunctionCall<Integer> functionCall) {
+      val arguments = functionCall.getArguments();
+      int statePosition = functionCall.getContext();
+      val state = (TupleState) arguments.getObject(statePosition);
+
+      for (val check : checks) {
+        check.check(arguments, state);
+      }
+
+      // Values are left untouched, only the state is updated (in place)
+      functionCall.getOutputCollector().add(arguments);
+    }
+
+  }
+
+}
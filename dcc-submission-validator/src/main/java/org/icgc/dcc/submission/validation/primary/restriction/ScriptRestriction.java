@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.validation.primary.restriction;
 
 import static cascading.tuple.Fields.ALL;
 import static cascading.tuple.Fields.REPLACE;
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.lang.String.format;
 import static java.lang.reflect.Modifier.STATIC;
@@ -28,7 +29,9 @@ import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFS
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.state;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
@@ -39,7 +42,10 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
-import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
+import org.icgc.dcc.submission.validation.util.ScriptPredicate;
+import org.icgc.dcc.submission.validation.util.SlotVariableResolverFactory;
 import org.mvel2.MVEL;
 import org.mvel2.ParserConfiguration;
 import org.mvel2.ParserContext;
@@ -73,7 +79,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Value
 @RequiredArgsConstructor(access = PROTECTED)
-public class ScriptRestriction implements RowBasedPlanElement {
+public class ScriptRestriction implements RowCheckPlanElement {
 
   /**
    * Constants.
@@ -105,6 +111,11 @@ public class ScriptRestriction implements RowBasedPlanElement {
     return new Each(pipe, fields, function, REPLACE);
   }
 
+  @Override
+  public RowCheck createRowCheck() {
+    return new ScriptCheck(projectKey, reportedField, number, script);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(
@@ -203,38 +214,67 @@ public class ScriptRestriction implements RowBasedPlanElement {
     public void operate(FlowProcess flowProcess, FunctionCall<ScriptContext> functionCall) {
       val arguments = functionCall.getArguments();
       val context = functionCall.getContext();
-      val state = state(arguments);
 
+      check(context, arguments, state(arguments), reportedField, number);
+
+      val result = arguments.getTupleCopy();
+      functionCall.getOutputCollector().add(result);
+    }
+
+    static void check(ScriptContext context, TupleEntry arguments, TupleState state, String reportedField,
+        int number) {
       try {
         boolean passed = context.evaluate(arguments);
         if (!passed) {
           val values = context.references(arguments);
 
-          reportError(state, values);
+          reportError(state, reportedField, number, values);
         }
       } catch (Exception e) {
         val errorMessage = format("Error invoking script restriction: '%s', arguments: '%s'",
             e.getMessage(), arguments);
         log.error(errorMessage + ", context: " + context, e);
 
-        reportError(state, errorMessage);
+        reportError(state, reportedField, number, errorMessage);
       }
-
-      val result = arguments.getTupleCopy();
-      functionCall.getOutputCollector().add(result);
     }
 
-    private void reportError(TupleState state, Map<String, Object> values) {
+    private static void reportError(TupleState state, String reportedField, int number, Map<String, Object> values) {
       val reportedValue = VARIABLE_JOINER.join(values);
-      reportError(state, reportedValue);
+      reportError(state, reportedField, number, reportedValue);
     }
 
-    private void reportError(TupleState state, String reportedValue) {
+    private static void reportError(TupleState state, String reportedField, int number, String reportedValue) {
       state.reportError(number, SCRIPT_ERROR, reportedField, reportedValue);
     }
 
   }
 
+  @RequiredArgsConstructor(access = PROTECTED)
+  public static class ScriptCheck implements RowCheck {
+
+    private final String projectKey;
+    private final String reportedField;
+    private final int number;
+    private final String script;
+
+    /**
+     * Not serializable, hence created in {@link #prepare(Fields)}.
+     */
+    private transient ScriptContext context;
+
+    @Override
+    public void prepare(Fields fields) {
+      context = new ScriptContext(projectKey, script);
+    }
+
+    @Override
+    public void check(TupleEntry row, TupleState state) {
+      ScriptFunction.check(context, row, state, reportedField, number);
+    }
+
+  }
+
   public static class ScriptContext {
 
     private final String projectKey;
@@ -245,18 +285,38 @@ public class ScriptRestriction implements RowBasedPlanElement {
     private final ParserContext parserContext;
     private final ExecutableStatement compiledScript;
 
+    /**
+     * Whether rows are evaluated through {@link #predicate} and {@link #resolverFactory} rather than a fresh variable
+     * map per row.
+     */
+    private final boolean optimized;
+
+    /**
+     * State - bound to the fields of the first row evaluated, which are the same for all rows of a file.
+     */
+    private Fields fields;
+    private ScriptPredicate predicate;
+    private SlotVariableResolverFactory resolverFactory;
+    private TupleEntry row;
+    private final IntFunction<Object> rowValues = position -> row.getObject(position);
+
     public ScriptContext(String projectKey, String script) {
+      this(projectKey, script, true);
+    }
+
+    ScriptContext(String projectKey, String script, boolean optimized) {
       this.projectKey = projectKey;
       this.script = script;
       this.parserContext = new ParserContext(configuration());
       this.compiledScript = (ExecutableStatement) MVEL.compileExpression(script, parserContext);
       this.inputs = inputs();
+      this.optimized = optimized;
 
       validate();
     }
 
     public boolean evaluate(TupleEntry tupleEntry) {
-      val result = compiledScript.getValue(null, variableResolverFactory(tupleEntry));
+      val result = optimized ? evaluateOptimized(tupleEntry) : evaluateScript(tupleEntry);
 
       if (!isPredicate(result)) {
         val resultClass = result == null ? null : result.getClass();
@@ -339,9 +399,7 @@ public class ScriptRestriction implements RowBasedPlanElement {
         val fieldName = tupleEntry.getFields().get(i).toString();
         val fieldValue = tupleEntry.getObject(i);
 
-        // Skip validation book-keeping
-        val internal = fieldName.equals(STATE_FIELD_NAME) || fieldName.equals(OFFSET_FIELD_NAME);
-        if (internal) {
+        if (isInternal(fieldName)) {
           continue;
         }
 
@@ -363,6 +421,63 @@ public class ScriptRestriction implements RowBasedPlanElement {
       return factory;
     }
 
+    private Object evaluateScript(TupleEntry tupleEntry) {
+      return compiledScript.getValue(null, variableResolverFactory(tupleEntry));
+    }
+
+    private Object evaluateOptimized(TupleEntry tupleEntry) {
+      bind(tupleEntry.getFields());
+
+      if (predicate != null) {
+        row = tupleEntry;
+        val result = predicate.test(rowValues);
+        row = null;
+
+        if (result != null) {
+          return result;
+        }
+      }
+
+      // Values are already typed by the upstream value type plan elements
+      for (int i = 0; i < fields.size(); i++) {
+        resolverFactory.set(i, tupleEntry.getObject(i));
+      }
+
+      try {
+        return compiledScript.getValue(null, resolverFactory);
+      } finally {
+        resolverFactory.reset();
+      }
+    }
+
+    private void bind(Fields fields) {
+      if (fields == this.fields || fields.equals(this.fields)) {
+        return;
+      }
+
+      // One slot per row position, with the same variables as variables(TupleEntry), plus the project
+      List<String> names = newArrayList();
+      for (int i = 0; i < fields.size(); i++) {
+        val fieldName = fields.get(i).toString();
+        val variable = !isInternal(fieldName) && !fieldName.equals(PROJECT_VARIABLE_NAME);
+
+        names.add(variable ? fieldName : null);
+      }
+
+      this.predicate = ScriptPredicate.compile(script, names).orElse(null);
+
+      names.add(PROJECT_VARIABLE_NAME);
+      this.resolverFactory = new SlotVariableResolverFactory(names);
+      resolverFactory.set(fields.size(), projectKey);
+
+      this.fields = fields;
+    }
+
+    private static boolean isInternal(String fieldName) {
+      // Validation book-keeping
+      return fieldName.equals(STATE_FIELD_NAME) || fieldName.equals(OFFSET_FIELD_NAME);
+    }
+
   }
 
 }
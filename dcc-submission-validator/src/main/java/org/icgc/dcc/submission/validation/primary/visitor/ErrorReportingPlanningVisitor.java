@@ -17,13 +17,16 @@
  */
 package org.icgc.dcc.submission.validation.primary.visitor;
 
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.validation.cascading.TupleStates.keepInvalidTuplesFilter;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.List;
 
+import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.core.ReportContext;
@@ -106,6 +109,11 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
     @RequiredArgsConstructor
     class ErrorReportCollector implements ReportCollector {
 
+      /**
+       * Number of errors handed to the report at once.
+       */
+      private static final int ERROR_BATCH_SIZE = 10000;
+
       /**
        * Configuration.
        */
@@ -118,11 +126,12 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
           val reportInputStream = getReportInputStream(platform);
           val tupleStates = getTupleStates(reportInputStream);
 
+          List<Error> batch = newArrayListWithCapacity(ERROR_BATCH_SIZE);
           while (tupleStates.hasNext()) {
             val tupleState = tupleStates.next();
             if (tupleState.isInvalid()) {
               for (val errorTuple : tupleState.getErrors()) {
-                context.reportError(
+                batch.add(
                     error()
                         .fileName(fileName)
                         .fieldNames(errorTuple.getColumnNames())
@@ -133,10 +142,17 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
                         .params(errorTuple.getParameters())
                         .build());
               }
+
+              if (batch.size() >= ERROR_BATCH_SIZE) {
+                context.reportErrors(batch);
+                batch.clear();
+              }
             }
           }
 
-          context.reportLineNumbers(platform.getFile(fileName));
+          context.reportErrors(batch);
+
+          context.reportLineNumbers(platform.getFileSystem(), platform.getFile(fileName));
         } catch (FileNotFoundException fnfe) {
           // There were no errors
         } catch (Exception e) {
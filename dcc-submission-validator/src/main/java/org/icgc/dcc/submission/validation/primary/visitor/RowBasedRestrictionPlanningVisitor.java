@@ -17,25 +17,44 @@
  */
 package org.icgc.dcc.submission.validation.primary.visitor;
 
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.util.List;
 import java.util.Set;
 
 import org.icgc.dcc.submission.dictionary.model.Restriction;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
+import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheckPlanElement;
+import org.icgc.dcc.submission.validation.primary.planner.RowBasedFlowPlanner;
+import org.icgc.dcc.submission.validation.primary.restriction.RowValidator;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Sets;
 
 import lombok.NonNull;
+import lombok.val;
 
 public class RowBasedRestrictionPlanningVisitor extends RowBasedFlowPlanningVisitor {
 
   private final Set<RestrictionType> restrictionTypes;
 
+  /**
+   * Whether to fuse restrictions into {@link RowValidator}s rather than planning each one as its own {@code Pipe}.
+   */
+  private final boolean fused;
+
   public RowBasedRestrictionPlanningVisitor(@NonNull String projectKey, Set<RestrictionType> restrictionTypes) {
+    this(projectKey, restrictionTypes, false);
+  }
+
+  public RowBasedRestrictionPlanningVisitor(@NonNull String projectKey, Set<RestrictionType> restrictionTypes,
+      boolean fused) {
     super(projectKey);
+    this.fused = fused;
     this.restrictionTypes = Sets.filter(restrictionTypes, new Predicate<RestrictionType>() {
 
       @Override
@@ -56,4 +75,36 @@ public class RowBasedRestrictionPlanningVisitor extends RowBasedFlowPlanningVisi
     }
   }
 
+  @Override
+  public void applyPlan(Plan plan) {
+    if (!fused) {
+      super.applyPlan(plan);
+      return;
+    }
+
+    for (val rowBasedFlowPlanner : plan.getRowBasedFlowPlanners()) {
+      rowBasedFlowPlanner.acceptVisitor(this);
+
+      // Consecutive fusible elements share a validator so that errors are reported in the same order as unfused
+      List<RowCheckPlanElement> fusible = newArrayList();
+      for (val collectedRowBasedPlanElement : getCollectedPlanElements()) {
+        if (collectedRowBasedPlanElement instanceof RowCheckPlanElement) {
+          fusible.add((RowCheckPlanElement) collectedRowBasedPlanElement);
+        } else {
+          applyRowValidator(rowBasedFlowPlanner, fusible);
+          rowBasedFlowPlanner.applyRowBasedPlanElement(collectedRowBasedPlanElement);
+        }
+      }
+
+      applyRowValidator(rowBasedFlowPlanner, fusible);
+    }
+  }
+
+  private static void applyRowValidator(RowBasedFlowPlanner rowBasedFlowPlanner, List<RowCheckPlanElement> fusible) {
+    if (!fusible.isEmpty()) {
+      rowBasedFlowPlanner.applyRowBasedPlanElement(new RowValidator(fusible));
+      fusible.clear();
+    }
+  }
+
 }
@@ -18,22 +18,14 @@
 package org.icgc.dcc.submission.validation.primary.visitor;
 
 import static com.google.common.collect.Maps.newLinkedHashMap;
-import static java.lang.String.format;
 import static org.icgc.dcc.submission.validation.primary.core.FlowType.ROW_BASED;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
-import org.icgc.dcc.submission.dictionary.model.SummaryType;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.report.FieldStatDigest;
-import org.icgc.dcc.submission.validation.primary.report.FrequencyPlanElement;
-import org.icgc.dcc.submission.validation.primary.report.SummaryPlanElement;
-import org.icgc.dcc.submission.validation.primary.report.UniqueCountPlanElement;
-
-import com.google.common.base.Optional;
-import com.google.common.collect.ImmutableMap;
+import org.icgc.dcc.submission.validation.primary.report.FieldStatsPlanElement;
 
 import lombok.NonNull;
 import lombok.val;
@@ -48,69 +40,24 @@ public class SummaryReportingPlanningVisitor extends ReportingPlanningVisitor {
   public void visit(FileSchema fileSchema) {
     super.visit(fileSchema);
 
-    collectPlanElements(
+    collectPlanElement(new FieldStatsPlanElement(
+        getFlowType(),
         getCurrentFileName(),
-        getFieldStatsData(fileSchema)); // TODO: create dedicated object for that?
+        getFieldStatDigests(fileSchema)));
   }
 
   /**
-   * Returns a map associating each {@code SummaryType} with a map of corresponding field name to field digests.
+   * Returns a map of field name to field digests, in schema order.
    */
-  public ImmutableMap<Optional<SummaryType>, Map<String, FieldStatDigest>> getFieldStatsData(FileSchema fileSchema) {
-    val fieldStatsData = new LinkedHashMap<Optional<SummaryType>, Map<String, FieldStatDigest>>();
+  public Map<String, FieldStatDigest> getFieldStatDigests(FileSchema fileSchema) {
+    Map<String, FieldStatDigest> fieldStatDigests = newLinkedHashMap();
     for (val field : fileSchema.getFields()) {
-      val optionalSummaryType =
-          field.getSummaryType() == null ? Optional.<SummaryType> absent() : Optional.of(field.getSummaryType());
-      Map<String, FieldStatDigest> fieldStatsDigests = fieldStatsData.get(optionalSummaryType);
-      if (fieldStatsDigests == null) {
-        fieldStatsDigests = newLinkedHashMap();
-        fieldStatsData.put(
-            optionalSummaryType,
-            fieldStatsDigests);
-      }
-      fieldStatsDigests.put(
+      fieldStatDigests.put(
           field.getName(),
           FieldStatDigest.from(field));
     }
-    return ImmutableMap.<Optional<SummaryType>, Map<String, FieldStatDigest>> copyOf(fieldStatsData);
-  }
-
-  /**
-   * Collects element based on the {@code Field}'s {@code SummaryType}, so they can later be applied
-   */
-  private void collectPlanElements(String fileName,
-      Map<Optional<SummaryType>, Map<String, FieldStatDigest>> fieldStatsData) {
 
-    val flowType = getFlowType();
-    for (val optionalSummaryType : fieldStatsData.keySet()) {
-      val fieldStatDigests = fieldStatsData.get(optionalSummaryType);
-      if (optionalSummaryType.isPresent()) {
-        switch (optionalSummaryType.get()) {
-        case AVERAGE:
-          collectPlanElement(new SummaryPlanElement.AveragePlanElement(
-              flowType, fileName, fieldStatDigests));
-          break;
-        case MIN_MAX:
-          collectPlanElement(new SummaryPlanElement.MinMaxPlanElement(
-              flowType, fileName, fieldStatDigests));
-          break;
-        case FREQUENCY:
-          collectPlanElement(new FrequencyPlanElement(
-              flowType, fileName, fieldStatDigests));
-          break;
-        case UNIQUE_COUNT:
-          collectPlanElement(new UniqueCountPlanElement(
-              flowType, fileName, fieldStatDigests));
-          break;
-        default:
-          throw new IllegalStateException(
-              format("Unknown summary type: '%s'", optionalSummaryType.get()));
-        }
-      } else {
-        collectPlanElement(new SummaryPlanElement.CompletenessPlanElement(
-            flowType, fileName, fieldStatDigests));
-      }
-    }
+    return fieldStatDigests;
   }
 
 }
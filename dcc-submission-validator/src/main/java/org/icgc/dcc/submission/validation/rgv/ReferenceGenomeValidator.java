@@ -17,37 +17,58 @@
  */
 package org.icgc.dcc.submission.validation.rgv;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.propagate;
+import static java.lang.Thread.currentThread;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
-import static org.icgc.dcc.submission.core.parser.SubmissionFileParsers.newMapFileParser;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_INSERTION_ERROR;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_MISMATCH_ERROR;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
 import static org.icgc.dcc.submission.validation.rgv.util.ChromosomeConverter.convert;
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.REFERENCE_INSERTION_VALUE;
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.isInsertionType;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
-import org.icgc.dcc.common.hadoop.parser.FileParser;
-import org.icgc.dcc.common.hadoop.parser.FileRecordProcessor;
+import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
 import org.icgc.dcc.submission.validation.rgv.core.PrimaryFieldAccessor;
+import org.icgc.dcc.submission.validation.rgv.core.PrimaryRecord;
+import org.icgc.dcc.submission.validation.rgv.core.PrimaryRecordParser;
 import org.icgc.dcc.submission.validation.rgv.core.ReferenceGenomeFileType;
 import org.icgc.dcc.submission.validation.rgv.reference.ReferenceGenome;
 import org.icgc.dcc.submission.validation.rgv.report.TupleStateWriter;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import lombok.Cleanup;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -62,20 +83,56 @@ import lombok.extern.slf4j.Slf4j;
  * SSMdatamodelsupportingcontrolledfieldsandotherimprovements-SSMvalidationinReferenceGenomesequenceValidationRGV
  */
 @Slf4j
-@RequiredArgsConstructor
 public class ReferenceGenomeValidator implements Validator {
 
   /**
-   * The reference genome used to validate.
+   * Constants.
+   */
+  private static final int DEFAULT_PARALLELISM = 1;
+  private static final int DEFAULT_BATCH_SIZE = 10000;
+
+  /**
+   * The reference genome used to validate. Shared by all workers, so must be thread-safe.
    */
   @NonNull
   private final ReferenceGenome reference;
 
+  /**
+   * Number of workers validating batches of a file concurrently.
+   */
+  private final int parallelism;
+
+  /**
+   * Number of lines per batch handed to a worker.
+   */
+  private final int batchSize;
+
+  public ReferenceGenomeValidator(ReferenceGenome reference) {
+    this(reference, DEFAULT_PARALLELISM);
+  }
+
+  public ReferenceGenomeValidator(ReferenceGenome reference, int parallelism) {
+    this(reference, parallelism, DEFAULT_BATCH_SIZE);
+  }
+
+  public ReferenceGenomeValidator(@NonNull ReferenceGenome reference, int parallelism, int batchSize) {
+    checkArgument(parallelism > 0, "Parallelism must be positive: %s", parallelism);
+    checkArgument(batchSize > 0, "Batch size must be positive: %s", batchSize);
+    this.reference = reference;
+    this.parallelism = parallelism;
+    this.batchSize = batchSize;
+  }
+
   @Override
   public String getName() {
     return "Reference Genome Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class);
+  }
+
   /**
    * Validate genome reference aligns with reference genome of submitted primary file. We assume at this stage the file
    * is well-formed, and that each individual field is sane.
@@ -91,10 +148,15 @@ public class ReferenceGenomeValidator implements Validator {
       return;
     }
 
-    validateFileTypes(context);
+    val pool = createPool();
+    try {
+      validateFileTypes(context, pool);
+    } finally {
+      pool.shutdownNow();
+    }
   }
 
-  private void validateFileTypes(ValidationContext context) {
+  private void validateFileTypes(ValidationContext context, ExecutorService pool) {
     for (val referringFileType : ReferenceGenomeFileType.values()) {
       val fileType = referringFileType.getType();
       val dataType = fileType.getDataType();
@@ -118,14 +180,14 @@ public class ReferenceGenomeValidator implements Validator {
       }
 
       // Specified and available
-      validateFileType(context, fileType, files, fieldAccessor);
+      validateFileType(context, pool, fileType, files, fieldAccessor);
     }
   }
 
   @SneakyThrows
-  private void validateFileType(ValidationContext context, FileType fileType, List<Path> files,
+  private void validateFileType(ValidationContext context, ExecutorService pool, FileType fileType, List<Path> files,
       PrimaryFieldAccessor fieldAccessor) {
-    val fileParser = newMapFileParser(context.getFileSystem(), context.getFileSchema(fileType));
+    val recordParser = new PrimaryRecordParser(context.getFileSchema(fileType).getFieldNames(), fieldAccessor);
     for (val file : files) {
       try {
         @Cleanup
@@ -133,7 +195,7 @@ public class ReferenceGenomeValidator implements Validator {
 
         // Get to work
         log.info("Performing reference genome validation on file '{}' for '{}'", file, context.getProjectKey());
-        validateFile(context, file, fileParser, fieldAccessor, writer);
+        validateFile(context, pool, file, recordParser, writer);
         log.info("Finished performing reference genome validation for '{}'", context.getProjectKey());
       } catch (Exception e) {
         throw new RuntimeException("Error validating reference genome: file=" + file + ", fileType=" + fileType, e);
@@ -141,83 +203,153 @@ public class ReferenceGenomeValidator implements Validator {
     }
   }
 
-  @SneakyThrows
-  private void validateFile(final ValidationContext context, final Path filePath,
-      final FileParser<Map<String, String>> fileParser, final PrimaryFieldAccessor fieldAccessor,
-      final TupleStateWriter writer) {
+  /**
+   * Reads {@code filePath} sequentially (decompressing if needed) into line aligned batches that are validated by the
+   * workers of {@code pool}. Batch results are reported in submission order so that errors are reported in line order
+   * regardless of the parallelism.
+   */
+  private void validateFile(ValidationContext context, ExecutorService pool, Path filePath,
+      PrimaryRecordParser recordParser, TupleStateWriter writer) throws IOException, InterruptedException {
     val fileName = filePath.getName();
+    val maxPending = 2 * parallelism;
+    val pending = new ArrayDeque<Future<List<ReferenceGenomeError>>>(maxPending);
+
+    try {
+      @Cleanup
+      val reader = createReader(context.getFileSystem(), filePath);
+
+      // Skip the header
+      long lineNumber = 1;
+      String line = reader.readLine();
+
+      long batchLineNumber = lineNumber + 1;
+      List<String> batch = Lists.newArrayListWithCapacity(batchSize);
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        batch.add(line);
+
+        if (batch.size() == batchSize) {
+          pending.add(pool.submit(createTask(recordParser, batchLineNumber, batch)));
+          batchLineNumber = lineNumber + 1;
+          batch = Lists.newArrayListWithCapacity(batchSize);
+
+          // Bound the number of lines in memory
+          if (pending.size() == maxPending) {
+            report(context, fileName, writer, pending.remove());
+          }
+        }
 
-    fileParser.parse(filePath, new FileRecordProcessor<Map<String, String>>() {
+        // Cooperate
+        checkInterrupted(getName());
+      }
+
+      if (!batch.isEmpty()) {
+        pending.add(pool.submit(createTask(recordParser, batchLineNumber, batch)));
+      }
+
+      while (!pending.isEmpty()) {
+        report(context, fileName, writer, pending.remove());
+      }
+    } finally {
+      for (val future : pending) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private Callable<List<ReferenceGenomeError>> createTask(final PrimaryRecordParser recordParser,
+      final long batchLineNumber, final List<String> batch) {
+    return new Callable<List<ReferenceGenomeError>>() {
 
       @Override
-      public void process(long lineNumber, Map<String, String> record) throws IOException {
-        // Access field values
-        val mutationType = fieldAccessor.getMutationType(record);
-        val chromosomeCode = fieldAccessor.getChromosomeCode(record);
-        val start = fieldAccessor.getStart(record);
-        val end = fieldAccessor.getEnd(record);
-        val actualReference = fieldAccessor.getReferenceAllele(record);
-
-        if (isInsertionType(mutationType)) {
-          // Insertion
-          val mismatch = !actualReference.equals(REFERENCE_INSERTION_VALUE);
-          if (mismatch) {
-            val type = REFERENCE_GENOME_INSERTION_ERROR;
-            val value = formatValue(REFERENCE_INSERTION_VALUE, actualReference);
-            val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
-            val param = reference.getVersion();
-
-            // Database
-            context.reportError(
-                error()
-                    .fileName(fileName)
-                    .fieldNames(columnName)
-                    .type(type)
-                    .lineNumber(lineNumber)
-                    .value(value)
-                    .params(param)
-                    .build());
-
-            // File
-            val tupleState = new TupleState(lineNumber);
-            tupleState.reportError(type, columnName, value, param);
-            writer.write(tupleState);
-          }
-        } else {
-          // Deletion or substitution
-          val chromosome = convert(chromosomeCode);
-          val expectedReference = reference.getSequence(chromosome, start, end);
-
-          val mismatch = !isMatch(actualReference, expectedReference);
-          if (mismatch) {
-            val type = REFERENCE_GENOME_MISMATCH_ERROR;
-            val value = formatValue(expectedReference, actualReference);
-            val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
-            val param = reference.getVersion();
-
-            // Database
-            context.reportError(
-                error()
-                    .fileName(fileName)
-                    .fieldNames(columnName)
-                    .type(type)
-                    .lineNumber(lineNumber)
-                    .value(value)
-                    .params(param)
-                    .build());
-
-            // File
-            val tupleState = new TupleState(lineNumber);
-            tupleState.reportError(type, columnName, value, param);
-            writer.write(tupleState);
+      public List<ReferenceGenomeError> call() throws Exception {
+        val errors = Lists.<ReferenceGenomeError> newArrayList();
+        for (int i = 0; i < batch.size(); i++) {
+          val record = recordParser.parse(batchLineNumber + i, batch.get(i));
+          val error = validateRecord(record);
+          if (error != null) {
+            errors.add(error);
           }
+
+          // Cooperate
+          checkInterrupted(getName());
         }
 
-        // Cooperate
-        checkInterrupted(getName());
+        return errors;
       }
 
-    });
+    };
+  }
+
+  /**
+   * Returns the error for {@code record}, or {@code null} if it is valid.
+   */
+  private ReferenceGenomeError validateRecord(PrimaryRecord record) {
+    val lineNumber = record.getLineNumber();
+    val actualReference = record.getReferenceAllele();
+
+    if (isInsertionType(record.getMutationType())) {
+      // Insertion
+      val mismatch = !actualReference.equals(REFERENCE_INSERTION_VALUE);
+      if (mismatch) {
+        val value = formatValue(REFERENCE_INSERTION_VALUE, actualReference);
+
+        return new ReferenceGenomeError(lineNumber, REFERENCE_GENOME_INSERTION_ERROR, value);
+      }
+    } else {
+      // Deletion or substitution
+      val chromosome = convert(record.getChromosomeCode());
+      val start = record.getStart();
+      val end = record.getEnd();
+
+      // Compares against the cached reference bytes, the expected sequence is only needed for reporting
+      val mismatch = !reference.isMatch(chromosome, start, end, actualReference);
+      if (mismatch) {
+        val expectedReference = reference.getSequence(chromosome, start, end);
+        val value = formatValue(expectedReference, actualReference);
+
+        return new ReferenceGenomeError(lineNumber, REFERENCE_GENOME_MISMATCH_ERROR, value);
+      }
+    }
+
+    return null;
+  }
+
+  private void report(ValidationContext context, String fileName, TupleStateWriter writer,
+      Future<List<ReferenceGenomeError>> result) throws IOException, InterruptedException {
+    List<ReferenceGenomeError> errors;
+    try {
+      errors = result.get();
+    } catch (ExecutionException e) {
+      throw propagate(e.getCause());
+    }
+
+    val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+    val param = reference.getVersion();
+    for (val error : errors) {
+      // Database
+      context.reportError(
+          error()
+              .fileName(fileName)
+              .fieldNames(columnName)
+              .type(error.getType())
+              .lineNumber(error.getLineNumber())
+              .value(error.getValue())
+              .params(param)
+              .build());
+
+      // File
+      val tupleState = new TupleState(error.getLineNumber());
+      tupleState.reportError(error.getType(), columnName, error.getValue(), param);
+      writer.write(tupleState);
+    }
+  }
+
+  private ExecutorService createPool() {
+    // Prefix with the validation's thread name to keep the logs traceable
+    val nameFormat = currentThread().getName() + "-rgv-%s";
+
+    return newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
   }
 
   private static boolean isValidatable(Iterable<DataType> dataTypes) {
@@ -232,17 +364,30 @@ public class ReferenceGenomeValidator implements Validator {
     return false;
   }
 
-  private static boolean isMatch(String controlAllele, String refSequence) {
-    return controlAllele.equalsIgnoreCase(refSequence);
-  }
-
   private static String formatValue(String expected, String actual) {
     return String.format("Expected: %s, Actual: %s", expected, actual);
   }
 
+  private static BufferedReader createReader(FileSystem fileSystem, Path path) throws IOException {
+    val codec = new CompressionCodecFactory(fileSystem.getConf()).getCodec(path);
+    val inputStream = fileSystem.open(path);
+
+    return new BufferedReader(new InputStreamReader(
+        codec == null ? inputStream : codec.createInputStream(inputStream), UTF_8));
+  }
+
   private static TupleStateWriter createTupleStateWriter(ValidationContext context, Path file) throws IOException {
     return new TupleStateWriter(
         context.getFileSystem(), new Path(context.getSubmissionDirectory().getValidationDirPath()), file);
   }
 
+  @Value
+  private static class ReferenceGenomeError {
+
+    long lineNumber;
+    ErrorType type;
+    String value;
+
+  }
+
 }
@@ -22,30 +22,28 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
 
-import java.util.Map;
-
 import org.icgc.dcc.submission.validation.rgv.core.PrimaryFieldAccessor;
 
 public abstract class AbstractPrimaryFieldAccessor implements PrimaryFieldAccessor {
 
   @Override
-  public String getChromosomeCode(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_CHROMOSOME);
+  public String getChromosomeCodeFieldName() {
+    return SUBMISSION_OBSERVATION_CHROMOSOME;
   }
 
   @Override
-  public String getStart(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_CHROMOSOME_START);
+  public String getStartFieldName() {
+    return SUBMISSION_OBSERVATION_CHROMOSOME_START;
   }
 
   @Override
-  public String getEnd(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_CHROMOSOME_END);
+  public String getEndFieldName() {
+    return SUBMISSION_OBSERVATION_CHROMOSOME_END;
   }
 
   @Override
-  public String getReferenceAllele(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE);
+  public String getReferenceAlleleFieldName() {
+    return SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
   }
 
-}
\ No newline at end of file
+}
@@ -19,13 +19,11 @@ package org.icgc.dcc.submission.validation.rgv.accessor;
 
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_VARIANT_TYPE;
 
-import java.util.Map;
-
 public class SgvPrimaryFieldAccessor extends AbstractPrimaryFieldAccessor {
 
   @Override
-  public String getMutationType(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_VARIANT_TYPE);
+  public String getMutationTypeFieldName() {
+    return SUBMISSION_OBSERVATION_VARIANT_TYPE;
   }
 
-}
\ No newline at end of file
+}
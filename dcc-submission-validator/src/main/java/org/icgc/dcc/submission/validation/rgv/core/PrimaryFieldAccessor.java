@@ -17,18 +17,21 @@
  */
 package org.icgc.dcc.submission.validation.rgv.core;
 
-import java.util.Map;
-
+/**
+ * Names the primary file fields needed for reference genome validation.
+ * 
+ * @see PrimaryRecordParser
+ */
 public interface PrimaryFieldAccessor {
 
-  String getMutationType(Map<String, String> record);
+  String getMutationTypeFieldName();
 
-  String getChromosomeCode(Map<String, String> record);
+  String getChromosomeCodeFieldName();
 
-  String getStart(Map<String, String> record);
+  String getStartFieldName();
 
-  String getEnd(Map<String, String> record);
+  String getEndFieldName();
 
-  String getReferenceAllele(Map<String, String> record);
+  String getReferenceAlleleFieldName();
 
-}
\ No newline at end of file
+}
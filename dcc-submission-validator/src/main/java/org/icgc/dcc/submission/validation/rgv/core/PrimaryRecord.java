@@ -15,27 +15,22 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation.rgv.core;
 
-import org.icgc.dcc.submission.core.report.FieldReport;
-import org.icgc.dcc.submission.core.report.FileReport;
+import lombok.Value;
 
-import lombok.NonNull;
-
-public class AddFieldVisitor extends AbstractFileNameReportVisitor {
-
-  private final FieldReport fieldReport;
+/**
+ * The primary file fields needed for reference genome validation of a single line.
+ */
+@Value
+public class PrimaryRecord {
 
-  public AddFieldVisitor(@NonNull String fileName, @NonNull FieldReport fieldReport) {
-    super(fileName);
-    this.fieldReport = fieldReport;
-  }
+  long lineNumber;
 
-  @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      fileReport.addFieldReport(fieldReport);
-    }
-  }
+  String mutationType;
+  String chromosomeCode;
+  String start;
+  String end;
+  String referenceAllele;
 
 }
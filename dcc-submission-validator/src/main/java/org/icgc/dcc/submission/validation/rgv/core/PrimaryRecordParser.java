@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.rgv.core;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.core.parser.FieldIndexedRecordParser;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Extracts only the {@link PrimaryFieldAccessor} fields from a tab separated primary file line, avoiding the
+ * construction of a field map per line.
+ * <p>
+ * Thread-safe.
+ */
+public class PrimaryRecordParser {
+
+  /**
+   * Dependencies.
+   */
+  private final FieldIndexedRecordParser recordParser;
+
+  /**
+   * Configuration.
+   */
+  private final int mutationTypeIndex;
+  private final int chromosomeCodeIndex;
+  private final int startIndex;
+  private final int endIndex;
+  private final int referenceAlleleIndex;
+
+  public PrimaryRecordParser(@NonNull List<String> fieldNames, @NonNull PrimaryFieldAccessor fieldAccessor) {
+    this.recordParser = new FieldIndexedRecordParser(fieldNames);
+    this.mutationTypeIndex = recordParser.indexOf(fieldAccessor.getMutationTypeFieldName());
+    this.chromosomeCodeIndex = recordParser.indexOf(fieldAccessor.getChromosomeCodeFieldName());
+    this.startIndex = recordParser.indexOf(fieldAccessor.getStartFieldName());
+    this.endIndex = recordParser.indexOf(fieldAccessor.getEndFieldName());
+    this.referenceAlleleIndex = recordParser.indexOf(fieldAccessor.getReferenceAlleleFieldName());
+  }
+
+  public PrimaryRecord parse(long lineNumber, @NonNull String line) {
+    val record = recordParser.parse(line);
+
+    return new PrimaryRecord(
+        lineNumber,
+        record.getString(mutationTypeIndex),
+        record.getString(chromosomeCodeIndex),
+        record.getString(startIndex),
+        record.getString(endIndex),
+        record.getString(referenceAlleleIndex));
+  }
+
+}
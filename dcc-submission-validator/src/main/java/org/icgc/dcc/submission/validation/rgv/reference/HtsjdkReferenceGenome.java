@@ -17,21 +17,55 @@
  */
 package org.icgc.dcc.submission.validation.rgv.reference;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.io.Files.getNameWithoutExtension;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 
 import java.io.File;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import htsjdk.samtools.reference.FastaSequenceIndex;
 import htsjdk.samtools.reference.IndexedFastaSequenceFile;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * {@link ReferenceGenome} backed by an indexed FASTA file.
+ * <p>
+ * The reference is read in fixed size windows which are kept in a bounded LRU cache, so that runs of nearby positions
+ * (as found in coordinate sorted submissions) are served from memory. Safe for concurrent use: FASTA handles are not
+ * thread-safe so each read borrows one from a small pool.
+ */
 @Slf4j
 public class HtsjdkReferenceGenome implements ReferenceGenome {
 
   /**
-   * The reference assembly version that corresponds to the configured {@link #sequenceFile}.
+   * Default number of bases per cached window.
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 64 * 1024;
+
+  /**
+   * Default total number of cached bases (i.e. bytes).
+   */
+  public static final long DEFAULT_CACHE_SIZE = 256L * 1024 * 1024;
+
+  /**
+   * Maximum number of idle FASTA handles kept open.
+   */
+  private static final int MAX_IDLE_HANDLES = 8;
+
+  /**
+   * The reference assembly version that corresponds to the configured {@link #fastaFile}.
    */
   @NonNull
   private final String assemblyVersion;
@@ -40,21 +74,72 @@ public class HtsjdkReferenceGenome implements ReferenceGenome {
    * The FASTA file used for validation.
    */
   @NonNull
-  private final IndexedFastaSequenceFile sequenceFile;
+  private final File fastaFile;
+
+  /**
+   * The {@code .fai} index of {@link #fastaFile}, shared by all handles.
+   */
+  @NonNull
+  private final FastaSequenceIndex index;
+
+  /**
+   * Number of bases per cached window.
+   */
+  private final int windowSize;
+
+  /**
+   * Windows of bases by chromosome and window number.
+   */
+  @NonNull
+  private final Cache<Window, byte[]> windows;
 
   /**
-   * Creates a {@code PicardReferenceGenome} configured with the supplied {@code fastaFilePath}.
+   * Idle FASTA handles.
+   */
+  private final Queue<IndexedFastaSequenceFile> handles = new ConcurrentLinkedQueue<IndexedFastaSequenceFile>();
+  private final AtomicInteger idleHandles = new AtomicInteger();
+
+  /**
+   * Creates a {@code HtsjdkReferenceGenome} configured with the supplied {@code fastaFilePath}.
    * 
    * @param fastaFilePath the fully qualified path to the the {@code .fasta} file. Expected to be placed next to
    * {@code .fai} file with the same prefix.
    */
-  @SneakyThrows
   public HtsjdkReferenceGenome(@NonNull String fastaFilePath) {
-    val fastaFile = new File(fastaFilePath).getAbsoluteFile();
+    this(fastaFilePath, DEFAULT_WINDOW_SIZE, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Creates a {@code HtsjdkReferenceGenome} with explicit cache sizing.
+   * 
+   * @param fastaFilePath the fully qualified path to the the {@code .fasta} file
+   * @param windowSize the number of bases read and cached at once
+   * @param cacheSize the maximum number of bases cached
+   */
+  @SneakyThrows
+  public HtsjdkReferenceGenome(@NonNull String fastaFilePath, int windowSize, long cacheSize) {
+    checkArgument(windowSize > 0, "Window size must be positive: %s", windowSize);
+    this.fastaFile = new File(fastaFilePath).getAbsoluteFile();
     this.assemblyVersion = getAssemblyVersion(fastaFile);
-    this.sequenceFile = new IndexedFastaSequenceFile(fastaFile);
+    this.index = new FastaSequenceIndex(new File(fastaFile.getPath() + ".fai"));
+    this.windowSize = windowSize;
+    this.windows = CacheBuilder.newBuilder()
+        .maximumWeight(cacheSize)
+        .weigher(new Weigher<Window, byte[]>() {
 
-    log.info("Using '{}' assembly versioned FASTA file: '{}'", assemblyVersion, fastaFile);
+          @Override
+          public int weigh(Window window, byte[] bases) {
+            return bases.length;
+          }
+
+        })
+        .build();
+
+    // Fail early if the FASTA file is not usable
+    release(acquire());
+
+    log.info("Using '{}' assembly versioned FASTA file: '{}' with {} base windows", assemblyVersion, fastaFile,
+        windowSize);
   }
 
   @Override
@@ -64,27 +149,116 @@ public class HtsjdkReferenceGenome implements ReferenceGenome {
 
   @Override
   public String getSequence(String chromosome, String start, String end) {
-    return get(chromosome, start, end);
+    val startPosition = Long.parseLong(start);
+    val endPosition = Long.parseLong(end);
+    checkRange(chromosome, startPosition, endPosition);
+
+    val bases = new byte[(int) (endPosition - startPosition + 1)];
+    int offset = 0;
+    for (long position = startPosition; position <= endPosition;) {
+      val window = getWindow(chromosome, position, startPosition, endPosition);
+      val from = (int) ((position - 1) % windowSize);
+      val length = (int) Math.min(window.length - from, endPosition - position + 1);
+      System.arraycopy(window, from, bases, offset, length);
+
+      offset += length;
+      position += length;
+    }
+
+    return new String(bases, US_ASCII);
   }
 
-  private String get(String chromosome, String start, String end) {
-    val startPosition = Long.valueOf(start);
-    val endPosition = Long.valueOf(end);
+  @Override
+  public boolean isMatch(String chromosome, String start, String end, @NonNull String allele) {
+    val startPosition = Long.parseLong(start);
+    val endPosition = Long.parseLong(end);
+    checkRange(chromosome, startPosition, endPosition);
+    if (allele.length() != endPosition - startPosition + 1) {
+      return false;
+    }
 
-    return get(chromosome, startPosition, endPosition);
+    int offset = 0;
+    for (long position = startPosition; position <= endPosition;) {
+      val window = getWindow(chromosome, position, startPosition, endPosition);
+      val from = (int) ((position - 1) % windowSize);
+      val length = (int) Math.min(window.length - from, endPosition - position + 1);
+      for (int i = 0; i < length; i++) {
+        if (toUpperCase(window[from + i]) != toUpperCase(allele.charAt(offset + i))) {
+          return false;
+        }
+      }
+
+      offset += length;
+      position += length;
+    }
+
+    return true;
   }
 
-  private String get(String chromosome, long start, long end) {
+  private byte[] getWindow(final String chromosome, long position, long start, long end) {
     try {
-      val sequence = sequenceFile.getSubsequenceAt(chromosome, start, end);
-      val text = new String(sequence.getBases());
-      return text;
+      val window = new Window(chromosome, (position - 1) / windowSize);
+      return windows.get(window, new Callable<byte[]>() {
+
+        @Override
+        public byte[] call() throws Exception {
+          return read(window);
+        }
+
+      });
     } catch (Exception e) {
       throw new RuntimeException(
           "Error trying to get subsequence at: chr=" + chromosome + " start=" + start + ", end=" + end, e);
     }
   }
 
+  private byte[] read(Window window) {
+    val size = index.getIndexEntry(window.getChromosome()).getSize();
+    val first = window.getNumber() * windowSize + 1;
+    val last = Math.min(first + windowSize - 1, size);
+
+    val handle = acquire();
+    try {
+      return handle.getSubsequenceAt(window.getChromosome(), first, last).getBases();
+    } finally {
+      release(handle);
+    }
+  }
+
+  private void checkRange(String chromosome, long start, long end) {
+    val valid = index.hasIndexEntry(chromosome) && start >= 1 && end >= start
+        && end <= index.getIndexEntry(chromosome).getSize();
+    if (!valid) {
+      throw new RuntimeException(
+          "Error trying to get subsequence at: chr=" + chromosome + " start=" + start + ", end=" + end);
+    }
+  }
+
+  @SneakyThrows
+  private IndexedFastaSequenceFile acquire() {
+    val handle = handles.poll();
+    if (handle != null) {
+      idleHandles.decrementAndGet();
+      return handle;
+    }
+
+    return new IndexedFastaSequenceFile(fastaFile, index);
+  }
+
+  @SneakyThrows
+  private void release(IndexedFastaSequenceFile handle) {
+    if (idleHandles.incrementAndGet() <= MAX_IDLE_HANDLES) {
+      handles.offer(handle);
+    } else {
+      idleHandles.decrementAndGet();
+      handle.close();
+    }
+  }
+
+  private static int toUpperCase(int c) {
+    return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+  }
+
   /**
    * Extracts the assembly version from the file name.
    * 
@@ -95,4 +269,15 @@ public class HtsjdkReferenceGenome implements ReferenceGenome {
     return getNameWithoutExtension(fastaFile.getName());
   }
 
+  /**
+   * Cache key of a window of {@link #windowSize} bases.
+   */
+  @Value
+  private static class Window {
+
+    String chromosome;
+    long number;
+
+  }
+
 }
@@ -23,4 +23,10 @@ public interface ReferenceGenome {
 
   String getSequence(String chromosome, String start, String end);
 
+  /**
+   * Returns whether {@code allele} is the reference sequence (ignoring case) between {@code start} and {@code end}
+   * (1-based, inclusive) without materializing the reference sequence.
+   */
+  boolean isMatch(String chromosome, String start, String end, String allele);
+
 }
@@ -18,18 +18,23 @@
 package org.icgc.dcc.submission.validation.sample;
 
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
 
 import java.util.Collection;
+import java.util.Set;
 
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.common.core.model.FeatureTypes.FeatureType;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.first.FirstPassValidator;
+import org.icgc.dcc.submission.validation.primary.PrimaryValidator;
 import org.icgc.dcc.submission.validation.sample.core.MetaFileSampleTypeProcessor;
 import org.icgc.dcc.submission.validation.sample.core.Samples;
 import org.icgc.dcc.submission.validation.sample.parser.SamplesParser;
 import org.icgc.dcc.submission.validation.util.ValidationFileParsers;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
 import lombok.SneakyThrows;
@@ -52,6 +57,11 @@ public class SampleTypeValidator implements Validator {
     return "Sample Type Validator";
   }
 
+  @Override
+  public Optional<Set<Class<? extends Validator>>> getDependencies() {
+    return dependsOn(FirstPassValidator.class, PrimaryValidator.class);
+  }
+
   @Override
   public void validate(ValidationContext context) throws InterruptedException {
     log.info("Starting...");
@@ -79,7 +89,7 @@ public class SampleTypeValidator implements Validator {
   @SneakyThrows
   private void validateFeatureSampleTypes(ValidationContext context, FeatureType featureType, Samples samples) {
     val metaFileType = featureType.getMetaFileType();
-    val metaFileParser = ValidationFileParsers.newMapFileParser(context, metaFileType);
+    val metaFileParser = ValidationFileParsers.newRecordFileParser(context, metaFileType);
 
     // Parse and validate each meta file instance for this feature type in turn
     for (val metaFile : context.getFiles(metaFileType)) {
@@ -87,7 +97,7 @@ public class SampleTypeValidator implements Validator {
 
       // Perform actual validation within the processor
       log.info("Processing {}...", metaFile.toString());
-      metaFileParser.parse(metaFile, metaFileProcessor);
+      metaFileParser.parse(metaFile, (lineNumber, record) -> metaFileProcessor.process(lineNumber, record.asMap()));
 
       // TODO: Consider moving the this lower in the call stack
       // Allow for user canceling between files
@@ -25,6 +25,7 @@ import java.util.Map;
 
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.parser.FileParser;
+import org.icgc.dcc.submission.core.parser.FieldIndexedRecord;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.sample.core.Samples;
 import org.icgc.dcc.submission.validation.util.ValidationFileParsers;
@@ -64,8 +65,8 @@ public class SamplesParser {
     val map = ImmutableMap.<String, String> builder();
     for (val file : context.getFiles(fileType)) {
       fileParser.parse(file, (lineNumber, record) -> {
-        String key = record.get(keyFieldName);
-        String value = record.get(valueFieldName);
+        String key = record.getString(keyFieldName);
+        String value = record.getString(valueFieldName);
 
         map.put(key, value);
       });
@@ -87,8 +88,8 @@ public class SamplesParser {
     return innerJoin.build();
   }
 
-  private static FileParser<Map<String, String>> createParser(FileType fileType, ValidationContext context) {
-    return ValidationFileParsers.newMapFileParser(context, fileType);
+  private static FileParser<FieldIndexedRecord> createParser(FileType fileType, ValidationContext context) {
+    return ValidationFileParsers.newRecordFileParser(context, fileType);
   }
 
 }
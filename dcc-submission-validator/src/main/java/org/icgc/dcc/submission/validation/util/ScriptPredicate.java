@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.util;
+
+import static com.google.common.collect.ImmutableSet.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * A script restriction or relation condition of one of the common shapes found in the dictionaries, evaluated as plain
+ * Java instead of MVEL.
+ * <p>
+ * Recognised are {@code &&}, {@code ||} and {@code !} over null checks, string and integer equality, regular expression
+ * matches ({@code ~=}), numeric comparisons and membership in string lists ({@code contains}). These may form the whole
+ * script or the conditions and branches of {@code if} / {@code else if} / {@code else} chains, whose branches are such
+ * expressions, {@code return true|false} or nested chains. Evaluation only mirrors MVEL for value types whose MVEL
+ * semantics are unambiguous (e.g. a {@code String} compared to a string literal) and yields {@code null} otherwise, in
+ * which case the caller has to evaluate the script.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ScriptPredicate {
+
+  /**
+   * Constants.
+   */
+  private static final Set<String> OPERATORS = copyOf(new String[] {
+      "==", "!=", "<=", ">=", "&&", "||", "~=", "<", ">", "!", "(", ")", "{", "}", "[", "]", ",", ";" });
+  private static final Set<String> KEYWORDS = copyOf(new String[] {
+      "if", "else", "return", "true", "false", "null", "contains" });
+
+  /**
+   * State.
+   */
+  private final Node root;
+
+  /**
+   * Compiles {@code script} if it is recognised and only references {@code fieldNames}.
+   * 
+   * @param fieldNames names of the row values, by position; {@code null} entries are never referenced
+   */
+  public static Optional<ScriptPredicate> compile(@NonNull String script, @NonNull List<String> fieldNames) {
+    val tokens = tokenize(script);
+    if (tokens == null) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(new ScriptPredicate(new Parser(tokens, fieldNames).parseScript()));
+    } catch (UnrecognizedScriptException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param values the row values, by the position of their field in the names the predicate was compiled with
+   * @return the result, or {@code null} if it has to be obtained by evaluating the script
+   */
+  public Boolean test(IntFunction<Object> values) {
+    return root.evaluate(values);
+  }
+
+  private static List<String> tokenize(String script) {
+    List<String> tokens = Lists.newArrayList();
+    int i = 0;
+    while (i < script.length()) {
+      char c = script.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '\'' || c == '"') {
+        int end = script.indexOf(c, i + 1);
+        if (end < 0 || script.substring(i, end).indexOf('\\') >= 0) {
+          // Leave escapes to MVEL
+          return null;
+        }
+
+        tokens.add(script.substring(i, end + 1));
+        i = end + 1;
+      } else if (Character.isJavaIdentifierStart(c) || Character.isDigit(c)) {
+        int end = i + 1;
+        while (end < script.length() && Character.isJavaIdentifierPart(script.charAt(end))) {
+          end++;
+        }
+
+        tokens.add(script.substring(i, end));
+        i = end;
+      } else if (i + 1 < script.length() && OPERATORS.contains(script.substring(i, i + 2))) {
+        tokens.add(script.substring(i, i + 2));
+        i += 2;
+      } else if (OPERATORS.contains(String.valueOf(c))) {
+        tokens.add(String.valueOf(c));
+        i++;
+      } else {
+        return null;
+      }
+    }
+
+    return tokens;
+  }
+
+  private interface Node {
+
+    Boolean evaluate(IntFunction<Object> values);
+
+  }
+
+  private static class UnrecognizedScriptException extends RuntimeException {
+
+    private UnrecognizedScriptException() {
+      super(null, null, false, false);
+    }
+
+  }
+
+  /**
+   * Recursive descent parser of the recognised subset, where {@code &&} binds tighter than {@code ||}.
+   */
+  @RequiredArgsConstructor
+  private static class Parser {
+
+    private final List<String> tokens;
+    private final List<String> fieldNames;
+
+    private int next;
+
+    /**
+     * Whether the last parsed branch was a {@code return}.
+     */
+    private boolean returned;
+
+    Node parseScript() {
+      val node = parseStatement();
+      check(next == tokens.size());
+
+      return node;
+    }
+
+    private Node parseStatement() {
+      return peek("if") ? parseIf() : parseBranch();
+    }
+
+    private Node parseIf() {
+      expect("if");
+      expect("(");
+      val condition = parseOr();
+      expect(")");
+      val then = parseBlock();
+      val thenReturned = returned;
+
+      Node otherwise;
+      if (accept("else")) {
+        otherwise = peek("if") ? parseIf() : parseBlock();
+        returned = thenReturned && returned;
+      } else {
+        // Without an else, execution only continues with the next statement when the block returns
+        check(thenReturned);
+        otherwise = parseStatement();
+        check(returned);
+      }
+
+      return values -> {
+        Boolean holds = condition.evaluate(values);
+        if (holds == null) {
+          return null;
+        }
+
+        return holds ? then.evaluate(values) : otherwise.evaluate(values);
+      };
+    }
+
+    private Node parseBlock() {
+      expect("{");
+      val node = parseStatement();
+      expect("}");
+
+      return node;
+    }
+
+    private Node parseBranch() {
+      returned = peek("return");
+      val node = returned ? parseReturn() : parseOr();
+      accept(";");
+
+      return node;
+    }
+
+    private Node parseReturn() {
+      expect("return");
+      val value = parseBoolean();
+
+      return values -> value;
+    }
+
+    private Node parseOr() {
+      Node node = parseAnd();
+      while (accept("||")) {
+        val left = node;
+        val right = parseAnd();
+        node = values -> {
+          Boolean result = left.evaluate(values);
+          return result == null || result ? result : right.evaluate(values);
+        };
+      }
+
+      return node;
+    }
+
+    private Node parseAnd() {
+      Node node = parseUnary();
+      while (accept("&&")) {
+        val left = node;
+        val right = parseUnary();
+        node = values -> {
+          Boolean result = left.evaluate(values);
+          return result == null || !result ? result : right.evaluate(values);
+        };
+      }
+
+      return node;
+    }
+
+    private Node parseUnary() {
+      if (accept("!")) {
+        return negate(parseUnary());
+      }
+      if (accept("(")) {
+        val node = parseOr();
+        expect(")");
+
+        return node;
+      }
+      if (peek("true") || peek("false")) {
+        val value = parseBoolean();
+
+        return values -> value;
+      }
+      if (peek("[")) {
+        return parseContains();
+      }
+
+      return parseComparison();
+    }
+
+    private Node parseContains() {
+      expect("[");
+      val builder = ImmutableList.<String> builder();
+      do {
+        builder.add(parseString());
+      } while (accept(","));
+      expect("]");
+      expect("contains");
+
+      val list = builder.build();
+      val position = parseField();
+
+      return values -> {
+        Object value = values.apply(position);
+        return value instanceof String ? list.contains(value) : null;
+      };
+    }
+
+    private Node parseComparison() {
+      val position = parseField();
+      val operator = take();
+      check(operator.equals("==") || operator.equals("!=") || operator.equals("~=")
+          || operator.equals("<") || operator.equals("<=") || operator.equals(">") || operator.equals(">="));
+
+      if (operator.equals("~=")) {
+        return parseMatch(position);
+      }
+
+      Node node;
+      if (accept("null")) {
+        check(operator.equals("==") || operator.equals("!="));
+        node = values -> values.apply(position) == null;
+      } else if (isString(peek())) {
+        check(operator.equals("==") || operator.equals("!="));
+        val literal = parseString();
+        node = values -> {
+          Object value = values.apply(position);
+          return value == null ? Boolean.FALSE : value instanceof String ? literal.equals(value) : null;
+        };
+      } else if (isNumber(peek())) {
+        val literal = parseNumber();
+        node = values -> compare(operator, values.apply(position), literal);
+      } else {
+        int otherPosition = parseField();
+        node = operator.equals("==") || operator.equals("!=") ?
+            values -> equal(values.apply(position), values.apply(otherPosition)) :
+            values -> compare(operator, values.apply(position), values.apply(otherPosition));
+      }
+
+      return operator.equals("!=") ? negate(node) : node;
+    }
+
+    private Node parseMatch(int position) {
+      Pattern pattern;
+      try {
+        pattern = Pattern.compile(parseString());
+      } catch (PatternSyntaxException e) {
+        throw new UnrecognizedScriptException();
+      }
+
+      // MVEL matches the string representation of the value, "null" included
+      return values -> pattern.matcher(String.valueOf(values.apply(position))).matches();
+    }
+
+    private int parseField() {
+      val name = take();
+      check(!KEYWORDS.contains(name) && Character.isJavaIdentifierStart(name.charAt(0)));
+
+      // The last occurrence wins, as when MVEL variables are put into a map by position
+      int position = fieldNames.lastIndexOf(name);
+      check(position >= 0);
+
+      return position;
+    }
+
+    private boolean parseBoolean() {
+      val token = take();
+      check(token.equals("true") || token.equals("false"));
+
+      return token.equals("true");
+    }
+
+    private String parseString() {
+      val token = take();
+      check(isString(token));
+
+      return token.substring(1, token.length() - 1);
+    }
+
+    private long parseNumber() {
+      try {
+        return Long.parseLong(take());
+      } catch (NumberFormatException e) {
+        throw new UnrecognizedScriptException();
+      }
+    }
+
+    private boolean peek(String token) {
+      return token.equals(peek());
+    }
+
+    private String peek() {
+      return next < tokens.size() ? tokens.get(next) : "";
+    }
+
+    private boolean accept(String token) {
+      if (peek(token)) {
+        next++;
+        return true;
+      }
+
+      return false;
+    }
+
+    private void expect(String token) {
+      check(accept(token));
+    }
+
+    private String take() {
+      check(next < tokens.size());
+
+      return tokens.get(next++);
+    }
+
+    private static void check(boolean recognized) {
+      if (!recognized) {
+        throw new UnrecognizedScriptException();
+      }
+    }
+
+    private static boolean isString(String token) {
+      return !token.isEmpty() && (token.charAt(0) == '\'' || token.charAt(0) == '"');
+    }
+
+    private static boolean isNumber(String token) {
+      return !token.isEmpty() && Character.isDigit(token.charAt(0));
+    }
+
+    private static Node negate(Node node) {
+      return values -> {
+        Boolean result = node.evaluate(values);
+        return result == null ? null : !result;
+      };
+    }
+
+    /**
+     * Strings (or nulls) are equal as in {@link Object#equals(Object)}, numbers as in
+     * {@link #compare(String, Object, Object)}.
+     */
+    private static Boolean equal(Object left, Object right) {
+      if ((left == null || left instanceof String) && (right == null || right instanceof String)) {
+        return left == null ? right == null : left.equals(right);
+      }
+
+      return compare("==", left, right);
+    }
+
+    /**
+     * Compares integral values as {@code long}s and other numbers as {@code double}s, leaving nulls, strings and any
+     * other types (which MVEL coerces) undecided.
+     */
+    private static Boolean compare(String operator, Object left, Object right) {
+      if (!isNumeric(left) || !isNumeric(right)) {
+        return null;
+      }
+
+      int comparison;
+      if (isIntegral(left) && isIntegral(right)) {
+        comparison = Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+      } else {
+        double l = ((Number) left).doubleValue();
+        double r = ((Number) right).doubleValue();
+        if (Double.isNaN(l) || Double.isNaN(r)) {
+          return null;
+        }
+
+        comparison = l < r ? -1 : l > r ? 1 : 0;
+      }
+
+      switch (operator) {
+      case "==":
+      case "!=":
+        return comparison == 0;
+      case "<":
+        return comparison < 0;
+      case "<=":
+        return comparison <= 0;
+      case ">":
+        return comparison > 0;
+      default:
+        return comparison >= 0;
+      }
+    }
+
+    private static boolean isNumeric(Object value) {
+      return isIntegral(value) || value instanceof Double || value instanceof Float;
+    }
+
+    private static boolean isIntegral(Object value) {
+      return value instanceof Long || value instanceof Integer;
+    }
+
+  }
+
+}
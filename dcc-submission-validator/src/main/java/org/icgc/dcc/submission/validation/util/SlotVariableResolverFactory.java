@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.util;
+
+import static com.google.common.collect.Maps.newHashMap;
+
+import java.util.List;
+import java.util.Map;
+
+import org.mvel2.integration.VariableResolver;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * A reusable MVEL variable resolver factory whose variables are fixed slots addressed by index, typically the
+ * positions of the fields of a row. Evaluating a compiled script against another row then only overwrites slot values
+ * instead of building a variable map and a factory per row.
+ * <p>
+ * Variables created by the script itself are discarded by {@link #reset()}, as they would be with a fresh factory.
+ * Instances are not thread safe.
+ */
+public class SlotVariableResolverFactory extends MapVariableResolverFactory {
+
+  /**
+   * State.
+   */
+  private final SlotVariableResolver[] slots;
+  private final Map<String, SlotVariableResolver> slotsByName = newHashMap();
+
+  /**
+   * @param names the name of each slot; {@code null} names are not variables and the last of duplicate names wins
+   */
+  public SlotVariableResolverFactory(@NonNull List<String> names) {
+    super(newHashMap());
+    this.slots = new SlotVariableResolver[names.size()];
+    for (int i = 0; i < slots.length; i++) {
+      val name = names.get(i);
+      if (name != null) {
+        slots[i] = new SlotVariableResolver(name);
+        slotsByName.put(name, slots[i]);
+      }
+    }
+  }
+
+  public void set(int slot, Object value) {
+    val resolver = slots[slot];
+    if (resolver != null) {
+      resolver.setValue(value);
+    }
+  }
+
+  /**
+   * Discards the variables created by the last evaluation.
+   */
+  public void reset() {
+    if (!variables.isEmpty()) {
+      variables.clear();
+      variableResolvers.clear();
+    }
+  }
+
+  @Override
+  public VariableResolver createVariable(String name, Object value) {
+    val resolver = slotsByName.get(name);
+    if (resolver == null) {
+      return super.createVariable(name, value);
+    }
+
+    resolver.setValue(value);
+    return resolver;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public VariableResolver createVariable(String name, Object value, Class type) {
+    val resolver = slotsByName.get(name);
+    if (resolver == null) {
+      return super.createVariable(name, value, type);
+    }
+
+    resolver.setValue(value);
+    return resolver;
+  }
+
+  @Override
+  public VariableResolver getVariableResolver(String name) {
+    val resolver = slotsByName.get(name);
+
+    return resolver == null ? super.getVariableResolver(name) : resolver;
+  }
+
+  @Override
+  public boolean isTarget(String name) {
+    return slotsByName.containsKey(name) || super.isTarget(name);
+  }
+
+  @Override
+  public boolean isResolveable(String name) {
+    return slotsByName.containsKey(name) || super.isResolveable(name);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  @SuppressWarnings("rawtypes")
+  private static class SlotVariableResolver implements VariableResolver {
+
+    private final String name;
+    private Class type;
+    private Object value;
+
+    @Override
+    public void setStaticType(Class type) {
+      this.type = type;
+    }
+
+    @Override
+    public int getFlags() {
+      return 0;
+    }
+
+    @Override
+    public void setValue(Object value) {
+      this.value = value;
+    }
+
+  }
+
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.parser.FileParser;
+import org.icgc.dcc.submission.core.parser.FieldIndexedRecord;
 import org.icgc.dcc.submission.core.parser.SubmissionFileParsers;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 
@@ -42,4 +43,11 @@ public final class ValidationFileParsers {
     return fileParser;
   }
 
+  public static FileParser<FieldIndexedRecord> newRecordFileParser(ValidationContext context, FileType fileType) {
+    val fileSchema = context.getFileSchema(fileType);
+    val fileParser = SubmissionFileParsers.newRecordFileParser(context.getFileSystem(), fileSchema);
+
+    return fileParser;
+  }
+
 }
@@ -23,6 +23,7 @@ import static java.util.Collections.sort;
 
 import java.io.File;
 import java.util.List;
+import java.util.Set;
 
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
@@ -89,7 +90,7 @@ public abstract class BaseValidationIntegrityTest {
 
   @Before
   public void before() {
-    this.planner = new Planner(ImmutableSet.<RestrictionType> builder()
+    this.planner = createPlanner(ImmutableSet.<RestrictionType> builder()
         .add(new DiscreteValuesRestriction.Type())
         .add(new RegexRestriction.Type())
         .add(new RangeFieldRestriction.Type())
@@ -101,6 +102,10 @@ public abstract class BaseValidationIntegrityTest {
     this.dictionary = getDictionary();
   }
 
+  protected Planner createPlanner(Set<RestrictionType> restrictionTypes) {
+    return new Planner(restrictionTypes);
+  }
+
   protected static FileSchema getFileSchemaByName(Dictionary dictionary, String name) {
     for (val fileSchema : dictionary.getFiles()) {
       if (name.equals(fileSchema.getName())) {
@@ -160,6 +160,36 @@ public class ValidationExecutorTest {
     assertThat(secondCancelled).isFalse();
   }
 
+  @Test
+  public void testSlotReleased() throws InterruptedException {
+    val released = new CountDownLatch(1);
+    executor.addSlotListener(new Runnable() {
+
+      @Override
+      public void run() {
+        released.countDown();
+      }
+
+    });
+
+    // Setup: Fill every slot
+    for (int i = 1; i <= MAX_VALIDATING; i++) {
+      executor.execute(createValidation("project" + i));
+    }
+    assertThat(executor.getAvailableCount()).isEqualTo(0);
+    assertThat(executor.isExecuting("project1")).isTrue();
+
+    // Exercise: Cancelling frees the slot and notifies listeners
+    executor.cancel("project1");
+    assertThat(released.await(1, SECONDS)).isTrue();
+
+    // Verify: The freed slot can be reused
+    assertThat(executor.isExecuting("project1")).isFalse();
+    assertThat(executor.getAvailableCount()).isEqualTo(1);
+    executor.execute(createValidation("project" + (MAX_VALIDATING + 1)));
+    assertThat(executor.getAvailableCount()).isEqualTo(0);
+  }
+
   private static ValidationListener createValidationListener(
       final CountDownLatch started,
       final CountDownLatch cancelled,
@@ -15,33 +15,23 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.submission.core.report.visitor;
+package org.icgc.dcc.submission.validation;
 
-import static com.google.common.base.Optional.fromNullable;
+import java.util.Set;
 
-import org.icgc.dcc.submission.core.report.FileReport;
+import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
+import org.icgc.dcc.submission.validation.primary.planner.Planner;
+import org.icgc.dcc.submission.validation.primary.restriction.RowValidator;
 
-import com.google.common.base.Optional;
-
-import lombok.NonNull;
-
-public class GetFileReportVisitor extends AbstractFileNameReportVisitor {
-
-  private FileReport fileReport;
-
-  public GetFileReportVisitor(@NonNull String fileName) {
-    super(fileName);
-  }
+/**
+ * Runs the {@link ValidationRowBasedIntegrityTest} fixtures with restrictions fused into {@link RowValidator}s. Since
+ * the expected error reports are shared, this ensures both planning modes produce identical output.
+ */
+public class ValidationRowBasedFusedIntegrityTest extends ValidationRowBasedIntegrityTest {
 
   @Override
-  public void visit(@NonNull FileReport fileReport) {
-    if (isTarget(fileReport)) {
-      this.fileReport = fileReport;
-    }
-  }
-
-  public Optional<FileReport> getFileReport() {
-    return fromNullable(fileReport);
+  protected Planner createPlanner(Set<RestrictionType> restrictionTypes) {
+    return new Planner(restrictionTypes, true);
   }
 
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.accession.ega;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.DEFAULT;
+
+import java.io.File;
+import java.util.Map;
+
+import org.icgc.dcc.common.ega.client.EGAClient;
+import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator.Result;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Exercises {@link EGAFileAccessionValidator} against the {@link EGAStubServer} instead of EGA.
+ */
+public class EGAFileAccessionValidatorStubTest {
+
+  /**
+   * Test data.
+   */
+  private static final String VALID_ID_1 = "EGAF00000000001";
+  private static final String VALID_ID_2 = "EGAF00000000002";
+  private static final String VALID_ID_3 = "EGAF00000000003";
+  private static final String INVALID_ID = "EGAF00000000099";
+
+  /**
+   * Scratch space.
+   */
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  EGAStubServer server = new EGAStubServer(VALID_ID_1, VALID_ID_2, VALID_ID_3);
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testValidateBatch() throws Exception {
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 5);
+
+    val results = validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2, VALID_ID_1, INVALID_ID, VALID_ID_3,
+        VALID_ID_2, INVALID_ID));
+
+    assertThat(results).hasSize(4);
+    assertThat(results.get(VALID_ID_1).isValid()).isTrue();
+    assertThat(results.get(VALID_ID_2).isValid()).isTrue();
+    assertThat(results.get(VALID_ID_3).isValid()).isTrue();
+    assertThat(results.get(INVALID_ID).isValid()).isFalse();
+
+    // De-duplicated
+    assertThat(server.getFileRequestCount(VALID_ID_1)).isEqualTo(1);
+    assertThat(server.getFileRequestCount(VALID_ID_2)).isEqualTo(1);
+    assertThat(server.getFileRequestCount(VALID_ID_3)).isEqualTo(1);
+
+    // Retried once with a new session since a 401 may mean an expired session
+    assertThat(server.getFileRequestCount(INVALID_ID)).isEqualTo(2);
+    assertThat(server.getLoginCount().get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSessionReused() throws Exception {
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 1);
+
+    assertThat(validator.validate(VALID_ID_1).isValid()).isTrue();
+    assertThat(validator.validate(VALID_ID_2).isValid()).isTrue();
+    assertThat(validator.validate(ImmutableList.of(VALID_ID_3)).get(VALID_ID_3).isValid()).isTrue();
+
+    assertThat(server.getLoginCount().get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSessionExpired() throws Exception {
+    server.setSessionRequests(1);
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 1);
+
+    val results = validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2, VALID_ID_3));
+
+    assertAllValid(results);
+    assertThat(server.getLoginCount().get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testSessionTimeout() throws Exception {
+    val validator = new EGAFileAccessionValidator(createClient(), new EGAFileAccessionCache(1, DAYS), 1, 0, 3, 1);
+
+    assertThat(validator.validate(VALID_ID_1).isValid()).isTrue();
+    assertThat(validator.validate(VALID_ID_2).isValid()).isTrue();
+
+    assertThat(server.getLoginCount().get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testRateLimited() throws Exception {
+    server.setRateLimitedRequestsPerFile(2);
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 3);
+
+    val results = validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2, VALID_ID_3));
+
+    assertAllValid(results);
+    assertThat(server.getFileRequestCount(VALID_ID_1)).isEqualTo(3);
+    assertThat(server.getFileRequestCount(VALID_ID_2)).isEqualTo(3);
+    assertThat(server.getFileRequestCount(VALID_ID_3)).isEqualTo(3);
+  }
+
+  @Test
+  public void testFailure() throws Exception {
+    server.setFailing(true);
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 2);
+
+    try {
+      validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2));
+      throw new AssertionError("Expected failure");
+    } catch (RuntimeException e) {
+      // Expected after exhausting all attempts
+    }
+
+    assertThat(server.getFileRequestCount(VALID_ID_1) + server.getFileRequestCount(VALID_ID_2))
+        .isGreaterThanOrEqualTo(3);
+    assertThat(server.getFileRequestCount(VALID_ID_1)).isLessThanOrEqualTo(3);
+    assertThat(server.getFileRequestCount(VALID_ID_2)).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void testCached() throws Exception {
+    val validator = createValidator(new EGAFileAccessionCache(1, DAYS), 2);
+
+    validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2, INVALID_ID));
+    validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2, INVALID_ID));
+
+    // Only found accessions are cached
+    assertThat(server.getFileRequestCount(VALID_ID_1)).isEqualTo(1);
+    assertThat(server.getFileRequestCount(VALID_ID_2)).isEqualTo(1);
+    assertThat(server.getFileRequestCount(INVALID_ID)).isEqualTo(4);
+  }
+
+  @Test
+  public void testCachePersisted() throws Exception {
+    val cacheFile = new File(tmp.getRoot(), "ega.json");
+    createValidator(new EGAFileAccessionCache(cacheFile, 1, DAYS), 2)
+        .validate(ImmutableList.of(VALID_ID_1, VALID_ID_2));
+    assertThat(cacheFile).exists();
+
+    // "Restart"
+    val validator = createValidator(new EGAFileAccessionCache(cacheFile, 1, DAYS), 2);
+    val results = validator.validate(ImmutableList.of(VALID_ID_1, VALID_ID_2));
+
+    assertAllValid(results);
+    assertThat(server.getFileRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCacheSavedOnlyWhenDirty() throws Exception {
+    val cacheFile = new File(tmp.getRoot(), "ega.json");
+    val validator = createValidator(new EGAFileAccessionCache(cacheFile, 1, DAYS), 2);
+    validator.validate(ImmutableList.of(VALID_ID_1));
+    assertThat(cacheFile).exists();
+    cacheFile.delete();
+
+    // Nothing new, nothing to save
+    validator.validate(ImmutableList.of(VALID_ID_1, INVALID_ID));
+    assertThat(cacheFile).doesNotExist();
+
+    // Single lookups are saved with the next batch
+    assertThat(validator.validate(VALID_ID_2).isValid()).isTrue();
+    assertThat(cacheFile).doesNotExist();
+    validator.validate(ImmutableList.of(VALID_ID_1));
+    assertThat(new EGAFileAccessionCache(cacheFile, 1, DAYS).isValid(VALID_ID_2)).isTrue();
+  }
+
+  @Test
+  public void testCacheExpired() throws Exception {
+    val cacheFile = new File(tmp.getRoot(), "ega.json");
+    val now = System.currentTimeMillis();
+    writeCache(cacheFile, ImmutableMap.of(VALID_ID_1, now - MINUTES.toMillis(5), VALID_ID_2, now));
+
+    val cache = new EGAFileAccessionCache(cacheFile, 1, MINUTES);
+    assertThat(cache.isValid(VALID_ID_1)).isFalse();
+    assertThat(cache.isValid(VALID_ID_2)).isTrue();
+
+    createValidator(cache, 1).validate(ImmutableList.of(VALID_ID_1, VALID_ID_2));
+
+    assertThat(server.getFileRequestCount(VALID_ID_1)).isEqualTo(1);
+    assertThat(server.getFileRequestCount(VALID_ID_2)).isEqualTo(0);
+  }
+
+  @Test
+  public void testCacheCorrupt() throws Exception {
+    val cacheFile = tmp.newFile("ega.json");
+    Files.write("{".getBytes(), cacheFile);
+
+    val cache = new EGAFileAccessionCache(cacheFile, 1, DAYS);
+
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  private EGAFileAccessionValidator createValidator(EGAFileAccessionCache cache, int parallelism) {
+    return new EGAFileAccessionValidator(createClient(), cache, parallelism, MINUTES.toMillis(30), 3, 1);
+  }
+
+  private EGAClient createClient() {
+    return new EGAClient(server.getUrl(), "user", "password");
+  }
+
+  private static void assertAllValid(Map<String, Result> results) {
+    for (val result : results.values()) {
+      assertThat(result.isValid()).isTrue();
+    }
+  }
+
+  @SneakyThrows
+  private static void writeCache(File cacheFile, Object entries) {
+    DEFAULT.writeValue(cacheFile, entries);
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.accession.ega;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Embedded stand-in for the EGA access API for offline tests.
+ * <p>
+ * Supports {@code POST /users/login} and {@code GET /files/<id>}. Like EGA, unknown files and sessions are answered with
+ * a 401. Sessions may be expired after a number of requests, and requests may be rate limited (429) or fail (500) to
+ * exercise error handling. Counts all requests for verification.
+ */
+public class EGAStubServer implements AutoCloseable {
+
+  /**
+   * Configuration.
+   */
+  private final Set<String> fileIds;
+  @Setter
+  private int sessionRequests = Integer.MAX_VALUE;
+  @Setter
+  private int rateLimitedRequestsPerFile;
+  @Setter
+  private boolean failing;
+
+  /**
+   * State.
+   */
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final ConcurrentMap<String, AtomicInteger> sessions = Maps.newConcurrentMap();
+  private final ConcurrentMap<String, AtomicInteger> fileRequests = Maps.newConcurrentMap();
+  @Getter
+  private final AtomicInteger loginCount = new AtomicInteger();
+
+  @SneakyThrows
+  public EGAStubServer(String... fileIds) {
+    this.fileIds = ImmutableSet.copyOf(fileIds);
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/users/login", this::login);
+    server.createContext("/files/", this::getFile);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public String getUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  public int getFileRequestCount(String fileId) {
+    val count = fileRequests.get(fileId);
+    return count == null ? 0 : count.get();
+  }
+
+  public int getFileRequestCount() {
+    return fileRequests.values().stream().mapToInt(AtomicInteger::get).sum();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void login(HttpExchange exchange) throws IOException {
+    ByteStreams.toByteArray(exchange.getRequestBody());
+    loginCount.incrementAndGet();
+
+    val session = UUID.randomUUID().toString();
+    sessions.put(session, new AtomicInteger());
+
+    respond(exchange, 200, "{\"header\":{\"code\":\"200\",\"userMessage\":\"OK\"},"
+        + "\"response\":{\"numTotalResults\":2,\"resultType\":\"java.lang.String\","
+        + "\"result\":[\"success\",\"" + session + "\"]}}");
+  }
+
+  private void getFile(HttpExchange exchange) throws IOException {
+    val path = exchange.getRequestURI().getPath();
+    val fileId = path.substring(path.lastIndexOf('/') + 1);
+    int count = fileRequests.computeIfAbsent(fileId, id -> new AtomicInteger()).incrementAndGet();
+
+    if (failing) {
+      respond(exchange, 500, error(500, "Internal server error"));
+    } else if (count <= rateLimitedRequestsPerFile) {
+      respond(exchange, 429, error(429, "Too many requests"));
+    } else if (!isAuthorized(exchange)) {
+      respond(exchange, 401, error(401, "Not authorized"));
+    } else if (!fileIds.contains(fileId)) {
+      // EGA does not distinguish between missing and unauthorized
+      respond(exchange, 401, error(401, "Not authorized"));
+    } else {
+      respond(exchange, 200, "{\"header\":{\"code\":\"200\",\"userMessage\":\"OK\"},"
+          + "\"response\":{\"numTotalResults\":1,\"resultType\":\"eu.crg.ega.microservice.dto.File\","
+          + "\"result\":[{\"fileID\":\"" + fileId + "\",\"fileName\":\"" + fileId + ".bam\","
+          + "\"fileStatus\":\"available\"}]}}");
+    }
+  }
+
+  /**
+   * Accepts the session token in any query parameter or header to not depend on how the client passes it.
+   */
+  private boolean isAuthorized(HttpExchange exchange) throws IOException {
+    val candidates = Sets.<String> newHashSet();
+    val query = exchange.getRequestURI().getRawQuery();
+    if (query != null) {
+      for (val parameter : query.split("&")) {
+        candidates.add(URLDecoder.decode(parameter.substring(parameter.indexOf('=') + 1), UTF_8.name()));
+      }
+    }
+    for (val values : exchange.getRequestHeaders().values()) {
+      candidates.addAll(values);
+    }
+
+    for (val candidate : candidates) {
+      val requests = sessions.get(candidate);
+      if (requests != null) {
+        return requests.incrementAndGet() <= sessionRequests;
+      }
+    }
+
+    return false;
+  }
+
+  private static String error(int code, String message) {
+    return "{\"header\":{\"code\":\"" + code + "\",\"userMessage\":\"" + message + "\"},"
+        + "\"response\":{\"numTotalResults\":0,\"result\":[]}}";
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    val bytes = body.getBytes(UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+
+}
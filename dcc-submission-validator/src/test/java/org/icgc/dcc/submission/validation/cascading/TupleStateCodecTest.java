@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.cascading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
+import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization.TupleStateCodec;
+import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization.TupleStateComparator;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import cascading.tuple.hadoop.io.BufferedInputStream;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class TupleStateCodecTest {
+
+  private static final int STATE_COUNT = 10000;
+  private static final List<String> FIELD_NAMES = ImmutableList.of(
+      "donor_id", "specimen_id", "sample_id", "analysis_id", "chromosome", "chromosome_start");
+
+  private final TupleStateCodec codec = new TupleStateCodec();
+
+  @Test
+  public void testRoundTripEmpty() throws Exception {
+    val state = new TupleState(42L);
+
+    val actual = roundTrip(state);
+
+    assertThat(actual.getOffset()).isEqualTo(42L);
+    assertThat(actual.isValid()).isTrue();
+    assertThat(actual.isStructurallyValid()).isTrue();
+    assertThat(actual.getErrorsOrNull()).isNull();
+    assertThat(actual.getMissingFieldNames()).isEmpty();
+  }
+
+  @Test
+  public void testRoundTripRandom() throws Exception {
+    val random = new Random(42);
+    for (int i = 0; i < STATE_COUNT; i++) {
+      val expected = randomState(random);
+      val actual = roundTrip(expected);
+
+      assertEquivalent(actual, expected);
+    }
+  }
+
+  @Test
+  public void testRawComparatorMatchesObjectComparator() throws Exception {
+    val comparator = new TupleStateComparator();
+    val random = new Random(7);
+    for (int i = 0; i < STATE_COUNT; i++) {
+      // Narrow offset range so that content comparison is exercised too
+      val lhs = randomState(random, 4);
+      val rhs = randomState(random, 4);
+
+      val expected = Integer.signum(comparator.compare(lhs, rhs));
+      val actual = Integer.signum(comparator.compare(stream(lhs), stream(rhs)));
+
+      assertThat(actual).isEqualTo(expected);
+      assertThat(comparator.compare(lhs, lhs)).isZero();
+    }
+  }
+
+  @Test
+  public void testRawComparatorConsumesRecords() throws Exception {
+    val comparator = new TupleStateComparator();
+    val lhs = stream(state(1L, "a"), state(2L, "b"));
+    val rhs = stream(state(1L, "a"), state(3L, "c"));
+
+    assertThat(comparator.compare(lhs, rhs)).isZero();
+    assertThat(comparator.compare(lhs, rhs)).isNegative();
+  }
+
+  @Test
+  @Ignore("Benchmark")
+  public void benchmark() throws Exception {
+    val random = new Random(1);
+    List<TupleState> states = Lists.newArrayList();
+    for (int i = 0; i < STATE_COUNT; i++) {
+      states.add(randomState(random));
+    }
+
+    for (int round = 0; round < 5; round++) {
+      long javaBytes = 0;
+      val javaWatch = new Stopwatch().start();
+      for (val state : states) {
+        val bytes = new ByteArrayOutputStream();
+        val out = new ObjectOutputStream(bytes);
+        out.writeObject(state);
+        out.close();
+        javaBytes += bytes.size();
+      }
+      javaWatch.stop();
+
+      long codecBytes = 0;
+      val codecWatch = new Stopwatch().start();
+      for (val state : states) {
+        codecBytes += codec.encode(state).getLength();
+      }
+      codecWatch.stop();
+
+      log.info("Java serialization: {} bytes in {}, codec: {} bytes in {}",
+          javaBytes, javaWatch, codecBytes, codecWatch);
+    }
+  }
+
+  private TupleState roundTrip(TupleState state) throws Exception {
+    val record = codec.encode(state);
+    val in = new DataInputBuffer();
+    in.reset(record.getData(), record.getLength());
+
+    val decoded = codec.decode(in);
+    assertThat(in.available()).isZero();
+
+    return decoded;
+  }
+
+  private BufferedInputStream stream(TupleState... states) throws Exception {
+    val out = new DataOutputBuffer();
+    val serializer = new TupleStateSerialization.TupleStateSerializer();
+    serializer.open(out);
+    for (val state : states) {
+      serializer.serialize(state);
+    }
+
+    val stream = new BufferedInputStream();
+    stream.reset(out.getData(), 0, out.getLength());
+
+    return stream;
+  }
+
+  private static TupleState state(long offset, String value) {
+    val state = new TupleState(offset);
+    state.reportError(ErrorType.REGEX_ERROR, "donor_id", value, "^DO");
+
+    return state;
+  }
+
+  private static TupleState randomState(Random random) {
+    return randomState(random, Integer.MAX_VALUE);
+  }
+
+  private static TupleState randomState(Random random, int maxOffset) {
+    val state = new TupleState(random.nextInt(maxOffset));
+
+    val missingCount = random.nextInt(3);
+    for (int i = 0; i < missingCount; i++) {
+      state.addMissingField(randomFieldName(random));
+    }
+
+    val errorCount = random.nextInt(4);
+    for (int i = 0; i < errorCount; i++) {
+      val fieldName = randomFieldName(random);
+      switch (random.nextInt(5)) {
+      case 0:
+        state.reportError(ErrorType.OUT_OF_RANGE_ERROR, fieldName, (long) random.nextInt(), 1L, 10L);
+        break;
+      case 1:
+        state.reportError(ErrorType.REGEX_ERROR, fieldName, "DO" + random.nextInt(100), "^SP\\d+$");
+        break;
+      case 2:
+        state.reportError(ErrorType.MISSING_VALUE_ERROR, fieldName, null);
+        break;
+      case 3:
+        state.reportError(ErrorType.DISCRETE_VALUES_ERROR, fieldName, "X" + random.nextInt(10),
+            ImmutableSet.of("1", "2", "3"));
+        break;
+      default:
+        state.reportError(random.nextInt(5), ErrorType.CODELIST_ERROR, fieldName,
+            ImmutableList.of(fieldName, random.nextLong(), random.nextDouble()));
+        break;
+      }
+    }
+
+    return state;
+  }
+
+  private static String randomFieldName(Random random) {
+    return FIELD_NAMES.get(random.nextInt(FIELD_NAMES.size()));
+  }
+
+  private static void assertEquivalent(TupleState actual, TupleState expected) {
+    assertThat(actual.getOffset()).isEqualTo(expected.getOffset());
+    assertThat(actual.isValid()).isEqualTo(expected.isValid());
+    assertThat(actual.isStructurallyValid()).isEqualTo(expected.isStructurallyValid());
+    assertThat(actual.getMissingFieldNames()).isEqualTo(expected.getMissingFieldNames());
+    for (val fieldName : FIELD_NAMES) {
+      assertThat(actual.isFieldMissing(fieldName)).isEqualTo(expected.isFieldMissing(fieldName));
+    }
+
+    if (expected.getErrorsOrNull() == null) {
+      assertThat(actual.getErrorsOrNull()).isNull();
+      return;
+    }
+
+    val actualErrors = actual.getErrorsOrNull();
+    val expectedErrors = expected.getErrorsOrNull();
+    assertThat(actualErrors).hasSameSizeAs(expectedErrors);
+    for (int i = 0; i < expectedErrors.size(); i++) {
+      TupleError actualError = actualErrors.get(i);
+      TupleError expectedError = expectedErrors.get(i);
+
+      assertThat(actualError.getType()).isEqualTo(expectedError.getType());
+      assertThat(actualError.getColumnNames()).isEqualTo(expectedError.getColumnNames());
+      assertThat(actualError.getNumber()).isEqualTo(expectedError.getNumber());
+      assertThat(actualError.getValue()).isEqualTo(expectedError.getValue());
+      assertThat(actualError.getLine()).isEqualTo(expectedError.getLine());
+      assertThat(actualError.getParameters()).isEqualTo(expectedError.getParameters());
+    }
+  }
+
+}
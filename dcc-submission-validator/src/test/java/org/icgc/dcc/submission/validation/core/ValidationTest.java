@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.validation.core.Validators.dependsOn;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ValidationTest {
+
+  /**
+   * Test state.
+   */
+  final AtomicBoolean errors = new AtomicBoolean();
+  final List<String> executed = Lists.newCopyOnWriteArrayList();
+
+  @Mock
+  ValidationContext context;
+
+  @Before
+  public void setUp() {
+    when(context.getProjectKey()).thenReturn("project");
+    when(context.hasErrors()).then(invocation -> errors.get());
+  }
+
+  @Test
+  public void testIndependentValidatorsRunConcurrently() throws InterruptedException {
+    // Both branches wait for each other so this only finishes if they overlap
+    val latch = new CountDownLatch(2);
+    Runnable branch = () -> await(latch);
+
+    val validation = new Validation(context, ImmutableList.<Validator> of(
+        new RootValidator(() -> {}),
+        new LeftValidator(branch),
+        new RightValidator(branch),
+        new LeafValidator(() -> {})));
+
+    validation.execute();
+
+    assertThat(validation.isCompleted()).isTrue();
+    assertThat(executed).hasSize(4);
+    assertThat(executed.get(0)).isEqualTo("RootValidator");
+    assertThat(executed.get(3)).isEqualTo("LeafValidator");
+  }
+
+  @Test
+  public void testErrorsStopDownstreamValidators() throws InterruptedException {
+    val validation = new Validation(context, ImmutableList.<Validator> of(
+        new RootValidator(() -> {}),
+        new LeftValidator(() -> errors.set(true)),
+        new LeafValidator(() -> {})));
+
+    validation.execute();
+
+    assertThat(validation.isCompleted()).isFalse();
+    assertThat(executed).containsExactly("RootValidator", "LeftValidator");
+  }
+
+  @Test
+  public void testUndeclaredDependenciesRunSequentially() throws InterruptedException {
+    val validation = new Validation(context, ImmutableList.<Validator> of(
+        new SequentialValidator("first"),
+        new SequentialValidator("second"),
+        new SequentialValidator("third")));
+
+    validation.execute();
+
+    assertThat(validation.isCompleted()).isTrue();
+    assertThat(executed).containsExactly("first", "second", "third");
+  }
+
+  @SneakyThrows
+  private static void await(CountDownLatch latch) {
+    latch.countDown();
+    assertThat(latch.await(5, SECONDS)).isTrue();
+  }
+
+  @RequiredArgsConstructor
+  private abstract class TestValidator implements Validator {
+
+    private final Runnable body;
+
+    @Override
+    public String getName() {
+      return getClass().getSimpleName();
+    }
+
+    @Override
+    public void validate(ValidationContext context) {
+      body.run();
+      executed.add(getName());
+    }
+
+  }
+
+  private class RootValidator extends TestValidator {
+
+    RootValidator(Runnable body) {
+      super(body);
+    }
+
+    @Override
+    public Optional<Set<Class<? extends Validator>>> getDependencies() {
+      return dependsOn();
+    }
+
+  }
+
+  private class LeftValidator extends TestValidator {
+
+    LeftValidator(Runnable body) {
+      super(body);
+    }
+
+    @Override
+    public Optional<Set<Class<? extends Validator>>> getDependencies() {
+      return dependsOn(RootValidator.class);
+    }
+
+  }
+
+  private class RightValidator extends TestValidator {
+
+    RightValidator(Runnable body) {
+      super(body);
+    }
+
+    @Override
+    public Optional<Set<Class<? extends Validator>>> getDependencies() {
+      return dependsOn(RootValidator.class);
+    }
+
+  }
+
+  private class LeafValidator extends TestValidator {
+
+    LeafValidator(Runnable body) {
+      super(body);
+    }
+
+    @Override
+    public Optional<Set<Class<? extends Validator>>> getDependencies() {
+      return dependsOn(LeftValidator.class, RightValidator.class);
+    }
+
+  }
+
+  private class SequentialValidator extends TestValidator {
+
+    private final String name;
+
+    SequentialValidator(String name) {
+      super(() -> {});
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.STRUCTURALLY_INVALID_ROW_ERROR;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.junit.Test;
+
+import lombok.val;
+
+public class ErrorBufferingValidationContextTest {
+
+  @Test
+  public void testCommit() {
+    val delegate = mock(ValidationContext.class);
+    val context = new ErrorBufferingValidationContext(delegate, 10);
+
+    context.buffer();
+    reportErrors(context, 10);
+    verify(delegate, never()).reportError(any(Error.class));
+    assertThat(context.isOverflowed()).isFalse();
+
+    context.commit();
+    verify(delegate, times(10)).reportError(any(Error.class));
+  }
+
+  @Test
+  public void testOverflow() {
+    val delegate = mock(ValidationContext.class);
+    val context = new ErrorBufferingValidationContext(delegate, 10);
+
+    context.buffer();
+    reportErrors(context, 25);
+
+    // Nothing is published ahead of the outcome of the read
+    verify(delegate, never()).reportError(any(Error.class));
+    assertThat(context.isOverflowed()).isTrue();
+    assertThat(context.hasErrors()).isTrue();
+    assertThat(context.getErrorCount()).isEqualTo(25);
+
+    context.discard();
+    assertThat(context.isOverflowed()).isFalse();
+    assertThat(context.hasErrors()).isFalse();
+
+    // Not buffering anymore
+    reportErrors(context, 25);
+    verify(delegate, times(25)).reportError(any(Error.class));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCommitOverflowed() {
+    val context = new ErrorBufferingValidationContext(mock(ValidationContext.class), 10);
+
+    context.buffer();
+    reportErrors(context, 11);
+    context.commit();
+  }
+
+  private static void reportErrors(ValidationContext context, int count) {
+    for (int i = 0; i < count; i++) {
+      context.reportError(error().fileName("f").lineNumber(i + 1).type(STRUCTURALLY_INVALID_ROW_ERROR).build());
+    }
+  }
+
+}
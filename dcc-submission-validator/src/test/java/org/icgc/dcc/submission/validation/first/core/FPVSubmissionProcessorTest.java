@@ -17,21 +17,41 @@
  */
 package org.icgc.dcc.submission.validation.first.core;
 
+import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.report.ErrorType.COMPRESSION_CODEC_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.FILE_HEADER_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.STRUCTURALLY_INVALID_ROW_ERROR;
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.GZIP;
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.PLAIN_TEXT;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.icgc.dcc.common.core.model.DataType;
+import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.file.DelegatingFileChecker;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
@@ -39,6 +59,7 @@ import org.icgc.dcc.submission.validation.first.row.TestUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -47,6 +68,7 @@ import org.powermock.api.mockito.PowerMockito;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
+import lombok.Cleanup;
 import lombok.val;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -190,6 +212,170 @@ public class FPVSubmissionProcessorTest {
     verify(rowChecker, times(1)).checkFile(anyString());
   }
 
+  @Test
+  public void fusedGZipValid() throws IOException {
+    val content = "a\tb\nc\td\n";
+    val errors = processGZip(gzip(content));
+
+    // Row errors are published once the stream is known to be intact
+    assertThat(errors).hasSize(2);
+    for (val error : errors) {
+      assertThat(error.getType()).isEqualTo(STRUCTURALLY_INVALID_ROW_ERROR);
+    }
+  }
+
+  @Test
+  public void fusedGZipTruncated() throws IOException {
+    val content = "a\tb\nc\td\n";
+    val bytes = gzip(content);
+    val errors = processGZip(Arrays.copyOf(bytes, bytes.length - 4));
+
+    // Row errors of the corrupted file are dropped in favour of the corruption error
+    assertThat(errors).hasSize(1);
+    assertThat(errors.get(0).getType()).isEqualTo(COMPRESSION_CODEC_ERROR);
+  }
+
+  @Test
+  public void fusedGZipTruncatedWithInvalidHeader() throws IOException {
+    val bytes = gzip("a\tb\nc\td\n");
+    val headerError = Error.error().fileName("anyfile.gz").type(FILE_HEADER_ERROR).build();
+
+    // Leading block is fine but the header is not, so no row-level pass
+    FileChecker fileChecker = mock(FileChecker.class);
+    when(fileChecker.canContinue()).thenReturn(false);
+    when(fileChecker.isIntegrityCheckPending()).thenReturn(true);
+    doAnswer(invocation -> {
+      validationContext.reportError(headerError);
+      return null;
+    }).when(fileChecker).checkFile(anyString());
+
+    val errors = processGZip(Arrays.copyOf(bytes, bytes.length - 4), fileChecker);
+
+    // The corruption is reported all the same
+    assertThat(errors).hasSize(2);
+    assertThat(errors.get(0)).isSameAs(headerError);
+    assertThat(errors.get(1).getType()).isEqualTo(COMPRESSION_CODEC_ERROR);
+  }
+
+  @Test
+  public void fusedGZipValidWithTooManyErrors() throws IOException {
+    // Every line is invalid against the (field-less) schema
+    val rowCount = ErrorBufferingValidationContext.MAXIMUM_NUM_BUFFERED_ERRORS + 1;
+    val content = new StringBuilder();
+    for (int i = 0; i < rowCount; i++) {
+      content.append("x\n");
+    }
+    val bytes = gzip(content.toString());
+
+    val submissionDirectory = mock(SubmissionDirectory.class);
+    when(submissionDirectory.open(anyString()))
+        .thenAnswer(invocation -> new DataInputStream(new ByteArrayInputStream(bytes)));
+
+    val fs = spy(new FPVFileSystem(submissionDirectory));
+    doReturn(ImmutableList.of("anyfile.gz")).when(fs).listMatchingSubmissionFiles(Mockito.anyListOf(String.class));
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+    doAnswer(invocation -> new GZIPInputStream(new ByteArrayInputStream(bytes)))
+        .when(fs).getDecompressingInputStream(anyString());
+
+    FileChecker fileChecker = mock(FileChecker.class);
+    when(fileChecker.canContinue()).thenReturn(true);
+
+    val fpv = new FPVSubmissionProcessor();
+    fpv.setFileChecker(fileChecker);
+    fpv.process("mystepname", validationContext, fs);
+
+    // Rows are checked again once the file is known to be intact, so that no error is lost nor reported twice
+    verify(fs, times(1)).getDecompressingInputStream(anyString());
+    verify(validationContext, times(rowCount)).reportError(any(Error.class));
+  }
+
+  @Test
+  public void parallelMatchesSequential() throws IOException {
+    val sequential = processPlainText(1);
+    val parallel = processPlainText(4);
+
+    assertThat(sequential).isNotEmpty();
+    assertThat(parallel).isEqualTo(sequential);
+  }
+
+  private List<Error> processPlainText(int parallelism) throws IOException {
+    val fileNames = ImmutableList.of("f1.txt", "f2.txt", "f3.txt", "f4.txt", "f5.txt", "f6.txt", "f7.txt", "f8.txt");
+    val validationContext = mock(ValidationContext.class);
+    val dictionary = mock(Dictionary.class);
+    val schema = mock(FileSchema.class);
+    when(schema.getName()).thenReturn("schema");
+    when(schema.getPattern()).thenReturn("f.*");
+    when(schema.getFieldNames()).thenReturn(ImmutableList.of("a", "b"));
+    when(schema.getFields()).thenReturn(ImmutableList.of(mock(Field.class), mock(Field.class)));
+    when(dictionary.getFileSchemaByFileName(anyString())).thenReturn(Optional.of(schema));
+    when(dictionary.getFileSchemata(anyDataTypeIterable())).thenReturn(ImmutableList.of(schema));
+    when(validationContext.getDictionary()).thenReturn(dictionary);
+
+    val fs = mock(FPVFileSystem.class);
+    when(fs.listMatchingSubmissionFiles(Mockito.anyListOf(String.class))).thenReturn(fileNames);
+    when(fs.getMatchingFileNames(anyString())).thenReturn(ImmutableList.of("f1.txt"));
+    when(fs.determineCodecFromFilename(anyString())).thenReturn(PLAIN_TEXT);
+    when(fs.determineCodecFromContent(anyString())).thenReturn(PLAIN_TEXT);
+    when(fs.peekFileHeader(anyString())).thenReturn(ImmutableList.of("a", "b"));
+    when(fs.getDecompressingInputStream(anyString())).thenAnswer(invocation -> {
+      // Every file has a different number of malformed rows
+      String fileName = (String) invocation.getArguments()[0];
+      StringBuilder content = new StringBuilder("a\tb\n");
+      for (int i = 0; i < 100; i++) {
+        content.append(i % fileName.charAt(1) == 0 ? "x\n" : "x\ty\n");
+      }
+
+      return new ByteArrayInputStream(content.toString().getBytes(UTF_8));
+    });
+
+    val fpv = new FPVSubmissionProcessor();
+    fpv.setParallelism(parallelism);
+    fpv.process("mystepname", validationContext, fs);
+
+    val captor = ArgumentCaptor.forClass(Error.class);
+    verify(validationContext, Mockito.atLeast(0)).reportError(captor.capture());
+
+    return captor.getAllValues();
+  }
+
+  private List<Error> processGZip(byte[] bytes) throws IOException {
+    FileChecker fileChecker = mock(FileChecker.class);
+    when(fileChecker.canContinue()).thenReturn(true);
+
+    return processGZip(bytes, fileChecker);
+  }
+
+  private List<Error> processGZip(byte[] bytes, FileChecker fileChecker) throws IOException {
+    val submissionDirectory = mock(SubmissionDirectory.class);
+    when(submissionDirectory.open(anyString())).thenReturn(new DataInputStream(new ByteArrayInputStream(bytes)));
+
+    val fs = spy(new FPVFileSystem(submissionDirectory));
+    doReturn(ImmutableList.of("anyfile.gz")).when(fs).listMatchingSubmissionFiles(Mockito.anyListOf(String.class));
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+
+    // Default row checker
+    val fpv = new FPVSubmissionProcessor();
+    fpv.setFileChecker(fileChecker);
+    fpv.process("mystepname", validationContext, fs);
+
+    verify(fs, never()).getDecompressingInputStream(anyString());
+
+    val captor = ArgumentCaptor.forClass(Error.class);
+    verify(validationContext, Mockito.atLeast(0)).reportError(captor.capture());
+
+    return captor.getAllValues();
+  }
+
+  private static byte[] gzip(String content) throws IOException {
+    val bytes = new ByteArrayOutputStream();
+    @Cleanup
+    val out = new GZIPOutputStream(bytes);
+    out.write(content.getBytes(UTF_8));
+    out.finish();
+
+    return bytes.toByteArray();
+  }
+
   private static class DummyFileCheckerUnderTest extends DelegatingFileChecker {
 
     public DummyFileCheckerUnderTest(FileChecker nestedChecker) {
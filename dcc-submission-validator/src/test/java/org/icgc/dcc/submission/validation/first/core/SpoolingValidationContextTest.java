@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.FILE_HEADER_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.STRUCTURALLY_INVALID_ROW_ERROR;
+import static org.icgc.dcc.submission.core.report.FieldErrorReport.MAXIMUM_NUM_STORED_ERRORS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import lombok.val;
+
+public class SpoolingValidationContextTest {
+
+  @Test
+  public void testTransferTo() {
+    val delegate = mock(ValidationContext.class);
+    val spool = new SpoolingValidationContext(delegate);
+
+    val rowCount = 3 * MAXIMUM_NUM_STORED_ERRORS;
+    spool.reportError(error().fileName("f").type(FILE_HEADER_ERROR).build());
+    for (int i = 0; i < rowCount; i++) {
+      spool.reportError(error().fileName("f").lineNumber(i + 1).type(STRUCTURALLY_INVALID_ROW_ERROR).build());
+    }
+
+    // Nothing reaches the delegate until transferred
+    verify(delegate, never()).reportError(any(Error.class));
+    assertThat(spool.hasErrors()).isTrue();
+    assertThat(spool.getErrorCount()).isEqualTo(rowCount + 1);
+
+    val target = mock(ValidationContext.class);
+    spool.transferTo(target);
+
+    val captor = ArgumentCaptor.forClass(Error.class);
+    verify(target, times(rowCount + 1)).reportError(captor.capture());
+
+    val errors = captor.getAllValues();
+    assertThat(errors.get(0).getType()).isEqualTo(FILE_HEADER_ERROR);
+
+    // Errors that end up stored in the report are transferred verbatim and in order
+    for (int i = 1; i <= MAXIMUM_NUM_STORED_ERRORS; i++) {
+      assertThat(errors.get(i).getLineNumber()).isEqualTo(i);
+    }
+    for (int i = MAXIMUM_NUM_STORED_ERRORS + 1; i <= rowCount; i++) {
+      assertThat(errors.get(i).getType()).isEqualTo(STRUCTURALLY_INVALID_ROW_ERROR);
+    }
+
+    assertThat(spool.hasErrors()).isFalse();
+  }
+
+}
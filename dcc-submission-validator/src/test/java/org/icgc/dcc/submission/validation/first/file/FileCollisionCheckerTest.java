@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.first.file;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.submission.validation.first.row.TestUtils.checkFileCollisionErrorReported;
 import static org.icgc.dcc.submission.validation.first.row.TestUtils.checkNoErrorsReported;
 import static org.junit.Assert.assertTrue;
@@ -24,6 +26,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Random;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
@@ -119,6 +122,55 @@ public class FileCollisionCheckerTest {
     checkFileCollisionErrorReported(context, 1);
   }
 
+  @Test
+  public void matchMany_collideNonAdjacent() throws Exception {
+    when(fs.getMatchingFileNames(anyString()))
+        .thenReturn(fileNames("testfile1.txt.gz", "testfile2.txt", "testfile1.txt.bz2", "testfile1.txt"));
+
+    checker.checkFile("testfile1.txt");
+
+    checkFileCollisionErrorReported(context, 1);
+  }
+
+  @Test
+  public void hasCollisionsMatchesPairwiseComparison() throws Exception {
+    val random = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      List<String> fileNames = newArrayList();
+      val size = random.nextInt(6);
+      for (int j = 0; j < size; j++) {
+        fileNames.add(randomName(random));
+      }
+
+      assertThat(FileCollisionChecker.hasCollisions(fileNames)).as(fileNames.toString())
+          .isEqualTo(hasPairwiseCollisions(fileNames));
+    }
+  }
+
+  private static boolean hasPairwiseCollisions(List<String> fileNames) {
+    for (int i = 0; i < fileNames.size(); i++) {
+      for (int j = i + 1; j < fileNames.size(); j++) {
+        val a = fileNames.get(i);
+        val b = fileNames.get(j);
+        if (a.startsWith(b) || b.startsWith(a)) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private static String randomName(Random random) {
+    val name = new StringBuilder();
+    val length = 1 + random.nextInt(4);
+    for (int i = 0; i < length; i++) {
+      name.append("ab.".charAt(random.nextInt(3)));
+    }
+
+    return name.toString();
+  }
+
   private static List<String> fileNames(String... fileNames) {
     return ImmutableList.copyOf(fileNames);
   }
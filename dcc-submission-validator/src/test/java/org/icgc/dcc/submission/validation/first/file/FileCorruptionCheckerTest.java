@@ -3,9 +3,11 @@ package org.icgc.dcc.submission.validation.first.file;
 import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.BZIP2;
 import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.GZIP;
 import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType.PLAIN_TEXT;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -41,6 +43,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FileCorruptionCheckerTest {
@@ -161,6 +164,68 @@ public class FileCorruptionCheckerTest {
     checkErrorReported();
   }
 
+  @Test
+  public void testGZipInputDeferred() throws Exception {
+    DataInputStream testInputStream = getTestInputStream(GZIP);
+    doReturn(GZIP).when(fs).determineCodecFromContent(anyString());
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+    when(submissionDirectory.open(anyString())).thenReturn(testInputStream);
+
+    FileCorruptionChecker checker = new FileCorruptionChecker(new FileNoOpChecker(validationContext, fs), true, true);
+    checker.checkFile("file.gz");
+    verify(fs).attemptPartialRead(anyString(), eq(GZIP));
+    verify(fs, never()).attemptGzipRead(anyString());
+    checkNoErrorsReported(validationContext);
+    assertTrue(checker.isValid());
+
+    // Small enough to have been read through
+    assertFalse(checker.isIntegrityCheckPending());
+  }
+
+  @Test
+  public void testGZipInputDeferredPending() throws Exception {
+    DataInputStream testInputStream = getTestInputStream(Strings.repeat(TEST_TEXT, 10000), GZIP);
+    doReturn(GZIP).when(fs).determineCodecFromContent(anyString());
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+    when(submissionDirectory.open(anyString())).thenReturn(testInputStream);
+
+    FileCorruptionChecker checker = new FileCorruptionChecker(new FileNoOpChecker(validationContext, fs), true, true);
+    checker.checkFile("file.gz");
+    checkNoErrorsReported(validationContext);
+    assertTrue(checker.isIntegrityCheckPending());
+  }
+
+  @Test
+  public void testGZipInputDeferredNotValid() throws Exception {
+    doReturn(GZIP).when(fs).determineCodecFromContent(anyString());
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+    when(submissionDirectory.open(anyString())).thenReturn(getTestInputStream(PLAIN_TEXT));
+
+    FileCorruptionChecker checker = new FileCorruptionChecker(new FileNoOpChecker(validationContext, fs), true, true);
+    checker.checkFile("file.gz");
+    verify(fs, never()).attemptGzipRead(anyString());
+    checkErrorReported();
+    assertFalse(checker.canContinue());
+  }
+
+  @Test(timeout = 10000)
+  public void testGZipInputNotValidReleasesStreams() throws Exception {
+    int maxOpenStreams = 2;
+    fs = spy(new FPVFileSystem(submissionDirectory, maxOpenStreams));
+    doReturn(GZIP).when(fs).determineCodecFromContent(anyString());
+    doReturn(GZIP).when(fs).determineCodecFromFilename(anyString());
+    when(submissionDirectory.open(anyString())).thenAnswer(invocation -> getTestInputStream(PLAIN_TEXT));
+
+    // More corrupt files than permits, in both modes, would block if the header failures leaked streams
+    int fileCount = maxOpenStreams + 1;
+    for (int i = 0; i < fileCount; i++) {
+      new FileCorruptionChecker(new FileNoOpChecker(validationContext, fs)).checkFile("file" + i + ".gz");
+      new FileCorruptionChecker(new FileNoOpChecker(validationContext, fs), true, true).checkFile("file" + i + ".gz");
+    }
+
+    verify(validationContext, times(2 * fileCount)).reportError(any(Error.class));
+  }
+
   @Test
   public void testFilenameBzCodecMismatch() throws Exception {
 
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.file;
+
+import static com.google.common.base.Charsets.ISO_8859_1;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.io.ByteStreams.toByteArray;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.base.Stopwatch;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parity of {@link RowScanner} with the byte by byte reading it replaced.
+ */
+@Slf4j
+public class RowScannerTest {
+
+  /**
+   * Test configuration.
+   */
+  private static final File FIXTURES_DIR = new File("src/test/resources/fixtures/validation");
+  private static final int[] BLOCK_SIZES = { 1, 2, 3, 7, 64, RowScanner.DEFAULT_BLOCK_SIZE };
+
+  @Test
+  public void testEdgeCases() {
+    assertParity("");
+    assertParity("\n");
+    assertParity("\n\n\n");
+    assertParity("no trailing new line");
+    assertParity("h1\th2\th3\nv1\tv2\tv3\n");
+    assertParity("h1\th2\r\nv1\tv2\r\n");
+    assertParity("\t\t\n\t\n");
+    assertParity("before\0after\n");
+    assertParity("a\tb\nc\0\nd\n");
+    assertParity("caf\u00e9\tna\u00efve\n\u007f\u0085\n");
+  }
+
+  @Test
+  public void testAllByteValues() {
+    val bytes = new byte[256 * 3];
+    for (int i = 0; i < bytes.length; i++) {
+      // Keep NUL for the end, as it stops the scanning
+      bytes[i] = (byte) (i % 255 + 1);
+    }
+
+    assertParity(bytes);
+  }
+
+  @Test
+  public void testRandom() {
+    val random = new Random(1);
+    val alphabet = "abc\t\t\n\n\r\u00e9\u0001 ".getBytes(ISO_8859_1);
+    for (int i = 0; i < 200; i++) {
+      val bytes = new byte[random.nextInt(500)];
+      for (int j = 0; j < bytes.length; j++) {
+        bytes[j] = alphabet[random.nextInt(alphabet.length)];
+      }
+
+      assertParity(bytes);
+    }
+  }
+
+  @Test
+  public void testFixtures() {
+    val files = listFixtures(FIXTURES_DIR);
+    assertThat(files).isNotEmpty();
+
+    for (val file : files) {
+      log.info("Checking parity on '{}'", file);
+      assertParity(getBytes(file));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void testOffsets() {
+    val scanner = new RowScanner(new ByteArrayInputStream("ab\n\ncde\nf".getBytes(ISO_8859_1)), 2);
+
+    assertThat(scanner.next()).isTrue();
+    assertThat(scanner.getOffset()).isEqualTo(3);
+    assertThat(scanner.next()).isTrue();
+    assertThat(scanner.getOffset()).isEqualTo(4);
+    assertThat(scanner.next()).isTrue();
+    assertThat(scanner.getOffset()).isEqualTo(8);
+    assertThat(scanner.next()).isFalse();
+    assertThat(scanner.getRemaining()).isEqualTo(1);
+  }
+
+  @Test
+  @Ignore("Benchmark")
+  @SneakyThrows
+  public void benchmark() {
+    // Typical submission rows
+    val random = new Random(1);
+    val text = new StringBuilder();
+    while (text.length() < 200 * 1000 * 1000) {
+      for (int i = 0; i < 20; i++) {
+        text.append(i == 0 ? "" : "\t").append(Long.toString(random.nextLong(), 36));
+      }
+      text.append('\n');
+    }
+
+    val bytes = text.toString().getBytes(ISO_8859_1);
+    val megabytes = bytes.length / (1024.0 * 1024.0);
+
+    for (int round = 0; round < 5; round++) {
+      val legacyWatch = Stopwatch.createStarted();
+      val legacy = new LegacyReader();
+      legacy.read(new BufferedInputStream(new ByteArrayInputStream(bytes), 8192));
+      legacyWatch.stop();
+
+      val scannerWatch = Stopwatch.createStarted();
+      val scanner = new RowScanner(new ByteArrayInputStream(bytes));
+      long rows = 0, columns = 0, invalid = 0;
+      while (scanner.next()) {
+        rows++;
+        columns += scanner.getRow().getColumnCount();
+        invalid += scanner.getRow().hasInvalidCharacter() ? 1 : 0;
+      }
+      scannerWatch.stop();
+
+      assertThat(rows).isEqualTo(legacy.rows.size());
+      log.info("Round {}: byte-wise {} MB/s, block {} MB/s ({} columns, {} invalid)", new Object[] {
+          round,
+          (long) (megabytes / (legacyWatch.elapsed(MILLISECONDS) / 1000.0)),
+          (long) (megabytes / (scannerWatch.elapsed(MILLISECONDS) / 1000.0)),
+          columns, invalid });
+    }
+  }
+
+  private static void assertParity(String text) {
+    assertParity(text.getBytes(ISO_8859_1));
+  }
+
+  @SneakyThrows
+  private static void assertParity(byte[] bytes) {
+    val expected = new LegacyReader();
+    expected.read(new ByteArrayInputStream(bytes));
+
+    for (val blockSize : BLOCK_SIZES) {
+      val scanner = new RowScanner(new ByteArrayInputStream(bytes), blockSize);
+      List<String> rows = newArrayList();
+      while (scanner.next()) {
+        val row = scanner.getRow();
+        val string = row.toString();
+        rows.add(string);
+
+        // Same view whichever way it is accessed
+        assertThat(row.length()).isEqualTo(string.length());
+        for (int i = 0; i < row.length(); i++) {
+          assertThat(row.charAt(i)).isEqualTo(string.charAt(i));
+        }
+
+        // Same outcome as the checkers scanning the string
+        assertThat(row.getColumnCount()).isEqualTo(countColumns(string));
+        assertThat(row.hasInvalidCharacter()).isEqualTo(RowCharsetChecker.DEFAULT_INVALID_MATCHER.matchesAnyOf(string));
+      }
+
+      assertThat(rows).as("block size %s", blockSize).isEqualTo(expected.rows);
+      assertThat(scanner.getRemaining()).as("block size %s", blockSize).isEqualTo(expected.remaining);
+    }
+  }
+
+  private static int countColumns(String row) {
+    int columns = 1;
+    for (int i = 0; i < row.length(); i++) {
+      if (row.charAt(i) == '\t') {
+        columns++;
+      }
+    }
+
+    return columns;
+  }
+
+  /**
+   * The byte by byte reading previously done by {@link DelegatingFileRowChecker}.
+   */
+  private static class LegacyReader {
+
+    final List<String> rows = newArrayList();
+    int remaining;
+
+    @SneakyThrows
+    void read(InputStream inputStream) {
+      val line = new StringBuilder(512);
+      int nextByte = 0;
+      while ((nextByte = inputStream.read()) > 0) {
+        if ((char) nextByte == '\n') {
+          rows.add(line.toString());
+          line.setLength(0);
+        } else {
+          line.appendCodePoint(nextByte);
+        }
+      }
+
+      remaining = line.length();
+    }
+
+  }
+
+  private static List<File> listFixtures(File dir) {
+    List<File> files = newArrayList();
+    for (val file : dir.listFiles()) {
+      if (file.isDirectory()) {
+        files.addAll(listFixtures(file));
+      } else if (file.getName().endsWith(".txt") || file.getName().endsWith(".gz")) {
+        files.add(file);
+      }
+    }
+
+    return files;
+  }
+
+  @SneakyThrows
+  private static byte[] getBytes(File file) {
+    @Cleanup
+    val input = new FileInputStream(file);
+
+    return toByteArray(file.getName().endsWith(".gz") ? new GZIPInputStream(input) : input);
+  }
+
+}
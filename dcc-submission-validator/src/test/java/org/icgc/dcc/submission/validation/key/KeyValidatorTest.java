@@ -103,6 +103,15 @@ public class KeyValidatorTest {
     assertThat(actualErrorLines).isEqualTo(expectedErrorLines);
   }
 
+  @Test
+  public void testValidateParallel() throws InterruptedException, IOException {
+    val context = mockContext();
+    new KeyValidator(4).validate(context);
+
+    // Must be identical to the sequential report
+    assertThat(getActualErrorLines()).isEqualTo(getExpectedErrorLines());
+  }
+
   private ValidationContext mockContext() throws IOException {
 
     // Setup: Establish input for the test
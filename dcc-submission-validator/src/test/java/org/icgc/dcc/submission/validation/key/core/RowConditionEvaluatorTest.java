@@ -41,6 +41,17 @@ public class RowConditionEvaluatorTest {
     assertThat(evaluator.evaluate(of("", "boo", ""))).isFalse();
   }
 
+  @Test
+  public void testEvaluate_unrecognizedScript() throws Exception {
+    // Evaluated by MVEL, reusing the resolver and discarding the local variable between rows
+    val evaluator = new RowConditionEvaluator("repos = ['AWS','Collab']; repos contains external_repo",
+        of("donor_id", "external_repo", "note"));
+
+    assertThat(evaluator.evaluate(of("", "AWS", ""))).isTrue();
+    assertThat(evaluator.evaluate(of("", "boo", ""))).isFalse();
+    assertThat(evaluator.evaluate(of("", "Collab", ""))).isTrue();
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testEvaluate_inValidRow() throws Exception {
     evaluator.evaluate(of("AWS"));
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import lombok.Cleanup;
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class KVKeyStoreTest {
+
+  private static final int KEY_COUNT = 200000;
+  private static final int LOOKUP_COUNT = 400000;
+
+  @Test
+  public void testAddAndContains() throws Exception {
+    @Cleanup
+    val store = new KVKeyStore();
+
+    assertThat(store.isEmpty()).isTrue();
+    assertThat(store.add(key("DO1"))).isTrue();
+    assertThat(store.add(key("DO1"))).isFalse();
+    assertThat(store.add(key("DO2"))).isTrue();
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.contains(key("DO1"))).isTrue();
+    assertThat(store.contains(key("DO3"))).isFalse();
+    assertThat(store.contains(key(""))).isFalse();
+  }
+
+  @Test
+  public void testCompositeKeysAreNotAmbiguous() throws Exception {
+    @Cleanup
+    val store = new KVKeyStore();
+
+    store.add(key("ab", "c"));
+
+    assertThat(store.contains(key("ab", "c"))).isTrue();
+    assertThat(store.contains(key("a", "bc"))).isFalse();
+    assertThat(store.contains(key("abc"))).isFalse();
+    assertThat(store.contains(key("ab", "c", ""))).isFalse();
+  }
+
+  @Test
+  public void testIterationOrder() throws Exception {
+    @Cleanup
+    val store = new KVKeyStore();
+
+    store.add(key("c", "1"));
+    store.add(key("a", "2"));
+    store.add(key("c", "1"));
+    store.add(key("b", "3"));
+
+    val values = newArrayList();
+    for (val key : store) {
+      values.add(ImmutableList.copyOf(key.getStringValues()));
+    }
+
+    assertThat(values).containsExactly(
+        ImmutableList.of("c", "1"),
+        ImmutableList.of("a", "2"),
+        ImmutableList.of("b", "3"));
+  }
+
+  @Test
+  public void testMatchesSetImplementation() throws Exception {
+    @Cleanup
+    val store = new KVKeyStore();
+    Set<KVKey> expected = newLinkedHashSet();
+
+    // Generated keys with plenty of duplicates and a mix of composite sizes
+    val random = new Random(42);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      val key = randomKey(random);
+      assertThat(store.add(key)).isEqualTo(expected.add(key));
+    }
+    assertThat(store.size()).isEqualTo(expected.size());
+
+    for (int i = 0; i < LOOKUP_COUNT; i++) {
+      val key = randomKey(random);
+      assertThat(store.contains(key)).isEqualTo(expected.contains(key));
+    }
+
+    val actual = newArrayList(store);
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void testAddAll() throws Exception {
+    @Cleanup
+    val left = new KVKeyStore();
+    @Cleanup
+    val right = new KVKeyStore();
+
+    val random = new Random(7);
+    Set<KVKey> expected = newHashSet();
+    for (int i = 0; i < 10000; i++) {
+      val key = randomKey(random);
+      (i % 2 == 0 ? left : right).add(key);
+      expected.add(key);
+    }
+
+    left.addAll(right);
+
+    assertThat(left.size()).isEqualTo(expected.size());
+    for (val key : expected) {
+      assertThat(left.contains(key)).isTrue();
+    }
+  }
+
+  private static KVKey randomKey(Random random) {
+    val size = 1 + random.nextInt(3);
+    List<String> values = newArrayList();
+    for (int i = 0; i < size; i++) {
+      values.add("TCGA-" + random.nextInt(KEY_COUNT / 2));
+    }
+
+    return key(values.toArray(new String[size]));
+  }
+
+  private static KVKey key(String... values) {
+    List<Integer> indices = newArrayList();
+    for (int i = 0; i < values.length; i++) {
+      indices.add(i);
+    }
+
+    return KVKey.from(ImmutableList.copyOf(values), indices);
+  }
+
+}
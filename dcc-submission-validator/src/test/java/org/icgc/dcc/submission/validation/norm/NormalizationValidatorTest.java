@@ -36,7 +36,6 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.List;
-import java.util.UUID;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.cascading.CascadingContext;
@@ -50,28 +49,19 @@ import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReport.NormalizationCounter;
 import org.icgc.dcc.submission.validation.norm.core.NormalizationReporter;
-import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGeneration;
-import org.icgc.dcc.submission.validation.norm.steps.PrimaryKeyGenerationTest;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PowerMockIgnore;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
-
-import com.google.common.collect.ImmutableMap;
+import org.mockito.runners.MockitoJUnitRunner;
 
 import cascading.tap.Tap;
 import lombok.SneakyThrows;
 import lombok.val;
 
-@PowerMockIgnore({ "javax.management.*", "javax.xml.parsers.*", "com.sun.org.apache.xerces.internal.jaxp.*", "ch.qos.logback.*", "org.slf4j.*" })
-@RunWith(PowerMockRunner.class)
-@PrepareForTest({ PrimaryKeyGeneration.class })
+@RunWith(MockitoJUnitRunner.class)
 public class NormalizationValidatorTest {
 
   private static final CascadingContext ctx = CascadingContext.getLocal();
@@ -98,6 +88,7 @@ public class NormalizationValidatorTest {
       format("/tmp/submission/%s/%s/%s", COMPONENT_NAME, OUTPUT, FILE_NAME);
 
   public static final String OBSERVATION_ID_DEFAULT_VALUE = "v1";
+  private static final long OBSERVATION_ID_SEED = 0xf3a547d90321c298L;
 
   private NormalizationValidator normalizationValidator;
 
@@ -150,14 +141,6 @@ public class NormalizationValidatorTest {
         .thenReturn(mockPlatformStrategy);
     when(mockValidationContext.getOutputDirPath())
         .thenReturn(FILE_NAME);
-    when(mockSubmissionDirectory.getSampleToDonorMap(mockDictionary)).thenReturn(
-        new ImmutableMap.Builder<String, String>()
-            .put("00302", "dr1")
-            .put("00312", "dr1")
-            .put("00322", "dr2")
-            .put("00352", "dr2")
-            .put("00372", "dr3")
-            .build());
 
     when(mockPlatformStrategy.getFlowConnector())
         .thenReturn(ctx.getConnectors().getFlowConnector());
@@ -166,9 +149,7 @@ public class NormalizationValidatorTest {
   @SneakyThrows
   @Test
   public void test_normalization_basic() {
-
-    mockUUID(true);
-
+    // Observation IDs are derived from a fixed seed, see reference file
     properties.getSteps().put("duplicates.enabled", "true");
     test(BASIC_INPUT_FILE, BASIC_REFERENCE_FILE);
 
@@ -196,7 +177,6 @@ public class NormalizationValidatorTest {
     ExecutableSpecConverter.convert(
         EXECUTABLE_SPEC_FILE,
         SPEC_DERIVED_INPUT_FILE, SPEC_DERIVED_REFERENCE_FILE);
-    mockUUID(false);
     properties.getSteps().put("duplicates.enabled", "false");
 
     test(SPEC_DERIVED_INPUT_FILE, SPEC_DERIVED_REFERENCE_FILE);
@@ -214,6 +194,7 @@ public class NormalizationValidatorTest {
     new File(OUTPUT_FILE).delete();
     normalizationValidator = spy(NormalizationValidator.getDefaultInstance(mockDccFileSystem2, properties));
     mockOutputTap(OUTPUT_FILE);
+    doReturn(OBSERVATION_ID_SEED).when(normalizationValidator).getObservationIdSeed();
 
     normalizationValidator.validate(mockValidationContext);
 
@@ -227,30 +208,6 @@ public class NormalizationValidatorTest {
         .isEqualTo(NEWLINE.join(referenceLines));
   }
 
-  /**
-   * Copied from {@link PrimaryKeyGenerationTest#mockUUID()}, somehow we can't seem to be able to use it directly
-   * (probably because of powermock).
-   */
-  public void mockUUID(boolean incremental) {
-    PowerMockito.mockStatic(UUID.class);
-    UUID mockUuid = PowerMockito.mock(UUID.class);
-    val stub = PowerMockito.when(mockUuid.toString()).thenReturn(OBSERVATION_ID_DEFAULT_VALUE);
-    if (incremental) {
-      stub.thenReturn("v2")
-          .thenReturn("v3")
-          .thenReturn("v4")
-          .thenReturn("v5")
-          .thenReturn("v6")
-          .thenReturn("v7")
-          .thenReturn("v8")
-          .thenReturn("v9")
-          .thenReturn("v10");
-    }
-
-    PowerMockito.when(UUID.randomUUID())
-        .thenReturn(mockUuid);
-  }
-
   // TODO: Shouldn't have to do that
   @SuppressWarnings("unchecked")
   private void mockInputTap(String inputFile) {
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class ObservationIdGeneratorTest {
+
+  @Test
+  public void testNext() {
+    val generator = new ObservationIdGenerator(0xfedcba9876543210L, 0x2a);
+
+    assertThat(generator.next()).isEqualTo("fedcba98-7654-4210-802a-000000000000");
+    assertThat(generator.next()).isEqualTo("fedcba98-7654-4210-802a-000000000001");
+    for (int i = 2; i < 255; i++) {
+      generator.next();
+    }
+    assertThat(generator.next()).isEqualTo("fedcba98-7654-4210-802a-0000000000ff");
+  }
+
+  @Test
+  public void testUuidLayout() {
+    for (val seed : new long[] { 0L, -1L }) {
+      val id = new ObservationIdGenerator(seed, ObservationIdGenerator.MAX_SLICE).next();
+      val uuid = UUID.fromString(id);
+
+      assertThat(uuid.toString()).isEqualTo(id);
+      assertThat(uuid.version()).isEqualTo(4);
+      assertThat(uuid.variant()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void testSeed() {
+    assertThat(ObservationIdGenerator.newSeed()).isNotEqualTo(ObservationIdGenerator.newSeed());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSlice() {
+    new ObservationIdGenerator(0L, ObservationIdGenerator.MAX_SLICE + 1);
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.norm.steps;
+
+import static org.icgc.dcc.submission.validation.cascading.CascadingTestUtils.checkOperationResults;
+import static org.icgc.dcc.submission.validation.norm.steps.RowTransformation.isSensitive;
+import static org.icgc.dcc.submission.validation.norm.steps.RowTransformation.rebuildMutation;
+
+import java.util.Iterator;
+
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.submission.validation.cascading.CascadingTestUtils;
+import org.junit.Test;
+
+import cascading.CascadingTestCase;
+import cascading.operation.Function;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+
+public class RowTransformationTest extends CascadingTestCase {
+
+  private static final long SEED = 0x0123456789abcdefL;
+  private static final String ID_PREFIX = "01234567-89ab-4def-8000-";
+
+  private static final Fields INPUT_FIELDS =
+      new Fields("f1")
+          .append(RowTransformation.REFERENCE_GENOME_ALLELE_FIELD)
+          .append(RowTransformation.CONTROL_GENOTYPE_FIELD)
+          .append(RowTransformation.MUTATED_FROM_ALLELE_FIELD)
+          .append(RowTransformation.MUTATED_TO_ALLELE_FIELD)
+          .append(RowTransformation.TUMOUR_GENOTYPE_FIELD)
+          .append(RowTransformation.ADDED_FIELDS);
+
+  private static final String DUMMY_VALUE = "dummy";
+
+  @Test
+  public void test_cascading_RowTransformer() {
+    Function<?> function = new RowTransformation.RowTransformer(true, SEED);
+
+    TupleEntry[] entries = new TupleEntry[] {
+        new TupleEntry(INPUT_FIELDS, new Tuple(DUMMY_VALUE, "A", "A/A", "A", "T", "A/T", null, null, null)),
+        new TupleEntry(INPUT_FIELDS, new Tuple(DUMMY_VALUE, "A", "A/G", "G", "T", "A/T", null, null, null)),
+        new TupleEntry(INPUT_FIELDS, new Tuple(DUMMY_VALUE, "A", "A/A", "A", "C", "A/C", null, null, null))
+    };
+
+    Iterator<TupleEntry> iterator = CascadingTestUtils.invokeFunction(function, entries, INPUT_FIELDS);
+
+    Tuple[] resultTuples = new Tuple[] {
+        new Tuple(DUMMY_VALUE, "A", "A/A", "A", "T", "A/T",
+            Marking.OPEN.getTupleValue(), "A>T", ID_PREFIX + "000000000000"),
+        new Tuple(DUMMY_VALUE, "A", "A/G", "G", "T", "A/T",
+            Marking.CONTROLLED.getTupleValue(), "G>T", ID_PREFIX + "000000000001"),
+        new Tuple(DUMMY_VALUE, "A", null, "A", "T", null, // Genotypes erased, "from" allele set to the reference
+            Marking.MASKED.getTupleValue(), "A>T", ID_PREFIX + "000000000002"),
+        new Tuple(DUMMY_VALUE, "A", "A/A", "A", "C", "A/C",
+            Marking.OPEN.getTupleValue(), "A>C", ID_PREFIX + "000000000003")
+    };
+    checkOperationResults(iterator, resultTuples);
+  }
+
+  @Test
+  public void test_cascading_RowTransformer_no_masking() {
+    Function<?> function = new RowTransformation.RowTransformer(false, SEED);
+
+    TupleEntry[] entries = new TupleEntry[] {
+        new TupleEntry(INPUT_FIELDS, new Tuple(DUMMY_VALUE, "A", "A/G", "G", "T", "A/T", null, null, null))
+    };
+
+    Iterator<TupleEntry> iterator = CascadingTestUtils.invokeFunction(function, entries, INPUT_FIELDS);
+
+    Tuple[] resultTuples = new Tuple[] {
+        new Tuple(DUMMY_VALUE, "A", "A/G", "G", "T", "A/T",
+            Marking.CONTROLLED.getTupleValue(), "G>T", ID_PREFIX + "000000000000")
+    };
+    checkOperationResults(iterator, resultTuples);
+  }
+
+  @Test
+  public void test_isSensitive() {
+    assertFalse(isSensitive("A", "A/A", "A/C/C", "C"));
+    assertFalse(isSensitive("A", "A/A", "A/T", "T"));
+    assertTrue(isSensitive("A", "G/G", "G/T", "T"));
+    assertTrue(isSensitive("T", "C/C", "G/G", "G"));
+    assertFalse(isSensitive("C", "C/C", "T/T", "T"));
+  }
+
+  @Test
+  public void test_rebuildMutation() {
+    assertEquals("A>G", rebuildMutation("A", "G"));
+    assertEquals("A>C", rebuildMutation("A", "C"));
+    assertEquals("T>C", rebuildMutation("T", "C"));
+  }
+
+}
@@ -37,6 +37,7 @@ import org.junit.rules.TemporaryFolder;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import lombok.Cleanup;
 import lombok.SneakyThrows;
@@ -55,13 +56,13 @@ public class ByteOffsetToLineNumberTest {
   public TemporaryFolder tmp = new TemporaryFolder();
 
   FileSystem fileSystem;
+  ByteOffsetToLineNumber converter;
 
   @Before
   @SneakyThrows
   public void setUp() {
     fileSystem = FileSystem.getLocal(new Configuration());
-
-    ByteOffsetToLineNumber.fileSystem = fileSystem;
+    converter = new ByteOffsetToLineNumber(fileSystem);
   }
 
   @Test
@@ -82,12 +83,60 @@ public class ByteOffsetToLineNumberTest {
       fileSystem.copyFromLocalFile(new Path(file.toURI()), path);
 
       // Exercise
-      val actual = ByteOffsetToLineNumber.convert(path, offsets, false);
+      val actual = converter.convert(path, offsets, false);
 
       assertThat(actual).isEqualTo(expected);
     }
   }
 
+  @Test
+  @SneakyThrows
+  public void testConvertWithLineIndex() {
+    for (val file : new File(TEST_DIR).listFiles()) {
+      if (file.getName().endsWith("bz2")) {
+        // Skip this file as it is for the other test only.
+        continue;
+      }
+
+      val expected = getMapping(file);
+      Path path = new Path(tmp.newFile(file.getName()).getAbsolutePath());
+      fileSystem.copyFromLocalFile(new Path(file.toURI()), path);
+
+      // Small interval to exercise both the seeks / skips and the bounded scans
+      val lineIndex = getLineIndex(file, 3);
+      assertThat(lineIndex.size()).isGreaterThan(1);
+
+      // Exercise: all offsets, then only a sparse subset
+      assertThat(converter.convert(path, expected.keySet(), lineIndex, false)).isEqualTo(expected);
+
+      val sparse = Maps.<Long, Long> newLinkedHashMap();
+      int i = 0;
+      for (val entry : expected.entrySet()) {
+        if (i++ % 7 == 0) {
+          sparse.put(entry.getKey(), entry.getValue());
+        }
+      }
+      assertThat(converter.convert(path, sparse.keySet(), lineIndex, false)).isEqualTo(sparse);
+    }
+  }
+
+  @Test
+  public void testLineIndexFloor() {
+    val lineIndex = new LineIndex(2);
+    lineIndex.addLine(2, 10);
+    lineIndex.addLine(3, 25);
+    lineIndex.addLine(4, 30);
+
+    assertThat(lineIndex.size()).isEqualTo(3);
+    assertThat(lineIndex.floor(0)).isEqualTo(0);
+    assertThat(lineIndex.floor(9)).isEqualTo(0);
+    assertThat(lineIndex.floor(10)).isEqualTo(1);
+    assertThat(lineIndex.floor(29)).isEqualTo(1);
+    assertThat(lineIndex.floor(30)).isEqualTo(2);
+    assertThat(lineIndex.getLineNumber(2)).isEqualTo(4);
+    assertThat(lineIndex.getOffset(2)).isEqualTo(30);
+  }
+
   /**
    * See https://jira.oicr.on.ca/browse/DCC-4752
    */
@@ -100,7 +149,7 @@ public class ByteOffsetToLineNumberTest {
     fileSystem.copyFromLocalFile(new Path(file.toURI()), path);
 
     // Exercise. This shouldn't throw, but it does due to how bz2 is working?!?
-    ByteOffsetToLineNumber.convert(path, offsets, false);
+    converter.convert(path, offsets, false);
   }
 
   @SneakyThrows
@@ -122,6 +171,23 @@ public class ByteOffsetToLineNumberTest {
     return mapping.build();
   }
 
+  private static LineIndex getLineIndex(File file, int interval) {
+    val lineIndex = new LineIndex(interval);
+    long offset = 0;
+    long lineNumber = 1;
+
+    // Same as what first-pass validation does
+    for (val b : getBytes(file)) {
+      offset++;
+      if ((char) b == '\n') {
+        lineNumber++;
+        lineIndex.addLine(lineNumber, offset);
+      }
+    }
+
+    return lineIndex;
+  }
+
   @SneakyThrows
   private static byte[] getBytes(File file) {
     @Cleanup
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.collect.Maps.newTreeMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.MIN_MAX;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.UNIQUE_COUNT;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.junit.Test;
+
+import lombok.val;
+
+public class FieldStatsTest {
+
+  private static final int ROW_COUNT = 100000;
+
+  @Test
+  public void testCompleteness() {
+    val stats = new FieldStats(null);
+    stats.add("a", false);
+    stats.add("", false);
+    stats.add(null, false);
+    stats.add(null, true);
+    stats.add("b", false);
+
+    val summary = stats.toFieldSummary("f");
+    assertThat(summary.field).isEqualTo("f");
+    assertThat(summary.populated).isEqualTo(2);
+    assertThat(summary.nulls).isEqualTo(2);
+    assertThat(summary.missing).isEqualTo(1);
+    assertThat(summary.summary).isEmpty();
+  }
+
+  @Test
+  public void testAverage() {
+    val random = new Random(1);
+    val stats = new FieldStats(AVERAGE);
+
+    double sum = 0, sumOfSquare = 0, min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+    for (int i = 0; i < ROW_COUNT; i++) {
+      double value = 1000 + random.nextGaussian() * 10;
+      stats.add(Double.toString(value), false);
+      stats.addNumber(value);
+
+      sum += value;
+      sumOfSquare += value * value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    // Same formula as DeviationBy
+    double average = sum / ROW_COUNT;
+    double deviation = Math.sqrt(sumOfSquare / ROW_COUNT - average * average);
+
+    val summary = stats.toFieldSummary("f").summary;
+    assertThat(summary.keySet()).containsExactly("min", "max", "avg", "stddev");
+    assertThat(summary.get("min")).isEqualTo(min);
+    assertThat(summary.get("max")).isEqualTo(max);
+    assertThat((Double) summary.get("avg")).isEqualTo(average, offset(average * 1e-9));
+    assertThat((Double) summary.get("stddev")).isEqualTo(deviation, offset(deviation * 1e-4));
+  }
+
+  @Test
+  public void testAverageWithoutValues() {
+    val stats = new FieldStats(AVERAGE);
+    stats.add(null, true);
+
+    val summary = stats.toFieldSummary("f").summary;
+    assertThat(summary.get("min")).isNull();
+    assertThat(summary.get("max")).isNull();
+    assertThat((Double) summary.get("avg")).isNaN();
+    assertThat((Double) summary.get("stddev")).isNaN();
+  }
+
+  @Test
+  public void testMinMax() {
+    val stats = new FieldStats(MIN_MAX);
+    for (val value : new double[] { 3, -2.5, 7, 0 }) {
+      stats.add(Double.toString(value), false);
+      stats.addNumber(value);
+    }
+
+    val summary = stats.toFieldSummary("f").summary;
+    assertThat(summary.keySet()).containsExactly("min", "max");
+    assertThat(summary.get("min")).isEqualTo(-2.5);
+    assertThat(summary.get("max")).isEqualTo(7.0);
+  }
+
+  @Test
+  public void testUniqueCountIsExactBelowLimit() {
+    val random = new Random(2);
+    val stats = new FieldStats(UNIQUE_COUNT);
+    Set<String> expected = newHashSet();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      val value = "v" + random.nextInt(FieldStats.DISTINCT_EXACT_LIMIT / 2);
+      stats.add(value, false);
+      expected.add(value);
+    }
+
+    // Null and empty each count as a value, as they did when grouping on values
+    stats.add(null, true);
+    stats.add(null, false);
+    stats.add("", false);
+
+    assertThat(stats.toFieldSummary("f").summary.get("unique_count")).isEqualTo(expected.size() + 2L);
+  }
+
+  @Test
+  public void testUniqueCountIsApproximateAboveLimit() {
+    val stats = new FieldStats(UNIQUE_COUNT);
+    val expected = 4 * FieldStats.DISTINCT_EXACT_LIMIT;
+    for (int i = 0; i < expected; i++) {
+      stats.add("v" + i, false);
+      stats.add("v" + i, false);
+    }
+
+    assertThat((double) stats.getUniqueCount()).isEqualTo(expected, offset(expected * 0.02));
+  }
+
+  @Test
+  public void testFrequency() {
+    val random = new Random(3);
+    val stats = new FieldStats(FREQUENCY);
+    Map<String, Long> expected = newTreeMap();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      val value = "v" + random.nextInt(1000);
+      stats.add(value, false);
+      expected.put(value, expected.containsKey(value) ? expected.get(value) + 1 : 1L);
+    }
+    stats.add("", false);
+    stats.add(null, true);
+
+    val summary = stats.toFieldSummary("f");
+    assertThat(summary.summary).isEqualTo(expected);
+    assertThat(summary.summary.keySet()).containsExactlyElementsOf(expected.keySet());
+    assertThat(summary.nulls).isEqualTo(1);
+    assertThat(summary.missing).isEqualTo(1);
+    assertThat(stats.getFrequencyError()).isZero();
+  }
+
+  @Test
+  public void testFrequencyKeepsHeavyHitters() {
+    val stats = new FieldStats(FREQUENCY);
+    for (int i = 0; i < 3 * FieldStats.FREQUENCY_CAPACITY; i++) {
+      stats.add("rare" + i, false);
+      stats.add("common" + i % 10, false);
+    }
+
+    val summary = stats.toFieldSummary("f").summary;
+    assertThat(summary.size()).isLessThanOrEqualTo(2 * FieldStats.FREQUENCY_CAPACITY);
+    for (int i = 0; i < 10; i++) {
+      long frequency = (Long) summary.get("common" + i);
+      assertThat(frequency).isBetween(3L * FieldStats.FREQUENCY_CAPACITY / 10 - stats.getFrequencyError(),
+          3L * FieldStats.FREQUENCY_CAPACITY / 10);
+    }
+  }
+
+  @Test
+  public void testMergeMatchesSinglePass() {
+    for (val type : new SummaryType[] { null, AVERAGE, MIN_MAX, UNIQUE_COUNT, FREQUENCY }) {
+      val random = new Random(4);
+      val whole = new FieldStats(type);
+      val parts = new FieldStats[] { new FieldStats(type), new FieldStats(type), new FieldStats(type) };
+
+      for (int i = 0; i < ROW_COUNT; i++) {
+        val part = parts[random.nextInt(parts.length)];
+        boolean missing = random.nextInt(20) == 0;
+        String value = missing ? null : Integer.toString(random.nextInt(5000));
+
+        whole.add(value, missing);
+        part.add(value, missing);
+        if (value != null && whole.isNumeric()) {
+          whole.addNumber(Double.parseDouble(value));
+          part.addNumber(Double.parseDouble(value));
+        }
+      }
+
+      // Round trip the partials as the plan does
+      val merged = new FieldStats(type);
+      for (val part : parts) {
+        merged.merge(FieldStats.fromBytes(part.toBytes()));
+      }
+
+      val expected = whole.toFieldSummary("f");
+      val actual = merged.toFieldSummary("f");
+      assertThat(actual.nulls).isEqualTo(expected.nulls);
+      assertThat(actual.missing).isEqualTo(expected.missing);
+      assertThat(actual.populated).isEqualTo(expected.populated);
+      assertThat(actual.summary.keySet()).containsExactlyElementsOf(expected.summary.keySet());
+      for (val key : expected.summary.keySet()) {
+        val expectedValue = expected.summary.get(key);
+        if (expectedValue instanceof Double) {
+          assertThat((Double) actual.summary.get(key)).isEqualTo((Double) expectedValue, offset(1e-6));
+        } else {
+          assertThat(actual.summary.get(key)).isEqualTo(expectedValue);
+        }
+      }
+    }
+  }
+
+}
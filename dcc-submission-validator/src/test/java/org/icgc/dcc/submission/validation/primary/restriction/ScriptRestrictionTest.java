@@ -20,15 +20,23 @@ package org.icgc.dcc.submission.validation.primary.restriction;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.dictionary.model.RestrictionType.SCRIPT;
+import static org.icgc.dcc.submission.dictionary.util.Dictionaries.readResourcesDictionary;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
 
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
 
+import org.icgc.dcc.common.core.model.ValueType;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.InvalidScriptException;
+import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.ScriptContext;
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.ScriptFunction;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
@@ -37,6 +45,7 @@ import lombok.val;
 public class ScriptRestrictionTest extends BaseRestrictionTest {
 
   final static int NUMBER = 0;
+  final static List<String> DICTIONARY_VERSIONS = ImmutableList.of("0.11c", "0.13b", "0.14a", "0.14z");
 
   @Test
   public void test_ScriptRestriction_describe() {
@@ -128,6 +137,80 @@ public class ScriptRestrictionTest extends BaseRestrictionTest {
     assertTrue(state.isValid());
   }
 
+  @Test
+  public void test_ScriptContext_optimized_matches_script_on_bundled_dictionaries() {
+    val random = new Random(1);
+    for (val version : DICTIONARY_VERSIONS) {
+      val dictionary = readResourcesDictionary(version);
+      for (val schema : dictionary.getFiles()) {
+        Fields fields = new Fields();
+        for (val fieldName : schema.getFieldNames()) {
+          fields = fields.append(new Fields(fieldName));
+        }
+        fields = fields.append(new Fields(STATE_FIELD_NAME));
+
+        for (val field : schema.getFields()) {
+          for (val restriction : field.getRestrictions()) {
+            if (restriction.getType() != SCRIPT) {
+              continue;
+            }
+
+            val script = restriction.getConfig().getString(ScriptRestriction.PARAM);
+            val optimized = new ScriptContext("project1", script);
+            val reference = new ScriptContext("project1", script, false);
+            val literals = getLiterals(script);
+            for (int i = 0; i < 200; i++) {
+              val tuple = new Tuple();
+              for (val schemaField : schema.getFields()) {
+                tuple.add(randomValue(random, schemaField.getValueType(), literals));
+              }
+              tuple.add(new TupleState());
+
+              val row = new TupleEntry(fields, tuple);
+              assertThat(evaluate(optimized, row)).as("%s: %s", script, row).isEqualTo(evaluate(reference, row));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static String evaluate(ScriptContext context, TupleEntry row) {
+    try {
+      return String.valueOf(context.evaluate(row));
+    } catch (Exception e) {
+      return "error";
+    }
+  }
+
+  private static List<String> getLiterals(String script) {
+    List<String> literals = newArrayList();
+    val matcher = Pattern.compile("'([^']*)'").matcher(script);
+    while (matcher.find()) {
+      literals.add(matcher.group(1));
+    }
+
+    return literals;
+  }
+
+  private static Object randomValue(Random random, ValueType valueType, List<String> literals) {
+    if (random.nextInt(4) == 0) {
+      return null;
+    }
+
+    // As typed by the upstream value type plan elements
+    switch (valueType) {
+    case INTEGER:
+      return (long) random.nextInt(300) - 50;
+    case DECIMAL:
+      return random.nextInt(3000) / 10.0;
+    default:
+      return random.nextBoolean() && !literals.isEmpty() ?
+          literals.get(random.nextInt(literals.size())) :
+          String.valueOf(random.nextInt(12));
+    }
+  }
+
   private static List<Tuple> invokeFunction(String script, String description, Object... values) {
     checkArgument(values.length % 2 == 0);
 
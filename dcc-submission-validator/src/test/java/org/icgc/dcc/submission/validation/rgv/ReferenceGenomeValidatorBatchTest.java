@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.rgv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_END;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+import static org.icgc.dcc.submission.validation.ValidationTests.getTestFieldNames;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.core.model.DataType.DataTypes;
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.rgv.reference.HtsjdkReferenceGenome;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Verifies that batched, parallel validation reports the same errors in the same order as sequential validation.
+ */
+public class ReferenceGenomeValidatorBatchTest {
+
+  /**
+   * Test data.
+   */
+  private static final String TEST_FASTA = "src/test/resources/fixtures/validation/rgv/test.fasta";
+  private static final int TEST_RECORD_COUNT = 500;
+
+  /**
+   * Scratch space.
+   */
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  HtsjdkReferenceGenome reference = new HtsjdkReferenceGenome(TEST_FASTA);
+
+  @Test
+  public void testParallelMatchesSequential() {
+    val lines = createSsmPrimaryLines();
+
+    val expected = validate(new ReferenceGenomeValidator(reference, 1, TEST_RECORD_COUNT), "ssm_p.txt", lines);
+    val actual = validate(new ReferenceGenomeValidator(reference, 4, 7), "ssm_p.txt", lines);
+
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).isEqualTo(expected);
+    assertThat(expected.get(0).getLineNumber()).isGreaterThanOrEqualTo(2);
+    for (int i = 1; i < expected.size(); i++) {
+      assertThat(expected.get(i).getLineNumber()).isGreaterThan(expected.get(i - 1).getLineNumber());
+    }
+  }
+
+  @Test
+  public void testCompressedMatchesUncompressed() {
+    val lines = createSsmPrimaryLines();
+
+    val expected = validate(new ReferenceGenomeValidator(reference, 1, TEST_RECORD_COUNT), "ssm_p.txt", lines);
+    val actual = validate(new ReferenceGenomeValidator(reference, 3, 10), "ssm_p.txt.gz", lines);
+
+    assertThat(actual).hasSameSizeAs(expected);
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).getFileName()).isEqualTo("ssm_p.txt.gz");
+      assertThat(actual.get(i).getLineNumber()).isEqualTo(expected.get(i).getLineNumber());
+      assertThat(actual.get(i).getValue()).isEqualTo(expected.get(i).getValue());
+    }
+  }
+
+  @SneakyThrows
+  private List<Error> validate(ReferenceGenomeValidator validator, String fileName, String lines) {
+    val context = mockContext(fileName, lines);
+    validator.validate(context);
+
+    val errors = ArgumentCaptor.forClass(Error.class);
+    verify(context, atLeast(0)).reportError(errors.capture());
+
+    return errors.getAllValues();
+  }
+
+  @SneakyThrows
+  private ValidationContext mockContext(String fileName, String lines) {
+    // Setup: Use local file system
+    val fileSystem = FileSystem.getLocal(new Configuration());
+
+    // Setup: Establish input for the test
+    val directory = new Path(tmp.newFolder().getAbsolutePath());
+    val path = new Path(directory, fileName);
+    val validationDir = new Path(directory, VALIDATION_DIRNAME).toUri().toString();
+    val fileSchema = mock(FileSchema.class);
+    when(fileSchema.getFieldNames()).thenReturn(getTestFieldNames(SSM_P_TYPE));
+
+    // Setup: Mock
+    val context = mock(ValidationContext.class);
+    val submissionDirectory = mock(SubmissionDirectory.class);
+    when(context.getProjectKey()).thenReturn("project.test");
+    when(context.getDataTypes()).thenReturn(DataTypes.values());
+    when(context.getFileSystem()).thenReturn(fileSystem);
+    when(context.getFiles(SSM_P_TYPE)).thenReturn(ImmutableList.<Path> of(path));
+    when(context.getFileSchema(SSM_P_TYPE)).thenReturn(fileSchema);
+    when(context.getSubmissionDirectory()).thenReturn(submissionDirectory);
+    when(submissionDirectory.getValidationDirPath()).thenReturn(validationDir);
+
+    // Setup: "Submit" file
+    if (fileName.endsWith(".gz")) {
+      @Cleanup
+      val outputStream = new GZIPOutputStream(fileSystem.create(path));
+      outputStream.write(lines.getBytes());
+    } else {
+      @Cleanup
+      val outputStream = fileSystem.create(path);
+      outputStream.writeBytes(lines);
+    }
+
+    return context;
+  }
+
+  private String createSsmPrimaryLines() {
+    val fieldNames = getTestFieldNames(SSM_P_TYPE);
+    val random = new Random(1);
+    val contents = new StringBuilder();
+
+    // Header
+    contents.append(Joiner.on('\t').join(fieldNames)).append("\n");
+    for (int i = 0; i < TEST_RECORD_COUNT; i++) {
+      val x = random.nextBoolean();
+      val chromosomeCode = x ? "23" : "1";
+      val start = 1 + random.nextInt(x ? 1200 : 4900);
+      val end = start + random.nextInt(20);
+      val insertion = random.nextInt(10) == 0;
+      val valid = random.nextInt(5) != 0;
+
+      String allele;
+      if (insertion) {
+        allele = valid ? "-" : "A";
+      } else {
+        allele = reference.getSequence(x ? "X" : "1", "" + start, "" + end);
+        if (!valid) {
+          allele = (allele.charAt(0) == 'A' ? "C" : "A") + allele.substring(1);
+        }
+      }
+
+      // Row
+      val values = Lists.<String> newArrayList();
+      for (val fieldName : fieldNames) {
+        if (fieldName.equals(SUBMISSION_OBSERVATION_MUTATION_TYPE)) {
+          values.add(insertion ? "2" : "1");
+        } else if (fieldName.equals(SUBMISSION_OBSERVATION_CHROMOSOME)) {
+          values.add(chromosomeCode);
+        } else if (fieldName.equals(SUBMISSION_OBSERVATION_CHROMOSOME_START)) {
+          values.add("" + start);
+        } else if (fieldName.equals(SUBMISSION_OBSERVATION_CHROMOSOME_END)) {
+          values.add("" + end);
+        } else if (fieldName.equals(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE)) {
+          values.add(allele);
+        } else {
+          values.add("");
+        }
+      }
+      contents.append(Joiner.on('\t').join(values)).append("\n");
+    }
+
+    return contents.toString();
+  }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.rgv.reference;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class HtsjdkReferenceGenomeWindowTest {
+
+  /**
+   * Test data.
+   */
+  private static final String TEST_FASTA = "src/test/resources/fixtures/validation/rgv/test.fasta";
+  private static final Map<String, String> TEST_SEQUENCES = readSequences(TEST_FASTA);
+
+  /**
+   * Class under test. Tiny windows and cache to exercise window boundaries and eviction.
+   */
+  HtsjdkReferenceGenome genome = new HtsjdkReferenceGenome(TEST_FASTA, 7, 64);
+
+  @Test
+  public void testGetSequence() {
+    assertSequence("1", 1, 1);
+    assertSequence("1", 5, 9); // Spans two windows
+    assertSequence("1", 1, 100); // Spans many windows
+    assertSequence("1", 4990, 5000); // Last partial window
+    assertSequence("X", 1230, 1234);
+  }
+
+  @Test
+  public void testIsMatch() {
+    val expected = expected("1", 5, 9);
+
+    assertThat(genome.isMatch("1", "5", "9", expected)).isTrue();
+    assertThat(genome.isMatch("1", "5", "9", expected.toLowerCase())).isTrue();
+    assertThat(genome.isMatch("1", "5", "9", expected.toUpperCase())).isTrue();
+    assertThat(genome.isMatch("1", "5", "9", expected.substring(1))).isFalse();
+    assertThat(genome.isMatch("1", "5", "9", mutate(expected))).isFalse();
+  }
+
+  @Test
+  public void testIsMatchRandom() {
+    val random = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      val start = 1 + random.nextInt(4990);
+      val end = start + random.nextInt(10);
+      val expected = expected("1", start, end);
+
+      assertThat(genome.isMatch("1", "" + start, "" + end, expected)).isTrue();
+      assertThat(genome.isMatch("1", "" + start, "" + end, mutate(expected))).isFalse();
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testSequenceOutOfRange() {
+    genome.getSequence("1", "5000", "5001");
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testUnknownChromosome() {
+    genome.isMatch("2", "1", "1", "A");
+  }
+
+  @Test
+  @SneakyThrows
+  public void testConcurrent() {
+    val executor = Executors.newFixedThreadPool(8);
+    val tasks = Lists.<Callable<Boolean>> newArrayList();
+    for (int i = 0; i < 8; i++) {
+      val random = new Random(i);
+      tasks.add(() -> {
+        for (int j = 0; j < 1000; j++) {
+          int start = 1 + random.nextInt(1200);
+          int end = start + random.nextInt(30);
+          if (!genome.isMatch("X", "" + start, "" + end, expected("X", start, end))) {
+            return false;
+          }
+        }
+
+        return true;
+      });
+    }
+
+    for (val result : executor.invokeAll(tasks)) {
+      assertThat(result.get()).isTrue();
+    }
+
+    executor.shutdown();
+  }
+
+  @Test
+  @Ignore("Benchmark")
+  public void benchmark() {
+    // Point at a real reference to benchmark, e.g. GRCh37
+    val fasta = System.getProperty("rgv.fasta", TEST_FASTA);
+    val chromosome = System.getProperty("rgv.chromosome", "1");
+    val length = Integer.getInteger("rgv.length", 5000);
+    val count = 1000000;
+
+    // Simulated ssm_p positions, sorted as submitted by most pipelines and shuffled as the worst case
+    val random = new Random(1);
+    val sorted = Lists.<Long> newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      sorted.add(1L + random.nextInt(length - 1));
+    }
+    Collections.sort(sorted);
+    val shuffled = Lists.newArrayList(sorted);
+    Collections.shuffle(shuffled, random);
+
+    for (int round = 0; round < 3; round++) {
+      benchmark("sorted", new HtsjdkReferenceGenome(fasta), chromosome, sorted);
+      benchmark("shuffled", new HtsjdkReferenceGenome(fasta), chromosome, shuffled);
+      benchmark("uncached", new HtsjdkReferenceGenome(fasta, 1, 0), chromosome, shuffled);
+    }
+  }
+
+  private static void benchmark(String name, HtsjdkReferenceGenome genome, String chromosome, List<Long> positions) {
+    int matches = 0;
+    val watch = Stopwatch.createStarted();
+    for (val position : positions) {
+      val text = position.toString();
+      if (genome.isMatch(chromosome, text, text, "A")) {
+        matches++;
+      }
+    }
+
+    log.info("{}: {} lookups ({} matches) in {}", new Object[] { name, positions.size(), matches, watch });
+  }
+
+  private void assertSequence(String chromosome, int start, int end) {
+    assertThat(genome.getSequence(chromosome, "" + start, "" + end)).isEqualTo(expected(chromosome, start, end));
+  }
+
+  private static String expected(String chromosome, int start, int end) {
+    return TEST_SEQUENCES.get(chromosome).substring(start - 1, end);
+  }
+
+  private static String mutate(String sequence) {
+    val first = Character.toUpperCase(sequence.charAt(0)) == 'A' ? 'C' : 'A';
+
+    return first + sequence.substring(1);
+  }
+
+  @SneakyThrows
+  private static Map<String, String> readSequences(String fastaFile) {
+    val sequences = Maps.<String, String> newHashMap();
+    String name = null;
+    StringBuilder sequence = null;
+    for (val line : Files.readLines(new File(fastaFile), US_ASCII)) {
+      if (line.startsWith(">")) {
+        if (name != null) {
+          sequences.put(name, sequence.toString());
+        }
+
+        name = line.substring(1).split(" ")[0];
+        sequence = new StringBuilder();
+      } else {
+        sequence.append(line);
+      }
+    }
+    sequences.put(name, sequence.toString());
+
+    return sequences;
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class ScriptPredicateTest {
+
+  private static final List<String> FIELD_NAMES = ImmutableList.of("a", "b", "c");
+
+  @Test
+  public void testRegexBranch() {
+    val script = "if (a ~= '(D|d)(O|o).*') { return false } return true";
+
+    assertThat(test(script, "DO1", null, null)).isFalse();
+    assertThat(test(script, "x", null, null)).isTrue();
+  }
+
+  @Test
+  public void testNumericComparison() {
+    val script = "if (a == null || b == null) { return true } else { a <= b }";
+
+    assertThat(test(script, 3L, 2L, null)).isFalse();
+    assertThat(test(script, 2L, 2.5, null)).isTrue();
+    assertThat(test(script, 3L, null, null)).isTrue();
+
+    // Left to MVEL's coercion
+    assertThat(test(script, "3", "2", null)).isNull();
+  }
+
+  @Test
+  public void testSequentialBranches() {
+    val script = "if (a > 90) { return false } if (a > b) { return false } return true";
+
+    assertThat(test(script, 95L, 100L, null)).isFalse();
+    assertThat(test(script, 70L, 60L, null)).isFalse();
+    assertThat(test(script, 50L, 60L, null)).isTrue();
+  }
+
+  @Test
+  public void testContainsAndEquality() {
+    assertThat(test("['AWS','Collab'] contains b", null, "AWS", null)).isTrue();
+    assertThat(test("['AWS','Collab'] contains b", null, "boo", null)).isFalse();
+    assertThat(test("!(a != 'x') && c == 1", "x", null, 1L)).isTrue();
+    assertThat(test("a == b", null, null, null)).isTrue();
+    assertThat(test("a == b", "x", null, null)).isFalse();
+  }
+
+  @Test
+  public void testUnrecognized() {
+    // No value without an else
+    assertThat(ScriptPredicate.compile("if (a == 'x') { b == 'y' }", FIELD_NAMES).isPresent()).isFalse();
+
+    // Local variables, method calls and unknown fields
+    assertThat(ScriptPredicate.compile("x = (a == '1'); x", FIELD_NAMES).isPresent()).isFalse();
+    assertThat(ScriptPredicate.compile("a.length() > 1", FIELD_NAMES).isPresent()).isFalse();
+    assertThat(ScriptPredicate.compile("d == 'x'", FIELD_NAMES).isPresent()).isFalse();
+  }
+
+  private static Boolean test(String script, Object... values) {
+    val predicate = ScriptPredicate.compile(script, FIELD_NAMES);
+    assertThat(predicate.isPresent()).isTrue();
+
+    return predicate.get().test(position -> values[position]);
+  }
+
+}